@@ -0,0 +1,424 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * The class {@link ClonerProcessor} generates a plain java cloner for every class that is
+ * annotated with {@code io.github.astrapi69.clone.GenerateCloner}. The generated cloner
+ * implements {@code io.github.astrapi69.clone.TypeCloner}, creates the clone with the no-arg
+ * constructor and copies every instance field of the class and its superclasses either directly
+ * or over its getter and setter, so no reflection is needed at runtime. Fields that are annotated
+ * with {@code io.github.astrapi69.clone.CloneIgnore} are skipped. The generated cloners are also
+ * registered as services in {@code META-INF/services}, merged with the entries of an earlier
+ * compilation. A named module has to declare the generated cloners in a {@code provides} clause of
+ * its module descriptor, the processor warns about every cloner that is missing there
+ */
+@SupportedAnnotationTypes(ClonerProcessor.GENERATE_CLONER)
+public class ClonerProcessor extends AbstractProcessor
+{
+
+	/** The name of the annotation that marks the classes */
+	static final String GENERATE_CLONER = "io.github.astrapi69.clone.GenerateCloner";
+
+	/** The name of the annotation that marks the skipped fields */
+	static final String CLONE_IGNORE = "io.github.astrapi69.clone.CloneIgnore";
+
+	/** The name of the interface of the generated cloners */
+	static final String TYPE_CLONER = "io.github.astrapi69.clone.TypeCloner";
+
+	/** The suffix of the names of the generated cloner classes */
+	static final String CLONER_SUFFIX = "_Cloner";
+
+	/** The names of the cloner classes that were generated in all rounds */
+	private final Set<String> generatedCloners = new LinkedHashSet<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations,
+		final RoundEnvironment roundEnv)
+	{
+		if (roundEnv.processingOver())
+		{
+			writeServices();
+			return false;
+		}
+		for (TypeElement annotation : annotations)
+		{
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation))
+			{
+				if (element.getKind() != ElementKind.CLASS)
+				{
+					error(element, "@GenerateCloner is only supported on classes");
+					continue;
+				}
+				generate((TypeElement)element);
+			}
+		}
+		return true;
+	}
+
+	private void generate(final TypeElement type)
+	{
+		final Set<Modifier> modifiers = type.getModifiers();
+		if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)
+			|| type.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC)
+			|| type.getNestingKind() == NestingKind.LOCAL
+			|| type.getNestingKind() == NestingKind.ANONYMOUS)
+		{
+			error(type, "@GenerateCloner needs a concrete top level or static nested class "
+				+ "that is not private");
+			return;
+		}
+		final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+		if (!hasAccessibleConstructor(type, packageElement))
+		{
+			error(type, "@GenerateCloner needs a no-arg constructor that is not private");
+			return;
+		}
+		final List<String> assignments = new ArrayList<>();
+		boolean copyable = true;
+		for (TypeElement current = type; current != null; current = getSuperclass(current))
+		{
+			for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements()))
+			{
+				if (field.getModifiers().contains(Modifier.STATIC) || isIgnored(field))
+				{
+					continue;
+				}
+				final String assignment = newAssignment(type, current, field, packageElement);
+				if (assignment == null)
+				{
+					error(field,
+						"The field " + field.getSimpleName() + " cannot be copied without "
+							+ "reflection, it has to be neither private nor final or needs a "
+							+ "getter and a setter");
+					copyable = false;
+				}
+				else
+				{
+					assignments.add(assignment);
+				}
+			}
+		}
+		if (copyable)
+		{
+			write(type, packageElement, assignments);
+		}
+	}
+
+	private static boolean isIgnored(final VariableElement field)
+	{
+		for (AnnotationMirror annotation : field.getAnnotationMirrors())
+		{
+			final TypeElement annotationType = (TypeElement)annotation.getAnnotationType()
+				.asElement();
+			if (annotationType.getQualifiedName().contentEquals(CLONE_IGNORE))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private TypeElement getSuperclass(final TypeElement type)
+	{
+		final TypeMirror superclass = type.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED)
+		{
+			return null;
+		}
+		final TypeElement element = (TypeElement)((DeclaredType)superclass).asElement();
+		return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+	}
+
+	private boolean hasAccessibleConstructor(final TypeElement type,
+		final PackageElement packageElement)
+	{
+		for (ExecutableElement constructor : ElementFilter
+			.constructorsIn(type.getEnclosedElements()))
+		{
+			if (constructor.getParameters().isEmpty()
+				&& isAccessible(constructor, packageElement))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if the given member can be accessed from the generated cloner in the given package
+	 */
+	private boolean isAccessible(final Element member, final PackageElement packageElement)
+	{
+		final Set<Modifier> modifiers = member.getModifiers();
+		if (modifiers.contains(Modifier.PUBLIC))
+		{
+			return true;
+		}
+		return !modifiers.contains(Modifier.PRIVATE) && processingEnv.getElementUtils()
+			.getPackageOf(member).equals(packageElement);
+	}
+
+	/**
+	 * Creates the statement that copies the given field or null if the field cannot be copied
+	 * without reflection
+	 */
+	private String newAssignment(final TypeElement type, final TypeElement declaringType,
+		final VariableElement field, final PackageElement packageElement)
+	{
+		final String name = field.getSimpleName().toString();
+		if (!field.getModifiers().contains(Modifier.FINAL) && isAccessible(field, packageElement))
+		{
+			if (declaringType == type)
+			{
+				return "clone." + name + " = source." + name + ";";
+			}
+			// the cast reaches the field of the superclass even if a subclass hides it
+			final String cast = "((" + declaringType.getQualifiedName() + ")";
+			return cast + "clone)." + name + " = " + cast + "source)." + name + ";";
+		}
+		final String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		final ExecutableElement getter = findMethod(type, packageElement, "get" + suffix, null);
+		final ExecutableElement booleanGetter = field.asType().getKind() == TypeKind.BOOLEAN
+			? findMethod(type, packageElement, "is" + suffix, null)
+			: null;
+		final ExecutableElement setter = findMethod(type, packageElement, "set" + suffix,
+			field.asType());
+		final ExecutableElement readMethod = getter != null ? getter : booleanGetter;
+		if (readMethod == null || setter == null)
+		{
+			return null;
+		}
+		return "clone." + setter.getSimpleName() + "(source." + readMethod.getSimpleName()
+			+ "());";
+	}
+
+	private ExecutableElement findMethod(final TypeElement type,
+		final PackageElement packageElement, final String name, final TypeMirror parameterType)
+	{
+		for (ExecutableElement method : ElementFilter
+			.methodsIn(processingEnv.getElementUtils().getAllMembers(type)))
+		{
+			if (!method.getSimpleName().contentEquals(name)
+				|| method.getModifiers().contains(Modifier.STATIC)
+				|| !isAccessible(method, packageElement))
+			{
+				continue;
+			}
+			if (parameterType == null && method.getParameters().isEmpty())
+			{
+				return method;
+			}
+			if (parameterType != null && method.getParameters().size() == 1
+				&& processingEnv.getTypeUtils().isSameType(
+					method.getParameters().get(0).asType(), parameterType))
+			{
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private void write(final TypeElement type, final PackageElement packageElement,
+		final List<String> assignments)
+	{
+		final String packageName = packageElement.isUnnamed()
+			? ""
+			: packageElement.getQualifiedName().toString();
+		final String typeName = type.getQualifiedName().toString();
+		final String simpleName = (packageName.isEmpty()
+			? typeName
+			: typeName.substring(packageName.length() + 1)).replace('.', '_') + CLONER_SUFFIX;
+		final String clonerName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+		final boolean generic = !type.getTypeParameters().isEmpty();
+		try
+		{
+			final JavaFileObject file = processingEnv.getFiler().createSourceFile(clonerName,
+				type);
+			try (Writer writer = file.openWriter())
+			{
+				if (!packageName.isEmpty())
+				{
+					writer.write("package " + packageName + ";\n\n");
+				}
+				writer.write("/**\n * The cloner of the class {@link " + typeName
+					+ "}, generated by " + getClass().getName() + "\n */\n");
+				if (generic)
+				{
+					writer.write("@SuppressWarnings({ \"rawtypes\", \"unchecked\" })\n");
+				}
+				writer.write("public final class " + simpleName + " implements " + TYPE_CLONER
+					+ "<" + typeName + ">\n{\n\n");
+				writer.write("\t@Override\n\tpublic Class<" + typeName + "> getType()\n\t{\n");
+				writer.write("\t\treturn " + typeName + ".class;\n\t}\n\n");
+				writer.write("\t@Override\n\tpublic " + typeName + " clone(final " + typeName
+					+ " source)\n\t{\n");
+				writer.write("\t\tfinal " + typeName + " clone = new " + typeName + "();\n");
+				for (String assignment : assignments)
+				{
+					writer.write("\t\t" + assignment + "\n");
+				}
+				writer.write("\t\treturn clone;\n\t}\n\n}\n");
+			}
+			generatedCloners.add(clonerName);
+			checkProvided(type, clonerName);
+		}
+		catch (IOException e)
+		{
+			error(type, "The cloner " + clonerName + " could not be written: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Warns if the given annotated class belongs to a named module that does not provide the
+	 * given cloner, because the service loader of a named module ignores the service files
+	 */
+	private void checkProvided(final TypeElement type, final String clonerName)
+	{
+		final ModuleElement module = processingEnv.getElementUtils().getModuleOf(type);
+		if (module == null || module.isUnnamed())
+		{
+			return;
+		}
+		for (ModuleElement.ProvidesDirective provides : ElementFilter
+			.providesIn(module.getDirectives()))
+		{
+			if (provides.getService().getQualifiedName().contentEquals(TYPE_CLONER))
+			{
+				for (TypeElement implementation : provides.getImplementations())
+				{
+					if (implementation.getQualifiedName().contentEquals(clonerName))
+					{
+						return;
+					}
+				}
+			}
+		}
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+			"The module " + module.getQualifiedName() + " has to declare 'provides "
+				+ TYPE_CLONER + " with " + clonerName + ";' to register the generated cloner",
+			type);
+	}
+
+	/**
+	 * Writes the service file of the generated cloners. The entries of an existing service file
+	 * of an earlier compilation are kept, so an incremental compilation of only some of the
+	 * annotated classes does not drop the cloners of the other ones
+	 */
+	private void writeServices()
+	{
+		if (generatedCloners.isEmpty())
+		{
+			return;
+		}
+		final String serviceFile = "META-INF/services/" + TYPE_CLONER;
+		final Set<String> clonerNames = new LinkedHashSet<>(readServices(serviceFile));
+		clonerNames.addAll(generatedCloners);
+		try
+		{
+			final FileObject file = processingEnv.getFiler()
+				.createResource(StandardLocation.CLASS_OUTPUT, "", serviceFile);
+			try (Writer writer = file.openWriter())
+			{
+				for (String clonerName : clonerNames)
+				{
+					writer.write(clonerName + "\n");
+				}
+			}
+		}
+		catch (IOException e)
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+				"The service file of the cloners could not be written: " + e.getMessage());
+		}
+	}
+
+	private List<String> readServices(final String serviceFile)
+	{
+		final List<String> clonerNames = new ArrayList<>();
+		try
+		{
+			final FileObject file = processingEnv.getFiler()
+				.getResource(StandardLocation.CLASS_OUTPUT, "", serviceFile);
+			for (String line : file.getCharContent(true).toString().split("\n"))
+			{
+				final int comment = line.indexOf('#');
+				final String clonerName = (comment < 0 ? line : line.substring(0, comment))
+					.trim();
+				if (!clonerName.isEmpty())
+				{
+					clonerNames.add(clonerName);
+				}
+			}
+		}
+		catch (IOException | IllegalArgumentException e)
+		{
+			// there is no service file of an earlier compilation
+		}
+		return clonerNames;
+	}
+
+	private void error(final Element element, final String message)
+	{
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+}
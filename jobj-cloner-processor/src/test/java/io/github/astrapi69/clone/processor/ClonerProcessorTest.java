@@ -0,0 +1,222 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.clone.TypeCloner;
+
+/**
+ * The unit test class for the class {@link ClonerProcessor}
+ */
+public class ClonerProcessorTest
+{
+
+	/** The source of an annotated class with a field of a superclass and a private field */
+	private static final String PERSON_SOURCE = "package sample;\n"
+		+ "@io.github.astrapi69.clone.GenerateCloner\n"
+		+ "public class Person extends Base {\n"
+		+ "  String name;\n"
+		+ "  private int age;\n"
+		+ "  public String getName() { return name; }\n"
+		+ "  public void setName(String name) { this.name = name; }\n"
+		+ "  public int getAge() { return age; }\n"
+		+ "  public void setAge(int age) { this.age = age; }\n"
+		+ "}\n"
+		+ "class Base {\n"
+		+ "  protected long id;\n"
+		+ "  public long getId() { return id; }\n"
+		+ "  public void setId(long id) { this.id = id; }\n"
+		+ "}\n";
+
+	/** The source of an annotated class with a final field that has no setter */
+	private static final String FINAL_FIELD_SOURCE = "package sample;\n"
+		+ "@io.github.astrapi69.clone.GenerateCloner\n"
+		+ "public class Point {\n"
+		+ "  private final int x = 1;\n"
+		+ "}\n";
+
+	/** The source of an annotated class with an ignored final field */
+	private static final String IGNORED_FIELD_SOURCE = "package sample;\n"
+		+ "@io.github.astrapi69.clone.GenerateCloner\n"
+		+ "public class Label {\n"
+		+ "  String text;\n"
+		+ "  @io.github.astrapi69.clone.CloneIgnore\n"
+		+ "  private final StringBuilder cache = new StringBuilder();\n"
+		+ "}\n";
+
+	private static boolean compile(final Path directory, final String className,
+		final String source, final DiagnosticCollector<JavaFileObject> diagnostics)
+		throws IOException
+	{
+		final Path sourceFile = directory.resolve(className.replace('.', '/') + ".java");
+		Files.createDirectories(sourceFile.getParent());
+		Files.writeString(sourceFile, source, StandardCharsets.UTF_8);
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
+			null, StandardCharsets.UTF_8))
+		{
+			final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager,
+				diagnostics,
+				List.of("-d", directory.toString(), "-classpath",
+					System.getProperty("java.class.path")),
+				null, fileManager.getJavaFileObjects(sourceFile));
+			task.setProcessors(List.of(new ClonerProcessor()));
+			return task.call();
+		}
+	}
+
+	/**
+	 * Test method for {@link ClonerProcessor#process(java.util.Set, javax.annotation.processing.RoundEnvironment)}
+	 *
+	 * @throws Exception
+	 *             is thrown if the compilation or the class loading fails
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testProcess() throws Exception
+	{
+		Path directory;
+		DiagnosticCollector<JavaFileObject> diagnostics;
+		Object expected;
+		Object actual;
+
+		directory = Files.createTempDirectory("cloner-processor");
+		diagnostics = new DiagnosticCollector<>();
+		assertTrue(compile(directory, "sample.Person", PERSON_SOURCE, diagnostics),
+			diagnostics.getDiagnostics().toString());
+		assertTrue(Files.exists(directory.resolve("sample/Person_Cloner.java")));
+		assertEquals("sample.Person_Cloner",
+			Files.readString(directory.resolve("META-INF/services/" + ClonerProcessor.TYPE_CLONER))
+				.trim());
+
+		try (URLClassLoader classLoader = new URLClassLoader(
+			new URL[] { directory.toUri().toURL() }, getClass().getClassLoader()))
+		{
+			final Class<?> personClass = classLoader.loadClass("sample.Person");
+			final TypeCloner<Object> cloner = (TypeCloner<Object>)classLoader
+				.loadClass("sample.Person_Cloner").getDeclaredConstructor().newInstance();
+			assertEquals(personClass, cloner.getType());
+
+			expected = personClass.getDeclaredConstructor().newInstance();
+			personClass.getMethod("setName", String.class).invoke(expected, "Anna");
+			personClass.getMethod("setAge", int.class).invoke(expected, 42);
+			personClass.getMethod("setId", long.class).invoke(expected, 7L);
+			actual = cloner.clone(expected);
+			assertNotSame(expected, actual);
+			assertEquals("Anna", personClass.getMethod("getName").invoke(actual));
+			assertEquals(42, personClass.getMethod("getAge").invoke(actual));
+			assertEquals(7L, personClass.getMethod("getId").invoke(actual));
+		}
+	}
+
+	/**
+	 * Test method for {@link ClonerProcessor#process(java.util.Set, javax.annotation.processing.RoundEnvironment)}
+	 * with two compilations into the same output directory
+	 *
+	 * @throws IOException
+	 *             is thrown if a source file or the service file cannot be written or read
+	 */
+	@Test
+	public void testProcessMergesServices() throws IOException
+	{
+		Path directory;
+		DiagnosticCollector<JavaFileObject> diagnostics;
+		List<String> expected;
+		List<String> actual;
+
+		directory = Files.createTempDirectory("cloner-processor");
+		diagnostics = new DiagnosticCollector<>();
+		assertTrue(compile(directory, "sample.Person", PERSON_SOURCE, diagnostics),
+			diagnostics.getDiagnostics().toString());
+		assertTrue(compile(directory, "sample.Label", IGNORED_FIELD_SOURCE, diagnostics),
+			diagnostics.getDiagnostics().toString());
+		actual = Files
+			.readAllLines(directory.resolve("META-INF/services/" + ClonerProcessor.TYPE_CLONER));
+		expected = List.of("sample.Person_Cloner", "sample.Label_Cloner");
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link ClonerProcessor#process(java.util.Set, javax.annotation.processing.RoundEnvironment)}
+	 * with a field that cannot be copied without reflection
+	 *
+	 * @throws IOException
+	 *             is thrown if the source file cannot be written
+	 */
+	@Test
+	public void testProcessWithFinalField() throws IOException
+	{
+		Path directory;
+		DiagnosticCollector<JavaFileObject> diagnostics;
+
+		directory = Files.createTempDirectory("cloner-processor");
+		diagnostics = new DiagnosticCollector<>();
+		assertFalse(compile(directory, "sample.Point", FINAL_FIELD_SOURCE, diagnostics));
+		assertTrue(diagnostics.getDiagnostics().toString()
+			.contains("cannot be copied without reflection"));
+	}
+
+	/**
+	 * Test method for {@link ClonerProcessor#process(java.util.Set, javax.annotation.processing.RoundEnvironment)}
+	 * with a field that is annotated with {@code CloneIgnore}
+	 *
+	 * @throws IOException
+	 *             is thrown if the source file cannot be written
+	 */
+	@Test
+	public void testProcessWithIgnoredField() throws IOException
+	{
+		Path directory;
+		DiagnosticCollector<JavaFileObject> diagnostics;
+
+		directory = Files.createTempDirectory("cloner-processor");
+		diagnostics = new DiagnosticCollector<>();
+		assertTrue(compile(directory, "sample.Label", IGNORED_FIELD_SOURCE, diagnostics),
+			diagnostics.getDiagnostics().toString());
+		assertFalse(Files.readString(directory.resolve("sample/Label_Cloner.java"))
+			.contains("cache"));
+	}
+
+}
@@ -0,0 +1,99 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The benchmark class for the cloning of primitive arrays that compares the type-specialized bulk
+ * copy with the former element by element copy over {@link Array#get(Object, int)} and
+ * {@link Array#set(Object, int, Object)}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArrayCloneBenchmark
+{
+
+	@Param({ "1000", "1000000", "10000000" })
+	int length;
+
+	double[] doubles;
+
+	int[][] matrix;
+
+	@Setup
+	public void setup()
+	{
+		doubles = new double[length];
+		Arrays.setAll(doubles, i -> i * 0.5d);
+		matrix = new int[length / 1000][1000];
+	}
+
+	@Benchmark
+	public Object elementByElementLoop()
+	{
+		final Class<?> componentType = doubles.getClass().getComponentType();
+		int index = Array.getLength(doubles);
+		final Object clone = Array.newInstance(componentType, index);
+		while (index-- > 0)
+		{
+			Array.set(clone, index, Array.get(doubles, index));
+		}
+		return clone;
+	}
+
+	@Benchmark
+	public Object cloneCloneable()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return CloneObjectExtensions.cloneCloneable(doubles);
+	}
+
+	@Benchmark
+	public Object cloneArrayParallel()
+	{
+		return CloneObjectExtensions.cloneArray(doubles, true);
+	}
+
+	@Benchmark
+	public Object cloneMatrix()
+	{
+		return CloneObjectExtensions.cloneArray(matrix, false);
+	}
+
+}
@@ -0,0 +1,176 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The class {@link BenchmarkFixtures} creates the objects that the benchmarks clone
+ */
+final class BenchmarkFixtures
+{
+
+	private BenchmarkFixtures()
+	{
+	}
+
+	/**
+	 * Creates the object of the given shape
+	 *
+	 * @param shape
+	 *            the shape
+	 * @return the new object
+	 */
+	static Object newObject(final Shape shape)
+	{
+		switch (shape)
+		{
+			case SMALL_BEAN :
+				return new SmallBean(1, "small");
+			case WIDE_BEAN :
+				return new WideBean();
+			case PRIMITIVE_ARRAY :
+				final double[] doubles = new double[10_000];
+				Arrays.setAll(doubles, i -> i * 0.5d);
+				return doubles;
+			case NESTED_GRAPH :
+				return newTree(5, 4);
+			default :
+				final ArrayList<SmallBean> beans = new ArrayList<>(100_000);
+				for (int i = 0; i < 100_000; i++)
+				{
+					beans.add(new SmallBean(i, "bean" + i));
+				}
+				return beans;
+		}
+	}
+
+	private static Node newTree(final int depth, final int fanOut)
+	{
+		final Node node = new Node();
+		node.name = "depth" + depth;
+		node.values = new int[] { depth, fanOut };
+		if (0 < depth)
+		{
+			for (int i = 0; i < fanOut; i++)
+			{
+				final Node child = newTree(depth - 1, fanOut);
+				child.parent = node;
+				node.children.add(child);
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * The shapes of the cloned objects
+	 */
+	enum Shape
+	{
+		SMALL_BEAN, WIDE_BEAN, PRIMITIVE_ARRAY, NESTED_GRAPH, LARGE_COLLECTION
+	}
+
+	/**
+	 * A bean with two fields
+	 */
+	public static class SmallBean implements Cloneable, Serializable
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		int id;
+
+		String name;
+
+		public SmallBean()
+		{
+		}
+
+		SmallBean(final int id, final String name)
+		{
+			this.id = id;
+			this.name = name;
+		}
+
+		@Override
+		public SmallBean clone() throws CloneNotSupportedException
+		{
+			return (SmallBean)super.clone();
+		}
+
+	}
+
+	/**
+	 * A bean with thirty-two fields of mixed types
+	 */
+	public static class WideBean implements Cloneable, Serializable
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		int i0 = 0, i1 = 1, i2 = 2, i3 = 3, i4 = 4, i5 = 5, i6 = 6, i7 = 7;
+
+		long l0 = 0, l1 = 1, l2 = 2, l3 = 3, l4 = 4, l5 = 5, l6 = 6, l7 = 7;
+
+		double d0 = 0, d1 = 1, d2 = 2, d3 = 3, d4 = 4, d5 = 5, d6 = 6, d7 = 7;
+
+		String s0 = "0", s1 = "1", s2 = "2", s3 = "3", s4 = "4", s5 = "5", s6 = "6", s7 = "7";
+
+		@Override
+		public WideBean clone() throws CloneNotSupportedException
+		{
+			return (WideBean)super.clone();
+		}
+
+	}
+
+	/**
+	 * A node of a tree with back references to the parent
+	 */
+	public static class Node implements Cloneable, Serializable
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		String name;
+
+		int[] values;
+
+		Node parent;
+
+		List<Node> children = new ArrayList<>();
+
+		@Override
+		public Node clone() throws CloneNotSupportedException
+		{
+			return (Node)super.clone();
+		}
+
+	}
+
+}
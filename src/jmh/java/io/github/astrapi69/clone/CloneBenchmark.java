@@ -0,0 +1,120 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.rits.cloning.Cloner;
+
+/**
+ * The benchmark class for every clone path of {@link CloneObjectExtensions} on small beans, wide
+ * beans, primitive arrays, nested graphs and large collections, compared with the cloning library
+ * of io.github.kostaskougios and with a serialization round trip. Run it with the gradle task
+ * {@code jmhJsonReport} to get the throughput and the allocation rate per operation as a json
+ * report
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CloneBenchmark
+{
+
+	@Param({ "SMALL_BEAN", "WIDE_BEAN", "PRIMITIVE_ARRAY", "NESTED_GRAPH", "LARGE_COLLECTION" })
+	BenchmarkFixtures.Shape shape;
+
+	Object source;
+
+	Cloner cloner;
+
+	@Setup
+	public void setup()
+	{
+		source = BenchmarkFixtures.newObject(shape);
+		cloner = new Cloner();
+	}
+
+	@Benchmark
+	public Object cloneGeneric()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return CloneObjectExtensions.clone(source);
+	}
+
+	@Benchmark
+	public Object cloneObject()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return CloneObjectExtensions.cloneObject(source);
+	}
+
+	@Benchmark
+	public Object cloneCloneable()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return CloneObjectExtensions.cloneCloneable(source);
+	}
+
+	@Benchmark
+	public Object cloneObjectWithReflection()
+	{
+		return CloneObjectExtensions.cloneObjectWithReflection(source);
+	}
+
+	@Benchmark
+	public Object deepClone()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return CloneObjectExtensions.deepClone(source);
+	}
+
+	@Benchmark
+	public Object kostaskougiosShallowClone()
+	{
+		return cloner.shallowClone(source);
+	}
+
+	@Benchmark
+	public Object kostaskougiosDeepClone()
+	{
+		return cloner.deepClone(source);
+	}
+
+	@Benchmark
+	public Object serializationRoundTrip()
+	{
+		return SerializationCloner.copy(source);
+	}
+
+}
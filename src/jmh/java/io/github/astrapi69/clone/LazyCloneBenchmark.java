@@ -0,0 +1,107 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The benchmark class for read-only snapshots that compares the eager clone of
+ * {@link CloneObjectExtensions#cloneObject(Object)} with the lazy clones of
+ * {@link CloneObjectExtensions#lazyClone(List)} and {@link CloneObjectExtensions#lazyClone(Map)}.
+ * Every benchmark takes a snapshot and reads a few elements of it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LazyCloneBenchmark
+{
+
+	@Param({ "10", "1000", "100000" })
+	int size;
+
+	List<String> list;
+
+	Map<String, Integer> map;
+
+	@Setup
+	public void setup()
+	{
+		list = new ArrayList<>(size);
+		map = new HashMap<>();
+		for (int i = 0; i < size; i++)
+		{
+			list.add("element" + i);
+			map.put("key" + i, i);
+		}
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public Object eagerListSnapshot()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final List<String> snapshot = (List<String>)CloneObjectExtensions.cloneObject(list);
+		return snapshot.get(size / 2);
+	}
+
+	@Benchmark
+	public Object lazyListSnapshot()
+	{
+		final List<String> snapshot = CloneObjectExtensions.lazyClone(list);
+		return snapshot.get(size / 2);
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public Object eagerMapSnapshot()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final Map<String, Integer> snapshot = (Map<String, Integer>)CloneObjectExtensions
+			.cloneObject(map);
+		return snapshot.get("key0");
+	}
+
+	@Benchmark
+	public Object lazyMapSnapshot()
+	{
+		final Map<String, Integer> snapshot = CloneObjectExtensions.lazyClone(map);
+		return snapshot.get("key0");
+	}
+
+}
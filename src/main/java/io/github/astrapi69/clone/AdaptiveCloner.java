@@ -0,0 +1,357 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The class {@link AdaptiveCloner} selects the strategy for each class by the measured cost. During
+ * the warm-up of a class every available strategy, the {@code clone()} method, the copy over
+ * compiled field handles, the generated cloner class and the java serialization, is sampled in
+ * turn. The strategy that {@link CloneObjectExtensions#cloneObject(Object)} uses by default is
+ * always correct, any other strategy is kept only if it gives a shallow clone, which is a new
+ * object of the same class with the same field values. If the default strategy does not give a
+ * shallow clone, for instance because a {@code clone()} method copies some fields, it is the only
+ * correct one. After each strategy was measured the given number of times the fastest one is fixed
+ * for the class.
+ * <p>
+ * Operators can see the selected strategy and the measured costs of a class and can override the
+ * selection over {@link #override(Class, CloneStrategy)} or over the system property
+ * {@code io.github.astrapi69.clone.strategy.<class name>} with the name of a {@link CloneStrategy}
+ */
+public final class AdaptiveCloner
+{
+
+	/** The default number of the measured runs of each strategy */
+	public static final int DEFAULT_SAMPLES = 16;
+
+	/** The default adaptive cloner */
+	private static final AdaptiveCloner DEFAULT = new AdaptiveCloner(DEFAULT_SAMPLES);
+
+	/** The number of the measured runs of each strategy */
+	private final int samples;
+
+	/** The strategy selections of the classes */
+	private final ClassValue<StrategySelection> selections = new ClassValue<>()
+	{
+		@Override
+		protected StrategySelection computeValue(final Class<?> type)
+		{
+			return new StrategySelection(ClonePlan.of(type), samples);
+		}
+	};
+
+	/**
+	 * Instantiates a new {@link AdaptiveCloner}
+	 *
+	 * @param samples
+	 *            the number of the measured runs of each strategy before the fastest is selected
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given number of samples is less than one
+	 */
+	public AdaptiveCloner(final int samples)
+	{
+		if (samples < 1)
+		{
+			throw new IllegalArgumentException("Samples has to be at least one: " + samples);
+		}
+		this.samples = samples;
+	}
+
+	/**
+	 * Gets the default adaptive cloner
+	 *
+	 * @return the default adaptive cloner
+	 */
+	public static AdaptiveCloner getDefault()
+	{
+		return DEFAULT;
+	}
+
+	/**
+	 * Try to clone the given generic object with the strategy that is selected for its class
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param object
+	 *            the object to clone
+	 * @return The cloned object or null if the clone process failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T clone(final T object)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (object == null)
+		{
+			return null;
+		}
+		final ClonePlan plan = ClonePlan.of(object.getClass());
+		// immutable objects are shared and compile time cloners need no selection
+		if (plan.isImmutable() || plan.getTypeCloner() != null)
+		{
+			return (T)CloneObjectExtensions.cloneObject(object, plan);
+		}
+		final StrategySelection selection = selections.get(object.getClass());
+		final CloneStrategy strategy = selection.getStrategy();
+		if (strategy != null)
+		{
+			final Object clone = CloneObjectExtensions.cloneWithStrategy(object, plan, strategy);
+			return (T)(clone != null ? clone : CloneObjectExtensions.cloneObject(object, plan));
+		}
+		final CloneStrategy candidate = selection.nextCandidate();
+		if (candidate == null)
+		{
+			return (T)CloneObjectExtensions.cloneObject(object, plan);
+		}
+		final long start = System.nanoTime();
+		Object clone;
+		try
+		{
+			clone = CloneObjectExtensions.cloneWithStrategy(object, plan, candidate);
+		}
+		catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException
+			| RuntimeException e)
+		{
+			clone = null;
+		}
+		final long nanos = System.nanoTime() - start;
+		final boolean shallowClone = isShallowClone(object, clone, plan);
+		if (clone != null && candidate == selection.getPrimary())
+		{
+			if (!shallowClone)
+			{
+				// the default strategy defines its own result that no other strategy can give
+				selection.rejectOthers(candidate);
+			}
+		}
+		else if (!shallowClone)
+		{
+			selection.reject(candidate);
+			return (T)CloneObjectExtensions.cloneObject(object, plan);
+		}
+		selection.record(candidate, nanos);
+		return (T)clone;
+	}
+
+	/**
+	 * Gets the strategy that is used for the given class
+	 *
+	 * @param type
+	 *            the class
+	 * @return the strategy that an operator has chosen or that was selected by the measured cost,
+	 *         or an empty optional while the strategies are sampled
+	 */
+	public Optional<CloneStrategy> getStrategy(final Class<?> type)
+	{
+		return Optional.ofNullable(selections.get(type).getStrategy());
+	}
+
+	/**
+	 * Gets the average measured nanoseconds of every strategy for the given class that gave a
+	 * correct result so far
+	 *
+	 * @param type
+	 *            the class
+	 * @return the unmodifiable map with the average nanoseconds of each measured strategy
+	 */
+	public Map<CloneStrategy, Long> getAverageNanos(final Class<?> type)
+	{
+		return selections.get(type).getAverageNanos();
+	}
+
+	/**
+	 * Overrides the strategy for the given class
+	 *
+	 * @param type
+	 *            the class
+	 * @param strategy
+	 *            the strategy to use or null for the strategy that is selected by the measured cost
+	 */
+	public void override(final Class<?> type, final CloneStrategy strategy)
+	{
+		selections.get(type).setOverride(strategy);
+	}
+
+	/**
+	 * Discards the measured costs, the selected strategy and the override of the given class, so
+	 * the strategies are sampled again
+	 *
+	 * @param type
+	 *            the class
+	 */
+	public void reset(final Class<?> type)
+	{
+		selections.remove(type);
+	}
+
+	/**
+	 * Checks if the given clone is a correct shallow clone of the given source
+	 */
+	private static boolean isShallowClone(final Object source, final Object clone,
+		final ClonePlan plan)
+	{
+		if (clone == null || clone == source || clone.getClass() != source.getClass())
+		{
+			return false;
+		}
+		if (plan.getStrategy() == CloneStrategy.ARRAY)
+		{
+			return isShallowArrayClone(source, clone);
+		}
+		if (source instanceof Collection)
+		{
+			return containsSharedElements((Collection<?>)source, (Collection<?>)clone);
+		}
+		if (source instanceof Map)
+		{
+			return isShallowMapClone((Map<?, ?>)source, (Map<?, ?>)clone);
+		}
+		final Field[] fields = plan.getFields();
+		if (fields == null)
+		{
+			return true;
+		}
+		try
+		{
+			for (Field field : fields)
+			{
+				final Object value = field.get(source);
+				final Object cloneValue = field.get(clone);
+				if (value != cloneValue && (!field.getType().isPrimitive() && !isImmutable(value)
+					|| !Objects.equals(value, cloneValue)))
+				{
+					return false;
+				}
+			}
+		}
+		catch (IllegalAccessException e)
+		{
+			// the fields cannot be compared, so the clone is trusted
+		}
+		return true;
+	}
+
+	private static boolean isShallowArrayClone(final Object source, final Object clone)
+	{
+		if (!(source instanceof Object[]))
+		{
+			return Objects.deepEquals(source, clone);
+		}
+		final Object[] elements = (Object[])source;
+		final Object[] cloneElements = (Object[])clone;
+		if (elements.length != cloneElements.length)
+		{
+			return false;
+		}
+		for (int i = 0; i < elements.length; i++)
+		{
+			if (!isShared(elements[i], cloneElements[i]))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if every element of the given clone is an element of the given source, the same
+	 * object or an equal immutable value. The elements are compared by identity over an
+	 * {@link IdentityTable}, so the check does not depend on the iteration order of the clone
+	 */
+	private static boolean containsSharedElements(final Collection<?> source,
+		final Collection<?> clone)
+	{
+		if (source.size() != clone.size())
+		{
+			return false;
+		}
+		final IdentityTable elements = new IdentityTable(source.size());
+		boolean containsNull = false;
+		for (Object element : source)
+		{
+			if (element == null)
+			{
+				containsNull = true;
+			}
+			else
+			{
+				elements.put(element, element);
+			}
+		}
+		for (Object element : clone)
+		{
+			if (element == null ? !containsNull
+				: elements.get(element) == null
+					&& !(isImmutable(element) && source.contains(element)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isShallowMapClone(final Map<?, ?> source, final Map<?, ?> clone)
+	{
+		if (!containsSharedElements(source.keySet(), clone.keySet()))
+		{
+			return false;
+		}
+		for (Map.Entry<?, ?> entry : clone.entrySet())
+		{
+			if (!isShared(source.get(entry.getKey()), entry.getValue()))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if the given clone value is the given value itself or an equal immutable value
+	 */
+	private static boolean isShared(final Object value, final Object cloneValue)
+	{
+		return value == cloneValue || isImmutable(value) && value.equals(cloneValue);
+	}
+
+	private static boolean isImmutable(final Object value)
+	{
+		return value != null && ClonePlan.of(value.getClass()).isImmutable();
+	}
+
+}
@@ -0,0 +1,153 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.Array;
+import java.util.stream.IntStream;
+
+/**
+ * The class {@link ArrayCloner} copies arrays with type-specialized bulk copies, so the elements
+ * of primitive arrays are never boxed. Huge arrays can optionally be copied in chunks in parallel
+ */
+final class ArrayCloner
+{
+
+	/** The minimum number of elements of an array that is copied in parallel chunks */
+	static final int PARALLEL_THRESHOLD = 1 << 20;
+
+	/** The number of elements of one chunk of a parallel copy */
+	static final int CHUNK_SIZE = 1 << 18;
+
+	private ArrayCloner()
+	{
+	}
+
+	/**
+	 * Copies the given array. This is a shallow copy, the elements of an array of objects are
+	 * shared
+	 *
+	 * @param array
+	 *            the array to copy
+	 * @param parallel
+	 *            the flag if huge arrays are copied in parallel chunks
+	 * @return the copy of the given array
+	 */
+	static Object copy(final Object array, final boolean parallel)
+	{
+		if (parallel && PARALLEL_THRESHOLD <= Array.getLength(array))
+		{
+			return copyInParallel(array);
+		}
+		final Class<?> componentType = array.getClass().getComponentType();
+		if (!componentType.isPrimitive())
+		{
+			return ((Object[])array).clone();
+		}
+		if (componentType == int.class)
+		{
+			return ((int[])array).clone();
+		}
+		if (componentType == long.class)
+		{
+			return ((long[])array).clone();
+		}
+		if (componentType == double.class)
+		{
+			return ((double[])array).clone();
+		}
+		if (componentType == byte.class)
+		{
+			return ((byte[])array).clone();
+		}
+		if (componentType == char.class)
+		{
+			return ((char[])array).clone();
+		}
+		if (componentType == boolean.class)
+		{
+			return ((boolean[])array).clone();
+		}
+		if (componentType == float.class)
+		{
+			return ((float[])array).clone();
+		}
+		return ((short[])array).clone();
+	}
+
+	/**
+	 * Copies the given array in all dimensions. Nested arrays are copied too and the elements of
+	 * the innermost arrays of objects are shared. Nested arrays that occur more than once are
+	 * copied once, so rows that are shared in the given array are shared in the copy too
+	 *
+	 * @param array
+	 *            the array to copy
+	 * @param parallel
+	 *            the flag if huge arrays are copied in parallel chunks
+	 * @return the copy of the given array
+	 */
+	static Object copyAllDimensions(final Object array, final boolean parallel)
+	{
+		if (!array.getClass().getComponentType().isArray())
+		{
+			return copy(array, parallel);
+		}
+		return copyAllDimensions(array, parallel, new IdentityTable());
+	}
+
+	private static Object copyAllDimensions(final Object array, final boolean parallel,
+		final IdentityTable copies)
+	{
+		final Object clone = copy(array, parallel);
+		copies.put(array, clone);
+		if (array.getClass().getComponentType().isArray())
+		{
+			final Object[] rows = (Object[])clone;
+			for (int i = 0; i < rows.length; i++)
+			{
+				if (rows[i] != null)
+				{
+					final Object copied = copies.get(rows[i]);
+					rows[i] = copied != null
+						? copied
+						: copyAllDimensions(rows[i], parallel, copies);
+				}
+			}
+		}
+		return clone;
+	}
+
+	private static Object copyInParallel(final Object array)
+	{
+		final int length = Array.getLength(array);
+		final Object clone = Array.newInstance(array.getClass().getComponentType(), length);
+		final int chunks = (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		IntStream.range(0, chunks).parallel().forEach(chunk -> {
+			final int from = chunk * CHUNK_SIZE;
+			System.arraycopy(array, from, clone, from, Math.min(CHUNK_SIZE, length - from));
+		});
+		return clone;
+	}
+
+}
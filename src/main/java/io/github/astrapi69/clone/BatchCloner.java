@@ -0,0 +1,113 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * The class {@link BatchCloner} clones many objects in a row. The clone plan is resolved only once
+ * for each run of objects of the same class and a deep {@link BatchCloner} reuses one
+ * {@link DeepCloner} with its identity table and work stack for all objects
+ */
+final class BatchCloner
+{
+
+	/**
+	 * The clone plan of the last cloned object. A plan is immutable, so a racy read by a parallel
+	 * stream sees either a complete plan or null
+	 */
+	private ClonePlan plan;
+
+	/** The deep cloner or null if the objects are cloned shallow */
+	private final DeepCloner deepCloner;
+
+	/** The flag if objects that are shared between the cloned objects stay shared */
+	private final boolean shareIdentities;
+
+	/**
+	 * Instantiates a new {@link BatchCloner} that clones shallow as with
+	 * {@link CloneObjectExtensions#cloneObject(Object)}. A shallow {@link BatchCloner} is
+	 * thread-safe
+	 */
+	BatchCloner()
+	{
+		this.deepCloner = null;
+		this.shareIdentities = false;
+	}
+
+	/**
+	 * Instantiates a new {@link BatchCloner} that deep clones as with
+	 * {@link CloneObjectExtensions#deepClone(Object)}
+	 *
+	 * @param shareIdentities
+	 *            the flag if one identity table is shared for all objects, so objects that are
+	 *            shared between the source objects stay shared between the clones
+	 */
+	BatchCloner(final boolean shareIdentities)
+	{
+		this.deepCloner = new DeepCloner();
+		this.shareIdentities = shareIdentities;
+	}
+
+	/**
+	 * Clone the given object
+	 *
+	 * @param object
+	 *            the object to clone
+	 * @return the cloned object or null if the clone process failed
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	Object clone(final Object object)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (object == null)
+		{
+			return null;
+		}
+		if (deepCloner != null)
+		{
+			if (!shareIdentities)
+			{
+				deepCloner.reset();
+			}
+			return deepCloner.deepClone(object);
+		}
+		ClonePlan current = plan;
+		if (current == null || current.getType() != object.getClass())
+		{
+			current = ClonePlan.of(object.getClass());
+			plan = current;
+		}
+		return CloneObjectExtensions.cloneObject(object, current);
+	}
+
+}
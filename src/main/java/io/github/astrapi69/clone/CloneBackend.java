@@ -0,0 +1,93 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * The interface {@link CloneBackend} is the service provider interface of an engine that clones
+ * the objects of the classes it supports. The backends are discovered with the
+ * {@link java.util.ServiceLoader} and for every class the supporting backend with the lowest cost
+ * is selected once. The built-in backends cost {@value #CLONEABLE_COST} for the {@code clone()}
+ * method of a {@link Cloneable} class and {@value #REFLECTION_COST} for the reflective copy, so a
+ * provider replaces them for a class by returning a lower cost. The cloners of
+ * {@link GenerateCloner} classes, the {@link TypeCloner} services, the copies of the collections
+ * and maps of the JDK and the records that are rebuilt over their canonical constructors take
+ * precedence over every backend
+ */
+public interface CloneBackend
+{
+
+	/** The cost of the built-in backend that calls the {@code clone()} method */
+	int CLONEABLE_COST = 10;
+
+	/** The cost of the built-in backend that copies the fields over reflection */
+	int REFLECTION_COST = 20;
+
+	/**
+	 * Gets the name of this backend
+	 *
+	 * @return the name
+	 */
+	String getName();
+
+	/**
+	 * Checks if this backend can clone the objects of the given class
+	 *
+	 * @param type
+	 *            the class
+	 * @return true if this backend can clone the objects of the given class otherwise false
+	 */
+	boolean supports(Class<?> type);
+
+	/**
+	 * Gets the relative cost of cloning an object of the given supported class with this backend
+	 *
+	 * @param type
+	 *            the class
+	 * @return the cost, the backend with the lowest cost is selected
+	 */
+	int getCost(Class<?> type);
+
+	/**
+	 * Clone the given object of a supported class shallow
+	 *
+	 * @param source
+	 *            the object to clone, not null
+	 * @return The cloned object or null if the clone process failed, then the object is cloned
+	 *         with the built-in strategies
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	Object clone(Object source)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException;
+
+}
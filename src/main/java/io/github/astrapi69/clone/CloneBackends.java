@@ -0,0 +1,160 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * The class {@link CloneBackends} selects the {@link CloneBackend} of a class. The backends that
+ * are provided as a service are loaded once and the built-in backends are always available, even
+ * if a broken provider stops the service lookup
+ */
+final class CloneBackends
+{
+
+	private CloneBackends()
+	{
+	}
+
+	/**
+	 * Gets all available backends
+	 *
+	 * @return the unmodifiable list of the backends
+	 */
+	static List<CloneBackend> getBackends()
+	{
+		return Services.BACKENDS;
+	}
+
+	/**
+	 * Selects the backend with the lowest cost that supports the given class from all available
+	 * backends
+	 *
+	 * @param type
+	 *            the class
+	 * @return the selected backend or null if no backend supports the given class
+	 */
+	static CloneBackend select(final Class<?> type)
+	{
+		return select(type, Services.BACKENDS);
+	}
+
+	/**
+	 * Selects the backend with the lowest cost that supports the given class from the given
+	 * backends. Of backends with the same cost the first one is selected
+	 *
+	 * @param type
+	 *            the class
+	 * @param backends
+	 *            the backends
+	 * @return the selected backend or null if no backend supports the given class
+	 */
+	static CloneBackend select(final Class<?> type, final List<CloneBackend> backends)
+	{
+		CloneBackend selected = null;
+		int selectedCost = Integer.MAX_VALUE;
+		for (CloneBackend backend : backends)
+		{
+			try
+			{
+				if (backend.supports(type))
+				{
+					final int cost = backend.getCost(type);
+					if (selected == null || cost < selectedCost)
+					{
+						selected = backend;
+						selectedCost = cost;
+					}
+				}
+			}
+			catch (RuntimeException | LinkageError e)
+			{
+				// a backend that fails for the class does not support it
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Checks if the given backend is a built-in backend whose strategies
+	 * {@link CloneObjectExtensions#cloneObject(Object)} applies itself
+	 *
+	 * @param backend
+	 *            the backend
+	 * @return true if the given backend is a built-in backend otherwise false
+	 */
+	static boolean isBuiltIn(final CloneBackend backend)
+	{
+		return backend instanceof CloneableCloneBackend
+			|| backend instanceof ReflectionCloneBackend;
+	}
+
+	/**
+	 * The holder of the available backends, loaded on first use
+	 */
+	private static final class Services
+	{
+
+		private static final List<CloneBackend> BACKENDS = load();
+
+		private static List<CloneBackend> load()
+		{
+			final List<CloneBackend> backends = new ArrayList<>();
+			try
+			{
+				for (CloneBackend backend : ServiceLoader.load(CloneBackend.class))
+				{
+					backends.add(backend);
+				}
+			}
+			catch (ServiceConfigurationError e)
+			{
+				// a broken provider stops the service lookup, the built-in backends still work
+			}
+			addIfAbsent(backends, new CloneableCloneBackend());
+			addIfAbsent(backends, new ReflectionCloneBackend());
+			addIfAbsent(backends, new RitsCloneBackend());
+			return List.copyOf(backends);
+		}
+
+		private static void addIfAbsent(final List<CloneBackend> backends,
+			final CloneBackend builtIn)
+		{
+			for (CloneBackend backend : backends)
+			{
+				if (backend.getClass() == builtIn.getClass())
+				{
+					return;
+				}
+			}
+			backends.add(builtIn);
+		}
+
+	}
+
+}
@@ -0,0 +1,247 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class {@link CloneClassMetrics} holds the measurements of the clone operations of one class.
+ * The latencies are counted in a histogram with power of two buckets, the bucket with the index
+ * {@code i} counts the latencies from {@code 2^(i-1)} inclusive to {@code 2^i} exclusive
+ * nanoseconds
+ */
+public final class CloneClassMetrics
+{
+
+	/** The number of the buckets of the latency histogram */
+	public static final int LATENCY_BUCKETS = 64;
+
+	/** The strategies in the order of the strategy counters */
+	private static final CloneStrategy[] STRATEGIES = CloneStrategy.values();
+
+	/** The class of the cloned objects */
+	private final Class<?> type;
+
+	private final LongAdder clones = new LongAdder();
+
+	private final LongAdder fallbacks = new LongAdder();
+
+	private final LongAdder failures = new LongAdder();
+
+	private final LongAdder totalNanos = new LongAdder();
+
+	private final LongAdder allocatedBytes = new LongAdder();
+
+	private final LongAdder clonedObjects = new LongAdder();
+
+	private final LongAccumulator maxGraphSize = new LongAccumulator(Math::max, 0);
+
+	/** The counters of the strategies, the last counter counts the shared immutable objects */
+	private final AtomicLongArray strategyCounts = new AtomicLongArray(STRATEGIES.length + 1);
+
+	private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+
+	/**
+	 * Instantiates a new {@link CloneClassMetrics}
+	 *
+	 * @param type
+	 *            the class of the cloned objects
+	 */
+	CloneClassMetrics(final Class<?> type)
+	{
+		this.type = type;
+	}
+
+	void recordClone(final CloneStrategy strategy, final long nanos, final long allocated,
+		final int graphSize)
+	{
+		clones.increment();
+		totalNanos.add(nanos);
+		if (0 <= allocated)
+		{
+			allocatedBytes.add(allocated);
+		}
+		clonedObjects.add(graphSize);
+		maxGraphSize.accumulate(graphSize);
+		strategyCounts.incrementAndGet(strategy != null ? strategy.ordinal() : STRATEGIES.length);
+		latencyHistogram.incrementAndGet(
+			Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos))));
+	}
+
+	void recordFallback()
+	{
+		fallbacks.increment();
+	}
+
+	void recordFailure()
+	{
+		failures.increment();
+	}
+
+	/**
+	 * Gets the class of the cloned objects
+	 *
+	 * @return the class
+	 */
+	public Class<?> getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Gets the number of the successful clone operations
+	 *
+	 * @return the number of the clone operations
+	 */
+	public long getCloneCount()
+	{
+		return clones.sum();
+	}
+
+	/**
+	 * Gets the number of the clone operations that fell back to the default strategies
+	 *
+	 * @return the number of the fallbacks
+	 */
+	public long getFallbackCount()
+	{
+		return fallbacks.sum();
+	}
+
+	/**
+	 * Gets the number of the failed clone operations, including the ones that returned no clone
+	 * without an exception
+	 *
+	 * @return the number of the failures
+	 */
+	public long getFailureCount()
+	{
+		return failures.sum();
+	}
+
+	/**
+	 * Gets the number of the successful clone operations with the given strategy
+	 *
+	 * @param strategy
+	 *            the strategy or null for the immutable objects that were shared and the deep
+	 *            clones
+	 * @return the number of the clone operations
+	 */
+	public long getStrategyCount(final CloneStrategy strategy)
+	{
+		return strategyCounts.get(strategy != null ? strategy.ordinal() : STRATEGIES.length);
+	}
+
+	/**
+	 * Gets the sum of the durations of the successful clone operations
+	 *
+	 * @return the sum in nanoseconds
+	 */
+	public long getTotalNanos()
+	{
+		return totalNanos.sum();
+	}
+
+	/**
+	 * Gets the sum of the bytes that were allocated by the successful clone operations
+	 *
+	 * @return the sum of the allocated bytes
+	 */
+	public long getAllocatedBytes()
+	{
+		return allocatedBytes.sum();
+	}
+
+	/**
+	 * Gets the sum of the objects that were cloned by the successful clone operations
+	 *
+	 * @return the number of the cloned objects
+	 */
+	public long getClonedObjectCount()
+	{
+		return clonedObjects.sum();
+	}
+
+	/**
+	 * Gets the largest number of objects that one clone operation has cloned
+	 *
+	 * @return the largest graph size
+	 */
+	public long getMaxGraphSize()
+	{
+		return maxGraphSize.get();
+	}
+
+	/**
+	 * Gets a copy of the latency histogram
+	 *
+	 * @return the counts of the latency buckets
+	 */
+	public long[] getLatencyHistogram()
+	{
+		final long[] histogram = new long[LATENCY_BUCKETS];
+		for (int i = 0; i < LATENCY_BUCKETS; i++)
+		{
+			histogram[i] = latencyHistogram.get(i);
+		}
+		return histogram;
+	}
+
+	/**
+	 * Gets the upper bound of the given percentile of the latencies
+	 *
+	 * @param percentile
+	 *            the percentile between 0 and 100
+	 * @return the exclusive upper bound in nanoseconds of the bucket that contains the given
+	 *         percentile or 0 if no latency was recorded
+	 */
+	public long getLatencyPercentileNanos(final double percentile)
+	{
+		final long[] histogram = getLatencyHistogram();
+		long count = 0;
+		for (long bucketCount : histogram)
+		{
+			count += bucketCount;
+		}
+		if (count == 0)
+		{
+			return 0;
+		}
+		final long rank = (long)Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+		long seen = 0;
+		for (int i = 0; i < LATENCY_BUCKETS; i++)
+		{
+			seen += histogram[i];
+			if (Math.max(1, rank) <= seen)
+			{
+				return i < 63 ? 1L << i : Long.MAX_VALUE;
+			}
+		}
+		return Long.MAX_VALUE;
+	}
+
+}
@@ -0,0 +1,111 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+/**
+ * The enum {@link CloneFailure} describes why a strategy always fails for objects of a given
+ * class. The failure is cached in the {@link ClonePlan} of the class, so later clone operations
+ * skip the strategy or fail fast without creating the same exception again and again
+ */
+enum CloneFailure
+{
+
+	/** The class does not declare its own clone method */
+	NO_DECLARED_CLONE,
+
+	/** The clone method of the class cannot be invoked by this library */
+	INACCESSIBLE_CLONE,
+
+	/** At least one field of the class cannot be made accessible */
+	INACCESSIBLE_FIELDS,
+
+	/** The class has no instantiator or its instantiator cannot create instances */
+	NOT_INSTANTIABLE;
+
+	/**
+	 * Throws the exception of a clone method that cannot be invoked because of this failure. The
+	 * exception has no stack trace, because it is thrown on every call for the same class
+	 *
+	 * @param type
+	 *            the class of the cloned object
+	 * @throws NoSuchMethodException
+	 *             Thrown if the class does not declare its own clone method
+	 * @throws IllegalAccessException
+	 *             Thrown if the clone method of the class cannot be invoked
+	 */
+	void throwCloneException(final Class<?> type)
+		throws NoSuchMethodException, IllegalAccessException
+	{
+		final String message = type.getName() + ".clone()";
+		if (this == INACCESSIBLE_CLONE)
+		{
+			throw new StacklessIllegalAccessException(message);
+		}
+		throw new StacklessNoSuchMethodException(message);
+	}
+
+	/**
+	 * The {@link NoSuchMethodException} of a failure that is cached
+	 */
+	private static final class StacklessNoSuchMethodException extends NoSuchMethodException
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		StacklessNoSuchMethodException(final String message)
+		{
+			super(message);
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace()
+		{
+			return this;
+		}
+
+	}
+
+	/**
+	 * The {@link IllegalAccessException} of a failure that is cached
+	 */
+	private static final class StacklessIllegalAccessException extends IllegalAccessException
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		StacklessIllegalAccessException(final String message)
+		{
+			super(message);
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace()
+		{
+			return this;
+		}
+
+	}
+
+}
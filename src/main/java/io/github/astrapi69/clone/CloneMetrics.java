@@ -0,0 +1,342 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.util.function.LongSupplier;
+
+/**
+ * The class {@link CloneMetrics} instruments the clone operations of {@link CloneObjectExtensions}.
+ * The instrumentation is enabled while a {@link CloneMetricsSink} is set or while a JDK Flight
+ * Recorder recording is running, otherwise a clone operation only reads one volatile flag. The
+ * measurements are the duration, the strategy, the bytes that the cloning thread allocated, the
+ * size of the cloned graph, the fallbacks and the failures. The modules {@code jdk.jfr} and
+ * {@code jdk.management} are optional, without them no events are recorded and the allocated bytes
+ * are reported as -1
+ */
+public final class CloneMetrics
+{
+
+	/** The sink of the measurements or null */
+	private static volatile CloneMetricsSink sink;
+
+	/** The flag that indicates if a flight recording is running */
+	private static volatile boolean recording;
+
+	/** The flag that indicates if the clone operations are measured */
+	private static volatile boolean enabled;
+
+	static
+	{
+		// the flight recorder is optional, its classes are only loaded if its module is present
+		if (ModuleLayer.boot().findModule("jdk.jfr").isPresent())
+		{
+			JfrSupport.install();
+		}
+	}
+
+	private CloneMetrics()
+	{
+	}
+
+	/**
+	 * Gets the sink of the measurements
+	 *
+	 * @return the sink or null if no sink is set
+	 */
+	public static CloneMetricsSink getSink()
+	{
+		return sink;
+	}
+
+	/**
+	 * Sets the sink of the measurements
+	 *
+	 * @param sink
+	 *            the sink or null to stop the measurements that are not recorded by the flight
+	 *            recorder
+	 */
+	public static void setSink(final CloneMetricsSink sink)
+	{
+		CloneMetrics.sink = sink;
+		enabled = sink != null || recording;
+	}
+
+	/**
+	 * Checks if the clone operations are measured
+	 *
+	 * @return true if a sink is set or a flight recording is running otherwise false
+	 */
+	public static boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Checks if the clone operations that report to the given sink are measured
+	 *
+	 * @param sink
+	 *            the sink of a {@link Cloner} or null
+	 * @return true if the given sink is not null or a flight recording is running otherwise false
+	 */
+	static boolean isEnabled(final CloneMetricsSink sink)
+	{
+		return sink != null || recording;
+	}
+
+	/**
+	 * Sets the flag that indicates if a flight recording is running
+	 *
+	 * @param recording
+	 *            the flag
+	 */
+	static void setRecording(final boolean recording)
+	{
+		CloneMetrics.recording = recording;
+		enabled = sink != null || recording;
+	}
+
+	/**
+	 * Runs and measures the given clone operation
+	 *
+	 * @param type
+	 *            the class of the cloned object
+	 * @param strategy
+	 *            the strategy of the clone operation or null if it is not known in advance
+	 * @param operation
+	 *            the clone operation
+	 * @return the clone
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	static Object measure(final Class<?> type, final CloneStrategy strategy,
+		final CloneOperation operation)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return measure(sink, type, strategy, operation);
+	}
+
+	/**
+	 * Runs and measures the given clone operation and reports it to the given sink
+	 *
+	 * @param sink
+	 *            the sink of the measurement or null if it is only recorded by the flight recorder
+	 * @param type
+	 *            the class of the cloned object
+	 * @param strategy
+	 *            the strategy of the clone operation or null if it is not known in advance
+	 * @param operation
+	 *            the clone operation
+	 * @return the clone
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	static Object measure(final CloneMetricsSink sink, final Class<?> type,
+		final CloneStrategy strategy, final CloneOperation operation)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final Object event = recording ? JfrSupport.begin() : null;
+		final long allocatedBefore = Allocations.get();
+		final long start = System.nanoTime();
+		final Object clone;
+		try
+		{
+			clone = operation.run();
+		}
+		catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException
+			| RuntimeException | Error e)
+		{
+			recordFailure(sink, event, type, strategy, e);
+			throw e;
+		}
+		final long nanos = System.nanoTime() - start;
+		final long allocatedAfter = Allocations.get();
+		if (clone == null)
+		{
+			recordFailure(sink, event, type, strategy, null);
+			return null;
+		}
+		final long allocatedBytes = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+		final int graphSize = operation.getGraphSize();
+		if (sink != null)
+		{
+			sink.onClone(type, strategy, nanos, allocatedBytes, graphSize);
+		}
+		if (event != null)
+		{
+			JfrSupport.commit(event, type, strategy, allocatedBytes, graphSize, false);
+		}
+		return clone;
+	}
+
+	private static void recordFailure(final CloneMetricsSink sink, final Object event,
+		final Class<?> type, final CloneStrategy strategy, final Throwable cause)
+	{
+		if (sink != null)
+		{
+			sink.onFailure(type, strategy, cause);
+		}
+		if (event != null)
+		{
+			JfrSupport.commit(event, type, strategy, -1, 0, true);
+		}
+	}
+
+	/**
+	 * Records that the given strategy could not be applied to an object of the given class
+	 *
+	 * @param type
+	 *            the class of the cloned object
+	 * @param strategy
+	 *            the strategy that could not be applied
+	 */
+	static void recordFallback(final Class<?> type, final CloneStrategy strategy)
+	{
+		recordFallback(sink, type, strategy);
+	}
+
+	/**
+	 * Records that the given strategy could not be applied to an object of the given class and
+	 * reports it to the given sink
+	 *
+	 * @param sink
+	 *            the sink of the measurement or null if it is only recorded by the flight recorder
+	 * @param type
+	 *            the class of the cloned object
+	 * @param strategy
+	 *            the strategy that could not be applied
+	 */
+	static void recordFallback(final CloneMetricsSink sink, final Class<?> type,
+		final CloneStrategy strategy)
+	{
+		if (sink != null)
+		{
+			sink.onFallback(type, strategy);
+		}
+		if (recording)
+		{
+			JfrSupport.fallback(type, strategy);
+		}
+	}
+
+	/**
+	 * The interface {@link CloneOperation} is a clone operation that is measured
+	 */
+	@FunctionalInterface
+	interface CloneOperation
+	{
+
+		/**
+		 * Runs the clone operation
+		 *
+		 * @return the clone or null if the clone process failed
+		 * @throws NoSuchMethodException
+		 *             Thrown if a matching method is not found or if the name is
+		 *             "&lt;init&gt;"or "&lt;clinit&gt;".
+		 * @throws IllegalAccessException
+		 *             Thrown if this {@code Method} object is enforcing Java language access
+		 *             control and the underlying method is inaccessible.
+		 * @throws InvocationTargetException
+		 *             Thrown if the property accessor method throws an exception
+		 */
+		Object run() throws NoSuchMethodException, IllegalAccessException, InvocationTargetException;
+
+		/**
+		 * Gets the number of the objects that the finished clone operation has cloned
+		 *
+		 * @return the number of the cloned objects
+		 */
+		default int getGraphSize()
+		{
+			return 1;
+		}
+
+	}
+
+	/**
+	 * The holder of the measurement of the bytes that the current thread has allocated
+	 */
+	private static final class Allocations
+	{
+
+		/** The probe of the allocated bytes or null if they are not measured on this runtime */
+		private static final LongSupplier PROBE = ModuleLayer.boot()
+			.findModule("jdk.management")
+			.isPresent() ? ThreadAllocations.resolve() : null;
+
+		static long get()
+		{
+			return PROBE != null ? PROBE.getAsLong() : -1;
+		}
+
+	}
+
+	/**
+	 * The resolver of the probe of the allocated bytes, which refers to the classes of the
+	 * optional module {@code jdk.management} and is only loaded if the module is present
+	 */
+	private static final class ThreadAllocations
+	{
+
+		static LongSupplier resolve()
+		{
+			try
+			{
+				final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+				if (threads instanceof com.sun.management.ThreadMXBean)
+				{
+					final com.sun.management.ThreadMXBean allocations;
+					allocations = (com.sun.management.ThreadMXBean)threads;
+					if (allocations.isThreadAllocatedMemorySupported()
+						&& allocations.isThreadAllocatedMemoryEnabled())
+					{
+						return allocations::getCurrentThreadAllocatedBytes;
+					}
+				}
+			}
+			catch (RuntimeException | LinkageError e)
+			{
+				// the allocations are not measured on this runtime
+			}
+			return null;
+		}
+
+	}
+
+}
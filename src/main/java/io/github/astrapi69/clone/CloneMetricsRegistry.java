@@ -0,0 +1,111 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The class {@link CloneMetricsRegistry} is a {@link CloneMetricsSink} that aggregates the
+ * measurements per cloned class in memory. The aggregated values can be read at any time, for
+ * instance to publish them to a monitoring system
+ */
+public class CloneMetricsRegistry implements CloneMetricsSink
+{
+
+	/** The map from the cloned classes to their measurements */
+	private final ConcurrentMap<Class<?>, CloneClassMetrics> metrics = new ConcurrentHashMap<>();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onClone(final Class<?> type, final CloneStrategy strategy, final long nanos,
+		final long allocatedBytes, final int graphSize)
+	{
+		metricsOf(type).recordClone(strategy, nanos, allocatedBytes, graphSize);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onFallback(final Class<?> type, final CloneStrategy strategy)
+	{
+		metricsOf(type).recordFallback();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onFailure(final Class<?> type, final CloneStrategy strategy,
+		final Throwable cause)
+	{
+		metricsOf(type).recordFailure();
+	}
+
+	private CloneClassMetrics metricsOf(final Class<?> type)
+	{
+		final CloneClassMetrics classMetrics = metrics.get(type);
+		return classMetrics != null
+			? classMetrics
+			: metrics.computeIfAbsent(type, CloneClassMetrics::new);
+	}
+
+	/**
+	 * Gets the measurements of the given class
+	 *
+	 * @param type
+	 *            the cloned class
+	 * @return the measurements or null if no object of the given class was cloned
+	 */
+	public CloneClassMetrics getMetrics(final Class<?> type)
+	{
+		return metrics.get(type);
+	}
+
+	/**
+	 * Gets the measurements of all cloned classes
+	 *
+	 * @return an unmodifiable snapshot of the measurements
+	 */
+	public Collection<CloneClassMetrics> getAllMetrics()
+	{
+		return Collections.unmodifiableList(new ArrayList<>(metrics.values()));
+	}
+
+	/**
+	 * Removes all measurements
+	 */
+	public void clear()
+	{
+		metrics.clear();
+	}
+
+}
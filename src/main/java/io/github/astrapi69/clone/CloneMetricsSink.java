@@ -0,0 +1,86 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+/**
+ * The interface {@link CloneMetricsSink} receives the measurements of the clone operations of
+ * {@link CloneObjectExtensions} while it is set with {@link CloneMetrics#setSink(CloneMetricsSink)}.
+ * The methods are called on the cloning thread and have to be fast and thread-safe. All methods
+ * do nothing by default, so a sink implements only the measurements it needs
+ */
+public interface CloneMetricsSink
+{
+
+	/**
+	 * Receives a finished clone operation
+	 *
+	 * @param type
+	 *            the class of the cloned object
+	 * @param strategy
+	 *            the strategy that cloned the object or null if the object was shared because it
+	 *            is immutable or if a deep clone traversed a whole graph
+	 * @param nanos
+	 *            the duration of the clone operation in nanoseconds
+	 * @param allocatedBytes
+	 *            the bytes that the cloning thread allocated during the clone operation or -1 if
+	 *            the allocations cannot be measured on this runtime
+	 * @param graphSize
+	 *            the number of the cloned objects, which is greater than one for deep clones
+	 */
+	default void onClone(final Class<?> type, final CloneStrategy strategy, final long nanos,
+		final long allocatedBytes, final int graphSize)
+	{
+	}
+
+	/**
+	 * Receives a clone operation that could not apply the given strategy and fell back to the
+	 * default strategies
+	 *
+	 * @param type
+	 *            the class of the cloned object
+	 * @param strategy
+	 *            the strategy that could not be applied
+	 */
+	default void onFallback(final Class<?> type, final CloneStrategy strategy)
+	{
+	}
+
+	/**
+	 * Receives a failed clone operation
+	 *
+	 * @param type
+	 *            the class of the object that could not be cloned
+	 * @param strategy
+	 *            the strategy that failed or null if it is unknown
+	 * @param cause
+	 *            the thrown exception or null if the clone operation returned no clone without an
+	 *            exception, for instance because the reflective copy returned an empty optional
+	 */
+	default void onFailure(final Class<?> type, final CloneStrategy strategy,
+		final Throwable cause)
+	{
+	}
+
+}
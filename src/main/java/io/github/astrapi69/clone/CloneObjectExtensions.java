@@ -24,11 +24,18 @@
  */
 package io.github.astrapi69.clone;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import io.github.astrapi69.reflection.ReflectionExtensions;
 
@@ -67,11 +74,15 @@ public final class CloneObjectExtensions
 	}
 
 	/**
-	 * Try to clone the given object that implements {@link Cloneable}.
+	 * Try to deep clone the given generic object. All reachable objects are cloned too, immutable
+	 * values are shared and shared references and cycles of the object graph are preserved in the
+	 * clone
 	 *
+	 * @param <T>
+	 *            the generic type
 	 * @param object
-	 *            The object to clone.
-	 * @return The cloned object or null if the clone process failed.
+	 *            the object to clone
+	 * @return The deep cloned object or null if the clone process failed.
 	 * @throws NoSuchMethodException
 	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
 	 *             "&lt;clinit&gt;".
@@ -81,40 +92,732 @@ public final class CloneObjectExtensions
 	 * @throws InvocationTargetException
 	 *             Thrown if the property accessor method throws an exception
 	 */
-	public static Object cloneCloneable(final Object object)
+	public static <T> T deepClone(final T object)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return Cloner.getDefault().deepClone(object);
+	}
+
+	/**
+	 * Try to deep clone the given generic object in parallel on the common {@link ForkJoinPool}.
+	 * Arrays, collections and maps with many elements are split into subtasks and object identity
+	 * is preserved across the whole graph as with {@link #deepClone(Object)}
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param object
+	 *            the object to clone
+	 * @return The deep cloned object or null if the clone process failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static <T> T parallelDeepClone(final T object)
 		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
 	{
-		Object clone;
-		if (object.getClass().isArray())
+		return parallelDeepClone(object, ForkJoinPool.commonPool(),
+			ParallelDeepCloner.DEFAULT_SPLIT_THRESHOLD);
+	}
+
+	/**
+	 * Try to deep clone the given generic object in parallel on the given {@link ForkJoinPool}.
+	 * Arrays, collections and maps with at least the given number of elements are split into
+	 * subtasks, smaller ones are cloned sequentially
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param object
+	 *            the object to clone
+	 * @param pool
+	 *            the pool that runs the subtasks
+	 * @param splitThreshold
+	 *            the minimum number of elements of an array, collection or map that is split into
+	 *            subtasks, must be at least 2
+	 * @return The deep cloned object or null if the clone process failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T parallelDeepClone(final T object, final ForkJoinPool pool,
+		final int splitThreshold)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final ParallelDeepCloner cloner = new ParallelDeepCloner(pool, splitThreshold);
+		if (object == null || !CloneMetrics.isEnabled())
+		{
+			return (T)cloner.deepClone(object);
+		}
+		return (T)CloneMetrics.measure(object.getClass(), null, new CloneMetrics.CloneOperation()
 		{
-			final Class<?> componentType = object.getClass().getComponentType();
-			if (componentType.isPrimitive())
+			@Override
+			public Object run()
+				throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
 			{
-				int length = Array.getLength(object);
-				clone = Array.newInstance(componentType, length);
-				while (length-- > 0)
-				{
-					Array.set(clone, length, Array.get(object, length));
-				}
+				return cloner.deepClone(object);
 			}
-			else
+
+			@Override
+			public int getGraphSize()
 			{
-				clone = ((Object[])object).clone();
+				return cloner.getClones().size();
 			}
-			if (clone != null)
+		});
+	}
+
+	/**
+	 * Copies the field values of the given source into the given target of the same class, so the
+	 * target becomes a shallow clone of the source without allocating a new object. Arrays with
+	 * the same length are copied element by element and reusable collections and maps as decided
+	 * by {@link CollectionCloner.Kind#isReusable()} are cleared and refilled with the elements of
+	 * the source
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param source
+	 *            the object to copy
+	 * @param target
+	 *            the object to overwrite
+	 * @return the given target
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given objects are null, are not of the same class, are immutable or
+	 *             the given target cannot be overwritten with the given source
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static <T> T copyInto(final T source, final T target)
+	{
+		final ClonePlan plan = getCopyPlan(source, target);
+		if (source == target)
+		{
+			return target;
+		}
+		if (plan.getStrategy() == CloneStrategy.ARRAY)
+		{
+			final int length = Array.getLength(source);
+			if (length != Array.getLength(target))
 			{
-				return clone;
+				throw new IllegalArgumentException("Given arrays have different lengths: "
+					+ length + " and " + Array.getLength(target));
 			}
+			System.arraycopy(source, 0, target, 0, length);
+		}
+		else if (plan.getStrategy() == CloneStrategy.COLLECTION
+			&& plan.getCollectionKind().isReusable())
+		{
+			if (target instanceof Map)
+			{
+				((Map)target).clear();
+				((Map)target).putAll((Map)source);
+			}
+			else
+			{
+				((Collection)target).clear();
+				((Collection)target).addAll((Collection)source);
+			}
+		}
+		else if (plan.getStrategy() != CloneStrategy.COLLECTION && plan.getFieldCopier() != null)
+		{
+			plan.getFieldCopier().copy(source, target);
+		}
+		else
+		{
+			throw new IllegalArgumentException("Given target of the class "
+				+ plan.getType().getName() + " cannot be overwritten with the given source");
+		}
+		return target;
+	}
+
+	/**
+	 * Deep copies the given source into the given target of the same class, so the target becomes
+	 * a deep clone of the source. The objects that are reachable from the target are overwritten
+	 * in place if they have the class and the shape of the corresponding objects of the source,
+	 * for instance arrays with the same length, otherwise they are replaced with deep clones. The
+	 * elements of collections and maps are always cloned. The target graph must not share mutable
+	 * objects with the source graph or with other objects that are still in use, because the
+	 * shared objects would be overwritten
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param source
+	 *            the object to copy
+	 * @param target
+	 *            the object to overwrite
+	 * @return the given target
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given objects are null, are not of the same class, are immutable or
+	 *             the given target cannot be overwritten with the given source
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T deepCopyInto(final T source, final T target)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		getCopyPlan(source, target);
+		if (source == target)
+		{
+			return target;
+		}
+		return (T)new DeepCloner().deepCopyInto(source, target);
+	}
+
+	/**
+	 * Syncs the given earlier deep clone with the current state of the given source. Both graphs
+	 * are walked together and only the fields, array elements and list or map entries whose
+	 * values or references differ are changed in the clone, the subgraphs that have no
+	 * counterpart in the clone are deep cloned. Afterwards the clone is a deep clone of the source
+	 * again, the objects of the clone that were synced keep their identity
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param source
+	 *            the current source object
+	 * @param clone
+	 *            the earlier deep clone of the source object
+	 * @return the summary of the changes in the clone
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given objects are null, are not of the same class, are immutable or
+	 *             the given clone cannot be synced with the given source
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static <T> SyncSummary syncClone(final T source, final T clone)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		getCopyPlan(source, clone);
+		if (source == clone)
+		{
+			throw new IllegalArgumentException("Given clone is the given source itself");
+		}
+		return new IncrementalCloner().sync(source, clone);
+	}
+
+	/**
+	 * Compiles the given template object into a {@link Prototype} that creates deep copies of the
+	 * template by replaying a flat copy program instead of traversing the graph each time
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param template
+	 *            the template object
+	 * @return the new {@link Prototype} of the given template object
+	 * @throws IllegalArgumentException
+	 *             Thrown if an object of the graph can neither be copied nor shared
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static <T> Prototype<T> prototype(final T template)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return Prototype.of(template);
+	}
+
+	private static ClonePlan getCopyPlan(final Object source, final Object target)
+	{
+		if (source == null || target == null)
+		{
+			throw new IllegalArgumentException("Given source and target must not be null");
+		}
+		if (source.getClass() != target.getClass())
+		{
+			throw new IllegalArgumentException("Given source of the class "
+				+ source.getClass().getName() + " and target of the class "
+				+ target.getClass().getName() + " are not of the same class");
+		}
+		final ClonePlan plan = ClonePlan.of(source.getClass());
+		if (plan.isImmutable())
+		{
+			throw new IllegalArgumentException(
+				"Given objects of the class " + plan.getType().getName() + " are immutable");
+		}
+		return plan;
+	}
+
+	/**
+	 * Try to clone all objects of the given collection as with {@link #clone(Object)}. The clone
+	 * plan is resolved once for each run of objects of the same class
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param objects
+	 *            the objects to clone
+	 * @return A new list with the cloned objects in the iteration order of the given collection,
+	 *         an element is null if the clone process of the object failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static <T> List<T> cloneAll(final Collection<T> objects)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return cloneAll(objects, new BatchCloner());
+	}
+
+	/**
+	 * Try to clone all objects of the given array as with {@link #clone(Object)}. The clone plan is
+	 * resolved once for each run of objects of the same class
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param objects
+	 *            the objects to clone
+	 * @return A new array of the same component type with the cloned objects, an element is null
+	 *         if the clone process of the object failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T[] cloneAll(final T[] objects)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final BatchCloner batchCloner = new BatchCloner();
+		final T[] clones = (T[])Array.newInstance(objects.getClass().getComponentType(),
+			objects.length);
+		for (int i = 0; i < objects.length; i++)
+		{
+			clones[i] = (T)batchCloner.clone(objects[i]);
+		}
+		return clones;
+	}
+
+	/**
+	 * Try to deep clone all objects of the given collection as with {@link #deepClone(Object)}.
+	 * One identity table and work stack is reused for all objects
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param objects
+	 *            the objects to clone
+	 * @param shareIdentities
+	 *            the flag if objects that are shared between the given objects stay shared between
+	 *            the clones, if false every clone gets its own copy of them
+	 * @return A new list with the deep cloned objects in the iteration order of the given
+	 *         collection, an element is null if the clone process of the object failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static <T> List<T> deepCloneAll(final Collection<T> objects,
+		final boolean shareIdentities)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return cloneAll(objects, new BatchCloner(shareIdentities));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> List<T> cloneAll(final Collection<T> objects,
+		final BatchCloner batchCloner)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final List<T> clones = new ArrayList<>(objects.size());
+		for (T object : objects)
+		{
+			clones.add((T)batchCloner.clone(object));
+		}
+		return clones;
+	}
+
+	/**
+	 * Creates a lazy clone of the given list. The lazy clone reads through to the given list and
+	 * copies it as with {@link #cloneObject(Object)} on its first write, so a snapshot that is only
+	 * read costs no copy. The given list must not be changed as long as the lazy clone is not
+	 * written, otherwise the lazy clone sees the changes
+	 *
+	 * @param <E>
+	 *            the generic type of the elements
+	 * @param list
+	 *            the list to clone
+	 * @return The lazy clone or the given list itself if it is null or immutable
+	 */
+	public static <E> List<E> lazyClone(final List<E> list)
+	{
+		return lazyCloneAs(list, List.class);
+	}
+
+	/**
+	 * Creates a lazy clone of the given set. The lazy clone reads through to the given set and
+	 * copies it as with {@link #cloneObject(Object)} on its first write, so a snapshot that is only
+	 * read costs no copy. The given set must not be changed as long as the lazy clone is not
+	 * written, otherwise the lazy clone sees the changes
+	 *
+	 * @param <E>
+	 *            the generic type of the elements
+	 * @param set
+	 *            the set to clone
+	 * @return The lazy clone or the given set itself if it is null or immutable
+	 */
+	public static <E> Set<E> lazyClone(final Set<E> set)
+	{
+		return lazyCloneAs(set, Set.class);
+	}
+
+	/**
+	 * Creates a lazy clone of the given map. The lazy clone reads through to the given map and
+	 * copies it as with {@link #cloneObject(Object)} on its first write, so a snapshot that is only
+	 * read costs no copy. The given map must not be changed as long as the lazy clone is not
+	 * written, otherwise the lazy clone sees the changes
+	 *
+	 * @param <K>
+	 *            the generic type of the keys
+	 * @param <V>
+	 *            the generic type of the values
+	 * @param map
+	 *            the map to clone
+	 * @return The lazy clone or the given map itself if it is null or immutable
+	 */
+	public static <K, V> Map<K, V> lazyClone(final Map<K, V> map)
+	{
+		return lazyCloneAs(map, Map.class);
+	}
+
+	/**
+	 * Creates a lazy clone of the given object behind the given public interface. The lazy clone
+	 * is a proxy that treats the methods of {@link Object} and the methods whose names start with
+	 * "get", "is" or "has" as reads that go through to the given object. Any other method copies
+	 * the given object as with {@link #cloneObject(Object)} on its first call. The given object
+	 * must not be changed as long as the lazy clone is not written, otherwise the lazy clone sees
+	 * the changes
+	 *
+	 * @param <T>
+	 *            the generic type of the interface
+	 * @param object
+	 *            the object to clone
+	 * @param type
+	 *            the public interface of the lazy clone
+	 * @return The lazy clone or the given object itself if it is null or immutable
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given type is not a public interface or the given object does not
+	 *             implement it
+	 */
+	public static <T> T lazyClone(final T object, final Class<T> type)
+	{
+		if (!type.isInterface() || !Modifier.isPublic(type.getModifiers()))
+		{
+			throw new IllegalArgumentException(
+				"Given type is not a public interface: " + type.getName());
+		}
+		if (object != null && !type.isInstance(object))
+		{
+			throw new IllegalArgumentException("Given object of the class "
+				+ object.getClass().getName() + " does not implement " + type.getName());
+		}
+		return lazyCloneAs(object, type);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <T> T lazyCloneAs(final T object, final Class type)
+	{
+		if (object == null)
+		{
+			return null;
+		}
+		final ClonePlan plan = ClonePlan.of(object.getClass());
+		if (plan.isImmutable()
+			|| plan.getCollectionKind() != null && plan.getCollectionKind().isImmutable())
+		{
+			return object;
+		}
+		return (T)LazyClones.of(object, type);
+	}
+
+	/**
+	 * Try to clone the given generic object with the strategy that the default
+	 * {@link AdaptiveCloner} has selected for its class by the measured cost
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param object
+	 *            the object to clone
+	 * @return The cloned object or null if the clone process failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static <T> T adaptiveClone(final T object)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return AdaptiveCloner.getDefault().clone(object);
+	}
+
+	/**
+	 * Try to clone the given generic object with the given strategy. If the given strategy cannot
+	 * be applied to the class of the given object, for instance if no cloner class can be generated
+	 * for it, the object is cloned as with {@link #clone(Object)}
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param object
+	 *            the object to clone
+	 * @param strategy
+	 *            the strategy to use
+	 * @return The cloned object or null if the clone process failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T clone(final T object, final CloneStrategy strategy)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (object == null)
+		{
+			return object;
+		}
+		final ClonePlan plan = ClonePlan.of(object.getClass());
+		if (!CloneMetrics.isEnabled())
+		{
+			final Object clone = cloneWithStrategy(object, plan, strategy);
+			return (T)(clone != null ? clone : cloneObject(object, plan));
+		}
+		final Object clone = CloneMetrics.measure(plan.getType(), strategy,
+			() -> cloneWithStrategy(object, plan, strategy));
+		if (clone != null)
+		{
+			return (T)clone;
+		}
+		CloneMetrics.recordFallback(plan.getType(), strategy);
+		return (T)CloneMetrics.measure(plan.getType(), getUsedStrategy(plan),
+			() -> cloneObject(object, plan));
+	}
+
+	/**
+	 * Try to clone the given object only with the given strategy
+	 *
+	 * @param object
+	 *            The object to clone, not null.
+	 * @param plan
+	 *            The clone plan of the class of the object
+	 * @param strategy
+	 *            the strategy to use
+	 * @return The cloned object or null if the given strategy cannot be applied to the object
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	static Object cloneWithStrategy(final Object object, final ClonePlan plan,
+		final CloneStrategy strategy)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		switch (strategy)
+		{
+			case ARRAY :
+			case CLONEABLE :
+				if (plan.getStrategy() == strategy
+					|| strategy == CloneStrategy.CLONEABLE && object instanceof Cloneable)
+				{
+					return cloneCloneable(object, plan);
+				}
+				return null;
+			case COLLECTION :
+				if (plan.getStrategy() == strategy)
+				{
+					return CollectionCloner.copy(object, plan.getCollectionKind());
+				}
+				return null;
+			case RECORD :
+				if (plan.getStrategy() == strategy && plan.getRecordCloner() != null)
+				{
+					return plan.getRecordCloner().copy(object);
+				}
+				return null;
+			case REFLECTION :
+				return cloneObjectWithReflection(object, plan).orElse(null);
+			case GENERATED :
+				final MethodHandle generatedCloner = plan.getGeneratedCloner();
+				if (generatedCloner != null)
+				{
+					return invokeGeneratedCloner(generatedCloner, object);
+				}
+				return null;
+			case SERIALIZATION :
+				return SerializationCloner.copy(object);
+			default :
+				return null;
+		}
+	}
+
+	private static Object invokeGeneratedCloner(final MethodHandle generatedCloner,
+		final Object object) throws InvocationTargetException
+	{
+		try
+		{
+			return (Object)generatedCloner.invokeExact(object);
+		}
+		catch (Error e)
+		{
+			throw e;
+		}
+		catch (Throwable throwable)
+		{
+			// the exceptions of the invoked constructor or of the sub-clones of the references
+			throw new InvocationTargetException(throwable);
+		}
+	}
+
+	/**
+	 * Try to clone the given object that implements {@link Cloneable}.
+	 *
+	 * @param object
+	 *            The object to clone.
+	 * @return The cloned object or null if the clone process failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static Object cloneCloneable(final Object object)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final ClonePlan plan = ClonePlan.of(object.getClass());
+		if (!CloneMetrics.isEnabled())
+		{
+			return cloneCloneable(object, plan);
+		}
+		final CloneStrategy strategy = plan.getStrategy() == CloneStrategy.ARRAY
+			? CloneStrategy.ARRAY
+			: CloneStrategy.CLONEABLE;
+		return CloneMetrics.measure(plan.getType(), strategy, () -> cloneCloneable(object, plan));
+	}
+
+	/**
+	 * Try to clone the given object that implements {@link Cloneable} with the given clone plan of
+	 * its class
+	 *
+	 * @param object
+	 *            The object to clone.
+	 * @param plan
+	 *            The clone plan of the class of the object
+	 * @return The cloned object or null if the clone process failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	static Object cloneCloneable(final Object object, final ClonePlan plan)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (plan.getStrategy() == CloneStrategy.ARRAY)
+		{
+			return ArrayCloner.copy(object, false);
 		}
 
-		final Class<?> clazz = object.getClass();
-		final Method cloneMethod = clazz.getDeclaredMethod("clone");
-		cloneMethod.setAccessible(true);
-		return cloneMethod.invoke(object, (Object[])null);
+		final CloneFailure failure = plan.getCloneableFailure();
+		if (failure != null)
+		{
+			failure.throwCloneException(plan.getType());
+		}
+		try
+		{
+			return plan.getCloneMethod().invoke(object, (Object[])null);
+		}
+		catch (IllegalAccessException e)
+		{
+			plan.recordCloneableFailure(CloneFailure.INACCESSIBLE_CLONE);
+			throw e;
+		}
 	}
 
 	/**
-	 * Try to clone the given object.
+	 * Clone the given array in all dimensions. Primitive arrays are copied in bulk without boxing
+	 * the elements, nested arrays are copied too and the elements of the innermost arrays of
+	 * objects are shared. Nested arrays that are shared in the given array are shared in the clone
+	 * too. Huge arrays can be copied in chunks in parallel on the common fork/join pool
+	 *
+	 * @param <T>
+	 *            the generic type of the array
+	 * @param array
+	 *            the array to clone
+	 * @param parallel
+	 *            the flag if huge arrays are copied in parallel chunks
+	 * @return The cloned array or null if the given array is null
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given object is not an array
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T cloneArray(final T array, final boolean parallel)
+	{
+		if (array == null)
+		{
+			return null;
+		}
+		if (!array.getClass().isArray())
+		{
+			throw new IllegalArgumentException(
+				"Given object is not an array: " + array.getClass().getName());
+		}
+		return (T)ArrayCloner.copyAllDimensions(array, parallel);
+	}
+
+	/**
+	 * Try to clone the given object. Immutable objects as decided by the
+	 * {@link ImmutableTypeRegistry} are not copied and the given object is returned.
 	 *
 	 * @param object
 	 *            The object to clone.
@@ -131,22 +834,101 @@ public final class CloneObjectExtensions
 	public static Object cloneObject(final Object object)
 		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
 	{
-		if (object == null)
+		return Cloner.getDefault().shallowClone(object);
+	}
+
+	/**
+	 * Gets the strategy that {@link #cloneObject(Object, ClonePlan)} tries first for objects of the
+	 * class of the given clone plan
+	 *
+	 * @param plan
+	 *            the clone plan
+	 * @return the strategy or null if the objects are immutable and are shared
+	 */
+	static CloneStrategy getUsedStrategy(final ClonePlan plan)
+	{
+		if (plan.isImmutable())
+		{
+			return null;
+		}
+		if (plan.getStrategy() == CloneStrategy.COLLECTION)
+		{
+			return CloneStrategy.COLLECTION;
+		}
+		if (plan.getTypeCloner() != null)
+		{
+			return CloneStrategy.GENERATED;
+		}
+		return plan.getStrategy();
+	}
+
+	/**
+	 * Try to clone the given object with the given clone plan of its class
+	 *
+	 * @param object
+	 *            The object to clone, not null.
+	 * @param plan
+	 *            The clone plan of the class of the object
+	 * @return The cloned object or null if the clone process failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	static Object cloneObject(final Object object, final ClonePlan plan)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		// Share the object if it is immutable
+		if (plan.isImmutable())
 		{
 			return object;
 		}
+		// Copy collections and maps of the JDK over their public API
+		if (plan.getStrategy() == CloneStrategy.COLLECTION)
+		{
+			return CollectionCloner.copy(object, plan.getCollectionKind());
+		}
+
+		// Clone the object with the cloner that was generated at compile time
+		final TypeCloner<Object> typeCloner = plan.getTypeCloner();
+		if (typeCloner != null)
+		{
+			return typeCloner.clone(object);
+		}
+
+		// Rebuild a record over its canonical constructor
+		if (plan.getStrategy() == CloneStrategy.RECORD)
+		{
+			final RecordCloner recordCloner = plan.getRecordCloner();
+			return recordCloner != null ? recordCloner.copy(object) : null;
+		}
 		Object clone = null;
 
+		// Clone the object with the backend that was selected for its class
+		final CloneBackend backend = plan.getBackend();
+		if (backend != null)
+		{
+			clone = backend.clone(object);
+			if (clone != null)
+			{
+				return clone;
+			}
+		}
+
 		// Try to clone the object if it is 'Cloneable'
-		if (object instanceof Cloneable)
+		if (plan.getStrategy() != CloneStrategy.REFLECTION)
 		{
-			clone = cloneCloneable(object);
+			clone = cloneCloneable(object, plan);
 		}
 
 		// Try to clone the object with reflection
 		if (clone == null)
 		{
-			Optional<Object> optional = cloneObjectWithReflection(object);
+			Optional<Object> optional = cloneObjectWithReflection(object, plan);
 			if (optional.isPresent())
 			{
 				clone = optional.get();
@@ -157,7 +939,8 @@ public final class CloneObjectExtensions
 	}
 
 	/**
-	 * Clone object with reflection optional.
+	 * Clone object with reflection optional. Immutable objects as decided by the
+	 * {@link ImmutableTypeRegistry} are not copied and the given object is returned.
 	 *
 	 * @param <T>
 	 *            the type parameter
@@ -168,16 +951,76 @@ public final class CloneObjectExtensions
 	@SuppressWarnings("unchecked")
 	public static <T> Optional<T> cloneObjectWithReflection(T source)
 	{
-		if (source instanceof String)
+		final ClonePlan plan = ClonePlan.of(source.getClass());
+		if (!CloneMetrics.isEnabled())
 		{
-			return Optional.of((T)new String(((String)source).getBytes()));
+			return cloneObjectWithReflection(source, plan);
 		}
 		try
 		{
-			T clone = (T)source.getClass().getDeclaredConstructor().newInstance();
-			for (Field field : source.getClass().getDeclaredFields())
+			// an empty optional is recorded as a failure without a cause
+			return Optional.ofNullable((T)CloneMetrics.measure(plan.getType(),
+				plan.isImmutable() ? null : CloneStrategy.REFLECTION,
+				() -> cloneObjectWithReflection(source, plan).orElse(null)));
+		}
+		catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e)
+		{
+			// the reflective copy catches its exceptions and returns an empty optional instead
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Clone the given object with reflection and the given clone plan of its class
+	 *
+	 * @param <T>
+	 *            the type parameter
+	 * @param source
+	 *            the source, not null
+	 * @param plan
+	 *            the clone plan of the class of the source
+	 * @return the optional
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> Optional<T> cloneObjectWithReflection(final T source, final ClonePlan plan)
+	{
+		if (plan.isImmutable())
+		{
+			return Optional.of(source);
+		}
+		// Skip the classes that failed before without trying again
+		if (!plan.isReflectionSupported())
+		{
+			return Optional.empty();
+		}
+		final T clone;
+		try
+		{
+			clone = (T)plan.getInstantiator().newInstance();
+		}
+		catch (InstantiationException | IllegalAccessException e)
+		{
+			// only a failed instantiation is cached, a failed copy of the fields may not repeat
+			plan.recordReflectionFailure(CloneFailure.NOT_INSTANTIABLE);
+			return Optional.empty();
+		}
+		catch (Exception e)
+		{
+			return Optional.empty();
+		}
+		try
+		{
+			final FieldCopier fieldCopier = plan.getFieldCopier();
+			if (fieldCopier != null)
 			{
-				ReflectionExtensions.copyFieldValue(source, clone, field);
+				fieldCopier.copy(source, clone);
+			}
+			else
+			{
+				for (Field field : plan.getFields())
+				{
+					ReflectionExtensions.copyFieldValue(source, clone, field);
+				}
 			}
 			return Optional.of(clone);
 		}
@@ -0,0 +1,595 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The class {@link ClonePlan} holds the resolved reflective metadata that is needed for clone
+ * objects of a specific class. A plan is created on first use and is cached in a
+ * {@link ClassValue} so the cache does not prevent the class from being unloaded. The fields of
+ * the plan are resolved with a {@link ClonePolicy}, the ignored fields are left out and the
+ * accessors of the reference fields know the policy of their field
+ */
+final class ClonePlan
+{
+
+	/** The cache of the clone plans */
+	private static final ClassValue<ClonePlan> PLANS = new ClassValue<>()
+	{
+		@Override
+		protected ClonePlan computeValue(final Class<?> type)
+		{
+			return new ClonePlan(type, ClonePolicy.getDefault());
+		}
+	};
+
+	/** The marker for a class that no cloner class can be generated for */
+	private static final Object NOT_GENERATED = new Object();
+
+	/** The marker for a class whose selected backend is a built-in one */
+	private static final Object BUILT_IN_BACKEND = new Object();
+
+	/** The marker for primitive fields that could not be compiled */
+	private static final FieldAccessor[] NOT_COMPILED = new FieldAccessor[0];
+
+	/** The class of this clone plan */
+	private final Class<?> type;
+
+	/** The strategy for clone objects of the class */
+	private final CloneStrategy strategy;
+
+	/** The kind of the collection or map class of the JDK or null if the class is none */
+	private final CollectionCloner.Kind collectionKind;
+
+	/** The flag that indicates if objects of the class are immutable and never need a copy */
+	private final boolean immutable;
+
+	/** The accessible no-arg constructor or null if the class has no usable one */
+	private final Constructor<?> constructor;
+
+	/** The instantiator of the new instances or null if no instance of the class can be created */
+	private final Instantiator instantiator;
+
+	/** The policy that the fields of this plan are resolved with */
+	private final ClonePolicy policy;
+
+	/**
+	 * The accessible instance fields of the class including the fields of all superclasses without
+	 * the ignored fields
+	 */
+	private final Field[] fields;
+
+	/** The compiled copier of the fields or null if the fields could not be compiled */
+	private final FieldCopier fieldCopier;
+
+	/** The compiled copier of the primitive fields or null if the fields could not be compiled */
+	private final FieldCopier primitiveFieldCopier;
+
+	/** The accessors of the reference fields or null if the fields could not be compiled */
+	private final FieldAccessor[] referenceFieldAccessors;
+
+	/** The cloner that was generated or provided for the class or null if none exists */
+	private final TypeCloner<Object> typeCloner;
+
+	/** The declared clone method or null if the class does not declare one */
+	private final Method cloneMethod;
+
+	/** The cloner of a record class or null if the class is no record or is inaccessible */
+	private final RecordCloner recordCloner;
+
+	/** The lazily generated cloner, the marker {@link #NOT_GENERATED} or null if not yet tried */
+	private volatile Object generatedCloner;
+
+	/** The lazily selected backend, the marker {@link #BUILT_IN_BACKEND} or null if not selected */
+	private volatile Object backend;
+
+	/** The lazily compiled accessors of the primitive fields or null if not yet compiled */
+	private volatile FieldAccessor[] primitiveFieldAccessors;
+
+	/** The cached failure of the clone method or null if the clone method has not failed */
+	private volatile CloneFailure cloneableFailure;
+
+	/** The cached failure of the reflective copy or null if the reflective copy has not failed */
+	private volatile CloneFailure reflectionFailure;
+
+	/**
+	 * Instantiates a new {@link ClonePlan} for the given class with the fields that are resolved
+	 * with the given policy
+	 *
+	 * @param type
+	 *            the class
+	 * @param policy
+	 *            the policy of the fields
+	 */
+	ClonePlan(final Class<?> type, final ClonePolicy policy)
+	{
+		this.type = type;
+		this.policy = policy;
+		this.collectionKind = CollectionCloner.kindOf(type);
+		this.strategy = resolveStrategy(type, collectionKind);
+		this.immutable = ImmutableTypeRegistry.getDefault().isImmutable(type);
+		this.fields = resolveFields(type, policy);
+		this.fieldCopier = resolveFieldCopier(fields);
+		this.primitiveFieldCopier = resolvePrimitiveFieldCopier(fields);
+		this.referenceFieldAccessors = resolveFieldAccessors(fields, false, policy);
+		this.constructor = resolveConstructor(type);
+		this.instantiator = Instantiator.of(type, constructor, hasIgnoredFields(type, policy));
+		this.cloneMethod = resolveCloneMethod(type);
+		this.typeCloner = resolveTypeCloner(type);
+		this.recordCloner = RecordCloner.of(type);
+		this.cloneableFailure = cloneMethod == null ? CloneFailure.NO_DECLARED_CLONE : null;
+		this.reflectionFailure = instantiator == null
+			? CloneFailure.NOT_INSTANTIABLE
+			: fields == null ? CloneFailure.INACCESSIBLE_FIELDS : null;
+	}
+
+	/**
+	 * Gets the clone plan for the given class
+	 *
+	 * @param type
+	 *            the class
+	 * @return the clone plan for the given class
+	 */
+	static ClonePlan of(final Class<?> type)
+	{
+		return PLANS.get(type);
+	}
+
+	private static CloneStrategy resolveStrategy(final Class<?> type,
+		final CollectionCloner.Kind collectionKind)
+	{
+		if (type.isArray())
+		{
+			return CloneStrategy.ARRAY;
+		}
+		if (collectionKind != null)
+		{
+			return CloneStrategy.COLLECTION;
+		}
+		if (type.isRecord())
+		{
+			return CloneStrategy.RECORD;
+		}
+		if (Cloneable.class.isAssignableFrom(type))
+		{
+			return CloneStrategy.CLONEABLE;
+		}
+		return CloneStrategy.REFLECTION;
+	}
+
+	private static Constructor<?> resolveConstructor(final Class<?> type)
+	{
+		if (type.isArray() || type.isPrimitive() || type.isInterface()
+			|| Modifier.isAbstract(type.getModifiers()))
+		{
+			return null;
+		}
+		try
+		{
+			final Constructor<?> constructor = type.getDeclaredConstructor();
+			return constructor.trySetAccessible() ? constructor : null;
+		}
+		catch (NoSuchMethodException | RuntimeException e)
+		{
+			return null;
+		}
+	}
+
+	private static Method resolveCloneMethod(final Class<?> type)
+	{
+		final Method cloneMethod;
+		try
+		{
+			cloneMethod = type.getDeclaredMethod("clone");
+		}
+		catch (NoSuchMethodException e)
+		{
+			return null;
+		}
+		try
+		{
+			cloneMethod.trySetAccessible();
+		}
+		catch (RuntimeException e)
+		{
+			// the invocation will fail with an IllegalAccessException
+		}
+		return cloneMethod;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static TypeCloner<Object> resolveTypeCloner(final Class<?> type)
+	{
+		return (TypeCloner<Object>)TypeClonerRegistry.find(type);
+	}
+
+	private static FieldCopier resolveFieldCopier(final Field[] fields)
+	{
+		if (fields == null)
+		{
+			return null;
+		}
+		try
+		{
+			return FieldCopier.of(fields);
+		}
+		catch (IllegalAccessException | RuntimeException e)
+		{
+			return null;
+		}
+	}
+
+	private static FieldCopier resolvePrimitiveFieldCopier(final Field[] fields)
+	{
+		if (fields == null)
+		{
+			return null;
+		}
+		return resolveFieldCopier(Arrays.stream(fields)
+			.filter(field -> field.getType().isPrimitive()).toArray(Field[]::new));
+	}
+
+	private static FieldAccessor[] resolveFieldAccessors(final Field[] fields,
+		final boolean primitive, final ClonePolicy policy)
+	{
+		if (fields == null)
+		{
+			return null;
+		}
+		final List<FieldAccessor> accessors = new ArrayList<>();
+		try
+		{
+			for (Field field : fields)
+			{
+				if (field.getType().isPrimitive() == primitive)
+				{
+					accessors.add(FieldAccessor.of(field, policy));
+				}
+			}
+		}
+		catch (IllegalAccessException | RuntimeException e)
+		{
+			return null;
+		}
+		return accessors.toArray(new FieldAccessor[0]);
+	}
+
+	private static boolean hasIgnoredFields(final Class<?> type, final ClonePolicy policy)
+	{
+		for (Class<?> current = type; current != null
+			&& current != Object.class; current = current.getSuperclass())
+		{
+			for (Field field : current.getDeclaredFields())
+			{
+				if (!Modifier.isStatic(field.getModifiers())
+					&& policy.policyOf(field) == FieldPolicy.IGNORE)
+				{
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static Field[] resolveFields(final Class<?> type, final ClonePolicy policy)
+	{
+		final List<Field> fields = new ArrayList<>();
+		for (Class<?> current = type; current != null
+			&& current != Object.class; current = current.getSuperclass())
+		{
+			for (Field field : current.getDeclaredFields())
+			{
+				if (Modifier.isStatic(field.getModifiers())
+					|| policy.policyOf(field) == FieldPolicy.IGNORE)
+				{
+					continue;
+				}
+				try
+				{
+					if (!field.trySetAccessible())
+					{
+						return null;
+					}
+				}
+				catch (RuntimeException e)
+				{
+					return null;
+				}
+				fields.add(field);
+			}
+		}
+		return fields.toArray(new Field[0]);
+	}
+
+	/**
+	 * Gets the class of this clone plan
+	 *
+	 * @return the class of this clone plan
+	 */
+	Class<?> getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Gets the strategy for clone objects of the class
+	 *
+	 * @return the strategy
+	 */
+	CloneStrategy getStrategy()
+	{
+		return strategy;
+	}
+
+	/**
+	 * Gets the kind of the collection or map class of the JDK
+	 *
+	 * @return the kind or null if the class is no supported collection or map class of the JDK
+	 */
+	CollectionCloner.Kind getCollectionKind()
+	{
+		return collectionKind;
+	}
+
+	/**
+	 * Checks if objects of the class are immutable and can be shared instead of copied
+	 *
+	 * @return true if objects of the class are immutable otherwise false
+	 */
+	boolean isImmutable()
+	{
+		return immutable;
+	}
+
+	/**
+	 * Gets the accessible no-arg constructor
+	 *
+	 * @return the constructor or null if the class has no usable no-arg constructor
+	 */
+	Constructor<?> getConstructor()
+	{
+		return constructor;
+	}
+
+	/**
+	 * Gets the instantiator of the new instances of the class
+	 *
+	 * @return the instantiator or null if no instance of the class can be created
+	 */
+	Instantiator getInstantiator()
+	{
+		return instantiator;
+	}
+
+	/**
+	 * Gets the accessible instance fields of the class including the fields of all superclasses
+	 * without the fields that the policy of this plan ignores
+	 *
+	 * @return the fields or null if at least one field could not be made accessible
+	 */
+	Field[] getFields()
+	{
+		return fields;
+	}
+
+	/**
+	 * Gets the compiled copier of the fields
+	 *
+	 * @return the field copier or null if the fields could not be compiled
+	 */
+	FieldCopier getFieldCopier()
+	{
+		return fieldCopier;
+	}
+
+	/**
+	 * Gets the compiled copier of the primitive fields
+	 *
+	 * @return the primitive field copier or null if the fields could not be compiled
+	 */
+	FieldCopier getPrimitiveFieldCopier()
+	{
+		return primitiveFieldCopier;
+	}
+
+	/**
+	 * Gets the accessors of the reference fields
+	 *
+	 * @return the reference field accessors or null if the fields could not be compiled
+	 */
+	FieldAccessor[] getReferenceFieldAccessors()
+	{
+		return referenceFieldAccessors;
+	}
+
+	/**
+	 * Gets the accessors of the primitive fields. The accessors are compiled on the first call,
+	 * because only the comparing clone operations need them
+	 *
+	 * @return the primitive field accessors or null if the fields could not be compiled
+	 */
+	FieldAccessor[] getPrimitiveFieldAccessors()
+	{
+		FieldAccessor[] accessors = primitiveFieldAccessors;
+		if (accessors == null)
+		{
+			accessors = resolveFieldAccessors(fields, true, policy);
+			if (accessors == null)
+			{
+				accessors = NOT_COMPILED;
+			}
+			primitiveFieldAccessors = accessors;
+		}
+		return accessors == NOT_COMPILED ? null : accessors;
+	}
+
+	/**
+	 * Gets the clone method that is declared in the class
+	 *
+	 * @return the clone method or null if the class does not declare one
+	 */
+	Method getCloneMethod()
+	{
+		return cloneMethod;
+	}
+
+	/**
+	 * Gets the cloner of the record class
+	 *
+	 * @return the record cloner or null if the class is no record or its accessors or its
+	 *         canonical constructor are inaccessible
+	 */
+	RecordCloner getRecordCloner()
+	{
+		return recordCloner;
+	}
+
+	/**
+	 * Gets the cloner that was generated at compile time or provided as a service for the class
+	 *
+	 * @return the cloner or null if none exists for the class
+	 */
+	TypeCloner<Object> getTypeCloner()
+	{
+		return typeCloner;
+	}
+
+	/**
+	 * Gets the generated cloner of the class. The cloner class is generated on the first call
+	 *
+	 * @return a method handle with the signature (Object)Object or null if no cloner class can be
+	 *         generated for the class
+	 */
+	MethodHandle getGeneratedCloner()
+	{
+		Object cloner = generatedCloner;
+		if (cloner == null)
+		{
+			cloner = ClonerClassGenerator.generate(this);
+			if (cloner == null)
+			{
+				cloner = NOT_GENERATED;
+			}
+			generatedCloner = cloner;
+		}
+		return cloner == NOT_GENERATED ? null : (MethodHandle)cloner;
+	}
+
+	/**
+	 * Gets the backend that clones the objects of the class. The backend is selected on the first
+	 * call, because the backends look at the clone plan of the class
+	 *
+	 * @return the selected backend or null if the built-in strategies of
+	 *         {@link CloneObjectExtensions#cloneObject(Object)} are used
+	 */
+	CloneBackend getBackend()
+	{
+		Object selected = backend;
+		if (selected == null)
+		{
+			selected = CloneBackends.select(type);
+			if (selected == null || CloneBackends.isBuiltIn((CloneBackend)selected))
+			{
+				selected = BUILT_IN_BACKEND;
+			}
+			backend = selected;
+		}
+		return selected == BUILT_IN_BACKEND ? null : (CloneBackend)selected;
+	}
+
+	/**
+	 * Gets the cached failure of the clone method of the class
+	 *
+	 * @return the failure or null if the clone method has not failed
+	 */
+	CloneFailure getCloneableFailure()
+	{
+		return cloneableFailure;
+	}
+
+	/**
+	 * Caches the given failure of the clone method of the class
+	 *
+	 * @param failure
+	 *            the failure
+	 */
+	void recordCloneableFailure(final CloneFailure failure)
+	{
+		cloneableFailure = failure;
+	}
+
+	/**
+	 * Gets the cached failure of the reflective copy of objects of the class
+	 *
+	 * @return the failure or null if the reflective copy has not failed
+	 */
+	CloneFailure getReflectionFailure()
+	{
+		return reflectionFailure;
+	}
+
+	/**
+	 * Caches the given failure of the reflective copy of objects of the class
+	 *
+	 * @param failure
+	 *            the failure
+	 */
+	void recordReflectionFailure(final CloneFailure failure)
+	{
+		reflectionFailure = failure;
+	}
+
+	/**
+	 * Checks if objects of the class can be cloned with reflection
+	 *
+	 * @return true if the class has an instantiator, all fields are accessible and the reflective
+	 *         copy has not failed before
+	 */
+	boolean isReflectionSupported()
+	{
+		return reflectionFailure == null;
+	}
+
+	/**
+	 * Checks if objects of the class can be deep cloned field by field
+	 *
+	 * @return true if the class has an instantiator, all fields are compiled and the reflective
+	 *         copy has not failed before
+	 */
+	boolean isDeepCloneSupported()
+	{
+		return reflectionFailure == null && primitiveFieldCopier != null
+			&& referenceFieldAccessors != null;
+	}
+
+}
@@ -0,0 +1,317 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The class {@link ClonePolicy} is an immutable configuration of the fields that the clone
+ * operations copy and of the depth of a deep clone. The policy of a field is resolved in this
+ * order: an override for the field itself, the annotations {@link CloneIgnore},
+ * {@link CloneShare} and {@link CloneShallow}, an override for the declared type of the field or
+ * one of its supertypes, the skip of the transient fields and at last {@link FieldPolicy#COPY}.
+ * <p>
+ * Every policy resolves the fields of a class once into its own clone plans, so a policy costs
+ * nothing per clone and ignored fields are not even visited. The {@link #getDefault() default
+ * policy} only honors the annotations and is used by the static clone methods, other policies are
+ * set on a {@link Cloner} with {@link Cloner.Builder#policy(ClonePolicy)}. The field policies apply
+ * to the clone operations that copy objects field by field, an object that is cloned over its
+ * {@code clone()} method, a {@link TypeCloner} or the serialization is cloned as that method does
+ */
+public final class ClonePolicy
+{
+
+	/** The depth of a deep clone that is not bounded */
+	public static final int UNBOUNDED_DEPTH = Integer.MAX_VALUE;
+
+	/** The default policy that honors the annotations */
+	private static final ClonePolicy DEFAULT = builder().build();
+
+	/** The flag that indicates if transient fields are skipped */
+	private final boolean skipTransient;
+
+	/** The policies of the declared field types */
+	private final Map<Class<?>, FieldPolicy> typePolicies;
+
+	/** The policies of single fields */
+	private final Map<Field, FieldPolicy> fieldPolicies;
+
+	/** The depth of a deep clone beyond which the references are shared */
+	private final int maxDepth;
+
+	/** The clone plans of the classes that are resolved with this policy */
+	private final ClassValue<ClonePlan> plans = new ClassValue<>()
+	{
+		@Override
+		protected ClonePlan computeValue(final Class<?> type)
+		{
+			return new ClonePlan(type, ClonePolicy.this);
+		}
+	};
+
+	private ClonePolicy(final Builder builder)
+	{
+		this.skipTransient = builder.skipTransient;
+		this.typePolicies = Map.copyOf(builder.typePolicies);
+		this.fieldPolicies = Map.copyOf(builder.fieldPolicies);
+		this.maxDepth = builder.maxDepth;
+	}
+
+	/**
+	 * Gets the default policy that copies every field except the fields that are annotated with
+	 * {@link CloneIgnore}, {@link CloneShare} or {@link CloneShallow} and does not bound the depth
+	 * of a deep clone
+	 *
+	 * @return the default policy
+	 */
+	public static ClonePolicy getDefault()
+	{
+		return DEFAULT;
+	}
+
+	/**
+	 * Factory method for create a new {@link Builder} with the settings of the default policy
+	 *
+	 * @return the new {@link Builder}
+	 */
+	public static Builder builder()
+	{
+		return new Builder();
+	}
+
+	/**
+	 * Gets the policy of the given field
+	 *
+	 * @param field
+	 *            the field
+	 * @return the policy of the given field
+	 */
+	public FieldPolicy policyOf(final Field field)
+	{
+		final FieldPolicy fieldPolicy = fieldPolicies.get(field);
+		if (fieldPolicy != null)
+		{
+			return fieldPolicy;
+		}
+		if (field.isAnnotationPresent(CloneIgnore.class))
+		{
+			return FieldPolicy.IGNORE;
+		}
+		if (field.isAnnotationPresent(CloneShare.class))
+		{
+			return FieldPolicy.SHARE;
+		}
+		if (field.isAnnotationPresent(CloneShallow.class))
+		{
+			return FieldPolicy.SHALLOW;
+		}
+		if (!typePolicies.isEmpty())
+		{
+			final FieldPolicy typePolicy = typePolicyOf(field.getType());
+			if (typePolicy != null)
+			{
+				return typePolicy;
+			}
+		}
+		if (skipTransient && Modifier.isTransient(field.getModifiers()))
+		{
+			return FieldPolicy.IGNORE;
+		}
+		return FieldPolicy.COPY;
+	}
+
+	private FieldPolicy typePolicyOf(final Class<?> type)
+	{
+		for (Class<?> current = type; current != null; current = current.getSuperclass())
+		{
+			final FieldPolicy policy = typePolicies.get(current);
+			if (policy != null)
+			{
+				return policy;
+			}
+			for (Class<?> interfaceType : current.getInterfaces())
+			{
+				final FieldPolicy interfacePolicy = typePolicyOf(interfaceType);
+				if (interfacePolicy != null)
+				{
+					return interfacePolicy;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks if transient fields are skipped
+	 *
+	 * @return true if transient fields are skipped otherwise false
+	 */
+	public boolean isSkipTransient()
+	{
+		return skipTransient;
+	}
+
+	/**
+	 * Gets the depth of a deep clone beyond which the references are shared. The root object has
+	 * the depth zero
+	 *
+	 * @return the maximum depth or {@link #UNBOUNDED_DEPTH}
+	 */
+	public int getMaxDepth()
+	{
+		return maxDepth;
+	}
+
+	/**
+	 * Gets the clone plan of the given class that is resolved with this policy
+	 *
+	 * @param type
+	 *            the class
+	 * @return the clone plan of the given class
+	 */
+	ClonePlan planOf(final Class<?> type)
+	{
+		return this == DEFAULT ? ClonePlan.of(type) : plans.get(type);
+	}
+
+	/**
+	 * The class {@link Builder} builds an immutable {@link ClonePolicy}
+	 */
+	public static final class Builder
+	{
+
+		/** The flag that indicates if transient fields are skipped */
+		private boolean skipTransient;
+
+		/** The policies of the declared field types */
+		private final Map<Class<?>, FieldPolicy> typePolicies = new LinkedHashMap<>();
+
+		/** The policies of single fields */
+		private final Map<Field, FieldPolicy> fieldPolicies = new LinkedHashMap<>();
+
+		/** The depth of a deep clone beyond which the references are shared */
+		private int maxDepth = UNBOUNDED_DEPTH;
+
+		private Builder()
+		{
+		}
+
+		/**
+		 * Sets the flag if transient fields are skipped like fields with {@link FieldPolicy#IGNORE}
+		 *
+		 * @param skipTransient
+		 *            true for skip the transient fields
+		 * @return this builder
+		 */
+		public Builder skipTransient(final boolean skipTransient)
+		{
+			this.skipTransient = skipTransient;
+			return this;
+		}
+
+		/**
+		 * Sets the policy of the fields whose declared type is the given type or a subtype of it
+		 *
+		 * @param type
+		 *            the declared type of the fields
+		 * @param policy
+		 *            the policy of the fields
+		 * @return this builder
+		 */
+		public Builder typePolicy(final Class<?> type, final FieldPolicy policy)
+		{
+			typePolicies.put(Objects.requireNonNull(type), Objects.requireNonNull(policy));
+			return this;
+		}
+
+		/**
+		 * Sets the policy of the field with the given name that is declared in the given class,
+		 * for instance a field of a class that cannot be annotated
+		 *
+		 * @param declaringClass
+		 *            the class that declares the field
+		 * @param fieldName
+		 *            the name of the field
+		 * @param policy
+		 *            the policy of the field
+		 * @return this builder
+		 * @throws IllegalArgumentException
+		 *             Thrown if the given class declares no field with the given name
+		 */
+		public Builder fieldPolicy(final Class<?> declaringClass, final String fieldName,
+			final FieldPolicy policy)
+		{
+			final Field field;
+			try
+			{
+				field = declaringClass.getDeclaredField(fieldName);
+			}
+			catch (NoSuchFieldException e)
+			{
+				throw new IllegalArgumentException("Given class " + declaringClass.getName()
+					+ " declares no field with the name " + fieldName, e);
+			}
+			fieldPolicies.put(field, Objects.requireNonNull(policy));
+			return this;
+		}
+
+		/**
+		 * Sets the depth of a deep clone beyond which the references are shared. The root object
+		 * has the depth zero, so with the maximum depth zero a deep clone is a shallow clone
+		 *
+		 * @param maxDepth
+		 *            the maximum depth or {@link ClonePolicy#UNBOUNDED_DEPTH}
+		 * @return this builder
+		 * @throws IllegalArgumentException
+		 *             Thrown if the given depth is negative
+		 */
+		public Builder maxDepth(final int maxDepth)
+		{
+			if (maxDepth < 0)
+			{
+				throw new IllegalArgumentException(
+					"Max depth has to be at least zero: " + maxDepth);
+			}
+			this.maxDepth = maxDepth;
+			return this;
+		}
+
+		/**
+		 * Builds a new {@link ClonePolicy} with the settings of this builder
+		 *
+		 * @return the new {@link ClonePolicy}
+		 */
+		public ClonePolicy build()
+		{
+			return new ClonePolicy(this);
+		}
+
+	}
+
+}
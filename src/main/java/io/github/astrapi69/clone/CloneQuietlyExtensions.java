@@ -25,6 +25,9 @@
 package io.github.astrapi69.clone;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * The class {@link CloneQuietlyExtensions} provide methods for clone an object quietly
@@ -66,6 +69,193 @@ public final class CloneQuietlyExtensions
 		}
 	}
 
+	/**
+	 * Try to deep clone the given generic object
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param object
+	 *            the object to clone
+	 * @return The deep cloned object or null if the clone process failed
+	 */
+	public static <T> T deepClone(final T object)
+	{
+		try
+		{
+			return CloneObjectExtensions.deepClone(object);
+		}
+		catch (NoSuchMethodException e)
+		{
+			throw new RuntimeException(e);
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new RuntimeException(e);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Try to deep clone the given generic object in parallel
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param object
+	 *            the object to clone
+	 * @return The deep cloned object or null if the clone process failed
+	 */
+	public static <T> T parallelDeepClone(final T object)
+	{
+		try
+		{
+			return CloneObjectExtensions.parallelDeepClone(object);
+		}
+		catch (NoSuchMethodException e)
+		{
+			throw new RuntimeException(e);
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new RuntimeException(e);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Try to clone all objects of the given collection
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param objects
+	 *            the objects to clone
+	 * @return A new list with the cloned objects, an element is null if the clone process of the
+	 *         object failed
+	 */
+	public static <T> List<T> cloneAll(final Collection<T> objects)
+	{
+		try
+		{
+			return CloneObjectExtensions.cloneAll(objects);
+		}
+		catch (NoSuchMethodException e)
+		{
+			throw new RuntimeException(e);
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new RuntimeException(e);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Try to clone all objects of the given array
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param objects
+	 *            the objects to clone
+	 * @return A new array with the cloned objects, an element is null if the clone process of the
+	 *         object failed
+	 */
+	public static <T> T[] cloneAll(final T[] objects)
+	{
+		try
+		{
+			return CloneObjectExtensions.cloneAll(objects);
+		}
+		catch (NoSuchMethodException e)
+		{
+			throw new RuntimeException(e);
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new RuntimeException(e);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Try to deep clone all objects of the given collection
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param objects
+	 *            the objects to clone
+	 * @param shareIdentities
+	 *            the flag if objects that are shared between the given objects stay shared between
+	 *            the clones
+	 * @return A new list with the deep cloned objects, an element is null if the clone process of
+	 *         the object failed
+	 */
+	public static <T> List<T> deepCloneAll(final Collection<T> objects,
+		final boolean shareIdentities)
+	{
+		try
+		{
+			return CloneObjectExtensions.deepCloneAll(objects, shareIdentities);
+		}
+		catch (NoSuchMethodException e)
+		{
+			throw new RuntimeException(e);
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new RuntimeException(e);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Clone lazily all objects of the given stream. The clone plan is resolved once for each run of
+	 * objects of the same class
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param objects
+	 *            the objects to clone
+	 * @return A new stream with the cloned objects, an element is null if the clone process of the
+	 *         object failed
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Stream<T> cloneStream(final Stream<T> objects)
+	{
+		final BatchCloner batchCloner = new BatchCloner();
+		return objects.map(object -> {
+			try
+			{
+				return (T)batchCloner.clone(object);
+			}
+			catch (NoSuchMethodException e)
+			{
+				throw new RuntimeException(e);
+			}
+			catch (IllegalAccessException e)
+			{
+				throw new RuntimeException(e);
+			}
+			catch (InvocationTargetException e)
+			{
+				throw new RuntimeException(e);
+			}
+		});
+	}
+
 	/**
 	 * Try to clone the given object that implements {@link Cloneable}
 	 *
@@ -0,0 +1,64 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+/**
+ * The enum {@link CloneStrategy} describes how objects of a given class are cloned
+ */
+public enum CloneStrategy
+{
+
+	/** Clone an array */
+	ARRAY,
+
+	/** Clone over the {@link Object#clone()} method of an object that implements {@link Cloneable} */
+	CLONEABLE,
+
+	/**
+	 * Clone a collection or a map of the JDK over its public API into a new collection or map with
+	 * the same ordering
+	 */
+	COLLECTION,
+
+	/** Clone over a new instance that is filled with the field values over reflection */
+	REFLECTION,
+
+	/** Clone a record over its canonical constructor with the values of its components */
+	RECORD,
+
+	/**
+	 * Clone over a cloner class that is generated at runtime for the class of the object and does
+	 * the field assignments without reflection. The objects behind the reference fields that are
+	 * not of an immutable class are deep cloned, so they are not shared with the source
+	 */
+	GENERATED,
+
+	/**
+	 * Clone over the java serialization of an object that implements {@link java.io.Serializable},
+	 * which copies the whole graph that is reachable from the object
+	 */
+	SERIALIZATION
+
+}
@@ -0,0 +1,456 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The class {@link Cloner} is an immutable and thread-safe configuration of the clone operations.
+ * A cloner is created with a {@link Builder} that chooses the strategies of a shallow clone, the
+ * {@link ImmutableTypeRegistry} that decides which objects are shared, the {@link ClonePolicy}
+ * that decides which fields are copied and how deep, whether {@link #clone(Object)} gives a
+ * shallow or a deep clone and the {@link CloneMetricsSink} that gets the measurements.
+ * <p>
+ * Every cloner resolves the immutability, the clone plan and the applicable strategies of a class
+ * once and keeps them in its own {@link ClassValue}, so the lookup of a class is lock-free and one
+ * cloner can be shared by any number of threads. Subsystems that need different trade-offs create
+ * their own cloners, the static methods of {@link CloneObjectExtensions} and
+ * {@link CloneQuietlyExtensions} delegate to the {@link #getDefault() default cloner}
+ */
+public final class Cloner
+{
+
+	/** The default cloner that is used by the static clone methods */
+	private static final Cloner DEFAULT = builder().build();
+
+	/** The strategies that are tried in turn for a shallow clone */
+	private final CloneStrategy[] strategies;
+
+	/** The registry that decides which objects are shared */
+	private final ImmutableTypeRegistry immutableTypes;
+
+	/** The policy that decides which fields are copied and how deep */
+	private final ClonePolicy policy;
+
+	/** The flag that indicates if {@link #clone(Object)} gives a deep clone */
+	private final boolean deep;
+
+	/** The sink of the measurements or null for the sink of {@link CloneMetrics} */
+	private final CloneMetricsSink metricsSink;
+
+	/** The resolved settings of the classes */
+	private final ClassValue<ClassSettings> settings = new ClassValue<>()
+	{
+		@Override
+		protected ClassSettings computeValue(final Class<?> type)
+		{
+			return new ClassSettings(policy.planOf(type), immutableTypes.isImmutable(type),
+				strategies);
+		}
+	};
+
+	private Cloner(final Builder builder)
+	{
+		this.strategies = builder.strategies.toArray(new CloneStrategy[0]);
+		this.immutableTypes = builder.immutableTypes;
+		this.policy = builder.policy;
+		this.deep = builder.deep;
+		this.metricsSink = builder.metricsSink;
+	}
+
+	/**
+	 * Gets the default cloner that tries the strategies in the order of
+	 * {@link CloneObjectExtensions#cloneObject(Object)}, uses the default
+	 * {@link ImmutableTypeRegistry} and the default {@link ClonePolicy}, gives shallow clones and
+	 * reports to the sink of {@link CloneMetrics}
+	 *
+	 * @return the default cloner
+	 */
+	public static Cloner getDefault()
+	{
+		return DEFAULT;
+	}
+
+	/**
+	 * Factory method for create a new {@link Builder} with the settings of the default cloner
+	 *
+	 * @return the new {@link Builder}
+	 */
+	public static Builder builder()
+	{
+		return new Builder();
+	}
+
+	/**
+	 * Try to clone the given generic object shallow or deep as this cloner is configured
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param object
+	 *            the object to clone
+	 * @return The cloned object or null if the clone process failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public <T> T clone(final T object)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return deep ? deepClone(object) : shallowClone(object);
+	}
+
+	/**
+	 * Try to clone the given generic object shallow. The configured strategies are tried in turn
+	 * and if none of them can be applied the object is cloned as with
+	 * {@link CloneObjectExtensions#cloneObject(Object)}
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param object
+	 *            the object to clone
+	 * @return The cloned object or null if the clone process failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T shallowClone(final T object)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (object == null)
+		{
+			return null;
+		}
+		final ClassSettings classSettings = settings.get(object.getClass());
+		final ClonePlan plan = classSettings.plan;
+		final CloneMetricsSink sink = getSink();
+		if (classSettings.immutable)
+		{
+			return !CloneMetrics.isEnabled(sink) ? object
+				: (T)CloneMetrics.measure(sink, plan.getType(), null, () -> object);
+		}
+		if (!CloneMetrics.isEnabled(sink))
+		{
+			for (CloneStrategy strategy : classSettings.strategies)
+			{
+				final Object clone = CloneObjectExtensions.cloneWithStrategy(object, plan,
+					strategy);
+				if (clone != null)
+				{
+					return (T)clone;
+				}
+			}
+			return (T)CloneObjectExtensions.cloneObject(object, plan);
+		}
+		for (CloneStrategy strategy : classSettings.strategies)
+		{
+			final Object clone = CloneMetrics.measure(sink, plan.getType(), strategy,
+				() -> CloneObjectExtensions.cloneWithStrategy(object, plan, strategy));
+			if (clone != null)
+			{
+				return (T)clone;
+			}
+			CloneMetrics.recordFallback(sink, plan.getType(), strategy);
+		}
+		return (T)CloneMetrics.measure(sink, plan.getType(),
+			CloneObjectExtensions.getUsedStrategy(plan),
+			() -> CloneObjectExtensions.cloneObject(object, plan));
+	}
+
+	/**
+	 * Try to deep clone the given generic object. All reachable objects are cloned too, immutable
+	 * values as decided by the registry of this cloner are shared and shared references and cycles
+	 * of the object graph are preserved in the clone
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param object
+	 *            the object to clone
+	 * @return The deep cloned object or null if the clone process failed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T deepClone(final T object)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		// the default registry and the default policy are already resolved into the clone plans
+		final DeepCloner cloner = new DeepCloner(
+			immutableTypes == ImmutableTypeRegistry.getDefault() ? null : immutableTypes,
+			policy == ClonePolicy.getDefault() ? null : policy);
+		final CloneMetricsSink sink = getSink();
+		if (object == null || !CloneMetrics.isEnabled(sink))
+		{
+			return (T)cloner.deepClone(object);
+		}
+		return (T)CloneMetrics.measure(sink, object.getClass(), null,
+			new CloneMetrics.CloneOperation()
+			{
+				@Override
+				public Object run()
+					throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+				{
+					return cloner.deepClone(object);
+				}
+
+				@Override
+				public int getGraphSize()
+				{
+					return cloner.getCloneCount();
+				}
+			});
+	}
+
+	/**
+	 * Gets the strategies that are tried in turn for a shallow clone
+	 *
+	 * @return the unmodifiable list of the strategies, empty if the objects are cloned as with
+	 *         {@link CloneObjectExtensions#cloneObject(Object)}
+	 */
+	public List<CloneStrategy> getStrategies()
+	{
+		return List.of(strategies);
+	}
+
+	/**
+	 * Gets the registry that decides which objects are shared
+	 *
+	 * @return the registry
+	 */
+	public ImmutableTypeRegistry getImmutableTypeRegistry()
+	{
+		return immutableTypes;
+	}
+
+	/**
+	 * Gets the policy that decides which fields are copied and how deep
+	 *
+	 * @return the policy
+	 */
+	public ClonePolicy getPolicy()
+	{
+		return policy;
+	}
+
+	/**
+	 * Checks if {@link #clone(Object)} gives a deep clone
+	 *
+	 * @return true if {@link #clone(Object)} gives a deep clone otherwise false
+	 */
+	public boolean isDeep()
+	{
+		return deep;
+	}
+
+	/**
+	 * Gets the sink of the measurements
+	 *
+	 * @return the sink of this cloner or null if the sink of {@link CloneMetrics} is used
+	 */
+	public CloneMetricsSink getMetricsSink()
+	{
+		return metricsSink;
+	}
+
+	private CloneMetricsSink getSink()
+	{
+		return metricsSink != null ? metricsSink : CloneMetrics.getSink();
+	}
+
+	/**
+	 * The class {@link Builder} builds an immutable {@link Cloner}
+	 */
+	public static final class Builder
+	{
+
+		/** The strategies that are tried in turn for a shallow clone */
+		private final List<CloneStrategy> strategies = new ArrayList<>();
+
+		/** The registry that decides which objects are shared */
+		private ImmutableTypeRegistry immutableTypes = ImmutableTypeRegistry.getDefault();
+
+		/** The policy that decides which fields are copied and how deep */
+		private ClonePolicy policy = ClonePolicy.getDefault();
+
+		/** The flag that indicates if {@link Cloner#clone(Object)} gives a deep clone */
+		private boolean deep;
+
+		/** The sink of the measurements or null for the sink of {@link CloneMetrics} */
+		private CloneMetricsSink metricsSink;
+
+		private Builder()
+		{
+		}
+
+		/**
+		 * Sets the strategies that are tried in turn for a shallow clone. A strategy that cannot be
+		 * applied to a class is skipped and if no strategy gives a clone the object is cloned as
+		 * with {@link CloneObjectExtensions#cloneObject(Object)}
+		 *
+		 * @param strategies
+		 *            the strategies in the order they are tried or none for the order of
+		 *            {@link CloneObjectExtensions#cloneObject(Object)}
+		 * @return this builder
+		 */
+		public Builder strategies(final CloneStrategy... strategies)
+		{
+			this.strategies.clear();
+			for (CloneStrategy strategy : strategies)
+			{
+				this.strategies.add(Objects.requireNonNull(strategy));
+			}
+			return this;
+		}
+
+		/**
+		 * Sets the registry that decides which objects are shared instead of cloned
+		 *
+		 * @param immutableTypes
+		 *            the registry
+		 * @return this builder
+		 */
+		public Builder immutableTypeRegistry(final ImmutableTypeRegistry immutableTypes)
+		{
+			this.immutableTypes = Objects.requireNonNull(immutableTypes);
+			return this;
+		}
+
+		/**
+		 * Sets the policy that decides which fields are copied by the clone operations that copy
+		 * objects field by field and the maximum depth of a deep clone
+		 *
+		 * @param policy
+		 *            the policy
+		 * @return this builder
+		 */
+		public Builder policy(final ClonePolicy policy)
+		{
+			this.policy = Objects.requireNonNull(policy);
+			return this;
+		}
+
+		/**
+		 * Sets the flag if {@link Cloner#clone(Object)} gives a deep or a shallow clone
+		 *
+		 * @param deep
+		 *            true for a deep clone and false for a shallow clone
+		 * @return this builder
+		 */
+		public Builder deep(final boolean deep)
+		{
+			this.deep = deep;
+			return this;
+		}
+
+		/**
+		 * Sets the sink that gets the measurements of the clone operations of the cloner
+		 *
+		 * @param metricsSink
+		 *            the sink or null for the sink of {@link CloneMetrics}
+		 * @return this builder
+		 */
+		public Builder metricsSink(final CloneMetricsSink metricsSink)
+		{
+			this.metricsSink = metricsSink;
+			return this;
+		}
+
+		/**
+		 * Builds a new {@link Cloner} with the settings of this builder
+		 *
+		 * @return the new {@link Cloner}
+		 */
+		public Cloner build()
+		{
+			return new Cloner(this);
+		}
+
+	}
+
+	/**
+	 * The class {@link ClassSettings} holds the settings of a cloner that are resolved for a class
+	 */
+	private static final class ClassSettings
+	{
+
+		/** The clone plan of the class */
+		private final ClonePlan plan;
+
+		/** The flag that indicates if objects of the class are shared */
+		private final boolean immutable;
+
+		/** The configured strategies that can be applied to objects of the class */
+		private final CloneStrategy[] strategies;
+
+		ClassSettings(final ClonePlan plan, final boolean immutable,
+			final CloneStrategy[] strategies)
+		{
+			this.plan = plan;
+			this.immutable = immutable;
+			this.strategies = Arrays.stream(strategies)
+				.filter(strategy -> isApplicable(plan, strategy)).toArray(CloneStrategy[]::new);
+		}
+
+		private static boolean isApplicable(final ClonePlan plan, final CloneStrategy strategy)
+		{
+			switch (strategy)
+			{
+				case ARRAY :
+				case COLLECTION :
+				case RECORD :
+					return plan.getStrategy() == strategy;
+				case CLONEABLE :
+					return Cloneable.class.isAssignableFrom(plan.getType());
+				case SERIALIZATION :
+					return Serializable.class.isAssignableFrom(plan.getType());
+				default :
+					return true;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,446 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * The class {@link ClonerClassGenerator} generates at runtime a dedicated cloner class for a target
+ * class. The cloner class is defined as a hidden nestmate of the target class with
+ * {@link MethodHandles.Lookup#defineHiddenClass(byte[], boolean, MethodHandles.Lookup.ClassOption...)}
+ * and contains a static method that creates a new instance over the no-arg constructor and
+ * assigns every primitive and immutable field with straight-line bytecode, so the JIT can inline it
+ * like hand-written code. If the class has other reference fields, a second static method assigns
+ * each of them with a sub-clone call over an operator that a {@link DeepCloner} provides, so the
+ * objects behind them are cloned too while shared references and cycles are preserved
+ */
+final class ClonerClassGenerator
+{
+
+	/** The name of the generated clone method */
+	static final String CLONE_METHOD_NAME = "copy";
+
+	/** The method type of the generated clone method */
+	static final MethodType CLONE_METHOD_TYPE = MethodType.methodType(Object.class,
+		Object.class);
+
+	/** The name of the generated method that assigns the sub-clones of the reference fields */
+	static final String LINK_METHOD_NAME = "link";
+
+	/** The method type of the generated method that assigns the sub-clones */
+	static final MethodType LINK_METHOD_TYPE = MethodType.methodType(void.class, Object.class,
+		Object.class, UnaryOperator.class);
+
+	/** The method handle of {@link #copyLinked(MethodHandle, MethodHandle, Object)} */
+	private static final MethodHandle COPY_LINKED = findCopyLinked();
+
+	/** The major version of the generated class file, 61 is the class file version of java 17 */
+	private static final int CLASS_FILE_VERSION = 61;
+
+	private ClonerClassGenerator()
+	{
+	}
+
+	/**
+	 * Generates the cloner class for the class of the given clone plan
+	 *
+	 * @param plan
+	 *            the clone plan
+	 * @return a method handle with the signature (Object)Object that clones an object of the class
+	 *         or null if no cloner class can be generated for the class, for instance if the class
+	 *         has no no-arg constructor, has final or inaccessible fields or its package is not
+	 *         open for this module
+	 */
+	static MethodHandle generate(final ClonePlan plan)
+	{
+		final Class<?> type = plan.getType();
+		if (!isGeneratable(plan))
+		{
+			return null;
+		}
+		try
+		{
+			ClonerClassGenerator.class.getModule().addReads(type.getModule());
+			final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type,
+				MethodHandles.lookup());
+			final List<Field> directFields = new ArrayList<>();
+			final List<Field> linkedFields = new ArrayList<>();
+			for (Field field : plan.getFields())
+			{
+				(isLinked(field) ? linkedFields : directFields).add(field);
+			}
+			final MethodHandles.Lookup clonerLookup = lookup.defineHiddenClass(
+				newClassFile(type, directFields, linkedFields), true,
+				MethodHandles.Lookup.ClassOption.NESTMATE);
+			final MethodHandle copy = clonerLookup.findStatic(clonerLookup.lookupClass(),
+				CLONE_METHOD_NAME, CLONE_METHOD_TYPE);
+			if (linkedFields.isEmpty())
+			{
+				return copy;
+			}
+			final MethodHandle link = clonerLookup.findStatic(clonerLookup.lookupClass(),
+				LINK_METHOD_NAME, LINK_METHOD_TYPE);
+			return MethodHandles.insertArguments(COPY_LINKED, 0, copy, link);
+		}
+		catch (IllegalAccessException | NoSuchMethodException | IOException | RuntimeException
+			| LinkageError e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Creates a copy of the given source over the given copy method of a cloner class and deep
+	 * clones its other reference fields over the given link method
+	 */
+	private static Object copyLinked(final MethodHandle copy, final MethodHandle link,
+		final Object source) throws Throwable
+	{
+		final Object clone = (Object)copy.invokeExact(source);
+		new DeepCloner().link(source, clone, link);
+		return clone;
+	}
+
+	private static MethodHandle findCopyLinked()
+	{
+		try
+		{
+			return MethodHandles.lookup().findStatic(ClonerClassGenerator.class, "copyLinked",
+				MethodType.methodType(Object.class, MethodHandle.class, MethodHandle.class,
+					Object.class));
+		}
+		catch (NoSuchMethodException | IllegalAccessException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static boolean isGeneratable(final ClonePlan plan)
+	{
+		final Class<?> type = plan.getType();
+		if (!plan.isReflectionSupported() || plan.getConstructor() == null || type.isHidden()
+			|| type.isRecord() || type.isArray())
+		{
+			return false;
+		}
+		for (Field field : plan.getFields())
+		{
+			if (!isAssignable(type, field)
+				|| isLinked(field) && !isAccessible(type, field.getType()))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isAssignable(final Class<?> type, final Field field)
+	{
+		final int modifiers = field.getModifiers();
+		if (Modifier.isFinal(modifiers))
+		{
+			return false;
+		}
+		final Class<?> declaringClass = field.getDeclaringClass();
+		if (declaringClass.getNestHost() == type.getNestHost())
+		{
+			return true;
+		}
+		if (Modifier.isPrivate(modifiers))
+		{
+			return false;
+		}
+		if (declaringClass.getClassLoader() == type.getClassLoader()
+			&& declaringClass.getPackageName().equals(type.getPackageName()))
+		{
+			return true;
+		}
+		return Modifier.isPublic(modifiers) && Modifier.isPublic(declaringClass.getModifiers());
+	}
+
+	/**
+	 * Checks if the value of the given field has to be cloned, which is the case for every
+	 * reference that is not of a final immutable class
+	 */
+	private static boolean isLinked(final Field field)
+	{
+		final Class<?> fieldType = field.getType();
+		return !fieldType.isPrimitive() && !(Modifier.isFinal(fieldType.getModifiers())
+			&& ClonePlan.of(fieldType).isImmutable());
+	}
+
+	/**
+	 * Checks if the given field type can be cast to in the cloner class of the given class
+	 */
+	private static boolean isAccessible(final Class<?> type, final Class<?> fieldType)
+	{
+		Class<?> elementType = fieldType;
+		while (elementType.isArray())
+		{
+			elementType = elementType.getComponentType();
+		}
+		if (elementType.isPrimitive() || elementType.getClassLoader() == type.getClassLoader()
+			&& elementType.getPackageName().equals(type.getPackageName()))
+		{
+			return true;
+		}
+		return Modifier.isPublic(elementType.getModifiers()) && elementType.getModule()
+			.isExported(elementType.getPackageName(), type.getModule());
+	}
+
+	private static byte[] newClassFile(final Class<?> type, final List<Field> directFields,
+		final List<Field> linkedFields) throws IOException
+	{
+		final ConstantPool constantPool = new ConstantPool();
+		final String typeName = internalName(type);
+		final int thisClass = constantPool.classEntry(typeName + "$$Cloner");
+		final int superClass = constantPool.classEntry("java/lang/Object");
+		final int targetClass = constantPool.classEntry(typeName);
+		final int constructor = constantPool.memberEntry(10, typeName, "<init>", "()V");
+		final int codeName = constantPool.utf8("Code");
+
+		final ByteArrayOutputStream copyBytes = new ByteArrayOutputStream();
+		final DataOutputStream copy = new DataOutputStream(copyBytes);
+		// T source = (T)object;
+		copy.writeByte(0x2a); // aload_0
+		copy.writeByte(0xc0); // checkcast
+		copy.writeShort(targetClass);
+		copy.writeByte(0x4c); // astore_1
+		// T clone = new T();
+		copy.writeByte(0xbb); // new
+		copy.writeShort(targetClass);
+		copy.writeByte(0x59); // dup
+		copy.writeByte(0xb7); // invokespecial
+		copy.writeShort(constructor);
+		copy.writeByte(0x4d); // astore_2
+		// clone.field = source.field;
+		for (Field field : directFields)
+		{
+			final int fieldEntry = fieldEntry(constantPool, field);
+			copy.writeByte(0x2c); // aload_2
+			copy.writeByte(0x2b); // aload_1
+			copy.writeByte(0xb4); // getfield
+			copy.writeShort(fieldEntry);
+			copy.writeByte(0xb5); // putfield
+			copy.writeShort(fieldEntry);
+		}
+		// return clone;
+		copy.writeByte(0x2c); // aload_2
+		copy.writeByte(0xb0); // areturn
+		copy.flush();
+
+		final ByteArrayOutputStream linkBytes = new ByteArrayOutputStream();
+		final DataOutputStream link = new DataOutputStream(linkBytes);
+		if (!linkedFields.isEmpty())
+		{
+			final int apply = constantPool.memberEntry(11, "java/util/function/UnaryOperator",
+				"apply", "(Ljava/lang/Object;)Ljava/lang/Object;");
+			// source = (T)source; clone = (T)clone;
+			link.writeByte(0x2a); // aload_0
+			link.writeByte(0xc0); // checkcast
+			link.writeShort(targetClass);
+			link.writeByte(0x4b); // astore_0
+			link.writeByte(0x2b); // aload_1
+			link.writeByte(0xc0); // checkcast
+			link.writeShort(targetClass);
+			link.writeByte(0x4c); // astore_1
+			// clone.field = (F)fieldCloner.apply(source.field);
+			for (Field field : linkedFields)
+			{
+				final int fieldEntry = fieldEntry(constantPool, field);
+				link.writeByte(0x2b); // aload_1
+				link.writeByte(0x2c); // aload_2
+				link.writeByte(0x2a); // aload_0
+				link.writeByte(0xb4); // getfield
+				link.writeShort(fieldEntry);
+				link.writeByte(0xb9); // invokeinterface
+				link.writeShort(apply);
+				link.writeByte(2);
+				link.writeByte(0);
+				if (field.getType() != Object.class)
+				{
+					link.writeByte(0xc0); // checkcast
+					link.writeShort(constantPool.classEntry(internalName(field.getType())));
+				}
+				link.writeByte(0xb5); // putfield
+				link.writeShort(fieldEntry);
+			}
+			// return;
+			link.writeByte(0xb1); // return
+			link.flush();
+		}
+		final int copyName = constantPool.utf8(CLONE_METHOD_NAME);
+		final int copyDescriptor = constantPool.utf8(CLONE_METHOD_TYPE.toMethodDescriptorString());
+		final int linkName = constantPool.utf8(LINK_METHOD_NAME);
+		final int linkDescriptor = constantPool.utf8(LINK_METHOD_TYPE.toMethodDescriptorString());
+
+		final ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(classBytes);
+		out.writeInt(0xCAFEBABE);
+		out.writeShort(0);
+		out.writeShort(CLASS_FILE_VERSION);
+		constantPool.writeTo(out);
+		out.writeShort(0x0030); // ACC_FINAL | ACC_SUPER
+		out.writeShort(thisClass);
+		out.writeShort(superClass);
+		out.writeShort(0); // interfaces
+		out.writeShort(0); // fields
+		out.writeShort(linkedFields.isEmpty() ? 1 : 2); // methods
+		writeMethod(out, copyName, copyDescriptor, codeName, copyBytes);
+		if (!linkedFields.isEmpty())
+		{
+			writeMethod(out, linkName, linkDescriptor, codeName, linkBytes);
+		}
+		out.writeShort(0); // class attributes
+		out.flush();
+		return classBytes.toByteArray();
+	}
+
+	private static int fieldEntry(final ConstantPool constantPool, final Field field)
+		throws IOException
+	{
+		return constantPool.memberEntry(9, internalName(field.getDeclaringClass()),
+			field.getName(), field.getType().descriptorString());
+	}
+
+	/**
+	 * Writes a public static method with the given code that needs at most three stack entries
+	 * and three local variables
+	 */
+	private static void writeMethod(final DataOutputStream out, final int name,
+		final int descriptor, final int codeName, final ByteArrayOutputStream code)
+		throws IOException
+	{
+		out.writeShort(0x0009); // ACC_PUBLIC | ACC_STATIC
+		out.writeShort(name);
+		out.writeShort(descriptor);
+		out.writeShort(1); // method attributes
+		out.writeShort(codeName);
+		out.writeInt(12 + code.size());
+		out.writeShort(3); // max stack
+		out.writeShort(3); // max locals
+		out.writeInt(code.size());
+		code.writeTo(out);
+		out.writeShort(0); // exception table
+		out.writeShort(0); // code attributes
+	}
+
+	private static String internalName(final Class<?> type)
+	{
+		return type.getName().replace('.', '/');
+	}
+
+	/**
+	 * The class {@link ConstantPool} builds the constant pool of the generated class file
+	 */
+	private static final class ConstantPool
+	{
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		private final DataOutputStream out = new DataOutputStream(bytes);
+
+		private final Map<String, Integer> entries = new HashMap<>();
+
+		private int count = 1;
+
+		int utf8(final String value) throws IOException
+		{
+			final String key = "utf8:" + value;
+			final Integer index = entries.get(key);
+			if (index != null)
+			{
+				return index;
+			}
+			out.writeByte(1);
+			out.writeUTF(value);
+			return register(key);
+		}
+
+		int classEntry(final String internalName) throws IOException
+		{
+			final String key = "class:" + internalName;
+			final Integer index = entries.get(key);
+			if (index != null)
+			{
+				return index;
+			}
+			final int name = utf8(internalName);
+			out.writeByte(7);
+			out.writeShort(name);
+			return register(key);
+		}
+
+		int memberEntry(final int tag, final String owner, final String name,
+			final String descriptor) throws IOException
+		{
+			final String key = tag + ":" + owner + "." + name + ":" + descriptor;
+			final Integer index = entries.get(key);
+			if (index != null)
+			{
+				return index;
+			}
+			final int ownerEntry = classEntry(owner);
+			final int nameEntry = utf8(name);
+			final int descriptorEntry = utf8(descriptor);
+			out.writeByte(12);
+			out.writeShort(nameEntry);
+			out.writeShort(descriptorEntry);
+			final int nameAndType = register("nat:" + name + ":" + descriptor + ":" + count);
+			out.writeByte(tag);
+			out.writeShort(ownerEntry);
+			out.writeShort(nameAndType);
+			return register(key);
+		}
+
+		private int register(final String key)
+		{
+			final int index = count++;
+			entries.put(key, index);
+			return index;
+		}
+
+		void writeTo(final DataOutputStream target) throws IOException
+		{
+			out.flush();
+			target.writeShort(count);
+			bytes.writeTo(target);
+		}
+
+	}
+
+}
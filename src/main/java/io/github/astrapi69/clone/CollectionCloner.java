@@ -0,0 +1,482 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.Stack;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * The class {@link CollectionCloner} clones the collections and maps of the JDK only over their
+ * public API, so no encapsulated field has to be accessed and no internal array is shared. The
+ * targets are created with the size of the source, orderings and comparators are preserved and
+ * immutable collections like the ones of {@link List#of()} or {@link Map#of()} are not copied at
+ * all as long as their elements are immutable. Unmodifiable views are copied into a new
+ * unmodifiable view, because the collection behind a view can still change
+ */
+final class CollectionCloner
+{
+
+	/** The class of the fixed-size lists of {@link Arrays#asList(Object...)} */
+	private static final Class<?> ARRAYS_LIST_TYPE = Arrays.asList().getClass();
+
+	/** The kinds of the supported classes */
+	private static final Map<Class<?>, Kind> KINDS = newKinds();
+
+	private CollectionCloner()
+	{
+	}
+
+	private static Map<Class<?>, Kind> newKinds()
+	{
+		final Map<Class<?>, Kind> kinds = new HashMap<>();
+		kinds.put(ArrayList.class, Kind.ARRAY_LIST);
+		kinds.put(LinkedList.class, Kind.LINKED_LIST);
+		kinds.put(Vector.class, Kind.VECTOR);
+		kinds.put(Stack.class, Kind.STACK);
+		kinds.put(CopyOnWriteArrayList.class, Kind.COPY_ON_WRITE_ARRAY_LIST);
+		kinds.put(ArrayDeque.class, Kind.ARRAY_DEQUE);
+		kinds.put(PriorityQueue.class, Kind.PRIORITY_QUEUE);
+		kinds.put(HashSet.class, Kind.HASH_SET);
+		kinds.put(LinkedHashSet.class, Kind.LINKED_HASH_SET);
+		kinds.put(TreeSet.class, Kind.TREE_SET);
+		kinds.put(ConcurrentSkipListSet.class, Kind.CONCURRENT_SKIP_LIST_SET);
+		kinds.put(CopyOnWriteArraySet.class, Kind.COPY_ON_WRITE_ARRAY_SET);
+		kinds.put(HashMap.class, Kind.HASH_MAP);
+		kinds.put(LinkedHashMap.class, Kind.LINKED_HASH_MAP);
+		kinds.put(IdentityHashMap.class, Kind.IDENTITY_HASH_MAP);
+		kinds.put(TreeMap.class, Kind.TREE_MAP);
+		kinds.put(ConcurrentHashMap.class, Kind.CONCURRENT_HASH_MAP);
+		kinds.put(ConcurrentSkipListMap.class, Kind.CONCURRENT_SKIP_LIST_MAP);
+		kinds.put(EnumMap.class, Kind.ENUM_MAP);
+		kinds.put(ARRAYS_LIST_TYPE, Kind.ARRAYS_LIST);
+		for (Object list : Arrays.asList(List.of(), List.of(1), List.of(1, 2, 3),
+			Collections.emptyList(), Collections.singletonList(1)))
+		{
+			kinds.put(list.getClass(), Kind.IMMUTABLE_LIST);
+		}
+		for (Object set : Arrays.asList(Set.of(), Set.of(1), Set.of(1, 2, 3),
+			Collections.emptySet(), Collections.singleton(1)))
+		{
+			kinds.put(set.getClass(), Kind.IMMUTABLE_SET);
+		}
+		for (Object map : Arrays.asList(Map.of(), Map.of(1, 1), Map.of(1, 1, 2, 2),
+			Collections.emptyMap(), Collections.singletonMap(1, 1)))
+		{
+			kinds.put(map.getClass(), Kind.IMMUTABLE_MAP);
+		}
+		kinds.put(Collections.unmodifiableCollection(new ArrayList<>()).getClass(),
+			Kind.UNMODIFIABLE_COLLECTION);
+		kinds.put(Collections.unmodifiableList(new ArrayList<>()).getClass(),
+			Kind.UNMODIFIABLE_LIST);
+		kinds.put(Collections.unmodifiableList(new LinkedList<>()).getClass(),
+			Kind.UNMODIFIABLE_LIST);
+		kinds.put(Collections.unmodifiableSet(new HashSet<>()).getClass(),
+			Kind.UNMODIFIABLE_SET);
+		kinds.put(Collections.unmodifiableSortedSet(new TreeSet<>()).getClass(),
+			Kind.UNMODIFIABLE_SORTED_SET);
+		kinds.put(Collections.unmodifiableNavigableSet(new TreeSet<>()).getClass(),
+			Kind.UNMODIFIABLE_SORTED_SET);
+		kinds.put(Collections.unmodifiableMap(new HashMap<>()).getClass(),
+			Kind.UNMODIFIABLE_MAP);
+		kinds.put(Collections.unmodifiableSortedMap(new TreeMap<>()).getClass(),
+			Kind.UNMODIFIABLE_SORTED_MAP);
+		kinds.put(Collections.unmodifiableNavigableMap(new TreeMap<>()).getClass(),
+			Kind.UNMODIFIABLE_SORTED_MAP);
+		return kinds;
+	}
+
+	/**
+	 * Gets the kind of the given class
+	 *
+	 * @param type
+	 *            the class
+	 * @return the kind or null if the class is not supported
+	 */
+	static Kind kindOf(final Class<?> type)
+	{
+		final Kind kind = KINDS.get(type);
+		if (kind == null && EnumSet.class.isAssignableFrom(type)
+			&& type.getName().startsWith("java.util."))
+		{
+			return Kind.ENUM_SET;
+		}
+		return kind;
+	}
+
+	/**
+	 * Copies the given collection or map shallow, the elements are shared
+	 *
+	 * @param source
+	 *            the collection or map
+	 * @param kind
+	 *            the kind of the class of the collection or map
+	 * @return the copy or the given collection or map itself if it is immutable
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static Object copy(final Object source, final Kind kind)
+	{
+		if (kind.isImmutable())
+		{
+			return source;
+		}
+		if (kind == Kind.ARRAYS_LIST)
+		{
+			return Arrays.asList(((Collection<?>)source).toArray());
+		}
+		final Object target = newTarget(source, kind);
+		if (target instanceof Map)
+		{
+			((Map)target).putAll((Map)source);
+		}
+		else
+		{
+			((Collection)target).addAll((Collection)source);
+		}
+		return wrap(target, kind);
+	}
+
+	/**
+	 * Checks if all elements and for a map all keys and values of the given collection or map are
+	 * immutable
+	 *
+	 * @param source
+	 *            the collection or map
+	 * @return true if all elements are immutable otherwise false
+	 */
+	static boolean isContentImmutable(final Object source)
+	{
+		if (source instanceof Map)
+		{
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>)source).entrySet())
+			{
+				if (!isImmutable(entry.getKey()) || !isImmutable(entry.getValue()))
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+		for (Object element : (Collection<?>)source)
+		{
+			if (!isImmutable(element))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isImmutable(final Object value)
+	{
+		return value == null || ClonePlan.of(value.getClass()).isImmutable();
+	}
+
+	/**
+	 * Creates a new empty mutable collection or map for the elements of the given source. The new
+	 * collection or map has the capacity for all elements and the comparator of the given source
+	 *
+	 * @param source
+	 *            the collection or map
+	 * @param kind
+	 *            the kind of the class of the collection or map
+	 * @return the new empty collection or map
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static Object newTarget(final Object source, final Kind kind)
+	{
+		switch (kind)
+		{
+			case ENUM_SET :
+				final EnumSet enumSet = ((EnumSet)source).clone();
+				enumSet.clear();
+				return enumSet;
+			case ENUM_MAP :
+				final EnumMap enumMap = new EnumMap((EnumMap)source);
+				enumMap.clear();
+				return enumMap;
+			case LINKED_HASH_MAP :
+				// the access order is not visible over the public API, but the clone keeps it
+				final LinkedHashMap linkedHashMap = (LinkedHashMap)((LinkedHashMap)source).clone();
+				linkedHashMap.clear();
+				return linkedHashMap;
+			default :
+				final int size = source instanceof Map ? ((Map<?, ?>)source).size()
+					: ((Collection<?>)source).size();
+				return newTarget(kind, size, comparatorOf(source));
+		}
+	}
+
+	/**
+	 * Checks if the given collection or map is a {@link LinkedHashMap} that iterates in the order
+	 * of the last access instead of the order of the insertion
+	 *
+	 * @param source
+	 *            the collection or map
+	 * @return true if the given collection or map is an access ordered linked hash map otherwise
+	 *         false
+	 */
+	@SuppressWarnings("unchecked")
+	static boolean isAccessOrdered(final Object source)
+	{
+		if (source.getClass() != LinkedHashMap.class)
+		{
+			return false;
+		}
+		// an empty copy keeps the ordering mode, which shows on a read of the older of two keys
+		final Map<Object, Object> probe = (Map<Object, Object>)newTarget(source,
+			Kind.LINKED_HASH_MAP);
+		probe.put(0, 0);
+		probe.put(1, 1);
+		probe.get(0);
+		return probe.keySet().iterator().next().equals(1);
+	}
+
+	/**
+	 * Gets the comparator of the given sorted collection, sorted map or priority queue
+	 *
+	 * @param source
+	 *            the collection or map
+	 * @return the comparator or null if the given collection or map has none or uses the natural
+	 *         ordering
+	 */
+	static Comparator<?> comparatorOf(final Object source)
+	{
+		if (source instanceof SortedSet)
+		{
+			return ((SortedSet<?>)source).comparator();
+		}
+		if (source instanceof SortedMap)
+		{
+			return ((SortedMap<?, ?>)source).comparator();
+		}
+		if (source instanceof PriorityQueue)
+		{
+			return ((PriorityQueue<?>)source).comparator();
+		}
+		return null;
+	}
+
+	/**
+	 * Creates a new empty mutable collection or map of the given kind
+	 *
+	 * @param kind
+	 *            the kind of the class of the collection or map, not {@link Kind#ENUM_SET} and not
+	 *            {@link Kind#ENUM_MAP}
+	 * @param size
+	 *            the number of the elements the new collection or map has the capacity for
+	 * @param comparator
+	 *            the comparator of a sorted kind or null for the natural ordering
+	 * @return the new empty collection or map
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static Object newTarget(final Kind kind, final int size, final Comparator comparator)
+	{
+		switch (kind)
+		{
+			case LINKED_LIST :
+				return new LinkedList<>();
+			case VECTOR :
+				return new Vector<>(size);
+			case STACK :
+				return new Stack<>();
+			case COPY_ON_WRITE_ARRAY_LIST :
+				return new CopyOnWriteArrayList<>();
+			case ARRAY_DEQUE :
+				return new ArrayDeque<>(size);
+			case PRIORITY_QUEUE :
+				return new PriorityQueue<>(Math.max(1, size), comparator);
+			case HASH_SET :
+				return new HashSet<>(hashCapacity(size));
+			case LINKED_HASH_SET :
+			case IMMUTABLE_SET :
+			case UNMODIFIABLE_SET :
+				return new LinkedHashSet<>(hashCapacity(size));
+			case TREE_SET :
+			case UNMODIFIABLE_SORTED_SET :
+				return new TreeSet<>(comparator);
+			case CONCURRENT_SKIP_LIST_SET :
+				return new ConcurrentSkipListSet<>(comparator);
+			case COPY_ON_WRITE_ARRAY_SET :
+				return new CopyOnWriteArraySet<>();
+			case HASH_MAP :
+				return new HashMap<>(hashCapacity(size));
+			case LINKED_HASH_MAP :
+			case IMMUTABLE_MAP :
+			case UNMODIFIABLE_MAP :
+				return new LinkedHashMap<>(hashCapacity(size));
+			case IDENTITY_HASH_MAP :
+				return new IdentityHashMap<>(size);
+			case TREE_MAP :
+			case UNMODIFIABLE_SORTED_MAP :
+				return new TreeMap<>(comparator);
+			case CONCURRENT_HASH_MAP :
+				return new ConcurrentHashMap<>(hashCapacity(size));
+			case CONCURRENT_SKIP_LIST_MAP :
+				return new ConcurrentSkipListMap<>(comparator);
+			case ARRAYS_LIST :
+				return Arrays.asList(new Object[size]);
+			case ENUM_SET :
+			case ENUM_MAP :
+				throw new IllegalArgumentException("The kind " + kind + " needs a source");
+			default :
+				// ARRAY_LIST, IMMUTABLE_LIST, UNMODIFIABLE_LIST and UNMODIFIABLE_COLLECTION
+				return new ArrayList<>(size);
+		}
+	}
+
+	/**
+	 * Wraps the given filled or still to be filled target into the view that matches the given kind
+	 *
+	 * @param target
+	 *            the target that was created with {@link #newTarget(Object, Kind)}
+	 * @param kind
+	 *            the kind of the class of the source collection or map
+	 * @return the given target or an unmodifiable view of it
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static Object wrap(final Object target, final Kind kind)
+	{
+		switch (kind)
+		{
+			case IMMUTABLE_LIST :
+			case UNMODIFIABLE_LIST :
+				return Collections.unmodifiableList((List)target);
+			case UNMODIFIABLE_COLLECTION :
+				return Collections.unmodifiableCollection((Collection)target);
+			case IMMUTABLE_SET :
+			case UNMODIFIABLE_SET :
+				return Collections.unmodifiableSet((Set)target);
+			case UNMODIFIABLE_SORTED_SET :
+				return Collections.unmodifiableNavigableSet((TreeSet)target);
+			case IMMUTABLE_MAP :
+			case UNMODIFIABLE_MAP :
+				return Collections.unmodifiableMap((Map)target);
+			case UNMODIFIABLE_SORTED_MAP :
+				return Collections.unmodifiableNavigableMap((TreeMap)target);
+			default :
+				return target;
+		}
+	}
+
+	/**
+	 * Checks if the given collection is a fixed-size list of {@link Arrays#asList(Object...)}
+	 * that has to be filled by index
+	 *
+	 * @param collection
+	 *            the collection
+	 * @return true if the given collection is a fixed-size list otherwise false
+	 */
+	static boolean isFixedSize(final Object collection)
+	{
+		return collection.getClass() == ARRAYS_LIST_TYPE;
+	}
+
+	private static int hashCapacity(final int size)
+	{
+		return (int)Math.min(Integer.MAX_VALUE, (long)Math.ceil(size / 0.75d));
+	}
+
+	/**
+	 * The enum {@link Kind} describes a supported class of the JDK
+	 */
+	enum Kind
+	{
+
+		ARRAY_LIST, LINKED_LIST, VECTOR, STACK, COPY_ON_WRITE_ARRAY_LIST, ARRAYS_LIST, ARRAY_DEQUE,
+		PRIORITY_QUEUE, HASH_SET, LINKED_HASH_SET, TREE_SET, CONCURRENT_SKIP_LIST_SET,
+		COPY_ON_WRITE_ARRAY_SET, ENUM_SET, HASH_MAP, LINKED_HASH_MAP, IDENTITY_HASH_MAP, TREE_MAP,
+		CONCURRENT_HASH_MAP, CONCURRENT_SKIP_LIST_MAP, ENUM_MAP, IMMUTABLE_LIST, IMMUTABLE_SET,
+		IMMUTABLE_MAP, UNMODIFIABLE_COLLECTION, UNMODIFIABLE_LIST, UNMODIFIABLE_SET,
+		UNMODIFIABLE_SORTED_SET, UNMODIFIABLE_MAP, UNMODIFIABLE_SORTED_MAP;
+
+		/**
+		 * Checks if collections of this kind are immutable
+		 *
+		 * @return true if collections of this kind are immutable otherwise false
+		 */
+		boolean isImmutable()
+		{
+			return this == IMMUTABLE_LIST || this == IMMUTABLE_SET || this == IMMUTABLE_MAP;
+		}
+
+		/**
+		 * Checks if the elements of collections of this kind have to be inserted after the
+		 * elements are filled, because their position depends on their hash code or ordering
+		 *
+		 * @return true if the insert has to be deferred otherwise false
+		 */
+		boolean isInsertDeferred()
+		{
+			return !(this == ARRAY_LIST || this == LINKED_LIST || this == VECTOR || this == STACK
+				|| this == COPY_ON_WRITE_ARRAY_LIST || this == ARRAYS_LIST || this == ARRAY_DEQUE
+				|| this == IMMUTABLE_LIST || this == UNMODIFIABLE_LIST
+				|| this == UNMODIFIABLE_COLLECTION);
+		}
+
+		/**
+		 * Checks if an existing collection of this kind can be overwritten with the content of
+		 * another one of the same kind, so it is equal to a copy of the other one. Immutable,
+		 * fixed-size and sorted collections and collections with an ordering that is not visible
+		 * over the public API are not reusable
+		 *
+		 * @return true if collections of this kind can be overwritten otherwise false
+		 */
+		boolean isReusable()
+		{
+			return this == ARRAY_LIST || this == LINKED_LIST || this == VECTOR || this == STACK
+				|| this == ARRAY_DEQUE || this == HASH_SET || this == LINKED_HASH_SET
+				|| this == HASH_MAP || this == IDENTITY_HASH_MAP || this == CONCURRENT_HASH_MAP;
+		}
+
+	}
+
+}
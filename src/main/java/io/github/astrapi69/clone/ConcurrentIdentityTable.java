@@ -0,0 +1,117 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+/**
+ * The class {@link ConcurrentIdentityTable} is a thread-safe map from source objects to their
+ * clones by reference identity. The keys are spread by their identity hash code over a fixed number
+ * of {@link IdentityTable} stripes that are locked independently
+ */
+final class ConcurrentIdentityTable
+{
+
+	/** The number of stripes, must be a power of two */
+	private static final int STRIPE_COUNT = 64;
+
+	/** The stripes */
+	private final IdentityTable[] stripes;
+
+	/**
+	 * Instantiates a new {@link ConcurrentIdentityTable}
+	 */
+	ConcurrentIdentityTable()
+	{
+		stripes = new IdentityTable[STRIPE_COUNT];
+		for (int i = 0; i < STRIPE_COUNT; i++)
+		{
+			stripes[i] = new IdentityTable();
+		}
+	}
+
+	private IdentityTable stripeFor(final Object key)
+	{
+		final int hash = System.identityHashCode(key);
+		return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+	}
+
+	/**
+	 * Gets the value that is mapped to the given key
+	 *
+	 * @param key
+	 *            the key
+	 * @return the value or null if the key is not mapped
+	 */
+	Object get(final Object key)
+	{
+		final IdentityTable stripe = stripeFor(key);
+		synchronized (stripe)
+		{
+			return stripe.get(key);
+		}
+	}
+
+	/**
+	 * Maps the given value to the given key if the key is not mapped yet
+	 *
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value
+	 * @return the value that is already mapped to the key or null if the given value was mapped
+	 */
+	Object putIfAbsent(final Object key, final Object value)
+	{
+		final IdentityTable stripe = stripeFor(key);
+		synchronized (stripe)
+		{
+			final Object existing = stripe.get(key);
+			if (existing != null)
+			{
+				return existing;
+			}
+			stripe.put(key, value);
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the number of mappings
+	 *
+	 * @return the number of mappings
+	 */
+	int size()
+	{
+		int size = 0;
+		for (IdentityTable stripe : stripes)
+		{
+			synchronized (stripe)
+			{
+				size += stripe.size();
+			}
+		}
+		return size;
+	}
+
+}
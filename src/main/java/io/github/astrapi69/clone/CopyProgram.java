@@ -0,0 +1,845 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The class {@link CopyProgram} is a template graph that is compiled into a flat program of copy
+ * instructions. Every copied object of the template gets a slot, the instructions are stored inline
+ * in one int array and refer to the slots and to a pool of constants. A run executes the
+ * instructions in order into a fresh array of slots, so a copy needs neither a traversal of the
+ * graph nor an identity table.
+ * <p>
+ * The program has four sections: the allocations of the objects, arrays and collections with their
+ * primitive values, the records after the records among their components, the links of the
+ * references and at last the inserts of the elements of the collections and maps in the order of
+ * containment of {@link DeferredInserts}, so the hash codes of the elements are computed from
+ * linked and filled objects as in the {@link DeepCloner}. The same instructions verify if the template still matches the
+ * program.
+ * <p>
+ * An operand of a reference is a slot if it is not negative, otherwise the constant with the index
+ * {@code -operand - 1}, which is null or an immutable value that is shared by all copies
+ */
+final class CopyProgram
+{
+
+	/** Allocate an object: slot, instantiator constant */
+	private static final int ALLOCATE = 0;
+
+	/** Copy the primitive fields from a frozen copy of the template: slot, copier, frozen copy */
+	private static final int COPY_PRIMITIVES = 1;
+
+	/** Allocate an array of references: slot, component type constant, length */
+	private static final int NEW_ARRAY = 2;
+
+	/** Copy a primitive array from a frozen copy of the template: slot, frozen copy constant */
+	private static final int COPY_ARRAY = 3;
+
+	/**
+	 * Allocate a collection or map into the slot and the target behind it into the next slot:
+	 * slot, kind constant, comparator or enum shape constant, size
+	 */
+	private static final int NEW_COLLECTION = 4;
+
+	/** Clone an object that is not copied field by field: slot, frozen copy, plan constant */
+	private static final int CLONE = 5;
+
+	/** Create a record: slot, record cloner constant, number of components, component operands */
+	private static final int NEW_RECORD = 6;
+
+	/** Link a reference field: slot, accessor constant, operand */
+	private static final int LINK = 7;
+
+	/** Store an array element: slot, index, operand */
+	private static final int STORE = 8;
+
+	/** Insert the elements into a collection or map: slot, number of operands, operands */
+	private static final int INSERT = 9;
+
+	/** The instructions */
+	private final int[] code;
+
+	/** The constants that the instructions refer to */
+	private final Object[] constants;
+
+	/** The template objects of the slots */
+	private final Object[] templates;
+
+	/** The operand of the root object */
+	private final int root;
+
+	private CopyProgram(final int[] code, final Object[] constants, final Object[] templates,
+		final int root)
+	{
+		this.code = code;
+		this.constants = constants;
+		this.templates = templates;
+		this.root = root;
+	}
+
+	/**
+	 * Compiles the graph that is reachable from the given template object
+	 *
+	 * @param template
+	 *            the template object
+	 * @return the compiled program
+	 * @throws IllegalArgumentException
+	 *             Thrown if an object of the graph can neither be copied nor shared
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	static CopyProgram compile(final Object template)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return new Compiler().compile(template);
+	}
+
+	/**
+	 * Runs this program and creates a new copy of the template graph as it was compiled
+	 *
+	 * @return the copy of the root object
+	 * @throws ReflectiveOperationException
+	 *             Thrown if an object cannot be instantiated, cloned or a record cannot be created
+	 */
+	Object run() throws ReflectiveOperationException
+	{
+		if (root < 0)
+		{
+			return constants[-root - 1];
+		}
+		final Object[] objects = new Object[templates.length];
+		int pc = 0;
+		while (pc < code.length)
+		{
+			final int slot = code[pc + 1];
+			switch (code[pc])
+			{
+				case ALLOCATE :
+					objects[slot] = ((Instantiator)constants[code[pc + 2]]).newInstance();
+					pc += 3;
+					break;
+				case COPY_PRIMITIVES :
+					((FieldCopier)constants[code[pc + 2]]).copy(constants[code[pc + 3]],
+						objects[slot]);
+					pc += 4;
+					break;
+				case NEW_ARRAY :
+					objects[slot] = Array.newInstance((Class<?>)constants[code[pc + 2]],
+						code[pc + 3]);
+					pc += 4;
+					break;
+				case COPY_ARRAY :
+					objects[slot] = ArrayCloner.copy(constants[code[pc + 2]], false);
+					pc += 3;
+					break;
+				case NEW_COLLECTION :
+					final Object target = newTarget((CollectionCloner.Kind)constants[code[pc + 2]],
+						constants[code[pc + 3]], code[pc + 4]);
+					objects[slot] = CollectionCloner.wrap(target,
+						(CollectionCloner.Kind)constants[code[pc + 2]]);
+					objects[slot + 1] = target;
+					pc += 5;
+					break;
+				case CLONE :
+					objects[slot] = CloneObjectExtensions.cloneObject(constants[code[pc + 2]],
+						(ClonePlan)constants[code[pc + 3]]);
+					pc += 4;
+					break;
+				case NEW_RECORD :
+					final RecordCloner recordCloner = (RecordCloner)constants[code[pc + 2]];
+					objects[slot] = recordCloner
+						.newInstance(values(objects, pc + 4, code[pc + 3]));
+					pc += 4 + code[pc + 3];
+					break;
+				case LINK :
+					((FieldAccessor)constants[code[pc + 2]]).set(objects[slot],
+						value(objects, code[pc + 3]));
+					pc += 4;
+					break;
+				case STORE :
+					((Object[])objects[slot])[code[pc + 2]] = value(objects, code[pc + 3]);
+					pc += 4;
+					break;
+				default :
+					DeepCloner.insert(objects[slot], values(objects, pc + 3, code[pc + 2]));
+					pc += 3 + code[pc + 2];
+			}
+		}
+		return objects[root];
+	}
+
+	/**
+	 * Checks if the template graph has changed since this program was compiled. The primitive
+	 * values, the primitive arrays, the references, the array elements and the elements of the
+	 * collections and maps in their iteration order are compared with the compiled ones. Immutable
+	 * values are compared by equality, the other references by identity. The objects that are
+	 * cloned instead of copied field by field are not looked into
+	 *
+	 * @return true if the template graph has changed otherwise false
+	 */
+	boolean isStale()
+	{
+		int pc = 0;
+		while (pc < code.length)
+		{
+			final Object template = templates[code[pc + 1]];
+			switch (code[pc])
+			{
+				case ALLOCATE :
+					pc += 3;
+					break;
+				case COPY_PRIMITIVES :
+					if (!isPrimitiveEqual(template, constants[code[pc + 3]]))
+					{
+						return true;
+					}
+					pc += 4;
+					break;
+				case COPY_ARRAY :
+					if (!Objects.deepEquals(template, constants[code[pc + 2]]))
+					{
+						return true;
+					}
+					pc += 3;
+					break;
+				case NEW_COLLECTION :
+					pc += 5;
+					break;
+				case NEW_RECORD :
+					// the components of a record are final
+					pc += 4 + code[pc + 3];
+					break;
+				case LINK :
+					final FieldAccessor accessor = (FieldAccessor)constants[code[pc + 2]];
+					if (!isCompiled(accessor.get(template), code[pc + 3]))
+					{
+						return true;
+					}
+					pc += 4;
+					break;
+				case STORE :
+					if (!isCompiled(((Object[])template)[code[pc + 2]], code[pc + 3]))
+					{
+						return true;
+					}
+					pc += 4;
+					break;
+				case INSERT :
+					if (!isCompiledContent(template, pc + 3, code[pc + 2]))
+					{
+						return true;
+					}
+					pc += 3 + code[pc + 2];
+					break;
+				default :
+					// NEW_ARRAY and CLONE
+					pc += 4;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the number of the slots, which is the number of the copied objects plus one for the
+	 * target behind each collection or map
+	 *
+	 * @return the number of the slots
+	 */
+	int getSlotCount()
+	{
+		return templates.length;
+	}
+
+	/**
+	 * Gets the number of the ints of the instructions
+	 *
+	 * @return the length of the code
+	 */
+	int getCodeLength()
+	{
+		return code.length;
+	}
+
+	private static Object newTarget(final CollectionCloner.Kind kind, final Object shape,
+		final int size)
+	{
+		if (hasShapeTarget(kind))
+		{
+			// the shape is an empty enum set or enum map with the enum type or an empty linked
+			// hash map with the ordering mode
+			return CollectionCloner.newTarget(shape, kind);
+		}
+		return CollectionCloner.newTarget(kind, size, (Comparator<?>)shape);
+	}
+
+	private static boolean hasShapeTarget(final CollectionCloner.Kind kind)
+	{
+		return kind == CollectionCloner.Kind.ENUM_SET || kind == CollectionCloner.Kind.ENUM_MAP
+			|| kind == CollectionCloner.Kind.LINKED_HASH_MAP;
+	}
+
+	private Object value(final Object[] objects, final int operand)
+	{
+		return operand >= 0 ? objects[operand] : constants[-operand - 1];
+	}
+
+	private Object[] values(final Object[] objects, final int from, final int count)
+	{
+		final Object[] values = new Object[count];
+		for (int i = 0; i < count; i++)
+		{
+			values[i] = value(objects, code[from + i]);
+		}
+		return values;
+	}
+
+	private boolean isCompiled(final Object value, final int operand)
+	{
+		return operand >= 0 ? value == templates[operand]
+			: Objects.equals(value, constants[-operand - 1]);
+	}
+
+	private boolean isCompiledContent(final Object template, final int from, final int count)
+	{
+		if (template instanceof Map)
+		{
+			final Map<?, ?> map = (Map<?, ?>)template;
+			if (map.size() * 2 != count)
+			{
+				return false;
+			}
+			int i = from;
+			for (Map.Entry<?, ?> entry : map.entrySet())
+			{
+				if (!isCompiled(entry.getKey(), code[i])
+					|| !isCompiled(entry.getValue(), code[i + 1]))
+				{
+					return false;
+				}
+				i += 2;
+			}
+			return true;
+		}
+		final Collection<?> collection = (Collection<?>)template;
+		if (collection.size() != count)
+		{
+			return false;
+		}
+		final Iterator<?> iterator = collection.iterator();
+		for (int i = from; i < from + count; i++)
+		{
+			if (!isCompiled(iterator.next(), code[i]))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isPrimitiveEqual(final Object template, final Object frozen)
+	{
+		final FieldAccessor[] accessors = ClonePlan.of(template.getClass())
+			.getPrimitiveFieldAccessors();
+		if (accessors == null)
+		{
+			// the primitive fields cannot be compared, so the compiled values are trusted
+			return true;
+		}
+		for (FieldAccessor accessor : accessors)
+		{
+			if (!accessor.get(template).equals(accessor.get(frozen)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The growable array of the ints of one section of a program
+	 */
+	private static final class Section
+	{
+
+		private int[] elements = new int[64];
+
+		private int size;
+
+		void add(final int... values)
+		{
+			if (elements.length < size + values.length)
+			{
+				elements = Arrays.copyOf(elements,
+					Math.max(elements.length * 2, size + values.length));
+			}
+			System.arraycopy(values, 0, elements, size, values.length);
+			size += values.length;
+		}
+
+		void addTo(final Section section)
+		{
+			section.add(Arrays.copyOf(elements, size));
+		}
+
+	}
+
+	/**
+	 * The compiler that discovers the template graph breadth-first. An object gets its slot when it
+	 * is discovered and its instructions are emitted when its slot is processed in order
+	 */
+	private static final class Compiler
+	{
+
+		/** The allocations with the primitive values */
+		private final Section allocations = new Section();
+
+		/** The links of the references and the stores of the array elements */
+		private final Section links = new Section();
+
+		/** The inserts of the elements in the order of the discovery of the collections */
+		private final List<int[]> inserts = new ArrayList<>();
+
+		/** The template collections and maps of the inserts with their template elements */
+		private final DeferredInserts insertOrder = new DeferredInserts();
+
+		/** The slots of the records in the order of their discovery */
+		private final List<Slot> records = new ArrayList<>();
+
+		/** The constants */
+		private final List<Object> constants = new ArrayList<>();
+
+		/** The map from the non-null constants to their indexes */
+		private final IdentityTable constantIndexes = new IdentityTable();
+
+		/** The slots in the order of their discovery */
+		private final List<Slot> slotList = new ArrayList<>();
+
+		/** The index of the null constant or -1 if null was not used yet */
+		private int nullConstant = -1;
+
+		/** The map from the template objects to their slots */
+		private final IdentityTable slots = new IdentityTable();
+
+		CopyProgram compile(final Object template)
+			throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+		{
+			final int root = operand(template,
+				template != null ? ClonePlan.of(template.getClass()) : null);
+			for (int slot = 0; slot < slotList.size(); slot++)
+			{
+				if (slotList.get(slot).plan != null)
+				{
+					emit(slot, slotList.get(slot));
+				}
+			}
+			final Section code = new Section();
+			allocations.addTo(code);
+			emitRecords(code);
+			links.addTo(code);
+			// the template graph has the containment of the copies
+			for (int index : insertOrder.order())
+			{
+				code.add(inserts.get(index));
+			}
+			final Object[] templates = new Object[slotList.size()];
+			for (int slot = 0; slot < templates.length; slot++)
+			{
+				templates[slot] = slotList.get(slot).template;
+			}
+			return new CopyProgram(Arrays.copyOf(code.elements, code.size), constants.toArray(),
+				templates, root);
+		}
+
+		private int constant(final Object value)
+		{
+			if (value == null)
+			{
+				if (nullConstant < 0)
+				{
+					nullConstant = constants.size();
+					constants.add(null);
+				}
+				return nullConstant;
+			}
+			final Integer index = (Integer)constantIndexes.get(value);
+			if (index != null)
+			{
+				return index;
+			}
+			constantIndexes.put(value, constants.size());
+			constants.add(value);
+			return constants.size() - 1;
+		}
+
+		/**
+		 * Gets the operand of the given value, a new slot is allocated if the value is discovered
+		 * the first time and has to be copied
+		 */
+		private int operand(final Object value, final ClonePlan plan)
+			throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+		{
+			if (value == null || plan.isImmutable())
+			{
+				return -constant(value) - 1;
+			}
+			final Integer existing = (Integer)slots.get(value);
+			if (existing != null)
+			{
+				return existing;
+			}
+			final Slot slot = new Slot(value, plan);
+			if (plan.getStrategy() == CloneStrategy.COLLECTION)
+			{
+				if (plan.getCollectionKind().isImmutable()
+					&& CollectionCloner.isContentImmutable(value))
+				{
+					return -constant(value) - 1;
+				}
+			}
+			else if (plan.getStrategy() == CloneStrategy.ARRAY
+				|| plan.getStrategy() == CloneStrategy.RECORD && plan.getRecordCloner() != null)
+			{
+				// arrays and records are allocated from the template
+			}
+			else
+			{
+				freeze(slot);
+				if (slot.frozen == value)
+				{
+					// the object cannot be cloned and is shared as by the deep clone
+					return -constant(value) - 1;
+				}
+			}
+			final int index = slotList.size();
+			slotList.add(slot);
+			slots.put(value, index);
+			if (plan.getStrategy() == CloneStrategy.COLLECTION)
+			{
+				// the slot of the target behind the collection or map
+				slotList.add(new Slot(value, null));
+			}
+			return index;
+		}
+
+		/**
+		 * Gets the operand of the given value of a field with the policy
+		 * {@link FieldPolicy#SHALLOW}. The value is cloned from a frozen shallow clone, unless it
+		 * is already copied over another reference
+		 */
+		private int shallowOperand(final Object value, final ClonePlan plan)
+			throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+		{
+			final Integer existing = (Integer)slots.get(value);
+			if (existing != null)
+			{
+				return existing;
+			}
+			if (plan.isImmutable())
+			{
+				return -constant(value) - 1;
+			}
+			final Slot slot = new Slot(value, plan);
+			slot.frozen = CloneObjectExtensions.cloneObject(value, plan);
+			if (slot.frozen == null || slot.frozen == value)
+			{
+				// the value is shared if it cannot be cloned
+				return -constant(value) - 1;
+			}
+			slot.shallow = true;
+			final int index = slotList.size();
+			slotList.add(slot);
+			slots.put(value, index);
+			return index;
+		}
+
+		/**
+		 * Creates the frozen copy of the object of the given slot, which is a shell with the
+		 * primitive values if the object can be copied field by field or otherwise a clone of the
+		 * object
+		 */
+		private void freeze(final Slot slot)
+			throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+		{
+			final ClonePlan plan = slot.plan;
+			if (plan.isDeepCloneSupported())
+			{
+				try
+				{
+					slot.frozen = plan.getInstantiator().newInstance();
+					plan.getPrimitiveFieldCopier().copy(slot.template, slot.frozen);
+					slot.shell = true;
+					return;
+				}
+				catch (InstantiationException e)
+				{
+					plan.recordReflectionFailure(CloneFailure.NOT_INSTANTIABLE);
+				}
+			}
+			slot.frozen = CloneObjectExtensions.cloneObject(slot.template, plan);
+			if (slot.frozen == null)
+			{
+				throw new IllegalArgumentException(
+					"Given template contains an object of the class "
+						+ slot.template.getClass().getName()
+						+ " that can neither be copied nor shared");
+			}
+		}
+
+		private void emit(final int index, final Slot slot)
+			throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+		{
+			final Object template = slot.template;
+			final ClonePlan plan = slot.plan;
+			final Object frozen = slot.frozen;
+			if (slot.shallow)
+			{
+				allocations.add(CLONE, index, constant(frozen), constant(plan));
+			}
+			else if (plan.getStrategy() == CloneStrategy.ARRAY)
+			{
+				emitArray(index, template, plan);
+			}
+			else if (plan.getStrategy() == CloneStrategy.COLLECTION)
+			{
+				final CollectionCloner.Kind kind = plan.getCollectionKind();
+				final Object shape = hasShapeTarget(kind)
+					? CollectionCloner.newTarget(template, kind)
+					: CollectionCloner.comparatorOf(template);
+				allocations.add(NEW_COLLECTION, index, constant(kind), constant(shape),
+					sizeOf(template));
+				emitInsert(index + 1, template);
+			}
+			else if (frozen == null)
+			{
+				emitRecord(slot);
+			}
+			else if (slot.shell)
+			{
+				allocations.add(ALLOCATE, index, constant(plan.getInstantiator()));
+				allocations.add(COPY_PRIMITIVES, index, constant(plan.getPrimitiveFieldCopier()),
+					constant(frozen));
+				for (FieldAccessor accessor : plan.getReferenceFieldAccessors())
+				{
+					final Object value = accessor.get(template);
+					final int operand;
+					if (accessor.isImmutable() || value == null
+						|| accessor.getPolicy() == FieldPolicy.SHARE)
+					{
+						operand = -constant(value) - 1;
+					}
+					else if (accessor.getPolicy() == FieldPolicy.SHALLOW)
+					{
+						operand = shallowOperand(value, accessor.planOf(value));
+					}
+					else
+					{
+						operand = operand(value, accessor.planOf(value));
+					}
+					links.add(LINK, index, constant(accessor), operand);
+				}
+			}
+			else
+			{
+				allocations.add(CLONE, index, constant(frozen), constant(plan));
+				if (frozen instanceof Collection || frozen instanceof Map)
+				{
+					// the clone is a collection or map of its own, its elements are copied too
+					emitInsert(index, template);
+				}
+			}
+		}
+
+		private void emitArray(final int slot, final Object template, final ClonePlan plan)
+			throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+		{
+			final Class<?> componentType = plan.getType().getComponentType();
+			if (componentType.isPrimitive())
+			{
+				allocations.add(COPY_ARRAY, slot, constant(ArrayCloner.copy(template, false)));
+				return;
+			}
+			final Object[] elements = (Object[])template;
+			allocations.add(NEW_ARRAY, slot, constant(componentType), elements.length);
+			for (int i = 0; i < elements.length; i++)
+			{
+				// null elements are stored too, so a changed element is detected
+				links.add(STORE, slot, i, operandOf(elements[i]));
+			}
+		}
+
+		private void emitRecord(final Slot slot)
+			throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+		{
+			final RecordCloner recordCloner = slot.plan.getRecordCloner();
+			final Object[] values = recordCloner.getComponents(slot.template);
+			final int[] operands = new int[values.length];
+			for (int i = 0; i < values.length; i++)
+			{
+				final Object value = values[i];
+				operands[i] = value == null || recordCloner.isImmutableComponent(i)
+					? -constant(value) - 1
+					: operand(value, recordCloner.planOf(i, value));
+			}
+			slot.components = operands;
+			records.add(slot);
+		}
+
+		private void emitInsert(final int slot, final Object template)
+			throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+		{
+			final List<Object> elements = new ArrayList<>();
+			if (template instanceof Map)
+			{
+				for (Map.Entry<?, ?> entry : ((Map<?, ?>)template).entrySet())
+				{
+					elements.add(entry.getKey());
+					elements.add(entry.getValue());
+				}
+			}
+			else
+			{
+				elements.addAll((Collection<?>)template);
+			}
+			final int[] insert = new int[elements.size() + 3];
+			insert[0] = INSERT;
+			insert[1] = slot;
+			insert[2] = elements.size();
+			for (int i = 0; i < elements.size(); i++)
+			{
+				insert[i + 3] = operandOf(elements.get(i));
+			}
+			inserts.add(insert);
+			insertOrder.add(template, template, elements.toArray());
+		}
+
+		/**
+		 * Emits the records after the records among their components over an explicit stack
+		 */
+		private void emitRecords(final Section code)
+		{
+			final boolean[] emitted = new boolean[slotList.size()];
+			final List<Integer> pending = new ArrayList<>();
+			for (Slot record : records)
+			{
+				pending.add((Integer)slots.get(record.template));
+				while (!pending.isEmpty())
+				{
+					final int index = pending.get(pending.size() - 1);
+					final int[] operands = slotList.get(index).components;
+					boolean ready = true;
+					for (int operand : operands)
+					{
+						if (operand >= 0 && slotList.get(operand).components != null
+							&& !emitted[operand])
+						{
+							pending.add(operand);
+							ready = false;
+						}
+					}
+					if (!ready)
+					{
+						continue;
+					}
+					pending.remove(pending.size() - 1);
+					if (emitted[index])
+					{
+						continue;
+					}
+					emitted[index] = true;
+					final int[] instruction = new int[operands.length + 4];
+					instruction[0] = NEW_RECORD;
+					instruction[1] = index;
+					instruction[2] = constant(slotList.get(index).plan.getRecordCloner());
+					instruction[3] = operands.length;
+					System.arraycopy(operands, 0, instruction, 4, operands.length);
+					code.add(instruction);
+				}
+			}
+		}
+
+		private int operandOf(final Object value)
+			throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+		{
+			return value == null ? -constant(null) - 1
+				: operand(value, ClonePlan.of(value.getClass()));
+		}
+
+		private static int sizeOf(final Object template)
+		{
+			return template instanceof Map ? ((Map<?, ?>)template).size()
+				: ((Collection<?>)template).size();
+		}
+
+	}
+
+	/**
+	 * A slot of the compiled program with the template object and what is known about it
+	 */
+	private static final class Slot
+	{
+
+		/** The template object */
+		private final Object template;
+
+		/** The clone plan or null for the target behind a collection or map */
+		private final ClonePlan plan;
+
+		/** The frozen copy or null if the object is allocated from the template */
+		private Object frozen;
+
+		/** The flag if the frozen copy is a shell with the primitive values */
+		private boolean shell;
+
+		/** The flag if the object is cloned shallow with the references of the template */
+		private boolean shallow;
+
+		/** The component operands of a record or null */
+		private int[] components;
+
+		Slot(final Object template, final ClonePlan plan)
+		{
+			this.template = template;
+			this.plan = plan;
+		}
+
+	}
+
+}
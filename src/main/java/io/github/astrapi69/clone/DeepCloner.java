@@ -0,0 +1,917 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * The class {@link DeepCloner} clones a whole object graph. Every reachable object is copied once
+ * and shared references and cycles are preserved over an {@link IdentityTable} that maps each
+ * source object to its clone. Immutable values are shared and objects that cannot be copied field
+ * by field are cloned as with {@link CloneObjectExtensions#cloneObject(Object)} and then their
+ * elements are deep cloned if they are a {@link Collection} or a {@link Map}.
+ * <p>
+ * The graph is traversed iteratively: an object is first allocated as a shell and registered in
+ * the identity table, then its references are filled from an explicit {@link WorkStack}, so the
+ * depth of a clonable graph is limited only by the heap. The elements of sets and maps are inserted
+ * after the whole graph is filled, so their hash codes and comparisons see the filled clones.
+ * Records cannot be allocated as shells, a record is created over its canonical constructor after
+ * the clones of its components.
+ * <p>
+ * The fields are copied as their {@link FieldPolicy} says, values of shared fields are referenced
+ * as they are and values of shallow fields are cloned without their references. A
+ * {@link ClonePolicy} with a maximum depth bounds the clone, the objects at the maximum depth are
+ * cloned but their references are shared. The depth of an object is the depth of the path it was
+ * first reached over.
+ * <p>
+ * A {@link DeepCloner} that is created for a {@link ParallelDeepCloner} shares its concurrent
+ * identity table and hands large arrays, collections and maps over to parallel subtasks
+ */
+final class DeepCloner
+{
+
+	/** The map from the source objects to their clones */
+	private final IdentityTable clones;
+
+	/** The parallel cloner this cloner works for or null if it clones sequentially */
+	private final ParallelDeepCloner parallel;
+
+	/** The stack of the shells that have to be filled */
+	private final WorkStack workStack = new WorkStack();
+
+	/** The sets and maps with their cloned elements that are inserted after the traversal */
+	private final DeferredInserts deferredInserts = new DeferredInserts();
+
+	/** The registry that decides which objects are shared or null for the default registry */
+	private final ImmutableTypeRegistry immutableTypes;
+
+	/** The policy that the plans are resolved with or null for the default policy */
+	private final ClonePolicy policy;
+
+	/** The depth beyond which the references are shared */
+	private final int maxDepth;
+
+	/** The targets that are overwritten by a deep copy or null if no targets are reused */
+	private IdentityTable reusedTargets;
+
+	/** The depth of the object whose references are filled, the root object has the depth zero */
+	private int fillDepth = -1;
+
+	/**
+	 * Instantiates a new {@link DeepCloner}
+	 */
+	DeepCloner()
+	{
+		this(new IdentityTable());
+	}
+
+	/**
+	 * Instantiates a new {@link DeepCloner} that shares the objects that are immutable as decided
+	 * by the given registry
+	 *
+	 * @param immutableTypes
+	 *            the registry or null for the default registry of the clone plans
+	 */
+	DeepCloner(final ImmutableTypeRegistry immutableTypes)
+	{
+		this(immutableTypes, null);
+	}
+
+	/**
+	 * Instantiates a new {@link DeepCloner} that shares the objects that are immutable as decided
+	 * by the given registry and copies the fields and bounds the depth as the given policy says
+	 *
+	 * @param immutableTypes
+	 *            the registry or null for the default registry of the clone plans
+	 * @param policy
+	 *            the policy or null for the default policy
+	 */
+	DeepCloner(final ImmutableTypeRegistry immutableTypes, final ClonePolicy policy)
+	{
+		this.clones = new IdentityTable();
+		this.parallel = null;
+		this.immutableTypes = immutableTypes;
+		this.policy = policy;
+		this.maxDepth = policy != null ? policy.getMaxDepth() : ClonePolicy.UNBOUNDED_DEPTH;
+	}
+
+	/**
+	 * Instantiates a new {@link DeepCloner} with the given identity table
+	 *
+	 * @param clones
+	 *            the map from the source objects to their clones
+	 */
+	DeepCloner(final IdentityTable clones)
+	{
+		this.clones = clones;
+		this.parallel = null;
+		this.immutableTypes = null;
+		this.policy = null;
+		this.maxDepth = ClonePolicy.UNBOUNDED_DEPTH;
+	}
+
+	/**
+	 * Instantiates a new {@link DeepCloner} that works for the given parallel cloner
+	 *
+	 * @param parallel
+	 *            the parallel cloner
+	 */
+	DeepCloner(final ParallelDeepCloner parallel)
+	{
+		this.clones = null;
+		this.parallel = parallel;
+		this.immutableTypes = null;
+		this.policy = null;
+		this.maxDepth = ClonePolicy.UNBOUNDED_DEPTH;
+	}
+
+	/**
+	 * Deep clone the given object
+	 *
+	 * @param source
+	 *            the object to clone
+	 * @return the deep clone of the given object or null if the clone process failed
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	Object deepClone(final Object source)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (source == null)
+		{
+			return null;
+		}
+		fillDepth = -1;
+		try
+		{
+			final Object clone = shell(source, planOf(source));
+			drain();
+			if (parallel != null)
+			{
+				parallel.insertDeferred();
+			}
+			else
+			{
+				deferredInserts.insertAll();
+			}
+			return clone;
+		}
+		finally
+		{
+			workStack.clear();
+			deferredInserts.clear();
+		}
+	}
+
+	/**
+	 * Deep copies the given source into the given target of the same class. The objects that are
+	 * reachable from the target are overwritten too if they have the class and the shape of the
+	 * corresponding source objects, otherwise they are replaced with deep clones. Arrays are reused
+	 * if their length matches and collections and maps are reused if they are reusable as decided
+	 * by {@link CollectionCloner.Kind#isReusable()}, their elements are always cloned. A target
+	 * object is overwritten at most once, so targets that are shared in the target graph are only
+	 * reused for the first source object they are met for
+	 *
+	 * @param source
+	 *            the source object
+	 * @param target
+	 *            the target object of the same class as the source object
+	 * @return the given target
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given target cannot be overwritten with the given source
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	Object deepCopyInto(final Object source, final Object target)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		reusedTargets = new IdentityTable();
+		fillDepth = -1;
+		try
+		{
+			if (reuse(source, target) == null)
+			{
+				throw new IllegalArgumentException("Given target of the class "
+					+ target.getClass().getName() + " cannot be overwritten with the given source");
+			}
+			drain();
+			deferredInserts.insertAll();
+			return target;
+		}
+		finally
+		{
+			reusedTargets = null;
+			workStack.clear();
+			deferredInserts.clear();
+		}
+	}
+
+	/**
+	 * Gets the number of the objects that were cloned since the identity table was reset
+	 *
+	 * @return the number of the cloned objects
+	 */
+	int getCloneCount()
+	{
+		return parallel != null ? parallel.getClones().size() : clones.size();
+	}
+
+	/**
+	 * Removes all mappings of the identity table, so the next clone shares no objects with the
+	 * previous ones
+	 */
+	void reset()
+	{
+		clones.clear();
+	}
+
+	/**
+	 * Clones the given range of source elements into the given target array and fills the graphs
+	 * that are reachable from them
+	 *
+	 * @param source
+	 *            the source elements
+	 * @param target
+	 *            the array for the cloned elements, may be the source array itself
+	 * @param from
+	 *            the first index of the range
+	 * @param to
+	 *            the index after the last index of the range
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	void fillRange(final Object[] source, final Object[] target, final int from, final int to)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		try
+		{
+			for (int i = from; i < to; i++)
+			{
+				target[i] = cloneReference(source[i]);
+			}
+			drain();
+		}
+		finally
+		{
+			workStack.clear();
+		}
+	}
+
+	/**
+	 * Deep clones the references of the given source into the given clone that a cloner class of
+	 * the {@link ClonerClassGenerator} has created. The given link method of the cloner class
+	 * assigns every reference field of the clone with the sub-clone of the source value, the
+	 * sub-clones are allocated as shells that are filled afterwards, so a reference back to the
+	 * source is linked to the given clone
+	 *
+	 * @param source
+	 *            the source object
+	 * @param clone
+	 *            the clone with the primitive and immutable values of the source
+	 * @param link
+	 *            the link method with the signature (Object source, Object clone, UnaryOperator
+	 *            fieldCloner)void
+	 * @throws Throwable
+	 *             Thrown if a sub-clone cannot be created
+	 */
+	void link(final Object source, final Object clone, final MethodHandle link) throws Throwable
+	{
+		final UnaryOperator<Object> fieldCloner = value -> {
+			try
+			{
+				return cloneReference(value);
+			}
+			catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e)
+			{
+				throw new UndeclaredThrowableException(e);
+			}
+		};
+		fillDepth = 0;
+		try
+		{
+			register(source, clone);
+			link.invokeExact(source, clone, fieldCloner);
+			drain();
+			deferredInserts.insertAll();
+		}
+		catch (UndeclaredThrowableException e)
+		{
+			throw e.getUndeclaredThrowable();
+		}
+		finally
+		{
+			workStack.clear();
+			deferredInserts.clear();
+		}
+	}
+
+	private void drain()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		while (workStack.pop())
+		{
+			fillDepth = workStack.getDepth();
+			fill(workStack.getSource(), workStack.getClone(), workStack.getPlan());
+		}
+	}
+
+	private Object lookup(final Object source)
+	{
+		return parallel != null ? parallel.getClones().get(source) : clones.get(source);
+	}
+
+	/**
+	 * Registers the given clone of the given source object
+	 *
+	 * @return the given clone or the clone that another thread has registered before
+	 */
+	private Object register(final Object source, final Object clone)
+	{
+		if (parallel != null)
+		{
+			final Object existing = parallel.getClones().putIfAbsent(source, clone);
+			return existing != null ? existing : clone;
+		}
+		clones.put(source, clone);
+		return clone;
+	}
+
+	/**
+	 * Gets the clone of the given reference. A new clone is allocated as a shell and is pushed on
+	 * the work stack if its references have to be filled
+	 *
+	 * @param value
+	 *            the reference
+	 * @return the clone or the given reference itself if it is null or cannot be cloned
+	 */
+	private Object cloneReference(final Object value)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (value == null)
+		{
+			return null;
+		}
+		return cloneValue(value, planOf(value));
+	}
+
+	private ClonePlan planOf(final Object value)
+	{
+		return policy != null ? policy.planOf(value.getClass()) : ClonePlan.of(value.getClass());
+	}
+
+	/**
+	 * Gets the clone of the given value with the given clone plan of its class
+	 *
+	 * @param value
+	 *            the value, not null
+	 * @param plan
+	 *            the clone plan of the class of the value
+	 * @return the clone or the given value itself if it cannot be cloned
+	 */
+	private Object cloneValue(final Object value, final ClonePlan plan)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final Object clone = shell(value, plan);
+		// share the value if it cannot be cloned
+		return clone != null ? clone : value;
+	}
+
+	/**
+	 * Gets the deep copy of the given reference into the given existing target if the target can
+	 * be reused, otherwise the clone of the given reference
+	 *
+	 * @param value
+	 *            the reference
+	 * @param existing
+	 *            the existing target or null
+	 * @return the reused target, the clone or the given reference itself if it is null or cannot
+	 *         be cloned
+	 */
+	private Object cloneReference(final Object value, final Object existing)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (value != null && existing != null && existing != value
+			&& existing.getClass() == value.getClass() && lookup(value) == null)
+		{
+			final Object reused = reuse(value, existing);
+			if (reused != null)
+			{
+				return reused;
+			}
+		}
+		return cloneReference(value);
+	}
+
+	/**
+	 * Overwrites the given target with the primitive values of the given source and pushes the
+	 * pair on the work stack if its references have to be filled
+	 *
+	 * @return the given target or null if the target cannot be reused for the source
+	 */
+	private Object reuse(final Object source, final Object target)
+	{
+		final ClonePlan plan = planOf(source);
+		if (isImmutable(plan) || reusedTargets.get(target) != null)
+		{
+			return null;
+		}
+		if (plan.getStrategy() == CloneStrategy.ARRAY)
+		{
+			final int length = Array.getLength(source);
+			if (length != Array.getLength(target))
+			{
+				return null;
+			}
+			if (plan.getType().getComponentType().isPrimitive())
+			{
+				System.arraycopy(source, 0, target, 0, length);
+				reusedTargets.put(target, target);
+				return register(source, target);
+			}
+		}
+		else if (plan.getStrategy() == CloneStrategy.COLLECTION)
+		{
+			if (!plan.getCollectionKind().isReusable())
+			{
+				return null;
+			}
+		}
+		else if (plan.isDeepCloneSupported())
+		{
+			plan.getPrimitiveFieldCopier().copy(source, target);
+		}
+		else
+		{
+			return null;
+		}
+		reusedTargets.put(target, target);
+		workStack.push(source, target, plan, fillDepth + 1);
+		return register(source, target);
+	}
+
+	private boolean isImmutable(final ClonePlan plan)
+	{
+		return immutableTypes == null ? plan.isImmutable()
+			: immutableTypes.isImmutable(plan.getType());
+	}
+
+	private Object shell(final Object source, final ClonePlan plan)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (isImmutable(plan))
+		{
+			return source;
+		}
+		final Object existing = lookup(source);
+		if (existing != null)
+		{
+			return existing;
+		}
+		if (plan.getStrategy() == CloneStrategy.COLLECTION)
+		{
+			return shellCollection(source, plan);
+		}
+		if (plan.getStrategy() == CloneStrategy.RECORD && plan.getRecordCloner() != null)
+		{
+			return cloneRecord(source);
+		}
+		final Object clone;
+		if (plan.getStrategy() == CloneStrategy.ARRAY)
+		{
+			final Class<?> componentType = plan.getType().getComponentType();
+			if (componentType.isPrimitive())
+			{
+				return register(source, ArrayCloner.copy(source, false));
+			}
+			clone = Array.newInstance(componentType, Array.getLength(source));
+		}
+		else if (plan.isDeepCloneSupported())
+		{
+			try
+			{
+				clone = plan.getInstantiator().newInstance();
+			}
+			catch (InstantiationException e)
+			{
+				plan.recordReflectionFailure(CloneFailure.NOT_INSTANTIABLE);
+				return null;
+			}
+			plan.getPrimitiveFieldCopier().copy(source, clone);
+		}
+		else
+		{
+			clone = CloneObjectExtensions.cloneObject(source, plan);
+			if (clone == null || clone == source)
+			{
+				return clone;
+			}
+			if (!(clone instanceof Collection) && !(clone instanceof Map))
+			{
+				return register(source, clone);
+			}
+		}
+		final Object registered = register(source, clone);
+		if (registered == clone)
+		{
+			workStack.push(source, clone, plan, fillDepth + 1);
+		}
+		return registered;
+	}
+
+	/**
+	 * Clones the given record with the clones of its components. A record can only be created
+	 * with all its components, so the records among the components are cloned first over an
+	 * explicit stack. The other components are allocated as shells, so a cycle over a mutable
+	 * object is closed when the shell is filled. The components of a record at the maximum depth
+	 * are shared
+	 */
+	private Object cloneRecord(final Object source)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final int depth = fillDepth;
+		final List<Object> pending = new ArrayList<>();
+		final List<Integer> pendingDepths = new ArrayList<>();
+		pending.add(source);
+		pendingDepths.add(depth + 1);
+		Object clone = null;
+		while (!pending.isEmpty())
+		{
+			final Object record = pending.get(pending.size() - 1);
+			final int recordDepth = pendingDepths.get(pendingDepths.size() - 1);
+			final RecordCloner recordCloner = planOf(record).getRecordCloner();
+			final Object[] components = recordCloner.getComponents(record);
+			final ClonePlan[] plans = new ClonePlan[components.length];
+			boolean ready = true;
+			for (int i = 0; i < components.length && ready && recordDepth < maxDepth; i++)
+			{
+				final Object component = components[i];
+				if (component == null || immutableTypes == null
+					&& recordCloner.isImmutableComponent(i))
+				{
+					continue;
+				}
+				plans[i] = policy != null ? planOf(component)
+					: recordCloner.planOf(i, component);
+				if (plans[i].getStrategy() == CloneStrategy.RECORD
+					&& plans[i].getRecordCloner() != null && !isImmutable(plans[i])
+					&& lookup(component) == null)
+				{
+					pending.add(component);
+					pendingDepths.add(recordDepth + 1);
+					ready = false;
+				}
+			}
+			if (!ready)
+			{
+				continue;
+			}
+			pending.remove(pending.size() - 1);
+			pendingDepths.remove(pendingDepths.size() - 1);
+			// the shells of the components are one level deeper than the record
+			fillDepth = recordDepth;
+			for (int i = 0; i < components.length; i++)
+			{
+				if (plans[i] != null)
+				{
+					components[i] = cloneValue(components[i], plans[i]);
+				}
+			}
+			fillDepth = depth;
+			clone = register(record, recordCloner.newInstance(components));
+		}
+		return clone;
+	}
+
+	/**
+	 * Allocates an empty collection or map of the JDK with the capacity and the ordering of the
+	 * given source. Immutable collections and maps with immutable content are shared
+	 */
+	private Object shellCollection(final Object source, final ClonePlan plan)
+	{
+		final CollectionCloner.Kind kind = plan.getCollectionKind();
+		if (kind.isImmutable() && CollectionCloner.isContentImmutable(source))
+		{
+			return source;
+		}
+		final Object target = CollectionCloner.newTarget(source, kind);
+		// an unmodifiable clone is a view, so its elements are filled into the target behind it
+		final Object clone = CollectionCloner.wrap(target, kind);
+		final Object registered = register(source, clone);
+		if (registered == clone)
+		{
+			workStack.push(source, target, plan, fillDepth + 1);
+		}
+		return registered;
+	}
+
+	private void fill(final Object source, final Object clone, final ClonePlan plan)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (maxDepth <= fillDepth)
+		{
+			shareReferences(source, clone, plan);
+		}
+		else if (plan.getStrategy() == CloneStrategy.ARRAY)
+		{
+			fillArray((Object[])source, (Object[])clone);
+		}
+		else if (plan.getStrategy() == CloneStrategy.COLLECTION)
+		{
+			if (clone instanceof Map)
+			{
+				fillMap((Map<?, ?>)source, clone);
+			}
+			else
+			{
+				fillCollection((Collection<?>)source, clone,
+					plan.getCollectionKind().isInsertDeferred());
+			}
+		}
+		else if (plan.isDeepCloneSupported())
+		{
+			for (FieldAccessor accessor : plan.getReferenceFieldAccessors())
+			{
+				final Object value = accessor.get(source);
+				// the declared type is only trusted for the default registry
+				if (immutableTypes == null && accessor.isImmutable()
+					|| accessor.getPolicy() == FieldPolicy.SHARE)
+				{
+					accessor.set(clone, value);
+				}
+				else if (accessor.getPolicy() == FieldPolicy.SHALLOW)
+				{
+					accessor.set(clone, value != null ? cloneShallow(value, accessor) : null);
+				}
+				else if (reusedTargets != null)
+				{
+					accessor.set(clone, cloneReference(value, accessor.get(clone)));
+				}
+				else
+				{
+					accessor.set(clone,
+						value != null ? cloneValue(value, accessor.planOf(value)) : null);
+				}
+			}
+		}
+		else if (clone instanceof Map)
+		{
+			fillMap((Map<?, ?>)source, clone);
+		}
+		else
+		{
+			fillCollection((Collection<?>)source, clone, clone instanceof Set);
+		}
+	}
+
+	/**
+	 * Fills the given clone of an object at the maximum depth with the references of the given
+	 * source
+	 */
+	private void shareReferences(final Object source, final Object clone, final ClonePlan plan)
+	{
+		if (plan.getStrategy() == CloneStrategy.ARRAY)
+		{
+			final Object[] array = (Object[])source;
+			System.arraycopy(array, 0, clone, 0, array.length);
+		}
+		else if (plan.getStrategy() != CloneStrategy.COLLECTION && plan.isDeepCloneSupported())
+		{
+			for (FieldAccessor accessor : plan.getReferenceFieldAccessors())
+			{
+				accessor.set(clone, accessor.get(source));
+			}
+		}
+		else if (clone instanceof Map)
+		{
+			final Map<?, ?> map = (Map<?, ?>)source;
+			final Object[] entries = new Object[map.size() * 2];
+			int i = 0;
+			for (Map.Entry<?, ?> entry : map.entrySet())
+			{
+				entries[i++] = entry.getKey();
+				entries[i++] = entry.getValue();
+			}
+			insert(clone, entries);
+		}
+		else
+		{
+			insert(clone, ((Collection<?>)source).toArray());
+		}
+	}
+
+	/**
+	 * Gets the shallow clone of the given value of a field with the policy
+	 * {@link FieldPolicy#SHALLOW}. The shallow clone is registered, so other references to the
+	 * value get the same clone
+	 */
+	private Object cloneShallow(final Object value, final FieldAccessor accessor)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final ClonePlan plan = accessor.planOf(value);
+		if (isImmutable(plan))
+		{
+			return value;
+		}
+		final Object existing = lookup(value);
+		if (existing != null)
+		{
+			return existing;
+		}
+		final Object clone = CloneObjectExtensions.cloneObject(value, plan);
+		// share the value if it cannot be cloned
+		return clone == null || clone == value ? value : register(value, clone);
+	}
+
+	private void fillArray(final Object[] source, final Object[] clone)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (parallel != null && parallel.isSplit(source.length))
+		{
+			parallel.fillInParallel(source, clone);
+			return;
+		}
+		if (reusedTargets != null)
+		{
+			for (int i = 0; i < source.length; i++)
+			{
+				clone[i] = cloneReference(source[i], clone[i]);
+			}
+			return;
+		}
+		final Class<?> componentType = clone.getClass().getComponentType();
+		if (componentType.isArray() && componentType.getComponentType().isPrimitive())
+		{
+			// rows of a multi-dimensional primitive array need no plan lookup
+			for (int i = 0; i < source.length; i++)
+			{
+				clone[i] = clonePrimitiveArray(source[i]);
+			}
+			return;
+		}
+		for (int i = 0; i < source.length; i++)
+		{
+			clone[i] = cloneReference(source[i]);
+		}
+	}
+
+	private Object clonePrimitiveArray(final Object source)
+	{
+		if (source == null)
+		{
+			return null;
+		}
+		final Object clone = lookup(source);
+		if (clone != null)
+		{
+			return clone;
+		}
+		return register(source, ArrayCloner.copy(source, false));
+	}
+
+	private void fillCollection(final Collection<?> source, final Object clone,
+		final boolean deferred)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final Object[] elements = source.toArray();
+		if (deferred)
+		{
+			defer(source, clone, elements);
+		}
+		fillElements(elements);
+		if (!deferred)
+		{
+			insert(clone, elements);
+		}
+	}
+
+	private void fillMap(final Map<?, ?> source, final Object clone)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final List<Object> keysAndValues = new ArrayList<>(source.size() * 2);
+		for (Map.Entry<?, ?> entry : source.entrySet())
+		{
+			keysAndValues.add(entry.getKey());
+			keysAndValues.add(entry.getValue());
+		}
+		final Object[] entries = keysAndValues.toArray();
+		defer(source, clone, entries);
+		fillElements(entries);
+	}
+
+	private void fillElements(final Object[] elements)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (parallel != null && parallel.isSplit(elements.length))
+		{
+			parallel.fillInParallel(elements, elements);
+			return;
+		}
+		for (int i = 0; i < elements.length; i++)
+		{
+			elements[i] = cloneReference(elements[i]);
+		}
+	}
+
+	/**
+	 * Registers the given set or map for the insert of its cloned elements after the traversal
+	 */
+	private void defer(final Object source, final Object clone, final Object[] elements)
+	{
+		// the registered clone may be an unmodifiable view of the filled set or map
+		final Object view = lookup(source);
+		if (parallel != null)
+		{
+			parallel.defer(clone, view, elements);
+			return;
+		}
+		deferredInserts.add(clone, view, elements);
+	}
+
+	/**
+	 * Replaces the content of the given collection or map with the given cloned elements
+	 *
+	 * @param clone
+	 *            the collection or map
+	 * @param elements
+	 *            the cloned elements or for a map the cloned keys and values in turn
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static void insert(final Object clone, final Object[] elements)
+	{
+		if (clone instanceof Map)
+		{
+			final Map map = (Map)clone;
+			map.clear();
+			for (int j = 0; j < elements.length; j += 2)
+			{
+				map.put(elements[j], elements[j + 1]);
+			}
+			return;
+		}
+		if (CollectionCloner.isFixedSize(clone))
+		{
+			final List list = (List)clone;
+			for (int j = 0; j < elements.length; j++)
+			{
+				list.set(j, elements[j]);
+			}
+			return;
+		}
+		final Collection collection = (Collection)clone;
+		collection.clear();
+		for (Object element : elements)
+		{
+			collection.add(element);
+		}
+	}
+
+}
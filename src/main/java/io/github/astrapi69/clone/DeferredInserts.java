@@ -0,0 +1,180 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The class {@link DeferredInserts} collects the sets and maps whose elements are inserted after
+ * the traversal of a graph, when the hash codes of the elements are computed from fully linked
+ * objects. The inserts run in the order of containment: a set or map is filled only after every
+ * deferred set or map among its elements is filled, so a set that contains another set never
+ * stores a hash code of the still empty inner set. Sets and maps that do not contain each other
+ * are filled in the reverse order of their registration, in which inner sets and maps behind
+ * plain objects are mostly registered last. A set or map that contains itself over other deferred
+ * sets and maps is filled when it is met again on the cycle
+ */
+final class DeferredInserts
+{
+
+	/** The sets and maps that receive the elements */
+	private final List<Object> containers = new ArrayList<>();
+
+	/** The objects that stand for the sets and maps in the elements of other sets and maps */
+	private final List<Object> views = new ArrayList<>();
+
+	/** The elements of the sets and maps, for a map the keys and values in turn */
+	private final List<Object[]> elements = new ArrayList<>();
+
+	/**
+	 * Registers the given set or map for the insert of the given elements
+	 *
+	 * @param container
+	 *            the set or map that receives the elements
+	 * @param view
+	 *            the object that refers to the set or map in the elements of other sets and maps,
+	 *            for instance an unmodifiable view of it, or the set or map itself
+	 * @param elements
+	 *            the elements or for a map the keys and values in turn, may be set later with
+	 *            {@link #setElements(int, Object[])}
+	 */
+	void add(final Object container, final Object view, final Object[] elements)
+	{
+		containers.add(container);
+		views.add(view);
+		this.elements.add(elements);
+	}
+
+	/**
+	 * Sets the elements of the set or map with the given index of registration
+	 *
+	 * @param index
+	 *            the index of the registration of the set or map
+	 * @param elements
+	 *            the elements or for a map the keys and values in turn
+	 */
+	void setElements(final int index, final Object[] elements)
+	{
+		this.elements.set(index, elements);
+	}
+
+	/**
+	 * Gets the number of the registered sets and maps
+	 *
+	 * @return the number of the registered sets and maps
+	 */
+	int size()
+	{
+		return containers.size();
+	}
+
+	/**
+	 * Inserts the elements of all registered sets and maps in the order of containment with
+	 * {@link DeepCloner#insert(Object, Object[])}
+	 */
+	void insertAll()
+	{
+		for (int index : order())
+		{
+			DeepCloner.insert(containers.get(index), elements.get(index));
+		}
+	}
+
+	/**
+	 * Computes the order of the inserts as a post-order over the registered sets and maps, where
+	 * the children of a set or map are the registered sets and maps among its elements. The walk
+	 * runs over an explicit stack, so deeply nested sets and maps need no deep call stack
+	 *
+	 * @return the indexes of the registrations in the order of their inserts
+	 */
+	int[] order()
+	{
+		final int count = containers.size();
+		final IdentityTable indexes = new IdentityTable(count * 2);
+		for (int i = 0; i < count; i++)
+		{
+			indexes.put(containers.get(i), i);
+			if (views.get(i) != null)
+			{
+				indexes.put(views.get(i), i);
+			}
+		}
+		// 0 for not met yet, 1 for on the stack and 2 for ordered
+		final byte[] states = new byte[count];
+		final int[] stack = new int[count];
+		final int[] positions = new int[count];
+		final int[] order = new int[count];
+		int ordered = 0;
+		for (int root = count - 1; 0 <= root; root--)
+		{
+			if (states[root] != 0)
+			{
+				continue;
+			}
+			int top = 0;
+			stack[0] = root;
+			positions[0] = 0;
+			states[root] = 1;
+			while (0 <= top)
+			{
+				final Object[] children = elements.get(stack[top]);
+				int child = -1;
+				while (child < 0 && positions[top] < children.length)
+				{
+					final Object element = children[positions[top]++];
+					final Object index = element != null ? indexes.get(element) : null;
+					if (index != null && states[(Integer)index] == 0)
+					{
+						child = (Integer)index;
+					}
+				}
+				if (child < 0)
+				{
+					states[stack[top]] = 2;
+					order[ordered++] = stack[top--];
+				}
+				else
+				{
+					states[child] = 1;
+					stack[++top] = child;
+					positions[top] = 0;
+				}
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * Removes all registered sets and maps
+	 */
+	void clear()
+	{
+		containers.clear();
+		views.clear();
+		elements.clear();
+	}
+
+}
@@ -0,0 +1,201 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * The class {@link FieldAccessor} reads and writes the value of a reference field over method
+ * handles that are compiled once from the accessible field. The accessor knows the
+ * {@link FieldPolicy} of the field and finds the clone plans of the values with the
+ * {@link ClonePolicy} it was created for
+ */
+final class FieldAccessor
+{
+
+	/** The method type of the compiled getter */
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+		Object.class);
+
+	/** The method type of the compiled setter */
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class,
+		Object.class);
+
+	/** The lookup for unreflect the accessible fields */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/** The field */
+	private final Field field;
+
+	/** The flag that indicates if every value of the field is immutable */
+	private final boolean immutable;
+
+	/** The permitted subclasses of a sealed field type or null for other fields */
+	private final PermittedTypes permittedTypes;
+
+	/** The policy of the field */
+	private final FieldPolicy policy;
+
+	/** The policy that the plans of the values are resolved with or null for the default one */
+	private final ClonePolicy clonePolicy;
+
+	/** The compiled getter with the signature (Object owner)Object */
+	private final MethodHandle getter;
+
+	/** The compiled setter with the signature (Object owner, Object value)void */
+	private final MethodHandle setter;
+
+	private FieldAccessor(final Field field, final ClonePolicy clonePolicy,
+		final MethodHandle getter, final MethodHandle setter)
+	{
+		this.field = field;
+		this.policy = clonePolicy.policyOf(field);
+		this.clonePolicy = clonePolicy == ClonePolicy.getDefault() ? null : clonePolicy;
+		this.immutable = ImmutableTypeRegistry.getDefault().isImmutableDeclaredType(field.getType());
+		this.permittedTypes = PermittedTypes.of(field.getType());
+		this.getter = getter;
+		this.setter = setter;
+	}
+
+	/**
+	 * Factory method for create a new {@link FieldAccessor} for the given accessible field
+	 *
+	 * @param field
+	 *            the accessible field
+	 * @param clonePolicy
+	 *            the policy that resolves the policy of the field and the plans of its values
+	 * @return the new {@link FieldAccessor}
+	 * @throws IllegalAccessException
+	 *             Thrown if the field could not be unreflected, for instance a final field of a
+	 *             record
+	 */
+	static FieldAccessor of(final Field field, final ClonePolicy clonePolicy)
+		throws IllegalAccessException
+	{
+		return new FieldAccessor(field, clonePolicy,
+			LOOKUP.unreflectGetter(field).asType(GETTER_TYPE),
+			LOOKUP.unreflectSetter(field).asType(SETTER_TYPE));
+	}
+
+	/**
+	 * Gets the field
+	 *
+	 * @return the field
+	 */
+	Field getField()
+	{
+		return field;
+	}
+
+	/**
+	 * Checks if every value of the field is immutable, so the value can be shared without looking
+	 * at its runtime class
+	 *
+	 * @return true if every value of the field is immutable otherwise false
+	 */
+	boolean isImmutable()
+	{
+		return immutable;
+	}
+
+	/**
+	 * Gets the policy of the field
+	 *
+	 * @return the policy of the field
+	 */
+	FieldPolicy getPolicy()
+	{
+		return policy;
+	}
+
+	/**
+	 * Gets the clone plan of the given value of the field. The plan of a value of a sealed field
+	 * type is found over the permitted subclasses that were resolved up front
+	 *
+	 * @param value
+	 *            the value of the field, not null
+	 * @return the clone plan of the class of the given value
+	 */
+	ClonePlan planOf(final Object value)
+	{
+		if (clonePolicy != null)
+		{
+			return clonePolicy.planOf(value.getClass());
+		}
+		return permittedTypes != null ? permittedTypes.planOf(value.getClass())
+			: ClonePlan.of(value.getClass());
+	}
+
+	/**
+	 * Gets the value of the field from the given owner object
+	 *
+	 * @param owner
+	 *            the owner object
+	 * @return the value of the field
+	 */
+	Object get(final Object owner)
+	{
+		try
+		{
+			return (Object)getter.invokeExact(owner);
+		}
+		catch (RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch (Throwable throwable)
+		{
+			throw new IllegalStateException(throwable);
+		}
+	}
+
+	/**
+	 * Sets the given value to the field of the given owner object
+	 *
+	 * @param owner
+	 *            the owner object
+	 * @param value
+	 *            the new value of the field
+	 */
+	void set(final Object owner, final Object value)
+	{
+		try
+		{
+			setter.invokeExact(owner, value);
+		}
+		catch (RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch (Throwable throwable)
+		{
+			throw new IllegalStateException(throwable);
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * The class {@link FieldCopier} copies the values of a set of fields from a source object to a
+ * target object. The getter and setter of each field are compiled once into a single
+ * {@link MethodHandle} that is invoked with exact types, so primitive values are never boxed and
+ * no access checks are done on copy
+ */
+final class FieldCopier
+{
+
+	/** The method type of the compiled copier */
+	private static final MethodType COPIER_TYPE = MethodType.methodType(void.class, Object.class,
+		Object.class);
+
+	/** The lookup for unreflect the accessible fields */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/** The compiled copier with the signature (Object source, Object target)void */
+	private final MethodHandle handle;
+
+	private FieldCopier(final MethodHandle handle)
+	{
+		this.handle = handle;
+	}
+
+	/**
+	 * Factory method for create a new {@link FieldCopier} for the given accessible fields. Final
+	 * instance fields are supported as long as they are accessible
+	 *
+	 * @param fields
+	 *            the accessible instance fields to copy
+	 * @return the new {@link FieldCopier}
+	 * @throws IllegalAccessException
+	 *             Thrown if a field could not be unreflected, for instance a final field of a record
+	 */
+	static FieldCopier of(final Field... fields) throws IllegalAccessException
+	{
+		MethodHandle handle = MethodHandles.empty(COPIER_TYPE);
+		for (int i = fields.length - 1; 0 <= i; i--)
+		{
+			handle = MethodHandles.foldArguments(handle, compile(fields[i]));
+		}
+		return new FieldCopier(handle);
+	}
+
+	/**
+	 * Compiles the given field into a method handle with the signature (Object source, Object
+	 * target)void
+	 *
+	 * @param field
+	 *            the accessible field
+	 * @return the compiled method handle
+	 * @throws IllegalAccessException
+	 *             Thrown if the field could not be unreflected
+	 */
+	private static MethodHandle compile(final Field field) throws IllegalAccessException
+	{
+		// getter: (Owner)Type and setter: (Owner, Type)void
+		final MethodHandle getter = LOOKUP.unreflectGetter(field);
+		final MethodHandle setter = LOOKUP.unreflectSetter(field);
+		// (Owner target, Owner source)void
+		final MethodHandle copier = MethodHandles.collectArguments(setter, 1, getter);
+		// (Object source, Object target)void
+		return MethodHandles.permuteArguments(
+			copier.asType(MethodType.methodType(void.class, Object.class, Object.class)),
+			COPIER_TYPE, 1, 0);
+	}
+
+	/**
+	 * Copies the values of the fields from the given source object to the given target object
+	 *
+	 * @param source
+	 *            the source object
+	 * @param target
+	 *            the target object
+	 */
+	void copy(final Object source, final Object target)
+	{
+		try
+		{
+			handle.invokeExact(source, target);
+		}
+		catch (RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch (Throwable throwable)
+		{
+			throw new IllegalStateException(throwable);
+		}
+	}
+
+}
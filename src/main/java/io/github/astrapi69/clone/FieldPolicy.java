@@ -0,0 +1,52 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+/**
+ * The enum {@link FieldPolicy} describes how the value of a field is treated by the clone
+ * operations that copy objects field by field. The policy of a field is resolved once into the
+ * clone plan of its class from the annotations {@link CloneIgnore}, {@link CloneShare} and
+ * {@link CloneShallow} and the overrides of a {@link ClonePolicy}
+ */
+public enum FieldPolicy
+{
+
+	/** Copy the value, a deep clone clones the value deep */
+	COPY,
+
+	/** Share the value, a deep clone references the same value as the source */
+	SHARE,
+
+	/** Clone the value shallow in a deep clone, the references of the value are shared */
+	SHALLOW,
+
+	/**
+	 * Skip the field, the clone keeps the value the field has in a new instance. A class with
+	 * ignored fields is instantiated over its no-arg constructor if it has one, so the field gets
+	 * the value of its initializer, otherwise the field has its default value
+	 */
+	IGNORE
+
+}
@@ -0,0 +1,198 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.util.Arrays;
+
+/**
+ * The class {@link IdentityTable} is an open-addressing hash table that maps source objects to
+ * their clones by reference identity. Keys and values are stored interleaved in one flat array, so
+ * no entry objects are created and the table can be cleared and reused without shrinking
+ */
+final class IdentityTable
+{
+
+	/** The minimum capacity of the table, must be a power of two */
+	private static final int MINIMUM_CAPACITY = 16;
+
+	/** The interleaved keys and values, the key is at an even index and its value follows */
+	private Object[] table;
+
+	/** The number of mappings */
+	private int size;
+
+	/** The number of mappings at which the table grows */
+	private int threshold;
+
+	/**
+	 * Instantiates a new {@link IdentityTable}
+	 */
+	IdentityTable()
+	{
+		this(MINIMUM_CAPACITY);
+	}
+
+	/**
+	 * Instantiates a new {@link IdentityTable} that can hold the given number of mappings without
+	 * growing
+	 *
+	 * @param expectedSize
+	 *            the expected number of mappings
+	 */
+	IdentityTable(final int expectedSize)
+	{
+		allocate(capacityFor(expectedSize));
+	}
+
+	private static int capacityFor(final int expectedSize)
+	{
+		// keep the load factor at 2/3 at most
+		final long minimumCapacity = Math.max(MINIMUM_CAPACITY, expectedSize * 3L / 2 + 1);
+		if (minimumCapacity >= 1 << 29)
+		{
+			return 1 << 29;
+		}
+		return Integer.highestOneBit((int)minimumCapacity - 1) << 1;
+	}
+
+	private static int indexFor(final Object key, final int length)
+	{
+		final int hash = System.identityHashCode(key);
+		// spread the bits and make the index even
+		return ((hash << 1) - (hash << 8)) & (length - 1);
+	}
+
+	private void allocate(final int capacity)
+	{
+		table = new Object[capacity * 2];
+		threshold = capacity * 2 / 3;
+	}
+
+	/**
+	 * Gets the value that is mapped to the given key
+	 *
+	 * @param key
+	 *            the key
+	 * @return the value or null if the key is not mapped
+	 */
+	Object get(final Object key)
+	{
+		final Object[] tab = table;
+		final int length = tab.length;
+		int index = indexFor(key, length);
+		while (true)
+		{
+			final Object item = tab[index];
+			if (item == key)
+			{
+				return tab[index + 1];
+			}
+			if (item == null)
+			{
+				return null;
+			}
+			index = (index + 2) & (length - 1);
+		}
+	}
+
+	/**
+	 * Maps the given value to the given key
+	 *
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value
+	 * @return the previous value or null if the key was not mapped
+	 */
+	Object put(final Object key, final Object value)
+	{
+		final Object[] tab = table;
+		final int length = tab.length;
+		int index = indexFor(key, length);
+		Object item;
+		while ((item = tab[index]) != null)
+		{
+			if (item == key)
+			{
+				final Object previous = tab[index + 1];
+				tab[index + 1] = value;
+				return previous;
+			}
+			index = (index + 2) & (length - 1);
+		}
+		tab[index] = key;
+		tab[index + 1] = value;
+		if (++size > threshold)
+		{
+			resize();
+		}
+		return null;
+	}
+
+	private void resize()
+	{
+		final Object[] oldTable = table;
+		allocate(oldTable.length);
+		final Object[] tab = table;
+		final int length = tab.length;
+		for (int i = 0; i < oldTable.length; i += 2)
+		{
+			final Object key = oldTable[i];
+			if (key != null)
+			{
+				int index = indexFor(key, length);
+				while (tab[index] != null)
+				{
+					index = (index + 2) & (length - 1);
+				}
+				tab[index] = key;
+				tab[index + 1] = oldTable[i + 1];
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of mappings
+	 *
+	 * @return the number of mappings
+	 */
+	int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Removes all mappings but keeps the capacity for reuse
+	 */
+	void clear()
+	{
+		if (0 < size)
+		{
+			Arrays.fill(table, null);
+			size = 0;
+		}
+	}
+
+}
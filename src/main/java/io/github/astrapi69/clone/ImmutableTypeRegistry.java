@@ -0,0 +1,222 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The class {@link ImmutableTypeRegistry} decides which objects never need a copy and can be
+ * shared between a source object and its clone. Immutable are the built-in types like
+ * {@link String}, the boxed primitives, enums, the {@code java.time} types, {@link BigDecimal},
+ * {@link BigInteger} and {@link UUID}, all registered types and all final classes and records whose
+ * instance fields are final and of immutable types. A field of a sealed interface or a sealed
+ * abstract class is of an immutable type if all its permitted subclasses are immutable. Types
+ * should be registered before objects of them are cloned, because the result for a type is cached
+ * on first use
+ */
+public final class ImmutableTypeRegistry
+{
+
+	/** The default registry that is used by the static clone methods */
+	private static final ImmutableTypeRegistry DEFAULT = new ImmutableTypeRegistry();
+
+	/** The built-in immutable types */
+	private static final Set<Class<?>> BUILT_IN_TYPES = Set.of(String.class, Boolean.class,
+		Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class,
+		Double.class, Void.class, Class.class, BigDecimal.class, BigInteger.class, UUID.class,
+		URI.class, Locale.class, Instant.class, LocalDate.class, LocalTime.class,
+		LocalDateTime.class, OffsetTime.class, OffsetDateTime.class, ZonedDateTime.class,
+		ZoneOffset.class, ZoneId.of("Europe/Paris").getClass(), Duration.class, Period.class,
+		Year.class, YearMonth.class, MonthDay.class);
+
+	/** The registered immutable types */
+	private final Set<Class<?>> registeredTypes = ConcurrentHashMap.newKeySet();
+
+	/** The cache of the analyzed types */
+	private final ClassValue<Boolean> immutableTypes = new ClassValue<>()
+	{
+		@Override
+		protected Boolean computeValue(final Class<?> type)
+		{
+			return analyze(type, new HashSet<>());
+		}
+	};
+
+	/**
+	 * Gets the default registry that is used by the static methods of
+	 * {@link CloneObjectExtensions} and {@link CloneQuietlyExtensions}
+	 *
+	 * @return the default registry
+	 */
+	public static ImmutableTypeRegistry getDefault()
+	{
+		return DEFAULT;
+	}
+
+	/**
+	 * Registers the given type as immutable, so objects of exactly this type are shared instead of
+	 * cloned
+	 *
+	 * @param type
+	 *            the immutable type
+	 * @return this registry
+	 */
+	public ImmutableTypeRegistry register(final Class<?> type)
+	{
+		registeredTypes.add(Objects.requireNonNull(type));
+		return this;
+	}
+
+	/**
+	 * Checks if objects of exactly the given type are immutable and can be shared instead of cloned
+	 *
+	 * @param type
+	 *            the type
+	 * @return true if objects of the given type are immutable otherwise false
+	 */
+	public boolean isImmutable(final Class<?> type)
+	{
+		return registeredTypes.contains(type) || immutableTypes.get(type);
+	}
+
+	/**
+	 * Checks if every value of a field with the given declared type is immutable, so the value can
+	 * be shared without looking at its runtime class. The built-in and registered types are
+	 * trusted to have no mutable subclasses
+	 *
+	 * @param declaredType
+	 *            the declared type of the field
+	 * @return true if every value of the declared type is immutable otherwise false
+	 */
+	boolean isImmutableDeclaredType(final Class<?> declaredType)
+	{
+		if (isKnown(declaredType))
+		{
+			return true;
+		}
+		if (Modifier.isFinal(declaredType.getModifiers()))
+		{
+			return isImmutable(declaredType);
+		}
+		return isSealedAbstract(declaredType) && Arrays
+			.stream(declaredType.getPermittedSubclasses()).allMatch(this::isImmutableDeclaredType);
+	}
+
+	/**
+	 * Checks if the given type is a sealed interface or a sealed abstract class, whose objects are
+	 * all objects of its permitted subclasses
+	 */
+	private static boolean isSealedAbstract(final Class<?> type)
+	{
+		return type.isSealed() && Modifier.isAbstract(type.getModifiers());
+	}
+
+	private boolean isKnown(final Class<?> type)
+	{
+		return type.isPrimitive() || BUILT_IN_TYPES.contains(type) || registeredTypes.contains(type)
+			|| Enum.class.isAssignableFrom(type);
+	}
+
+	private boolean analyze(final Class<?> type, final Set<Class<?>> visiting)
+	{
+		if (isKnown(type))
+		{
+			return true;
+		}
+		if (type.isArray() || type.isInterface() || !Modifier.isFinal(type.getModifiers()))
+		{
+			return false;
+		}
+		if (!visiting.add(type))
+		{
+			// a type that refers to itself is immutable if all its other fields are immutable
+			return true;
+		}
+		for (Class<?> current = type; current != null
+			&& current != Object.class; current = current.getSuperclass())
+		{
+			for (Field field : current.getDeclaredFields())
+			{
+				final int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers))
+				{
+					continue;
+				}
+				if (!Modifier.isFinal(modifiers) || !analyzeFieldType(field.getType(), visiting))
+				{
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean analyzeFieldType(final Class<?> fieldType, final Set<Class<?>> visiting)
+	{
+		if (isKnown(fieldType))
+		{
+			return true;
+		}
+		if (isSealedAbstract(fieldType))
+		{
+			// a sealed type is immutable if all its permitted subclasses are immutable
+			for (Class<?> permitted : fieldType.getPermittedSubclasses())
+			{
+				if (!analyzeFieldType(permitted, visiting))
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+		return Modifier.isFinal(fieldType.getModifiers()) && analyze(fieldType, visiting);
+	}
+
+}
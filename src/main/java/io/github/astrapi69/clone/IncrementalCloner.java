@@ -0,0 +1,400 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The class {@link IncrementalCloner} syncs an earlier deep clone with its source. Both graphs are
+ * walked together with the field plans of the {@link ClonePlan}s and only the fields, elements and
+ * entries whose values or references differ are changed in the clone. A source object is synced
+ * into the object at the same position of the clone if that object has the same class and shape
+ * and is not synced with another source object, otherwise the source object is deep cloned and
+ * replaces the old subgraph.
+ * <p>
+ * Lists are synced element by element and maps with immutable keys entry by entry. Sets, queues
+ * and maps with mutable keys are refilled with synced or cloned elements after the walk, so their
+ * hash codes and comparisons see the synced objects
+ */
+final class IncrementalCloner
+{
+
+	/** The map from the source objects to their objects in the clone */
+	private final IdentityTable pairs = new IdentityTable();
+
+	/** The objects of the clone that are synced with a source object */
+	private final IdentityTable synced = new IdentityTable();
+
+	/** The cloner of the subgraphs that are replaced, it shares the map of the pairs */
+	private final DeepCloner deepCloner = new DeepCloner(pairs);
+
+	/** The stack of the pairs that have to be compared */
+	private final WorkStack workStack = new WorkStack();
+
+	/** The collections and maps with their synced elements that are refilled after the walk */
+	private final DeferredInserts deferredInserts = new DeferredInserts();
+
+	/** The classes of the changed objects */
+	private final Set<Class<?>> changedClasses = new HashSet<>();
+
+	private int comparedObjectCount;
+
+	private int changedValueCount;
+
+	private int replacedSubgraphCount;
+
+	/**
+	 * Syncs the given clone with the given source
+	 *
+	 * @param source
+	 *            the source object
+	 * @param clone
+	 *            the earlier clone of the source object
+	 * @return the summary of the changes
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given clone cannot be synced with the given source
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	SyncSummary sync(final Object source, final Object clone)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (pair(source, clone) == null)
+		{
+			throw new IllegalArgumentException("Given clone of the class "
+				+ clone.getClass().getName() + " cannot be synced with the given source");
+		}
+		while (workStack.pop())
+		{
+			compare(workStack.getSource(), workStack.getClone(), workStack.getPlan());
+		}
+		deferredInserts.insertAll();
+		return new SyncSummary(comparedObjectCount, changedValueCount, replacedSubgraphCount,
+			changedClasses);
+	}
+
+	/**
+	 * Pairs the given source object with the given object of the clone and pushes the pair on the
+	 * work stack
+	 *
+	 * @return the given object of the clone or null if it cannot be synced with the source object
+	 */
+	private Object pair(final Object source, final Object clone)
+	{
+		final ClonePlan plan = ClonePlan.of(source.getClass());
+		if (plan.isImmutable() || synced.get(clone) != null || !isSyncable(source, clone, plan))
+		{
+			return null;
+		}
+		synced.put(clone, clone);
+		pairs.put(source, clone);
+		workStack.push(source, clone, plan);
+		return clone;
+	}
+
+	private static boolean isSyncable(final Object source, final Object clone,
+		final ClonePlan plan)
+	{
+		switch (plan.getStrategy())
+		{
+			case ARRAY :
+				return Array.getLength(source) == Array.getLength(clone);
+			case COLLECTION :
+				return plan.getCollectionKind().isReusable();
+			default :
+				return plan.isDeepCloneSupported() && plan.getPrimitiveFieldAccessors() != null;
+		}
+	}
+
+	/**
+	 * Gets the value that the clone has to reference instead of the given source value
+	 *
+	 * @param value
+	 *            the source value
+	 * @param current
+	 *            the value that the clone references now
+	 * @return the current value if it is equal to an immutable source value or synced with the
+	 *         source value, otherwise the new clone of the source value
+	 */
+	private Object syncReference(final Object value, final Object current)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (value == null)
+		{
+			return null;
+		}
+		if (isImmutable(value))
+		{
+			return value == current || value.equals(current) ? current : value;
+		}
+		final Object paired = pairs.get(value);
+		if (paired != null)
+		{
+			return paired;
+		}
+		// a clone that references the source value itself is no independent clone
+		if (current != null && current != value && current.getClass() == value.getClass())
+		{
+			final Object pairedCurrent = pair(value, current);
+			if (pairedCurrent != null)
+			{
+				return pairedCurrent;
+			}
+		}
+		return replace(value);
+	}
+
+	private static boolean isImmutable(final Object value)
+	{
+		return ClonePlan.of(value.getClass()).isImmutable();
+	}
+
+	private Object replace(final Object value)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		replacedSubgraphCount++;
+		final Object clone = deepCloner.deepClone(value);
+		return clone != null ? clone : value;
+	}
+
+	private void compare(final Object source, final Object clone, final ClonePlan plan)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		comparedObjectCount++;
+		final int changedBefore = changedValueCount;
+		if (plan.getStrategy() == CloneStrategy.ARRAY)
+		{
+			compareArray(source, clone);
+		}
+		else if (plan.getStrategy() == CloneStrategy.COLLECTION)
+		{
+			if (clone instanceof List)
+			{
+				compareList((List<?>)source, clone);
+			}
+			else if (clone instanceof Map)
+			{
+				compareMap((Map<?, ?>)source, clone);
+			}
+			else
+			{
+				refill((Collection<?>)source, clone);
+			}
+		}
+		else
+		{
+			compareFields(source, clone, plan);
+		}
+		if (changedBefore != changedValueCount)
+		{
+			changedClasses.add(plan.getType());
+		}
+	}
+
+	private void compareFields(final Object source, final Object clone, final ClonePlan plan)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		for (FieldAccessor accessor : plan.getPrimitiveFieldAccessors())
+		{
+			final Object value = accessor.get(source);
+			if (!value.equals(accessor.get(clone)))
+			{
+				accessor.set(clone, value);
+				changedValueCount++;
+			}
+		}
+		for (FieldAccessor accessor : plan.getReferenceFieldAccessors())
+		{
+			final Object value = accessor.get(source);
+			final Object current = accessor.get(clone);
+			final Object synced;
+			if (accessor.getPolicy() == FieldPolicy.SHARE)
+			{
+				// a shared value is referenced as it is by the deep clone
+				synced = value;
+			}
+			else if (accessor.isImmutable())
+			{
+				synced = Objects.equals(value, current) ? current : value;
+			}
+			else
+			{
+				synced = syncReference(value, current);
+			}
+			if (synced != current)
+			{
+				accessor.set(clone, synced);
+				changedValueCount++;
+			}
+		}
+	}
+
+	private void compareArray(final Object source, final Object clone)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (!(source instanceof Object[]))
+		{
+			if (!Objects.deepEquals(source, clone))
+			{
+				System.arraycopy(source, 0, clone, 0, Array.getLength(source));
+				changedValueCount++;
+			}
+			return;
+		}
+		final Object[] sourceArray = (Object[])source;
+		final Object[] cloneArray = (Object[])clone;
+		for (int i = 0; i < sourceArray.length; i++)
+		{
+			final Object synced = syncReference(sourceArray[i], cloneArray[i]);
+			if (synced != cloneArray[i])
+			{
+				cloneArray[i] = synced;
+				changedValueCount++;
+			}
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void compareList(final List<?> source, final Object clone)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final ListIterator cloneIterator = ((List)clone).listIterator();
+		for (Object element : source)
+		{
+			if (cloneIterator.hasNext())
+			{
+				final Object current = cloneIterator.next();
+				final Object synced = syncReference(element, current);
+				if (synced != current)
+				{
+					cloneIterator.set(synced);
+					changedValueCount++;
+				}
+			}
+			else
+			{
+				cloneIterator.add(syncReference(element, null));
+				changedValueCount++;
+			}
+		}
+		while (cloneIterator.hasNext())
+		{
+			cloneIterator.next();
+			cloneIterator.remove();
+			changedValueCount++;
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void compareMap(final Map<?, ?> source, final Object clone)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		for (Object key : source.keySet())
+		{
+			if (key != null && !isImmutable(key))
+			{
+				refill(source, clone);
+				return;
+			}
+		}
+		final Map cloneMap = (Map)clone;
+		for (Map.Entry<?, ?> entry : source.entrySet())
+		{
+			final Object current = cloneMap.get(entry.getKey());
+			final Object synced = syncReference(entry.getValue(), current);
+			if (synced != current || current == null && !cloneMap.containsKey(entry.getKey()))
+			{
+				cloneMap.put(entry.getKey(), synced);
+				changedValueCount++;
+			}
+		}
+		if (cloneMap.size() != source.size())
+		{
+			for (Iterator<?> keys = cloneMap.keySet().iterator(); keys.hasNext();)
+			{
+				if (!source.containsKey(keys.next()))
+				{
+					keys.remove();
+					changedValueCount++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Refills the given collection or map of the clone after the walk with the synced or cloned
+	 * elements of the given source collection or map, because the elements cannot be matched one
+	 * by one
+	 */
+	private void refill(final Object source, final Object clone)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		final Object[] elements;
+		if (source instanceof Map)
+		{
+			final List<Object> keysAndValues = new ArrayList<>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>)source).entrySet())
+			{
+				keysAndValues.add(syncReference(entry.getKey(), null));
+				keysAndValues.add(syncReference(entry.getValue(), null));
+			}
+			elements = keysAndValues.toArray();
+		}
+		else
+		{
+			elements = ((Collection<?>)source).toArray();
+			boolean immutableElements = true;
+			for (int i = 0; i < elements.length; i++)
+			{
+				immutableElements &= elements[i] == null || isImmutable(elements[i]);
+				elements[i] = syncReference(elements[i], null);
+			}
+			// sets of immutable elements are equal exactly if they need no change
+			if (immutableElements && source instanceof Set && source.equals(clone))
+			{
+				return;
+			}
+		}
+		deferredInserts.add(clone, clone, elements);
+		changedValueCount++;
+	}
+
+}
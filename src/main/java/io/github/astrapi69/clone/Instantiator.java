@@ -0,0 +1,204 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * The class {@link Instantiator} creates the new instances of one class for the reflective and the
+ * deep clone. By default the instances are allocated without running a constructor of the class,
+ * like the java serialization does, because every field is overwritten with the value of the
+ * source anyway. This saves the allocations of the field initializers and supports classes
+ * without a no-arg constructor. If the runtime does not provide the constructor-less allocation
+ * or if fields of the class are ignored by the clone, so they keep the values of their
+ * initializers, the no-arg constructor of the class is used
+ */
+final class Instantiator
+{
+
+	/** The constructor that creates the new instances */
+	private final Constructor<?> constructor;
+
+	/** The flag that indicates if the constructors of the class are not run */
+	private final boolean constructorless;
+
+	private Instantiator(final Constructor<?> constructor, final boolean constructorless)
+	{
+		this.constructor = constructor;
+		this.constructorless = constructorless;
+	}
+
+	/**
+	 * Resolves the instantiator for the given class
+	 *
+	 * @param type
+	 *            the class
+	 * @param constructor
+	 *            the accessible no-arg constructor of the class or null if it has none
+	 * @return the instantiator or null if no instance of the given class can be created, for
+	 *         instance because the class is abstract, an enum or a record
+	 */
+	static Instantiator of(final Class<?> type, final Constructor<?> constructor)
+	{
+		return of(type, constructor, false);
+	}
+
+	/**
+	 * Resolves the instantiator for the given class
+	 *
+	 * @param type
+	 *            the class
+	 * @param constructor
+	 *            the accessible no-arg constructor of the class or null if it has none
+	 * @param runConstructor
+	 *            the flag if the given constructor is preferred, because not every field is
+	 *            overwritten with the value of the source
+	 * @return the instantiator or null if no instance of the given class can be created, for
+	 *         instance because the class is abstract, an enum or a record
+	 */
+	static Instantiator of(final Class<?> type, final Constructor<?> constructor,
+		final boolean runConstructor)
+	{
+		if (type.isArray() || type.isPrimitive() || type.isInterface() || type.isEnum()
+			|| type.isRecord() || Modifier.isAbstract(type.getModifiers()))
+		{
+			return null;
+		}
+		if (runConstructor && constructor != null)
+		{
+			return new Instantiator(constructor, false);
+		}
+		final Constructor<?> constructorless = resolveConstructorless(type);
+		if (constructorless != null)
+		{
+			return new Instantiator(constructorless, true);
+		}
+		return constructor != null ? new Instantiator(constructor, false) : null;
+	}
+
+	private static Constructor<?> resolveConstructorless(final Class<?> type)
+	{
+		try
+		{
+			return ConstructorlessFactory.newConstructor(type);
+		}
+		catch (NoSuchMethodException | RuntimeException | LinkageError e)
+		{
+			// the runtime does not support the allocation without a constructor
+			return null;
+		}
+	}
+
+	/**
+	 * Creates a new instance of the class
+	 *
+	 * @return the new instance
+	 * @throws InstantiationException
+	 *             Thrown if the class cannot be instantiated
+	 * @throws IllegalAccessException
+	 *             Thrown if the constructor is inaccessible
+	 * @throws InvocationTargetException
+	 *             Thrown if the constructor throws an exception
+	 */
+	Object newInstance()
+		throws InstantiationException, IllegalAccessException, InvocationTargetException
+	{
+		return constructor.newInstance();
+	}
+
+	/**
+	 * Checks if the new instances are allocated without running a constructor of the class
+	 *
+	 * @return true if no constructor of the class is run otherwise false
+	 */
+	boolean isConstructorless()
+	{
+		return constructorless;
+	}
+
+	/**
+	 * The holder of the reflection factory of the runtime, which is only loaded on the first use.
+	 * The factory is an internal API of the optional module <code>jdk.unsupported</code>, so it is
+	 * looked up reflectively if the module is in the boot layer, which keeps the compilation free
+	 * of warnings about proprietary APIs and lets the library run on runtimes without the module
+	 */
+	private static final class ConstructorlessFactory
+	{
+
+		/** The reflection factory or null if the runtime does not provide it */
+		private static final Object FACTORY;
+
+		/** The method of the factory that creates the constructor or null if there is none */
+		private static final Method NEW_CONSTRUCTOR_FOR_SERIALIZATION;
+
+		static
+		{
+			Object factory = null;
+			Method newConstructorForSerialization = null;
+			if (ModuleLayer.boot().findModule("jdk.unsupported").isPresent())
+			{
+				try
+				{
+					final Class<?> factoryType = Class.forName("sun.reflect.ReflectionFactory");
+					newConstructorForSerialization = factoryType.getMethod(
+						"newConstructorForSerialization", Class.class, Constructor.class);
+					factory = factoryType.getMethod("getReflectionFactory").invoke(null);
+				}
+				catch (ReflectiveOperationException | RuntimeException | LinkageError e)
+				{
+					newConstructorForSerialization = null;
+				}
+			}
+			FACTORY = factory;
+			NEW_CONSTRUCTOR_FOR_SERIALIZATION = factory != null
+				? newConstructorForSerialization
+				: null;
+		}
+
+		static Constructor<?> newConstructor(final Class<?> type) throws NoSuchMethodException
+		{
+			if (NEW_CONSTRUCTOR_FOR_SERIALIZATION == null)
+			{
+				return null;
+			}
+			final Constructor<?> constructor;
+			try
+			{
+				constructor = (Constructor<?>)NEW_CONSTRUCTOR_FOR_SERIALIZATION.invoke(FACTORY,
+					type, Object.class.getDeclaredConstructor());
+			}
+			catch (IllegalAccessException | InvocationTargetException e)
+			{
+				return null;
+			}
+			return constructor != null && constructor.trySetAccessible() ? constructor : null;
+		}
+
+	}
+
+}
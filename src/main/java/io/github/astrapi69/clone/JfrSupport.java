@@ -0,0 +1,152 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * The class {@link JfrSupport} emits the JDK Flight Recorder events of {@link CloneMetrics} and
+ * tells {@link CloneMetrics} when a recording is running, so no event is created otherwise
+ */
+final class JfrSupport
+{
+
+	private JfrSupport()
+	{
+	}
+
+	/**
+	 * Installs the listener that follows the state of the recordings
+	 */
+	static void install()
+	{
+		try
+		{
+			if (!FlightRecorder.isAvailable())
+			{
+				return;
+			}
+			FlightRecorder.addListener(new FlightRecorderListener()
+			{
+				@Override
+				public void recordingStateChanged(final Recording recording)
+				{
+					CloneMetrics.setRecording(isRecording());
+				}
+			});
+			if (FlightRecorder.isInitialized())
+			{
+				CloneMetrics.setRecording(isRecording());
+			}
+		}
+		catch (RuntimeException | LinkageError e)
+		{
+			// the events are not emitted without a flight recorder
+		}
+	}
+
+	private static boolean isRecording()
+	{
+		for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings())
+		{
+			if (recording.getState() == RecordingState.RUNNING)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Begins a clone event
+	 *
+	 * @return the clone event or null if the clone event is not enabled
+	 */
+	static Object begin()
+	{
+		final CloneEvent event = new CloneEvent();
+		if (!event.isEnabled())
+		{
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Commits the given clone event
+	 *
+	 * @param event
+	 *            the clone event that was returned by {@link #begin()}
+	 * @param type
+	 *            the class of the cloned object
+	 * @param strategy
+	 *            the strategy or null
+	 * @param allocatedBytes
+	 *            the allocated bytes or -1
+	 * @param graphSize
+	 *            the number of the cloned objects
+	 * @param failed
+	 *            the flag if the clone operation failed
+	 */
+	static void commit(final Object event, final Class<?> type, final CloneStrategy strategy,
+		final long allocatedBytes, final int graphSize, final boolean failed)
+	{
+		final CloneEvent cloneEvent = (CloneEvent)event;
+		cloneEvent.end();
+		if (cloneEvent.shouldCommit())
+		{
+			cloneEvent.clonedClass = type;
+			cloneEvent.strategy = strategy != null ? strategy.name() : null;
+			cloneEvent.allocatedBytes = allocatedBytes;
+			cloneEvent.graphSize = graphSize;
+			cloneEvent.failed = failed;
+			cloneEvent.commit();
+		}
+	}
+
+	/**
+	 * Emits a fallback event
+	 *
+	 * @param type
+	 *            the class of the cloned object
+	 * @param strategy
+	 *            the strategy that could not be applied
+	 */
+	static void fallback(final Class<?> type, final CloneStrategy strategy)
+	{
+		final CloneFallbackEvent event = new CloneFallbackEvent();
+		if (event.isEnabled())
+		{
+			event.clonedClass = type;
+			event.strategy = strategy.name();
+			event.commit();
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * The class {@link LazyCloneHandler} is the invocation handler of a copy-on-write clone of an
+ * object behind a user interface. Methods that are declared in {@link Object} and methods whose
+ * names start with "get", "is" or "has" are treated as reads and go through to the source until
+ * the first call of any other method copies the source
+ */
+final class LazyCloneHandler implements InvocationHandler
+{
+
+	/** The source object */
+	private final Object source;
+
+	/** The copy of the source object or null if no write method was called yet */
+	private Object copy;
+
+	/**
+	 * Instantiates a new {@link LazyCloneHandler}
+	 *
+	 * @param source
+	 *            the source object
+	 */
+	LazyCloneHandler(final Object source)
+	{
+		this.source = source;
+	}
+
+	/**
+	 * Checks if the given method only reads the state of an object
+	 *
+	 * @param method
+	 *            the method
+	 * @return true if the given method is treated as a read otherwise false
+	 */
+	static boolean isRead(final Method method)
+	{
+		if (method.getDeclaringClass() == Object.class)
+		{
+			return true;
+		}
+		final String name = method.getName();
+		return name.startsWith("get") || name.startsWith("is") || name.startsWith("has");
+	}
+
+	@Override
+	public Object invoke(final Object proxy, final Method method, final Object[] args)
+		throws Throwable
+	{
+		if ("equals".equals(method.getName()) && method.getParameterCount() == 1
+			&& args[0] == proxy)
+		{
+			return true;
+		}
+		final Object target;
+		if (copy != null)
+		{
+			target = copy;
+		}
+		else if (isRead(method))
+		{
+			target = source;
+		}
+		else
+		{
+			copy = LazyClones.copy(source, object -> {
+				throw new IllegalStateException(
+					"Could not clone an object of the class " + object.getClass().getName());
+			});
+			target = copy;
+		}
+		try
+		{
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw e.getCause();
+		}
+	}
+
+}
@@ -0,0 +1,272 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * The class {@link LazyCloneList} is a copy-on-write clone of a {@link List}. All reads go through
+ * to the source list until the first write copies it. A {@link LazyCloneList} is not thread-safe
+ *
+ * @param <E>
+ *            the generic type of the elements
+ */
+final class LazyCloneList<E> extends AbstractList<E>
+{
+
+	/** The source list */
+	private final List<E> source;
+
+	/** The copy of the source list or null if this list was not yet written */
+	private List<E> copy;
+
+	/**
+	 * Instantiates a new {@link LazyCloneList}
+	 *
+	 * @param source
+	 *            the source list
+	 */
+	LazyCloneList(final List<E> source)
+	{
+		this.source = source;
+	}
+
+	private List<E> target()
+	{
+		return copy != null ? copy : source;
+	}
+
+	private List<E> writable()
+	{
+		if (copy == null)
+		{
+			copy = LazyClones.copy(source, ArrayList::new);
+		}
+		return copy;
+	}
+
+	@Override
+	public E get(final int index)
+	{
+		return target().get(index);
+	}
+
+	@Override
+	public int size()
+	{
+		return target().size();
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return target().isEmpty();
+	}
+
+	@Override
+	public boolean contains(final Object object)
+	{
+		return target().contains(object);
+	}
+
+	@Override
+	public boolean containsAll(final Collection<?> collection)
+	{
+		return target().containsAll(collection);
+	}
+
+	@Override
+	public int indexOf(final Object object)
+	{
+		return target().indexOf(object);
+	}
+
+	@Override
+	public int lastIndexOf(final Object object)
+	{
+		return target().lastIndexOf(object);
+	}
+
+	@Override
+	public Object[] toArray()
+	{
+		return target().toArray();
+	}
+
+	@Override
+	public <T> T[] toArray(final T[] array)
+	{
+		return target().toArray(array);
+	}
+
+	@Override
+	public Iterator<E> iterator()
+	{
+		return copy != null ? copy.iterator() : new ReadThroughIterator();
+	}
+
+	@Override
+	public E set(final int index, final E element)
+	{
+		return writable().set(index, element);
+	}
+
+	@Override
+	public boolean add(final E element)
+	{
+		return writable().add(element);
+	}
+
+	@Override
+	public void add(final int index, final E element)
+	{
+		writable().add(index, element);
+	}
+
+	@Override
+	public E remove(final int index)
+	{
+		return writable().remove(index);
+	}
+
+	@Override
+	public boolean remove(final Object object)
+	{
+		return writable().remove(object);
+	}
+
+	@Override
+	public boolean addAll(final Collection<? extends E> collection)
+	{
+		return writable().addAll(collection);
+	}
+
+	@Override
+	public boolean addAll(final int index, final Collection<? extends E> collection)
+	{
+		return writable().addAll(index, collection);
+	}
+
+	@Override
+	public boolean removeAll(final Collection<?> collection)
+	{
+		return writable().removeAll(collection);
+	}
+
+	@Override
+	public boolean retainAll(final Collection<?> collection)
+	{
+		return writable().retainAll(collection);
+	}
+
+	@Override
+	public boolean removeIf(final Predicate<? super E> filter)
+	{
+		return writable().removeIf(filter);
+	}
+
+	@Override
+	public void replaceAll(final UnaryOperator<E> operator)
+	{
+		writable().replaceAll(operator);
+	}
+
+	@Override
+	public void sort(final Comparator<? super E> comparator)
+	{
+		writable().sort(comparator);
+	}
+
+	@Override
+	public void clear()
+	{
+		writable().clear();
+	}
+
+	@Override
+	public boolean equals(final Object object)
+	{
+		return object == this || target().equals(object);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return target().hashCode();
+	}
+
+	/**
+	 * The iterator over the source list that copies the source list on the first remove
+	 */
+	private final class ReadThroughIterator implements Iterator<E>
+	{
+
+		private final Iterator<E> iterator = source.iterator();
+
+		/** The index of the next element in the source list */
+		private int index;
+
+		/** The number of the elements that were removed over this iterator */
+		private int removed;
+
+		private boolean removable;
+
+		@Override
+		public boolean hasNext()
+		{
+			return iterator.hasNext();
+		}
+
+		@Override
+		public E next()
+		{
+			final E element = iterator.next();
+			index++;
+			removable = true;
+			return element;
+		}
+
+		@Override
+		public void remove()
+		{
+			if (!removable)
+			{
+				throw new IllegalStateException();
+			}
+			writable().remove(index - 1 - removed);
+			removed++;
+			removable = false;
+		}
+
+	}
+
+}
@@ -0,0 +1,260 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The class {@link LazyCloneMap} is a copy-on-write clone of a {@link Map}. All reads go through
+ * to the source map until the first write copies it. A {@link LazyCloneMap} is not thread-safe
+ *
+ * @param <K>
+ *            the generic type of the keys
+ * @param <V>
+ *            the generic type of the values
+ */
+final class LazyCloneMap<K, V> extends AbstractMap<K, V>
+{
+
+	/** The source map */
+	private final Map<K, V> source;
+
+	/** The copy of the source map or null if this map was not yet written */
+	private Map<K, V> copy;
+
+	/** The view of the entries */
+	private Set<Map.Entry<K, V>> entrySet;
+
+	/**
+	 * Instantiates a new {@link LazyCloneMap}
+	 *
+	 * @param source
+	 *            the source map
+	 */
+	LazyCloneMap(final Map<K, V> source)
+	{
+		this.source = source;
+	}
+
+	private Map<K, V> target()
+	{
+		return copy != null ? copy : source;
+	}
+
+	private Map<K, V> writable()
+	{
+		if (copy == null)
+		{
+			copy = LazyClones.copy(source, LinkedHashMap::new);
+		}
+		return copy;
+	}
+
+	@Override
+	public int size()
+	{
+		return target().size();
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return target().isEmpty();
+	}
+
+	@Override
+	public boolean containsKey(final Object key)
+	{
+		return target().containsKey(key);
+	}
+
+	@Override
+	public boolean containsValue(final Object value)
+	{
+		return target().containsValue(value);
+	}
+
+	@Override
+	public V get(final Object key)
+	{
+		return target().get(key);
+	}
+
+	@Override
+	public V getOrDefault(final Object key, final V defaultValue)
+	{
+		return target().getOrDefault(key, defaultValue);
+	}
+
+	@Override
+	public V put(final K key, final V value)
+	{
+		return writable().put(key, value);
+	}
+
+	@Override
+	public V remove(final Object key)
+	{
+		return writable().remove(key);
+	}
+
+	@Override
+	public void putAll(final Map<? extends K, ? extends V> map)
+	{
+		writable().putAll(map);
+	}
+
+	@Override
+	public void clear()
+	{
+		writable().clear();
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet()
+	{
+		if (entrySet == null)
+		{
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	@Override
+	public boolean equals(final Object object)
+	{
+		return object == this || target().equals(object);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return target().hashCode();
+	}
+
+	/**
+	 * The view of the entries that reads through to the source map until it is copied
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<K, V>>
+	{
+
+		@Override
+		public int size()
+		{
+			return LazyCloneMap.this.size();
+		}
+
+		@Override
+		public boolean contains(final Object object)
+		{
+			return target().entrySet().contains(object);
+		}
+
+		@Override
+		public boolean remove(final Object object)
+		{
+			return writable().entrySet().remove(object);
+		}
+
+		@Override
+		public void clear()
+		{
+			LazyCloneMap.this.clear();
+		}
+
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator()
+		{
+			return copy != null ? copy.entrySet().iterator() : new ReadThroughIterator();
+		}
+
+	}
+
+	/**
+	 * The iterator over the entries of the source map that copies the source map on the first
+	 * remove or on the first value that is set over an entry
+	 */
+	private final class ReadThroughIterator implements Iterator<Map.Entry<K, V>>
+	{
+
+		private final Iterator<Map.Entry<K, V>> iterator = source.entrySet().iterator();
+
+		private Map.Entry<K, V> last;
+
+		@Override
+		public boolean hasNext()
+		{
+			return iterator.hasNext();
+		}
+
+		@Override
+		public Map.Entry<K, V> next()
+		{
+			final Map.Entry<K, V> entry = iterator.next();
+			last = new ReadThroughEntry(entry.getKey(), entry.getValue());
+			return last;
+		}
+
+		@Override
+		public void remove()
+		{
+			if (last == null)
+			{
+				throw new IllegalStateException();
+			}
+			writable().remove(last.getKey());
+			last = null;
+		}
+
+	}
+
+	/**
+	 * The entry of the source map that copies the source map when its value is set
+	 */
+	private final class ReadThroughEntry extends AbstractMap.SimpleEntry<K, V>
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		ReadThroughEntry(final K key, final V value)
+		{
+			super(key, value);
+		}
+
+		@Override
+		public V setValue(final V value)
+		{
+			super.setValue(value);
+			return writable().put(getKey(), value);
+		}
+
+	}
+
+}
@@ -0,0 +1,210 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The class {@link LazyCloneSet} is a copy-on-write clone of a {@link Set}. All reads go through
+ * to the source set until the first write copies it. A {@link LazyCloneSet} is not thread-safe
+ *
+ * @param <E>
+ *            the generic type of the elements
+ */
+final class LazyCloneSet<E> extends AbstractSet<E>
+{
+
+	/** The source set */
+	private final Set<E> source;
+
+	/** The copy of the source set or null if this set was not yet written */
+	private Set<E> copy;
+
+	/**
+	 * Instantiates a new {@link LazyCloneSet}
+	 *
+	 * @param source
+	 *            the source set
+	 */
+	LazyCloneSet(final Set<E> source)
+	{
+		this.source = source;
+	}
+
+	private Set<E> target()
+	{
+		return copy != null ? copy : source;
+	}
+
+	private Set<E> writable()
+	{
+		if (copy == null)
+		{
+			copy = LazyClones.copy(source, LinkedHashSet::new);
+		}
+		return copy;
+	}
+
+	@Override
+	public int size()
+	{
+		return target().size();
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return target().isEmpty();
+	}
+
+	@Override
+	public boolean contains(final Object object)
+	{
+		return target().contains(object);
+	}
+
+	@Override
+	public boolean containsAll(final Collection<?> collection)
+	{
+		return target().containsAll(collection);
+	}
+
+	@Override
+	public Object[] toArray()
+	{
+		return target().toArray();
+	}
+
+	@Override
+	public <T> T[] toArray(final T[] array)
+	{
+		return target().toArray(array);
+	}
+
+	@Override
+	public Iterator<E> iterator()
+	{
+		return copy != null ? copy.iterator() : new ReadThroughIterator();
+	}
+
+	@Override
+	public boolean add(final E element)
+	{
+		return writable().add(element);
+	}
+
+	@Override
+	public boolean remove(final Object object)
+	{
+		return writable().remove(object);
+	}
+
+	@Override
+	public boolean addAll(final Collection<? extends E> collection)
+	{
+		return writable().addAll(collection);
+	}
+
+	@Override
+	public boolean removeAll(final Collection<?> collection)
+	{
+		return writable().removeAll(collection);
+	}
+
+	@Override
+	public boolean retainAll(final Collection<?> collection)
+	{
+		return writable().retainAll(collection);
+	}
+
+	@Override
+	public boolean removeIf(final Predicate<? super E> filter)
+	{
+		return writable().removeIf(filter);
+	}
+
+	@Override
+	public void clear()
+	{
+		writable().clear();
+	}
+
+	@Override
+	public boolean equals(final Object object)
+	{
+		return object == this || target().equals(object);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return target().hashCode();
+	}
+
+	/**
+	 * The iterator over the source set that copies the source set on the first remove
+	 */
+	private final class ReadThroughIterator implements Iterator<E>
+	{
+
+		private final Iterator<E> iterator = source.iterator();
+
+		private E last;
+
+		private boolean removable;
+
+		@Override
+		public boolean hasNext()
+		{
+			return iterator.hasNext();
+		}
+
+		@Override
+		public E next()
+		{
+			last = iterator.next();
+			removable = true;
+			return last;
+		}
+
+		@Override
+		public void remove()
+		{
+			if (!removable)
+			{
+				throw new IllegalStateException();
+			}
+			writable().remove(last);
+			removable = false;
+		}
+
+	}
+
+}
@@ -0,0 +1,107 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The class {@link LazyClones} creates copy-on-write clones. A lazy clone is a view that reads
+ * through to its source and copies the source as with {@link CloneObjectExtensions#cloneObject(Object)}
+ * on its first write. So a snapshot costs nothing until it is changed, as long as the source itself
+ * is not changed while the lazy clone still reads through to it
+ */
+final class LazyClones
+{
+
+	private LazyClones()
+	{
+	}
+
+	/**
+	 * Creates a lazy clone of the given object that implements the given interface
+	 *
+	 * @param <T>
+	 *            the generic type of the interface
+	 * @param source
+	 *            the object to clone, not null
+	 * @param type
+	 *            the public interface of the lazy clone
+	 * @return the lazy clone
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static <T> T of(final T source, final Class<T> type)
+	{
+		if (type == List.class)
+		{
+			return (T)new LazyCloneList<>((List)source);
+		}
+		if (type == Set.class)
+		{
+			return (T)new LazyCloneSet<>((Set)source);
+		}
+		if (type == Map.class)
+		{
+			return (T)new LazyCloneMap<>((Map)source);
+		}
+		return (T)Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+			new LazyCloneHandler(source));
+	}
+
+	/**
+	 * Copies the given source as with {@link CloneObjectExtensions#cloneObject(Object)} or with the
+	 * given fallback function if the source cannot be cloned
+	 *
+	 * @param <T>
+	 *            the generic type of the source
+	 * @param source
+	 *            the source
+	 * @param fallback
+	 *            the function that copies the source if it cannot be cloned
+	 * @return the copy
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T copy(final T source, final Function<T, T> fallback)
+	{
+		try
+		{
+			final Object clone = CloneObjectExtensions.cloneObject(source);
+			if (clone != null)
+			{
+				return (T)clone;
+			}
+		}
+		catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e)
+		{
+			// copy the source with the fallback
+		}
+		return fallback.apply(source);
+	}
+
+}
@@ -0,0 +1,162 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * The class {@link ObjectPool} keeps released objects of one class for reuse as targets of
+ * {@link CloneObjectExtensions#copyInto(Object, Object)} and
+ * {@link CloneObjectExtensions#deepCopyInto(Object, Object)}, so a hot loop can clone without
+ * allocating. A pool is not thread-safe and is meant to be owned by one thread, for instance over
+ * a {@link ThreadLocal}
+ *
+ * @param <T>
+ *            the generic type of the pooled objects
+ */
+public final class ObjectPool<T>
+{
+
+	/** The factory of new objects if the pool is empty */
+	private final Supplier<T> factory;
+
+	/** The released objects */
+	private final Object[] objects;
+
+	/** The number of the released objects */
+	private int size;
+
+	/**
+	 * Instantiates a new {@link ObjectPool}
+	 *
+	 * @param factory
+	 *            the factory of new objects if the pool is empty
+	 * @param capacity
+	 *            the maximum number of the released objects that are kept
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given capacity is negative
+	 */
+	public ObjectPool(final Supplier<T> factory, final int capacity)
+	{
+		if (capacity < 0)
+		{
+			throw new IllegalArgumentException("Capacity has to be not negative: " + capacity);
+		}
+		this.factory = Objects.requireNonNull(factory);
+		this.objects = new Object[capacity];
+	}
+
+	/**
+	 * Takes an object out of this pool or creates a new one if this pool is empty
+	 *
+	 * @return the object
+	 */
+	@SuppressWarnings("unchecked")
+	public T acquire()
+	{
+		if (size == 0)
+		{
+			return factory.get();
+		}
+		final Object object = objects[--size];
+		objects[size] = null;
+		return (T)object;
+	}
+
+	/**
+	 * Puts the given object back into this pool. The object is dropped if this pool is full
+	 *
+	 * @param object
+	 *            the object that is not used anymore
+	 */
+	public void release(final T object)
+	{
+		if (object != null && size < objects.length)
+		{
+			objects[size++] = object;
+		}
+	}
+
+	/**
+	 * Takes an object out of this pool and overwrites it with the field values of the given source
+	 *
+	 * @param source
+	 *            the object to copy
+	 * @return the shallow clone of the given source
+	 * @throws IllegalArgumentException
+	 *             Thrown if the pooled object cannot be overwritten with the given source
+	 */
+	public T acquireCopy(final T source)
+	{
+		return CloneObjectExtensions.copyInto(source, acquire());
+	}
+
+	/**
+	 * Takes an object out of this pool and overwrites it with a deep copy of the given source. The
+	 * objects that are reachable from the pooled object are reused where their shapes match
+	 *
+	 * @param source
+	 *            the object to copy
+	 * @return the deep clone of the given source
+	 * @throws IllegalArgumentException
+	 *             Thrown if the pooled object cannot be overwritten with the given source
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public T acquireDeepCopy(final T source)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return CloneObjectExtensions.deepCopyInto(source, acquire());
+	}
+
+	/**
+	 * Gets the number of the released objects in this pool
+	 *
+	 * @return the number of the released objects
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Removes all released objects from this pool
+	 */
+	public void clear()
+	{
+		Arrays.fill(objects, 0, size, null);
+		size = 0;
+	}
+
+}
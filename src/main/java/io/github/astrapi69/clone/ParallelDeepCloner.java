@@ -0,0 +1,325 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The class {@link ParallelDeepCloner} deep clones an object graph on a {@link ForkJoinPool}. The
+ * graph is traversed by {@link DeepCloner} instances that share one
+ * {@link ConcurrentIdentityTable}, so object identity is preserved across the whole graph. Arrays,
+ * collections and maps with at least the split threshold of elements are split into subtasks that
+ * clone a range of the elements each, smaller ones are cloned sequentially
+ */
+final class ParallelDeepCloner
+{
+
+	/** The default minimum number of elements of an array, collection or map that is split */
+	static final int DEFAULT_SPLIT_THRESHOLD = 8192;
+
+	/** The map from the source objects to their clones */
+	private final ConcurrentIdentityTable clones = new ConcurrentIdentityTable();
+
+	/** The sets and maps with their cloned elements that are inserted after the traversal */
+	private final ConcurrentLinkedQueue<DeferredInsert> deferredInserts = new ConcurrentLinkedQueue<>();
+
+	/** The sequence of the deferred inserts */
+	private final AtomicLong sequence = new AtomicLong();
+
+	/** The pool that runs the tasks */
+	private final ForkJoinPool pool;
+
+	/** The minimum number of elements of an array, collection or map that is split */
+	private final int splitThreshold;
+
+	/**
+	 * Instantiates a new {@link ParallelDeepCloner}
+	 *
+	 * @param pool
+	 *            the pool that runs the tasks
+	 * @param splitThreshold
+	 *            the minimum number of elements of an array, collection or map that is split into
+	 *            subtasks
+	 */
+	ParallelDeepCloner(final ForkJoinPool pool, final int splitThreshold)
+	{
+		if (splitThreshold < 2)
+		{
+			throw new IllegalArgumentException("The split threshold must be at least 2");
+		}
+		this.pool = pool;
+		this.splitThreshold = splitThreshold;
+	}
+
+	/**
+	 * Deep clone the given object in parallel
+	 *
+	 * @param source
+	 *            the object to clone
+	 * @return the deep clone of the given object or null if the clone process failed
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	Object deepClone(final Object source)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		if (source == null)
+		{
+			return null;
+		}
+		try
+		{
+			return pool.invoke(new RecursiveTask<>()
+			{
+				@Override
+				protected Object compute()
+				{
+					try
+					{
+						return new DeepCloner(ParallelDeepCloner.this).deepClone(source);
+					}
+					catch (NoSuchMethodException | IllegalAccessException
+						| InvocationTargetException e)
+					{
+						throw new CloneTaskException(e);
+					}
+				}
+			});
+		}
+		catch (CloneTaskException e)
+		{
+			throw e.rethrow();
+		}
+	}
+
+	/**
+	 * Gets the map from the source objects to their clones
+	 *
+	 * @return the map from the source objects to their clones
+	 */
+	ConcurrentIdentityTable getClones()
+	{
+		return clones;
+	}
+
+	/**
+	 * Checks if the given number of elements is split into subtasks
+	 *
+	 * @param length
+	 *            the number of elements
+	 * @return true if the elements are split otherwise false
+	 */
+	boolean isSplit(final int length)
+	{
+		return splitThreshold <= length;
+	}
+
+	/**
+	 * Clones the given source elements into the given target array in parallel subtasks
+	 *
+	 * @param source
+	 *            the source elements
+	 * @param target
+	 *            the array for the cloned elements, may be the source array itself
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	void fillInParallel(final Object[] source, final Object[] target)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		try
+		{
+			// the caller runs already in the pool, so the subtasks are forked into it
+			new FillTask(source, target, 0, source.length).invoke();
+		}
+		catch (CloneTaskException e)
+		{
+			throw e.rethrow();
+		}
+	}
+
+	/**
+	 * Registers the given set or map for the insert of its cloned elements after the traversal.
+	 * Must be called before the elements are cloned, so outer sets and maps are registered before
+	 * the inner ones
+	 *
+	 * @param clone
+	 *            the set or map
+	 * @param view
+	 *            the registered clone that refers to the set or map in other elements
+	 * @param elements
+	 *            the array that will contain the cloned elements
+	 */
+	void defer(final Object clone, final Object view, final Object[] elements)
+	{
+		deferredInserts
+			.add(new DeferredInsert(sequence.getAndIncrement(), clone, view, elements));
+	}
+
+	/**
+	 * Inserts the cloned elements of all registered sets and maps in the order of containment as
+	 * decided by {@link DeferredInserts}
+	 */
+	void insertDeferred()
+	{
+		final List<DeferredInsert> registered = new ArrayList<>(deferredInserts);
+		deferredInserts.clear();
+		registered.sort(Comparator.comparingLong(DeferredInsert::getSequence));
+		final DeferredInserts inserts = new DeferredInserts();
+		for (DeferredInsert insert : registered)
+		{
+			inserts.add(insert.clone, insert.view, insert.elements);
+		}
+		inserts.insertAll();
+	}
+
+	/**
+	 * The class {@link FillTask} clones a range of elements and the graphs that are reachable from
+	 * them
+	 */
+	private final class FillTask extends RecursiveAction
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		private final Object[] source;
+
+		private final Object[] target;
+
+		private final int from;
+
+		private final int to;
+
+		FillTask(final Object[] source, final Object[] target, final int from, final int to)
+		{
+			this.source = source;
+			this.target = target;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (splitThreshold <= to - from)
+			{
+				final int middle = (from + to) >>> 1;
+				invokeAll(new FillTask(source, target, from, middle),
+					new FillTask(source, target, middle, to));
+				return;
+			}
+			try
+			{
+				new DeepCloner(ParallelDeepCloner.this).fillRange(source, target, from, to);
+			}
+			catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e)
+			{
+				throw new CloneTaskException(e);
+			}
+		}
+
+	}
+
+	/**
+	 * The class {@link DeferredInsert} holds a set or map with its cloned elements
+	 */
+	private static final class DeferredInsert
+	{
+
+		private final long sequence;
+
+		private final Object clone;
+
+		private final Object view;
+
+		private final Object[] elements;
+
+		DeferredInsert(final long sequence, final Object clone, final Object view,
+			final Object[] elements)
+		{
+			this.sequence = sequence;
+			this.clone = clone;
+			this.view = view;
+			this.elements = elements;
+		}
+
+		long getSequence()
+		{
+			return sequence;
+		}
+
+	}
+
+	/**
+	 * The class {@link CloneTaskException} carries a checked exception of a task to the caller
+	 */
+	private static final class CloneTaskException extends RuntimeException
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		CloneTaskException(final Exception cause)
+		{
+			super(cause);
+		}
+
+		RuntimeException rethrow()
+			throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+		{
+			final Throwable cause = getCause();
+			if (cause instanceof NoSuchMethodException)
+			{
+				throw (NoSuchMethodException)cause;
+			}
+			if (cause instanceof IllegalAccessException)
+			{
+				throw (IllegalAccessException)cause;
+			}
+			throw (InvocationTargetException)cause;
+		}
+
+	}
+
+}
@@ -0,0 +1,133 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The class {@link PermittedTypes} holds the concrete permitted subclasses of a sealed type that
+ * are resolved up front, so the clone plan of a value of a field with the sealed type is found
+ * with a small type switch. The plans of the permitted subclasses are resolved on the first call,
+ * because a permitted subclass can have a field of the sealed type itself
+ */
+final class PermittedTypes
+{
+
+	/** The maximum number of the concrete permitted subclasses of a type switch */
+	static final int MAX_TYPES = 8;
+
+	/** The concrete permitted subclasses */
+	private final Class<?>[] types;
+
+	/** The lazily resolved clone plans of the permitted subclasses or null if not yet resolved */
+	private volatile ClonePlan[] plans;
+
+	private PermittedTypes(final Class<?>[] types)
+	{
+		this.types = types;
+	}
+
+	/**
+	 * Factory method for create the {@link PermittedTypes} of the given declared type
+	 *
+	 * @param declaredType
+	 *            the declared type of a field or a record component
+	 * @return the permitted types or null if the given type is not sealed or permits more than
+	 *         {@link #MAX_TYPES} concrete subclasses
+	 */
+	static PermittedTypes of(final Class<?> declaredType)
+	{
+		if (!declaredType.isSealed())
+		{
+			return null;
+		}
+		final List<Class<?>> types = new ArrayList<>();
+		if (!collect(declaredType, types) || types.isEmpty())
+		{
+			return null;
+		}
+		return new PermittedTypes(types.toArray(new Class<?>[0]));
+	}
+
+	private static boolean collect(final Class<?> sealedType, final List<Class<?>> types)
+	{
+		for (Class<?> permitted : sealedType.getPermittedSubclasses())
+		{
+			// an abstract non-sealed subclass has unknown subclasses that are looked up as usual
+			if (!permitted.isInterface() && !Modifier.isAbstract(permitted.getModifiers())
+				&& !types.contains(permitted))
+			{
+				types.add(permitted);
+			}
+			if (types.size() > MAX_TYPES || permitted.isSealed() && !collect(permitted, types))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the clone plan of the given runtime class of a value
+	 *
+	 * @param runtimeType
+	 *            the runtime class
+	 * @return the clone plan of the given class
+	 */
+	ClonePlan planOf(final Class<?> runtimeType)
+	{
+		ClonePlan[] resolved = plans;
+		if (resolved == null)
+		{
+			resolved = new ClonePlan[types.length];
+			for (int i = 0; i < types.length; i++)
+			{
+				resolved[i] = ClonePlan.of(types[i]);
+			}
+			plans = resolved;
+		}
+		for (int i = 0; i < types.length; i++)
+		{
+			if (types[i] == runtimeType)
+			{
+				return resolved[i];
+			}
+		}
+		return ClonePlan.of(runtimeType);
+	}
+
+	/**
+	 * Gets the number of the concrete permitted subclasses
+	 *
+	 * @return the number of the concrete permitted subclasses
+	 */
+	int size()
+	{
+		return types.length;
+	}
+
+}
@@ -0,0 +1,155 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * The class {@link Prototype} creates copies of a template object graph that is compiled once.
+ * The compilation walks the template like a deep clone and records a flat program of copy
+ * instructions that allocate the objects, set their primitive values, link their references and
+ * copy the arrays. A new copy is created by replaying the program, so the graph is not traversed
+ * again and no identity table is needed. The copies are equal to deep clones of the template as it
+ * was at the compilation, shared objects and cycles are kept.
+ * <p>
+ * The primitive values and the primitive arrays are frozen at the compilation, a later change of
+ * the template is not seen by the copies. {@link #isStale()} detects such a change, then
+ * {@link #recompile()} gives a prototype of the current template. A prototype can be used
+ * concurrently as long as its template is not changed
+ *
+ * @param <T>
+ *            the generic type of the template
+ */
+public final class Prototype<T>
+{
+
+	/** The template object */
+	private final T template;
+
+	/** The compiled copy program of the template */
+	private final CopyProgram program;
+
+	private Prototype(final T template, final CopyProgram program)
+	{
+		this.template = template;
+		this.program = program;
+	}
+
+	/**
+	 * Factory method for create a new {@link Prototype} of the given template object
+	 *
+	 * @param <T>
+	 *            the generic type of the template
+	 * @param template
+	 *            the template object, can be null
+	 * @return the new {@link Prototype}
+	 * @throws IllegalArgumentException
+	 *             Thrown if an object of the graph can neither be copied nor shared
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static <T> Prototype<T> of(final T template)
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return new Prototype<>(template, CopyProgram.compile(template));
+	}
+
+	/**
+	 * Creates a new copy of the template as it was at the compilation
+	 *
+	 * @return the new copy
+	 * @throws ReflectiveOperationException
+	 *             Thrown if an object cannot be instantiated or cloned or a record cannot be
+	 *             created
+	 */
+	@SuppressWarnings("unchecked")
+	public T newInstance() throws ReflectiveOperationException
+	{
+		return (T)program.run();
+	}
+
+	/**
+	 * Checks if the template has changed since the compilation. The primitive values, the
+	 * primitive arrays, the references, the array elements and the content of the collections and
+	 * maps of the template graph are compared with the compiled ones. The objects that are cloned
+	 * over their {@code clone()} method or another strategy instead of being copied field by field
+	 * are not looked into
+	 *
+	 * @return true if the template has changed otherwise false
+	 */
+	public boolean isStale()
+	{
+		return program.isStale();
+	}
+
+	/**
+	 * Compiles the current state of the template into a new {@link Prototype}
+	 *
+	 * @return the new {@link Prototype}
+	 * @throws IllegalArgumentException
+	 *             Thrown if an object of the graph can neither be copied nor shared
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public Prototype<T> recompile()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		return of(template);
+	}
+
+	/**
+	 * Gets the template object
+	 *
+	 * @return the template object
+	 */
+	public T getTemplate()
+	{
+		return template;
+	}
+
+	/**
+	 * Gets the number of the slots of the compiled program, which is the number of the copied
+	 * objects plus one for the target behind each collection or map
+	 *
+	 * @return the number of the slots
+	 */
+	int getSlotCount()
+	{
+		return program.getSlotCount();
+	}
+
+}
@@ -0,0 +1,219 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+
+/**
+ * The class {@link RecordCloner} clones a record. The components are read over method handles of
+ * the accessor methods and the clone is created over a method handle of the canonical constructor,
+ * both compiled once, so neither the missing no-arg constructor nor the final fields of a record
+ * are in the way
+ */
+final class RecordCloner
+{
+
+	/** The method type of the compiled component accessors */
+	private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class,
+		Object.class);
+
+	/** The lookup for unreflect the accessible accessors and constructors */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/** The compiled accessors of the components with the signature (Object record)Object */
+	private final MethodHandle[] accessors;
+
+	/** The canonical constructor with the signature (Object[] components)Object */
+	private final MethodHandle constructor;
+
+	/** The flags that indicate if every value of a component is immutable */
+	private final boolean[] immutableComponents;
+
+	/** The permitted subclasses of the sealed component types or null for other components */
+	private final PermittedTypes[] permittedTypes;
+
+	private RecordCloner(final MethodHandle[] accessors, final MethodHandle constructor,
+		final RecordComponent[] components)
+	{
+		this.accessors = accessors;
+		this.constructor = constructor;
+		this.immutableComponents = new boolean[components.length];
+		this.permittedTypes = new PermittedTypes[components.length];
+		for (int i = 0; i < components.length; i++)
+		{
+			immutableComponents[i] = ImmutableTypeRegistry.getDefault()
+				.isImmutableDeclaredType(components[i].getType());
+			permittedTypes[i] = PermittedTypes.of(components[i].getType());
+		}
+	}
+
+	/**
+	 * Factory method for create the {@link RecordCloner} of the given class
+	 *
+	 * @param type
+	 *            the class
+	 * @return the new {@link RecordCloner} or null if the given class is no record or its accessors
+	 *         or its canonical constructor are inaccessible
+	 */
+	static RecordCloner of(final Class<?> type)
+	{
+		if (!type.isRecord())
+		{
+			return null;
+		}
+		final RecordComponent[] components = type.getRecordComponents();
+		final MethodHandle[] accessors = new MethodHandle[components.length];
+		final Class<?>[] componentTypes = new Class<?>[components.length];
+		try
+		{
+			for (int i = 0; i < components.length; i++)
+			{
+				final Method accessor = components[i].getAccessor();
+				if (!accessor.trySetAccessible())
+				{
+					return null;
+				}
+				accessors[i] = LOOKUP.unreflect(accessor).asType(ACCESSOR_TYPE);
+				componentTypes[i] = components[i].getType();
+			}
+			final Constructor<?> canonical = type.getDeclaredConstructor(componentTypes);
+			if (!canonical.trySetAccessible())
+			{
+				return null;
+			}
+			final MethodHandle constructor = LOOKUP.unreflectConstructor(canonical)
+				.asType(MethodType.genericMethodType(components.length))
+				.asSpreader(Object[].class, components.length);
+			return new RecordCloner(accessors, constructor, components);
+		}
+		catch (NoSuchMethodException | IllegalAccessException | SecurityException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the values of the components of the given record
+	 *
+	 * @param record
+	 *            the record
+	 * @return the new array with the values of the components in their declaration order
+	 */
+	Object[] getComponents(final Object record)
+	{
+		final Object[] components = new Object[accessors.length];
+		try
+		{
+			for (int i = 0; i < accessors.length; i++)
+			{
+				components[i] = (Object)accessors[i].invokeExact(record);
+			}
+		}
+		catch (RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch (Throwable throwable)
+		{
+			throw new IllegalStateException(throwable);
+		}
+		return components;
+	}
+
+	/**
+	 * Creates a new record with the given values of the components over the canonical constructor
+	 *
+	 * @param components
+	 *            the values of the components in their declaration order
+	 * @return the new record
+	 * @throws InvocationTargetException
+	 *             Thrown if the canonical constructor throws an exception
+	 */
+	Object newInstance(final Object[] components) throws InvocationTargetException
+	{
+		try
+		{
+			return (Object)constructor.invokeExact(components);
+		}
+		catch (Error e)
+		{
+			throw e;
+		}
+		catch (Throwable throwable)
+		{
+			// a compact canonical constructor can validate the components
+			throw new InvocationTargetException(throwable);
+		}
+	}
+
+	/**
+	 * Clone the given record shallow into a new record with the same values of the components
+	 *
+	 * @param record
+	 *            the record
+	 * @return the new record
+	 * @throws InvocationTargetException
+	 *             Thrown if the canonical constructor throws an exception
+	 */
+	Object copy(final Object record) throws InvocationTargetException
+	{
+		return newInstance(getComponents(record));
+	}
+
+	/**
+	 * Checks if every value of the component with the given index is immutable
+	 *
+	 * @param index
+	 *            the index of the component
+	 * @return true if every value of the component is immutable otherwise false
+	 */
+	boolean isImmutableComponent(final int index)
+	{
+		return immutableComponents[index];
+	}
+
+	/**
+	 * Gets the clone plan of the given value of the component with the given index
+	 *
+	 * @param index
+	 *            the index of the component
+	 * @param value
+	 *            the value of the component, not null
+	 * @return the clone plan of the class of the given value
+	 */
+	ClonePlan planOf(final int index, final Object value)
+	{
+		final PermittedTypes permitted = permittedTypes[index];
+		return permitted != null ? permitted.planOf(value.getClass())
+			: ClonePlan.of(value.getClass());
+	}
+
+}
@@ -0,0 +1,72 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+/**
+ * The class {@link ReflectionCloneBackend} is the built-in backend that allocates a new instance
+ * and copies the fields over compiled field handles
+ */
+public final class ReflectionCloneBackend implements CloneBackend
+{
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getName()
+	{
+		return "reflection";
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supports(final Class<?> type)
+	{
+		final ClonePlan plan = ClonePlan.of(type);
+		return plan.getStrategy() != CloneStrategy.ARRAY && plan.isReflectionSupported();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getCost(final Class<?> type)
+	{
+		return REFLECTION_COST;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object clone(final Object source)
+	{
+		return CloneObjectExtensions
+			.cloneObjectWithReflection(source, ClonePlan.of(source.getClass())).orElse(null);
+	}
+
+}
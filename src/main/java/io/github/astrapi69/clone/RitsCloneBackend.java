@@ -0,0 +1,89 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.Modifier;
+
+/**
+ * The class {@link RitsCloneBackend} is the backend over the cloning library of
+ * {@code io.github.kostaskougios:cloning}. The library instantiates objects without a usable
+ * constructor, so this backend clones the objects of the classes that the built-in backends do not
+ * support. Its cost is higher than the costs of the built-in backends, so it never replaces them
+ */
+public final class RitsCloneBackend implements CloneBackend
+{
+
+	/** The cost of this backend */
+	public static final int COST = 50;
+
+	/** The shared cloner of the library, which is thread-safe */
+	private static final com.rits.cloning.Cloner CLONER = new com.rits.cloning.Cloner();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getName()
+	{
+		return "cloning";
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supports(final Class<?> type)
+	{
+		// the final fields of a record cannot be set, records are rebuilt by the built-in path
+		return !type.isArray() && !type.isInterface() && !type.isPrimitive() && !type.isRecord()
+			&& !Modifier.isAbstract(type.getModifiers());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getCost(final Class<?> type)
+	{
+		return COST;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object clone(final Object source)
+	{
+		try
+		{
+			return CLONER.shallowClone(source);
+		}
+		catch (RuntimeException e)
+		{
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+
+/**
+ * The class {@link SerializationCloner} clones an object over the java serialization. The classes
+ * are resolved with the class loader of the cloned object, so objects of classes that are not
+ * visible to this library can be cloned too
+ */
+final class SerializationCloner
+{
+
+	private SerializationCloner()
+	{
+	}
+
+	/**
+	 * Clone the given object over the java serialization
+	 *
+	 * @param object
+	 *            the object to clone
+	 * @return the clone or null if the given object cannot be serialized or deserialized
+	 */
+	static Object copy(final Object object)
+	{
+		if (!(object instanceof Serializable))
+		{
+			return null;
+		}
+		try
+		{
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream output = new ObjectOutputStream(bytes))
+			{
+				output.writeObject(object);
+			}
+			try (ObjectInputStream input = new ClassLoaderObjectInputStream(
+				new ByteArrayInputStream(bytes.toByteArray()), object.getClass().getClassLoader()))
+			{
+				return input.readObject();
+			}
+		}
+		catch (IOException | ClassNotFoundException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * The object input stream that resolves the classes with a given class loader
+	 */
+	private static final class ClassLoaderObjectInputStream extends ObjectInputStream
+	{
+
+		private final ClassLoader classLoader;
+
+		ClassLoaderObjectInputStream(final InputStream input, final ClassLoader classLoader)
+			throws IOException
+		{
+			super(input);
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		protected Class<?> resolveClass(final ObjectStreamClass descriptor)
+			throws IOException, ClassNotFoundException
+		{
+			if (classLoader == null)
+			{
+				return super.resolveClass(descriptor);
+			}
+			try
+			{
+				return Class.forName(descriptor.getName(), false, classLoader);
+			}
+			catch (ClassNotFoundException e)
+			{
+				return super.resolveClass(descriptor);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,195 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * The class {@link Snapshot} holds an object graph in a compact binary form. A snapshot is written
+ * once and can be restored any number of times, also concurrently, into a new graph that equals
+ * the written graph in the same way as a deep clone. Strings, boxed primitives, enum constants and
+ * the immutable values of the JDK are written inline, every other object is written as a record
+ * that references its field values by index, so shared objects and cycles are kept.
+ * <p>
+ * A snapshot that is written to a file can be read back over a memory mapping of the file, then
+ * the restore reads the records directly from the mapped pages without copying the file into the
+ * heap first. The primitive arrays are restored in bulk. The class table of the snapshot names the
+ * fields of each class, so a snapshot can be restored after fields were added to or removed from a
+ * class
+ */
+public final class Snapshot
+{
+
+	/** The read-only buffer with the content of the snapshot */
+	private final ByteBuffer buffer;
+
+	private Snapshot(final ByteBuffer buffer)
+	{
+		this.buffer = buffer.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Factory method for create a new {@link Snapshot} of the graph that is reachable from the
+	 * given root object
+	 *
+	 * @param root
+	 *            the root object, can be null
+	 * @return the new {@link Snapshot}
+	 * @throws IllegalArgumentException
+	 *             Thrown if an object of the graph cannot be written, for instance because its
+	 *             class has no instantiator, a sorted collection has a comparator, a linked hash
+	 *             map is access ordered or the object is an immutable object of an unsupported
+	 *             class
+	 */
+	public static Snapshot of(final Object root)
+	{
+		return new Snapshot(new SnapshotWriter().write(root));
+	}
+
+	/**
+	 * Factory method for create a new {@link Snapshot} from the given buffer that holds the content
+	 * of a snapshot from its position to its limit
+	 *
+	 * @param buffer
+	 *            the buffer, it must not be changed as long as the snapshot is used
+	 * @return the new {@link Snapshot}
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given buffer does not hold a snapshot of a supported version
+	 */
+	public static Snapshot wrap(final ByteBuffer buffer)
+	{
+		Objects.requireNonNull(buffer);
+		final ByteBuffer content = buffer.slice();
+		if (content.remaining() < SnapshotFormat.HEADER_SIZE
+			|| content.getInt(0) != SnapshotFormat.MAGIC)
+		{
+			throw new IllegalArgumentException("Given buffer does not hold a snapshot");
+		}
+		final short version = content.getShort(4);
+		if (version != SnapshotFormat.VERSION)
+		{
+			throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+		}
+		return new Snapshot(content);
+	}
+
+	/**
+	 * Factory method for create a new {@link Snapshot} over a memory mapping of the given file
+	 *
+	 * @param file
+	 *            the file that was written with {@link #writeTo(Path)}
+	 * @return the new {@link Snapshot}
+	 * @throws IOException
+	 *             Thrown if the file cannot be mapped
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given file does not hold a snapshot of a supported version
+	 */
+	public static Snapshot read(final Path file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			// the mapping stays valid after the channel is closed
+			return wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Writes the content of this snapshot into the given file
+	 *
+	 * @param file
+	 *            the file, an existing file is replaced
+	 * @throws IOException
+	 *             Thrown if the file cannot be written
+	 */
+	public void writeTo(final Path file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+		{
+			final ByteBuffer content = buffer.duplicate();
+			while (content.hasRemaining())
+			{
+				channel.write(content);
+			}
+		}
+	}
+
+	/**
+	 * Restores a new graph from this snapshot and resolves the classes with the context class
+	 * loader of the current thread
+	 *
+	 * @return the restored root object
+	 * @throws ReflectiveOperationException
+	 *             Thrown if a class of the snapshot cannot be found or instantiated or an enum
+	 *             constant does not exist anymore
+	 */
+	public Object restore() throws ReflectiveOperationException
+	{
+		final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return restore(classLoader != null ? classLoader : Snapshot.class.getClassLoader());
+	}
+
+	/**
+	 * Restores a new graph from this snapshot and resolves the classes with the given class loader
+	 *
+	 * @param classLoader
+	 *            the class loader that resolves the classes of the snapshot
+	 * @return the restored root object
+	 * @throws ReflectiveOperationException
+	 *             Thrown if a class of the snapshot cannot be found or instantiated or an enum
+	 *             constant does not exist anymore
+	 */
+	public Object restore(final ClassLoader classLoader) throws ReflectiveOperationException
+	{
+		// every restore reads over its own position, so restores can run concurrently
+		return new SnapshotReader(buffer.duplicate(), classLoader).read();
+	}
+
+	/**
+	 * Gets the number of the bytes of this snapshot
+	 *
+	 * @return the number of the bytes
+	 */
+	public int size()
+	{
+		return buffer.remaining();
+	}
+
+	/**
+	 * Gets a read-only view of the content of this snapshot
+	 *
+	 * @return the read-only buffer with the content of this snapshot
+	 */
+	public ByteBuffer asByteBuffer()
+	{
+		return buffer.duplicate();
+	}
+
+}
@@ -0,0 +1,195 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.Set;
+
+/**
+ * The class {@link SnapshotFormat} holds the constants of the binary layout of a {@link Snapshot}.
+ * <p>
+ * A snapshot starts with a header of the magic number, the format version, the offset of the
+ * class table and the number of the records. The value of the root object follows, then one
+ * record for every object with identity in the order of discovery and at the end the class table.
+ * A record consists of the index of its class in the class table, the length of its body and the
+ * body. A value is a tag byte that is followed by the payload of the tag, a reference to a record
+ * is the tag {@link #REF} and the index of the record. The class table describes for every class
+ * its name, its record kind and for objects the name and the type of every field, so a snapshot
+ * can be restored into a class that has gained or lost fields
+ */
+final class SnapshotFormat
+{
+
+	/** The magic number at the start of a snapshot, the characters "JOCS" */
+	static final int MAGIC = 0x4A4F4353;
+
+	/** The version of the binary layout */
+	static final short VERSION = 1;
+
+	/** The byte offset of the offset of the class table in the header */
+	static final int CLASS_TABLE_OFFSET_POSITION = 6;
+
+	/** The number of the bytes of the header */
+	static final int HEADER_SIZE = 14;
+
+	/** The tag of the null value */
+	static final byte NULL = 0;
+
+	/** The tag of a reference to a record and the type of a reference field */
+	static final byte REF = 1;
+
+	/** The tag of a string */
+	static final byte STRING = 2;
+
+	/** The tag of a boolean value and the type of a boolean field */
+	static final byte BOOLEAN = 3;
+
+	/** The tag of a byte value and the type of a byte field */
+	static final byte BYTE = 4;
+
+	/** The tag of a char value and the type of a char field */
+	static final byte CHAR = 5;
+
+	/** The tag of a short value and the type of a short field */
+	static final byte SHORT = 6;
+
+	/** The tag of an int value and the type of an int field */
+	static final byte INT = 7;
+
+	/** The tag of a long value and the type of a long field */
+	static final byte LONG = 8;
+
+	/** The tag of a float value and the type of a float field */
+	static final byte FLOAT = 9;
+
+	/** The tag of a double value and the type of a double field */
+	static final byte DOUBLE = 10;
+
+	/** The tag of an enum constant, followed by the index of the enum class and the name */
+	static final byte ENUM = 11;
+
+	/** The tag of a big integer, followed by the bytes of its two's-complement representation */
+	static final byte BIG_INTEGER = 12;
+
+	/** The tag of a big decimal, followed by the scale and the bytes of the unscaled value */
+	static final byte BIG_DECIMAL = 13;
+
+	/** The tag of an uuid, followed by its most and least significant bits */
+	static final byte UUID = 14;
+
+	/** The tag of a value that is restored by parsing its text, followed by its class and text */
+	static final byte TEXT = 15;
+
+	/** The record kind of an object with fields */
+	static final byte OBJECT_RECORD = 0;
+
+	/** The record kind of an array */
+	static final byte ARRAY_RECORD = 1;
+
+	/** The record kind of a collection or a map of the JDK */
+	static final byte COLLECTION_RECORD = 2;
+
+	/** The record kind of a {@link java.util.Date} */
+	static final byte DATE_RECORD = 3;
+
+	/** The kind of a class that has no records but is referenced by the values of a snapshot */
+	static final byte VALUE_CLASS = 4;
+
+	/** The immutable classes of the JDK that are written as their text and restored with parse */
+	static final Set<Class<?>> TEXT_TYPES = Set.of(Duration.class, Instant.class,
+		LocalDate.class, LocalDateTime.class, LocalTime.class, MonthDay.class,
+		OffsetDateTime.class, OffsetTime.class, Period.class, Year.class, YearMonth.class,
+		ZonedDateTime.class);
+
+	private SnapshotFormat()
+	{
+	}
+
+	/**
+	 * Gets the key of the given field in the class table, which is unique among the fields of a
+	 * class and its superclasses
+	 *
+	 * @param field
+	 *            the field
+	 * @return the key of the field
+	 */
+	static String keyOf(final Field field)
+	{
+		return field.getDeclaringClass().getName() + '.' + field.getName();
+	}
+
+	/**
+	 * Gets the tag of the given primitive type
+	 *
+	 * @param type
+	 *            the primitive type
+	 * @return the tag of the given primitive type
+	 */
+	static byte tagOf(final Class<?> type)
+	{
+		if (type == boolean.class)
+		{
+			return BOOLEAN;
+		}
+		if (type == byte.class)
+		{
+			return BYTE;
+		}
+		if (type == char.class)
+		{
+			return CHAR;
+		}
+		if (type == short.class)
+		{
+			return SHORT;
+		}
+		if (type == int.class)
+		{
+			return INT;
+		}
+		if (type == long.class)
+		{
+			return LONG;
+		}
+		if (type == float.class)
+		{
+			return FLOAT;
+		}
+		return DOUBLE;
+	}
+
+}
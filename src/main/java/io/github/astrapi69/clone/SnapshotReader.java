@@ -0,0 +1,471 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The class {@link SnapshotReader} restores an object graph from the binary layout that is
+ * described in {@link SnapshotFormat}. The restore runs in three passes over the records. The first
+ * pass allocates every object, so references to later records can be resolved, the second pass
+ * fills the fields and the arrays and the last pass fills the collections and maps in the order of
+ * containment of {@link DeferredInserts}, so the hash codes of the elements are computed from
+ * filled objects
+ */
+final class SnapshotReader
+{
+
+	/** The methods that parse the text of the classes in {@link SnapshotFormat#TEXT_TYPES} */
+	private static final ClassValue<Method> PARSE_METHODS = new ClassValue<>()
+	{
+		@Override
+		protected Method computeValue(final Class<?> type)
+		{
+			try
+			{
+				return type.getMethod("parse", CharSequence.class);
+			}
+			catch (NoSuchMethodException e)
+			{
+				throw new IllegalStateException(e);
+			}
+		}
+	};
+
+	/** The buffer of the snapshot with its own position */
+	private final ByteBuffer buffer;
+
+	/** The class loader that resolves the classes of the class table */
+	private final ClassLoader classLoader;
+
+	/** The descriptors of the class table */
+	private ClassDescriptor[] descriptors;
+
+	/** The restored objects in the order of their records */
+	private Object[] objects;
+
+	/** The collections and maps that are filled in the last pass with their elements */
+	private final DeferredInserts deferredInserts = new DeferredInserts();
+
+	/** The index of the next collection or map in the deferred inserts that gets its elements */
+	private int nextDeferredInsert;
+
+	/**
+	 * Instantiates a new {@link SnapshotReader}
+	 *
+	 * @param buffer
+	 *            the buffer of the snapshot, the position of the buffer is changed by the reader
+	 * @param classLoader
+	 *            the class loader that resolves the classes of the snapshot
+	 */
+	SnapshotReader(final ByteBuffer buffer, final ClassLoader classLoader)
+	{
+		this.buffer = buffer;
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * Restores the root object of the snapshot
+	 *
+	 * @return the restored root object
+	 * @throws ClassNotFoundException
+	 *             Thrown if a class of the snapshot cannot be found
+	 * @throws NoSuchFieldException
+	 *             Thrown if an enum constant of the snapshot does not exist anymore
+	 * @throws InstantiationException
+	 *             Thrown if a class of the snapshot cannot be instantiated
+	 * @throws IllegalAccessException
+	 *             Thrown if a constructor or a parse method is inaccessible
+	 * @throws InvocationTargetException
+	 *             Thrown if a constructor or a parse method throws an exception
+	 */
+	Object read() throws ClassNotFoundException, NoSuchFieldException, InstantiationException,
+		IllegalAccessException, InvocationTargetException
+	{
+		final int classTableOffset = buffer.getInt(SnapshotFormat.CLASS_TABLE_OFFSET_POSITION);
+		final int recordCount = buffer.getInt(SnapshotFormat.CLASS_TABLE_OFFSET_POSITION + 4);
+		buffer.position(classTableOffset);
+		readClassTable();
+		objects = new Object[recordCount];
+		buffer.position(SnapshotFormat.HEADER_SIZE);
+		skipValue();
+		final int recordsOffset = buffer.position();
+		for (int i = 0; i < recordCount; i++)
+		{
+			allocate(i);
+		}
+		buffer.position(recordsOffset);
+		for (int i = 0; i < recordCount; i++)
+		{
+			fill(i);
+		}
+		deferredInserts.insertAll();
+		buffer.position(SnapshotFormat.HEADER_SIZE);
+		return readValue();
+	}
+
+	private void readClassTable() throws ClassNotFoundException
+	{
+		descriptors = new ClassDescriptor[buffer.getInt()];
+		for (int i = 0; i < descriptors.length; i++)
+		{
+			final Class<?> type = Class.forName(readString(), false, classLoader);
+			final byte kind = buffer.get();
+			final ClassDescriptor descriptor = new ClassDescriptor(type, kind);
+			if (kind == SnapshotFormat.COLLECTION_RECORD)
+			{
+				descriptor.collectionKind = CollectionCloner.Kind.valueOf(readString());
+			}
+			else if (kind == SnapshotFormat.OBJECT_RECORD)
+			{
+				readFieldTable(descriptor);
+			}
+			descriptors[i] = descriptor;
+		}
+	}
+
+	private void readFieldTable(final ClassDescriptor descriptor)
+	{
+		final ClonePlan plan = ClonePlan.of(descriptor.type);
+		final Map<String, FieldAccessor> accessors = new HashMap<>();
+		if (plan.isDeepCloneSupported() && plan.getPrimitiveFieldAccessors() != null)
+		{
+			for (FieldAccessor accessor : plan.getPrimitiveFieldAccessors())
+			{
+				accessors.put(SnapshotFormat.keyOf(accessor.getField()), accessor);
+			}
+			for (FieldAccessor accessor : plan.getReferenceFieldAccessors())
+			{
+				accessors.put(SnapshotFormat.keyOf(accessor.getField()), accessor);
+			}
+		}
+		final int fieldCount = buffer.getInt();
+		descriptor.fieldTypes = new byte[fieldCount];
+		descriptor.fieldAccessors = new FieldAccessor[fieldCount];
+		for (int i = 0; i < fieldCount; i++)
+		{
+			final FieldAccessor accessor = accessors.get(readString());
+			final byte fieldType = buffer.get();
+			descriptor.fieldTypes[i] = fieldType;
+			// a field that was removed or whose type has changed is read and discarded
+			if (accessor != null && fieldType == typeOf(accessor.getField().getType()))
+			{
+				descriptor.fieldAccessors[i] = accessor;
+			}
+		}
+	}
+
+	private static byte typeOf(final Class<?> fieldType)
+	{
+		return fieldType.isPrimitive() ? SnapshotFormat.tagOf(fieldType) : SnapshotFormat.REF;
+	}
+
+	private void allocate(final int index)
+		throws InstantiationException, IllegalAccessException, InvocationTargetException
+	{
+		final ClassDescriptor descriptor = descriptors[buffer.getInt()];
+		final int bodyLength = buffer.getInt();
+		final int end = buffer.position() + bodyLength;
+		switch (descriptor.kind)
+		{
+			case SnapshotFormat.ARRAY_RECORD :
+				objects[index] = allocateArray(descriptor.type.getComponentType());
+				break;
+			case SnapshotFormat.COLLECTION_RECORD :
+				final CollectionCloner.Kind kind = descriptor.collectionKind;
+				final Object target = CollectionCloner.newTarget(kind, buffer.getInt(), null);
+				objects[index] = CollectionCloner.wrap(target, kind);
+				// the elements are read in the second pass
+				deferredInserts.add(target, objects[index], null);
+				break;
+			case SnapshotFormat.DATE_RECORD :
+				objects[index] = new Date(buffer.getLong());
+				break;
+			default :
+				final Instantiator instantiator = ClonePlan.of(descriptor.type).getInstantiator();
+				if (instantiator == null)
+				{
+					throw new InstantiationException(
+						"The class " + descriptor.type.getName() + " cannot be instantiated");
+				}
+				objects[index] = instantiator.newInstance();
+		}
+		buffer.position(end);
+	}
+
+	private Object allocateArray(final Class<?> componentType)
+	{
+		final int length = buffer.getInt();
+		if (!componentType.isPrimitive())
+		{
+			return Array.newInstance(componentType, length);
+		}
+		// the primitive arrays are read completely in bulk over a view of the buffer
+		if (componentType == byte.class)
+		{
+			final byte[] array = new byte[length];
+			buffer.get(array);
+			return array;
+		}
+		if (componentType == int.class)
+		{
+			final int[] array = new int[length];
+			buffer.asIntBuffer().get(array);
+			return array;
+		}
+		if (componentType == long.class)
+		{
+			final long[] array = new long[length];
+			buffer.asLongBuffer().get(array);
+			return array;
+		}
+		if (componentType == double.class)
+		{
+			final double[] array = new double[length];
+			buffer.asDoubleBuffer().get(array);
+			return array;
+		}
+		if (componentType == float.class)
+		{
+			final float[] array = new float[length];
+			buffer.asFloatBuffer().get(array);
+			return array;
+		}
+		if (componentType == char.class)
+		{
+			final char[] array = new char[length];
+			buffer.asCharBuffer().get(array);
+			return array;
+		}
+		if (componentType == short.class)
+		{
+			final short[] array = new short[length];
+			buffer.asShortBuffer().get(array);
+			return array;
+		}
+		final boolean[] array = new boolean[length];
+		for (int i = 0; i < length; i++)
+		{
+			array[i] = buffer.get() != 0;
+		}
+		return array;
+	}
+
+	private void fill(final int index) throws NoSuchFieldException, IllegalAccessException,
+		InvocationTargetException
+	{
+		final ClassDescriptor descriptor = descriptors[buffer.getInt()];
+		final int bodyLength = buffer.getInt();
+		final int end = buffer.position() + bodyLength;
+		final Object object = objects[index];
+		if (descriptor.kind == SnapshotFormat.OBJECT_RECORD)
+		{
+			fillFields(object, descriptor);
+		}
+		else if (descriptor.kind == SnapshotFormat.ARRAY_RECORD && object instanceof Object[])
+		{
+			final Object[] array = (Object[])object;
+			buffer.getInt();
+			for (int i = 0; i < array.length; i++)
+			{
+				array[i] = readValue();
+			}
+		}
+		else if (descriptor.kind == SnapshotFormat.COLLECTION_RECORD)
+		{
+			final int size = buffer.getInt();
+			final Object[] elements = new Object[object instanceof Map ? size * 2 : size];
+			for (int i = 0; i < elements.length; i++)
+			{
+				elements[i] = readValue();
+			}
+			// the collections are filled in the order of their allocation
+			deferredInserts.setElements(nextDeferredInsert++, elements);
+		}
+		buffer.position(end);
+	}
+
+	private void fillFields(final Object object, final ClassDescriptor descriptor)
+		throws NoSuchFieldException, IllegalAccessException, InvocationTargetException
+	{
+		final FieldAccessor[] accessors = descriptor.fieldAccessors;
+		for (int i = 0; i < accessors.length; i++)
+		{
+			final byte fieldType = descriptor.fieldTypes[i];
+			final Object value = fieldType == SnapshotFormat.REF ? readValue()
+				: readPrimitive(fieldType);
+			final FieldAccessor accessor = accessors[i];
+			if (accessor != null && (value == null || fieldType != SnapshotFormat.REF
+				|| accessor.getField().getType().isInstance(value)))
+			{
+				accessor.set(object, value);
+			}
+		}
+	}
+
+	private Object readPrimitive(final byte tag)
+	{
+		switch (tag)
+		{
+			case SnapshotFormat.BOOLEAN :
+				return buffer.get() != 0;
+			case SnapshotFormat.BYTE :
+				return buffer.get();
+			case SnapshotFormat.CHAR :
+				return buffer.getChar();
+			case SnapshotFormat.SHORT :
+				return buffer.getShort();
+			case SnapshotFormat.INT :
+				return buffer.getInt();
+			case SnapshotFormat.LONG :
+				return buffer.getLong();
+			case SnapshotFormat.FLOAT :
+				return buffer.getFloat();
+			default :
+				return buffer.getDouble();
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object readValue()
+		throws NoSuchFieldException, IllegalAccessException, InvocationTargetException
+	{
+		final byte tag = buffer.get();
+		switch (tag)
+		{
+			case SnapshotFormat.NULL :
+				return null;
+			case SnapshotFormat.REF :
+				return objects[buffer.getInt()];
+			case SnapshotFormat.STRING :
+				return readString();
+			case SnapshotFormat.ENUM :
+				final Class enumType = descriptors[buffer.getInt()].type;
+				final String name = readString();
+				try
+				{
+					return Enum.valueOf(enumType, name);
+				}
+				catch (IllegalArgumentException e)
+				{
+					throw new NoSuchFieldException(
+						"The enum " + enumType.getName() + " has no constant " + name);
+				}
+			case SnapshotFormat.BIG_INTEGER :
+				return new BigInteger(readBytes());
+			case SnapshotFormat.BIG_DECIMAL :
+				final int scale = buffer.getInt();
+				return new BigDecimal(new BigInteger(readBytes()), scale);
+			case SnapshotFormat.UUID :
+				return new UUID(buffer.getLong(), buffer.getLong());
+			case SnapshotFormat.TEXT :
+				final Class<?> textType = descriptors[buffer.getInt()].type;
+				return PARSE_METHODS.get(textType).invoke(null, readString());
+			default :
+				return readPrimitive(tag);
+		}
+	}
+
+	private void skipValue()
+	{
+		final byte tag = buffer.get();
+		switch (tag)
+		{
+			case SnapshotFormat.NULL :
+				break;
+			case SnapshotFormat.ENUM :
+			case SnapshotFormat.BIG_DECIMAL :
+			case SnapshotFormat.TEXT :
+				buffer.getInt();
+				readBytes();
+				break;
+			case SnapshotFormat.STRING :
+			case SnapshotFormat.BIG_INTEGER :
+				readBytes();
+				break;
+			case SnapshotFormat.UUID :
+				buffer.position(buffer.position() + 16);
+				break;
+			case SnapshotFormat.REF :
+				buffer.getInt();
+				break;
+			default :
+				readPrimitive(tag);
+		}
+	}
+
+	private String readString()
+	{
+		return new String(readBytes(), StandardCharsets.UTF_8);
+	}
+
+	private byte[] readBytes()
+	{
+		final byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * The class {@link ClassDescriptor} holds an entry of the class table that is resolved against
+	 * the classes of the current class loader
+	 */
+	private static final class ClassDescriptor
+	{
+
+		/** The resolved class */
+		private final Class<?> type;
+
+		/** The record kind of the class */
+		private final byte kind;
+
+		/** The kind of a collection or map class */
+		private CollectionCloner.Kind collectionKind;
+
+		/** The types of the written fields of an object class */
+		private byte[] fieldTypes;
+
+		/** The accessors of the written fields or null for a field that is discarded */
+		private FieldAccessor[] fieldAccessors;
+
+		ClassDescriptor(final Class<?> type, final byte kind)
+		{
+			this.type = type;
+			this.kind = kind;
+		}
+
+	}
+
+}
@@ -0,0 +1,470 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The class {@link SnapshotWriter} writes an object graph into the binary layout that is described
+ * in {@link SnapshotFormat}. The graph is traversed breadth first over a queue of the discovered
+ * objects, so the depth of the graph is not limited by the call stack
+ */
+final class SnapshotWriter
+{
+
+	/** The initial capacity of the buffer */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/** The map from the discovered objects to their record indexes */
+	private final IdentityTable recordIndexes = new IdentityTable();
+
+	/** The discovered objects in the order of their record indexes */
+	private final List<Object> records = new ArrayList<>();
+
+	/** The map from the classes to their indexes in the class table */
+	private final Map<Class<?>, Integer> classIndexes = new HashMap<>();
+
+	/** The classes in the order of their indexes */
+	private final List<Class<?>> classes = new ArrayList<>();
+
+	/** The growing buffer */
+	private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+	/**
+	 * Writes the graph that is reachable from the given root object
+	 *
+	 * @param root
+	 *            the root object
+	 * @return the buffer with the written graph, flipped for reading
+	 * @throws IllegalArgumentException
+	 *             Thrown if an object of the graph cannot be written into a snapshot
+	 */
+	ByteBuffer write(final Object root)
+	{
+		ensureCapacity(SnapshotFormat.HEADER_SIZE);
+		buffer.putInt(SnapshotFormat.MAGIC);
+		buffer.putShort(SnapshotFormat.VERSION);
+		// the offset of the class table and the number of the records are written at the end
+		buffer.putInt(0);
+		buffer.putInt(0);
+		writeValue(root);
+		for (int i = 0; i < records.size(); i++)
+		{
+			writeRecord(records.get(i));
+		}
+		final int classTableOffset = buffer.position();
+		writeClassTable();
+		buffer.putInt(SnapshotFormat.CLASS_TABLE_OFFSET_POSITION, classTableOffset);
+		buffer.putInt(SnapshotFormat.CLASS_TABLE_OFFSET_POSITION + 4, records.size());
+		buffer.flip();
+		return buffer;
+	}
+
+	private void ensureCapacity(final int bytes)
+	{
+		if (buffer.remaining() < bytes)
+		{
+			final ByteBuffer grown = ByteBuffer
+				.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+			buffer.flip();
+			grown.put(buffer);
+			buffer = grown;
+		}
+	}
+
+	private int classIndexOf(final Class<?> type)
+	{
+		final Integer index = classIndexes.get(type);
+		if (index != null)
+		{
+			return index;
+		}
+		classIndexes.put(type, classes.size());
+		classes.add(type);
+		return classes.size() - 1;
+	}
+
+	private void writeValue(final Object value)
+	{
+		if (value == null)
+		{
+			ensureCapacity(1);
+			buffer.put(SnapshotFormat.NULL);
+			return;
+		}
+		final Class<?> type = value.getClass();
+		if (type == String.class)
+		{
+			ensureCapacity(1);
+			buffer.put(SnapshotFormat.STRING);
+			writeString((String)value);
+		}
+		else if (type == Integer.class)
+		{
+			ensureCapacity(5);
+			buffer.put(SnapshotFormat.INT).putInt((Integer)value);
+		}
+		else if (type == Long.class)
+		{
+			ensureCapacity(9);
+			buffer.put(SnapshotFormat.LONG).putLong((Long)value);
+		}
+		else if (type == Double.class)
+		{
+			ensureCapacity(9);
+			buffer.put(SnapshotFormat.DOUBLE).putDouble((Double)value);
+		}
+		else if (type == Boolean.class)
+		{
+			ensureCapacity(2);
+			buffer.put(SnapshotFormat.BOOLEAN).put((byte)((Boolean)value ? 1 : 0));
+		}
+		else if (type == Byte.class)
+		{
+			ensureCapacity(2);
+			buffer.put(SnapshotFormat.BYTE).put((Byte)value);
+		}
+		else if (type == Character.class)
+		{
+			ensureCapacity(3);
+			buffer.put(SnapshotFormat.CHAR).putChar((Character)value);
+		}
+		else if (type == Short.class)
+		{
+			ensureCapacity(3);
+			buffer.put(SnapshotFormat.SHORT).putShort((Short)value);
+		}
+		else if (type == Float.class)
+		{
+			ensureCapacity(5);
+			buffer.put(SnapshotFormat.FLOAT).putFloat((Float)value);
+		}
+		else if (value instanceof Enum)
+		{
+			ensureCapacity(5);
+			buffer.put(SnapshotFormat.ENUM)
+				.putInt(classIndexOf(((Enum<?>)value).getDeclaringClass()));
+			writeString(((Enum<?>)value).name());
+		}
+		else if (type == BigInteger.class)
+		{
+			ensureCapacity(1);
+			buffer.put(SnapshotFormat.BIG_INTEGER);
+			writeBytes(((BigInteger)value).toByteArray());
+		}
+		else if (type == BigDecimal.class)
+		{
+			ensureCapacity(5);
+			buffer.put(SnapshotFormat.BIG_DECIMAL).putInt(((BigDecimal)value).scale());
+			writeBytes(((BigDecimal)value).unscaledValue().toByteArray());
+		}
+		else if (type == UUID.class)
+		{
+			ensureCapacity(17);
+			buffer.put(SnapshotFormat.UUID).putLong(((UUID)value).getMostSignificantBits())
+				.putLong(((UUID)value).getLeastSignificantBits());
+		}
+		else if (SnapshotFormat.TEXT_TYPES.contains(type))
+		{
+			ensureCapacity(5);
+			buffer.put(SnapshotFormat.TEXT).putInt(classIndexOf(type));
+			writeString(value.toString());
+		}
+		else
+		{
+			ensureCapacity(5);
+			buffer.put(SnapshotFormat.REF).putInt(recordIndexOf(value));
+		}
+	}
+
+	private int recordIndexOf(final Object value)
+	{
+		final Object index = recordIndexes.get(value);
+		if (index != null)
+		{
+			return (Integer)index;
+		}
+		checkWritable(value);
+		recordIndexes.put(value, records.size());
+		records.add(value);
+		return records.size() - 1;
+	}
+
+	private static void checkWritable(final Object value)
+	{
+		final ClonePlan plan = ClonePlan.of(value.getClass());
+		final boolean writable;
+		if (plan.getStrategy() == CloneStrategy.ARRAY || value.getClass() == Date.class)
+		{
+			writable = true;
+		}
+		else if (plan.getStrategy() == CloneStrategy.COLLECTION)
+		{
+			writable = plan.getCollectionKind() != CollectionCloner.Kind.ENUM_SET
+				&& plan.getCollectionKind() != CollectionCloner.Kind.ENUM_MAP
+				&& CollectionCloner.comparatorOf(value) == null
+				&& !CollectionCloner.isAccessOrdered(value);
+		}
+		else
+		{
+			writable = plan.isDeepCloneSupported() && plan.getPrimitiveFieldAccessors() != null;
+		}
+		if (!writable)
+		{
+			throw new IllegalArgumentException(
+				"Given object of the class " + plan.getType().getName()
+					+ " cannot be written into a snapshot");
+		}
+	}
+
+	private void writeRecord(final Object object)
+	{
+		final ClonePlan plan = ClonePlan.of(object.getClass());
+		ensureCapacity(8);
+		buffer.putInt(classIndexOf(plan.getType()));
+		final int lengthPosition = buffer.position();
+		buffer.putInt(0);
+		if (plan.getStrategy() == CloneStrategy.ARRAY)
+		{
+			writeArray(object);
+		}
+		else if (plan.getStrategy() == CloneStrategy.COLLECTION)
+		{
+			writeCollection(object);
+		}
+		else if (object.getClass() == Date.class)
+		{
+			ensureCapacity(8);
+			buffer.putLong(((Date)object).getTime());
+		}
+		else
+		{
+			writeFields(object, plan);
+		}
+		buffer.putInt(lengthPosition, buffer.position() - lengthPosition - 4);
+	}
+
+	private void writeFields(final Object object, final ClonePlan plan)
+	{
+		for (FieldAccessor accessor : plan.getPrimitiveFieldAccessors())
+		{
+			writePrimitive(accessor.getField().getType(), accessor.get(object));
+		}
+		for (FieldAccessor accessor : plan.getReferenceFieldAccessors())
+		{
+			writeValue(accessor.get(object));
+		}
+	}
+
+	private void writePrimitive(final Class<?> type, final Object value)
+	{
+		ensureCapacity(8);
+		switch (SnapshotFormat.tagOf(type))
+		{
+			case SnapshotFormat.BOOLEAN :
+				buffer.put((byte)((Boolean)value ? 1 : 0));
+				break;
+			case SnapshotFormat.BYTE :
+				buffer.put((Byte)value);
+				break;
+			case SnapshotFormat.CHAR :
+				buffer.putChar((Character)value);
+				break;
+			case SnapshotFormat.SHORT :
+				buffer.putShort((Short)value);
+				break;
+			case SnapshotFormat.INT :
+				buffer.putInt((Integer)value);
+				break;
+			case SnapshotFormat.LONG :
+				buffer.putLong((Long)value);
+				break;
+			case SnapshotFormat.FLOAT :
+				buffer.putFloat((Float)value);
+				break;
+			default :
+				buffer.putDouble((Double)value);
+		}
+	}
+
+	private void writeArray(final Object array)
+	{
+		if (array instanceof Object[])
+		{
+			final Object[] elements = (Object[])array;
+			ensureCapacity(4);
+			buffer.putInt(elements.length);
+			for (Object element : elements)
+			{
+				writeValue(element);
+			}
+			return;
+		}
+		final int length = java.lang.reflect.Array.getLength(array);
+		ensureCapacity(4 + length * 8);
+		buffer.putInt(length);
+		// the primitive arrays are written in bulk over a view of the buffer
+		if (array instanceof byte[])
+		{
+			buffer.put((byte[])array);
+		}
+		else if (array instanceof int[])
+		{
+			buffer.asIntBuffer().put((int[])array);
+			buffer.position(buffer.position() + length * 4);
+		}
+		else if (array instanceof long[])
+		{
+			buffer.asLongBuffer().put((long[])array);
+			buffer.position(buffer.position() + length * 8);
+		}
+		else if (array instanceof double[])
+		{
+			buffer.asDoubleBuffer().put((double[])array);
+			buffer.position(buffer.position() + length * 8);
+		}
+		else if (array instanceof float[])
+		{
+			buffer.asFloatBuffer().put((float[])array);
+			buffer.position(buffer.position() + length * 4);
+		}
+		else if (array instanceof char[])
+		{
+			buffer.asCharBuffer().put((char[])array);
+			buffer.position(buffer.position() + length * 2);
+		}
+		else if (array instanceof short[])
+		{
+			buffer.asShortBuffer().put((short[])array);
+			buffer.position(buffer.position() + length * 2);
+		}
+		else
+		{
+			for (boolean element : (boolean[])array)
+			{
+				buffer.put((byte)(element ? 1 : 0));
+			}
+		}
+	}
+
+	private void writeCollection(final Object collection)
+	{
+		ensureCapacity(4);
+		if (collection instanceof Map)
+		{
+			final Map<?, ?> map = (Map<?, ?>)collection;
+			buffer.putInt(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet())
+			{
+				writeValue(entry.getKey());
+				writeValue(entry.getValue());
+			}
+			return;
+		}
+		final Collection<?> elements = (Collection<?>)collection;
+		buffer.putInt(elements.size());
+		for (Object element : elements)
+		{
+			writeValue(element);
+		}
+	}
+
+	private void writeClassTable()
+	{
+		ensureCapacity(4);
+		buffer.putInt(classes.size());
+		for (Class<?> type : classes)
+		{
+			writeString(type.getName());
+			final ClonePlan plan = ClonePlan.of(type);
+			ensureCapacity(1);
+			if (type.isEnum() || SnapshotFormat.TEXT_TYPES.contains(type))
+			{
+				buffer.put(SnapshotFormat.VALUE_CLASS);
+			}
+			else if (plan.getStrategy() == CloneStrategy.ARRAY)
+			{
+				buffer.put(SnapshotFormat.ARRAY_RECORD);
+			}
+			else if (plan.getStrategy() == CloneStrategy.COLLECTION)
+			{
+				buffer.put(SnapshotFormat.COLLECTION_RECORD);
+				writeString(plan.getCollectionKind().name());
+			}
+			else if (type == Date.class)
+			{
+				buffer.put(SnapshotFormat.DATE_RECORD);
+			}
+			else
+			{
+				buffer.put(SnapshotFormat.OBJECT_RECORD);
+				writeFieldTable(plan);
+			}
+		}
+	}
+
+	private void writeFieldTable(final ClonePlan plan)
+	{
+		final FieldAccessor[] primitives = plan.getPrimitiveFieldAccessors();
+		final FieldAccessor[] references = plan.getReferenceFieldAccessors();
+		ensureCapacity(4);
+		buffer.putInt(primitives.length + references.length);
+		for (FieldAccessor accessor : primitives)
+		{
+			writeString(SnapshotFormat.keyOf(accessor.getField()));
+			ensureCapacity(1);
+			buffer.put(SnapshotFormat.tagOf(accessor.getField().getType()));
+		}
+		for (FieldAccessor accessor : references)
+		{
+			writeString(SnapshotFormat.keyOf(accessor.getField()));
+			ensureCapacity(1);
+			buffer.put(SnapshotFormat.REF);
+		}
+	}
+
+	private void writeString(final String value)
+	{
+		writeBytes(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void writeBytes(final byte[] bytes)
+	{
+		ensureCapacity(4 + bytes.length);
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+	}
+
+}
@@ -0,0 +1,321 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The class {@link StrategySelection} samples the cost of every strategy that is available for a
+ * class and selects the fastest one after each strategy was measured a given number of times. The
+ * first run of each strategy is not measured, because it includes one-time costs like the
+ * generation of a cloner class. Strategies that fail or give an incorrect result are rejected
+ */
+final class StrategySelection
+{
+
+	/** The prefix of the system property that overrides the strategy of a class */
+	static final String PROPERTY_PREFIX = "io.github.astrapi69.clone.strategy.";
+
+	/** The strategies that are sampled */
+	private final CloneStrategy[] candidates;
+
+	/** The strategy that is used by default or null if no default strategy can be applied */
+	private final CloneStrategy primary;
+
+	/** The number of the measured runs that are needed of each strategy */
+	private final int samples;
+
+	/** The sum of the measured nanoseconds of each strategy */
+	private final long[] totalNanos;
+
+	/** The number of the runs of each strategy including the first unmeasured one */
+	private final int[] runs;
+
+	/** The flags of the rejected strategies */
+	private final boolean[] rejected;
+
+	/** The selected strategy or null while the strategies are sampled */
+	private volatile CloneStrategy selected;
+
+	/** The strategy that an operator has chosen or null */
+	private volatile CloneStrategy override;
+
+	/** The flag that indicates that every strategy was rejected */
+	private volatile boolean exhausted;
+
+	/**
+	 * Instantiates a new {@link StrategySelection} for the class of the given clone plan
+	 *
+	 * @param plan
+	 *            the clone plan
+	 * @param samples
+	 *            the number of the measured runs that are needed of each strategy
+	 */
+	StrategySelection(final ClonePlan plan, final int samples)
+	{
+		this.candidates = resolveCandidates(plan);
+		this.primary = resolvePrimary(plan);
+		this.samples = samples;
+		this.totalNanos = new long[candidates.length];
+		this.runs = new int[candidates.length];
+		this.rejected = new boolean[candidates.length];
+		this.exhausted = candidates.length == 0;
+		this.override = resolveOverride(plan.getType());
+	}
+
+	private static CloneStrategy[] resolveCandidates(final ClonePlan plan)
+	{
+		final List<CloneStrategy> candidates = new ArrayList<>();
+		if (plan.getStrategy() == CloneStrategy.ARRAY
+			|| plan.getStrategy() == CloneStrategy.COLLECTION
+			|| plan.getStrategy() == CloneStrategy.RECORD && plan.getRecordCloner() != null)
+		{
+			candidates.add(plan.getStrategy());
+		}
+		if (plan.getCloneableFailure() == null && Cloneable.class.isAssignableFrom(plan.getType()))
+		{
+			candidates.add(CloneStrategy.CLONEABLE);
+		}
+		if (plan.isReflectionSupported())
+		{
+			candidates.add(CloneStrategy.REFLECTION);
+		}
+		if (plan.getStrategy() != CloneStrategy.ARRAY && plan.getGeneratedCloner() != null)
+		{
+			candidates.add(CloneStrategy.GENERATED);
+		}
+		if (Serializable.class.isAssignableFrom(plan.getType()))
+		{
+			candidates.add(CloneStrategy.SERIALIZATION);
+		}
+		return candidates.toArray(new CloneStrategy[0]);
+	}
+
+	private static CloneStrategy resolvePrimary(final ClonePlan plan)
+	{
+		switch (plan.getStrategy())
+		{
+			case CLONEABLE :
+				return plan.getCloneableFailure() == null ? CloneStrategy.CLONEABLE : null;
+			case REFLECTION :
+				return plan.isReflectionSupported() ? CloneStrategy.REFLECTION : null;
+			default :
+				return plan.getStrategy();
+		}
+	}
+
+	private static CloneStrategy resolveOverride(final Class<?> type)
+	{
+		final String value = System.getProperty(PROPERTY_PREFIX + type.getName());
+		if (value == null)
+		{
+			return null;
+		}
+		try
+		{
+			return CloneStrategy.valueOf(value.trim());
+		}
+		catch (IllegalArgumentException e)
+		{
+			// an unknown strategy name is ignored
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the strategy to use, which is the strategy an operator has chosen or the selected one
+	 *
+	 * @return the strategy or null while the strategies are sampled
+	 */
+	CloneStrategy getStrategy()
+	{
+		final CloneStrategy strategy = override;
+		return strategy != null ? strategy : selected;
+	}
+
+	/**
+	 * Gets the strategy that {@link CloneObjectExtensions#cloneObject(Object)} uses by default
+	 *
+	 * @return the default strategy or null if no default strategy can be applied
+	 */
+	CloneStrategy getPrimary()
+	{
+		return primary;
+	}
+
+	/**
+	 * Sets the strategy that an operator has chosen
+	 *
+	 * @param override
+	 *            the chosen strategy or null for the strategy that is selected by the measured cost
+	 */
+	void setOverride(final CloneStrategy override)
+	{
+		this.override = override;
+	}
+
+	/**
+	 * Gets the next strategy to sample
+	 *
+	 * @return the strategy with the fewest runs or null if the sampling is over
+	 */
+	synchronized CloneStrategy nextCandidate()
+	{
+		if (selected != null || exhausted)
+		{
+			return null;
+		}
+		int next = -1;
+		for (int i = 0; i < candidates.length; i++)
+		{
+			if (!rejected[i] && (next < 0 || runs[i] < runs[next]))
+			{
+				next = i;
+			}
+		}
+		return next < 0 ? null : candidates[next];
+	}
+
+	/**
+	 * Records a run of the given strategy that gave a correct result
+	 *
+	 * @param strategy
+	 *            the strategy
+	 * @param nanos
+	 *            the measured nanoseconds of the run
+	 */
+	synchronized void record(final CloneStrategy strategy, final long nanos)
+	{
+		final int index = indexOf(strategy);
+		if (index < 0 || rejected[index])
+		{
+			return;
+		}
+		if (0 < runs[index])
+		{
+			totalNanos[index] += nanos;
+		}
+		runs[index]++;
+		select();
+	}
+
+	/**
+	 * Rejects the given strategy because it failed or gave an incorrect result
+	 *
+	 * @param strategy
+	 *            the strategy
+	 */
+	synchronized void reject(final CloneStrategy strategy)
+	{
+		final int index = indexOf(strategy);
+		if (0 <= index)
+		{
+			rejected[index] = true;
+			select();
+		}
+	}
+
+	/**
+	 * Rejects all strategies except the given one, because only the given one gives the expected
+	 * result
+	 *
+	 * @param strategy
+	 *            the strategy that is kept
+	 */
+	synchronized void rejectOthers(final CloneStrategy strategy)
+	{
+		for (int i = 0; i < candidates.length; i++)
+		{
+			rejected[i] = candidates[i] != strategy;
+		}
+		select();
+	}
+
+	/**
+	 * Gets the average measured nanoseconds of the strategies that are not rejected
+	 *
+	 * @return the average nanoseconds of each strategy that was measured at least once
+	 */
+	synchronized Map<CloneStrategy, Long> getAverageNanos()
+	{
+		final Map<CloneStrategy, Long> averageNanos = new EnumMap<>(CloneStrategy.class);
+		for (int i = 0; i < candidates.length; i++)
+		{
+			if (!rejected[i] && 1 < runs[i])
+			{
+				averageNanos.put(candidates[i], totalNanos[i] / (runs[i] - 1));
+			}
+		}
+		return Collections.unmodifiableMap(averageNanos);
+	}
+
+	private int indexOf(final CloneStrategy strategy)
+	{
+		for (int i = 0; i < candidates.length; i++)
+		{
+			if (candidates[i] == strategy)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void select()
+	{
+		int fastest = -1;
+		for (int i = 0; i < candidates.length; i++)
+		{
+			if (rejected[i])
+			{
+				continue;
+			}
+			if (runs[i] <= samples)
+			{
+				// the strategy has not yet been measured often enough
+				return;
+			}
+			if (fastest < 0 || totalNanos[i] / (runs[i] - 1) < totalNanos[fastest]
+				/ (runs[fastest] - 1))
+			{
+				fastest = i;
+			}
+		}
+		if (fastest < 0)
+		{
+			exhausted = true;
+		}
+		else
+		{
+			selected = candidates[fastest];
+		}
+	}
+
+}
@@ -0,0 +1,135 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The class {@link SyncSummary} describes what an incremental sync of a clone with its source has
+ * changed in the clone
+ *
+ * @see CloneObjectExtensions#syncClone(Object, Object)
+ */
+public final class SyncSummary
+{
+
+	/** The number of the objects of the clone that were compared with their source objects */
+	private final int comparedObjectCount;
+
+	/** The number of the fields, elements and entries of the clone that were changed */
+	private final int changedValueCount;
+
+	/** The number of the subgraphs of the clone that were replaced with new clones */
+	private final int replacedSubgraphCount;
+
+	/** The classes of the objects of the clone that were changed */
+	private final Set<Class<?>> changedClasses;
+
+	/**
+	 * Instantiates a new {@link SyncSummary}
+	 *
+	 * @param comparedObjectCount
+	 *            the number of the compared objects
+	 * @param changedValueCount
+	 *            the number of the changed fields, elements and entries
+	 * @param replacedSubgraphCount
+	 *            the number of the replaced subgraphs
+	 * @param changedClasses
+	 *            the classes of the changed objects
+	 */
+	SyncSummary(final int comparedObjectCount, final int changedValueCount,
+		final int replacedSubgraphCount, final Set<Class<?>> changedClasses)
+	{
+		this.comparedObjectCount = comparedObjectCount;
+		this.changedValueCount = changedValueCount;
+		this.replacedSubgraphCount = replacedSubgraphCount;
+		this.changedClasses = Collections.unmodifiableSet(changedClasses);
+	}
+
+	/**
+	 * Checks if the sync has changed the clone
+	 *
+	 * @return true if at least one value of the clone was changed otherwise false
+	 */
+	public boolean isChanged()
+	{
+		return changedValueCount != 0;
+	}
+
+	/**
+	 * Gets the number of the objects of the clone that were compared with their source objects
+	 *
+	 * @return the number of the compared objects
+	 */
+	public int getComparedObjectCount()
+	{
+		return comparedObjectCount;
+	}
+
+	/**
+	 * Gets the number of the fields, array elements and collection or map entries of the clone
+	 * that were changed
+	 *
+	 * @return the number of the changed values
+	 */
+	public int getChangedValueCount()
+	{
+		return changedValueCount;
+	}
+
+	/**
+	 * Gets the number of the subgraphs of the clone that were replaced with new clones, because
+	 * they had no counterpart in the clone that could be synced
+	 *
+	 * @return the number of the replaced subgraphs
+	 */
+	public int getReplacedSubgraphCount()
+	{
+		return replacedSubgraphCount;
+	}
+
+	/**
+	 * Gets the classes of the objects of the clone that were changed
+	 *
+	 * @return an unmodifiable set of the classes
+	 */
+	public Set<Class<?>> getChangedClasses()
+	{
+		return changedClasses;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "SyncSummary [comparedObjectCount=" + comparedObjectCount + ", changedValueCount="
+			+ changedValueCount + ", replacedSubgraphCount=" + replacedSubgraphCount
+			+ ", changedClasses=" + changedClasses + "]";
+	}
+
+}
@@ -0,0 +1,54 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+/**
+ * The interface {@link TypeCloner} clones the objects of one specific class without reflection.
+ * Implementations are generated for the classes that are annotated with {@link GenerateCloner}
+ * and can also be written by hand and provided as a service with the {@link java.util.ServiceLoader}
+ *
+ * @param <T>
+ *            the generic type of the cloned objects
+ */
+public interface TypeCloner<T>
+{
+
+	/**
+	 * Gets the class of the objects that this cloner clones
+	 *
+	 * @return the class
+	 */
+	Class<T> getType();
+
+	/**
+	 * Clone the given object
+	 *
+	 * @param source
+	 *            the object to clone, not null
+	 * @return the clone
+	 */
+	T clone(T source);
+
+}
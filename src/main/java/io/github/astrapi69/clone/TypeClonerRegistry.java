@@ -0,0 +1,83 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * The class {@link TypeClonerRegistry} finds the {@link TypeCloner} of a class. The cloners are
+ * provided as a service, which the annotation processor of the classes that are annotated with
+ * {@link GenerateCloner} does in {@code META-INF/services}, and are loaded once
+ */
+final class TypeClonerRegistry
+{
+
+	private TypeClonerRegistry()
+	{
+	}
+
+	/**
+	 * Finds the cloner of the given class
+	 *
+	 * @param type
+	 *            the class
+	 * @return the cloner or null if no cloner is provided for the given class
+	 */
+	static TypeCloner<?> find(final Class<?> type)
+	{
+		return Services.CLONERS.get(type);
+	}
+
+	/**
+	 * The holder of the cloners that are provided as a service, loaded on first use
+	 */
+	private static final class Services
+	{
+
+		private static final Map<Class<?>, TypeCloner<?>> CLONERS = load();
+
+		private static Map<Class<?>, TypeCloner<?>> load()
+		{
+			final Map<Class<?>, TypeCloner<?>> cloners = new HashMap<>();
+			try
+			{
+				for (TypeCloner<?> cloner : ServiceLoader.load(TypeCloner.class))
+				{
+					cloners.put(cloner.getType(), cloner);
+				}
+			}
+			catch (ServiceConfigurationError e)
+			{
+				// a broken provider stops the service lookup, the classes are copied by reflection
+			}
+			return cloners;
+		}
+
+	}
+
+}
@@ -0,0 +1,200 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import java.util.Arrays;
+
+/**
+ * The class {@link WorkStack} is an array-backed stack of the pending work of a deep clone. Each
+ * entry consists of a source object, its not yet filled clone, the clone plan of the source
+ * object and the depth of the source object in the graph. The entries are stored inline in one flat
+ * array and the depths in a parallel int array, so pushing and popping allocates nothing and the
+ * stack can be reused for many clones
+ */
+final class WorkStack
+{
+
+	/** The number of array slots of one entry */
+	private static final int ENTRY_SIZE = 3;
+
+	/** The flat array of the entries */
+	private Object[] elements;
+
+	/** The depths of the entries */
+	private int[] depths;
+
+	/** The number of used array slots */
+	private int size;
+
+	/** The source object of the last popped entry */
+	private Object source;
+
+	/** The clone of the last popped entry */
+	private Object clone;
+
+	/** The clone plan of the last popped entry */
+	private ClonePlan plan;
+
+	/** The depth of the last popped entry */
+	private int depth;
+
+	/**
+	 * Instantiates a new {@link WorkStack}
+	 */
+	WorkStack()
+	{
+		elements = new Object[16 * ENTRY_SIZE];
+		depths = new int[16];
+	}
+
+	/**
+	 * Pushes a new entry on this stack
+	 *
+	 * @param source
+	 *            the source object
+	 * @param clone
+	 *            the not yet filled clone of the source object
+	 * @param plan
+	 *            the clone plan of the source object or null if not needed
+	 */
+	void push(final Object source, final Object clone, final ClonePlan plan)
+	{
+		push(source, clone, plan, 0);
+	}
+
+	/**
+	 * Pushes a new entry with the given depth on this stack
+	 *
+	 * @param source
+	 *            the source object
+	 * @param clone
+	 *            the not yet filled clone of the source object
+	 * @param plan
+	 *            the clone plan of the source object or null if not needed
+	 * @param depth
+	 *            the depth of the source object in the graph
+	 */
+	void push(final Object source, final Object clone, final ClonePlan plan, final int depth)
+	{
+		if (size == elements.length)
+		{
+			elements = Arrays.copyOf(elements, size * 2);
+			depths = Arrays.copyOf(depths, depths.length * 2);
+		}
+		depths[size / ENTRY_SIZE] = depth;
+		elements[size] = source;
+		elements[size + 1] = clone;
+		elements[size + 2] = plan;
+		size += ENTRY_SIZE;
+	}
+
+	/**
+	 * Pops the top entry from this stack. The values of the popped entry can be accessed with
+	 * {@link #getSource()}, {@link #getClone()}, {@link #getPlan()} and {@link #getDepth()}
+	 *
+	 * @return true if an entry was popped or false if this stack is empty
+	 */
+	boolean pop()
+	{
+		if (size == 0)
+		{
+			source = null;
+			clone = null;
+			plan = null;
+			depth = 0;
+			return false;
+		}
+		size -= ENTRY_SIZE;
+		depth = depths[size / ENTRY_SIZE];
+		source = elements[size];
+		clone = elements[size + 1];
+		plan = (ClonePlan)elements[size + 2];
+		elements[size] = null;
+		elements[size + 1] = null;
+		elements[size + 2] = null;
+		return true;
+	}
+
+	/**
+	 * Gets the source object of the last popped entry
+	 *
+	 * @return the source object
+	 */
+	Object getSource()
+	{
+		return source;
+	}
+
+	/**
+	 * Gets the clone of the last popped entry
+	 *
+	 * @return the clone
+	 */
+	Object getClone()
+	{
+		return clone;
+	}
+
+	/**
+	 * Gets the clone plan of the last popped entry
+	 *
+	 * @return the clone plan
+	 */
+	ClonePlan getPlan()
+	{
+		return plan;
+	}
+
+	/**
+	 * Gets the depth of the last popped entry
+	 *
+	 * @return the depth
+	 */
+	int getDepth()
+	{
+		return depth;
+	}
+
+	/**
+	 * Checks if this stack is empty
+	 *
+	 * @return true if this stack is empty otherwise false
+	 */
+	boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Removes all entries from this stack
+	 */
+	void clear()
+	{
+		Arrays.fill(elements, 0, size, null);
+		size = 0;
+		pop();
+	}
+
+}
@@ -20,7 +20,22 @@
  */
 module jobj.cloner.main
 {
+	requires cloning;
+	// the metrics record flight recorder events and allocations only if these modules are present
+	requires static java.management;
+	requires static jdk.jfr;
+	requires static jdk.management;
+	// the constructor-less instantiation falls back to the no-arg constructor without it
+	requires static jdk.unsupported;
 	requires jobj.reflect.main;
 
 	exports io.github.astrapi69.clone;
+
+	uses io.github.astrapi69.clone.CloneBackend;
+	uses io.github.astrapi69.clone.TypeCloner;
+
+	provides io.github.astrapi69.clone.CloneBackend
+		with io.github.astrapi69.clone.CloneableCloneBackend,
+		io.github.astrapi69.clone.ReflectionCloneBackend,
+		io.github.astrapi69.clone.RitsCloneBackend;
 }
\ No newline at end of file
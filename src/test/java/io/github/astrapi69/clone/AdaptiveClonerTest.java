@@ -0,0 +1,210 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link AdaptiveCloner}
+ */
+public class AdaptiveClonerTest
+{
+
+	/**
+	 * Test method for {@link AdaptiveCloner#clone(Object)}
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testClone()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		AdaptiveCloner cloner;
+		Point expected;
+		Point actual;
+
+		cloner = new AdaptiveCloner(2);
+		expected = new Point();
+		expected.x = 3;
+		expected.label = new StringBuilder("p");
+		assertEquals(Optional.empty(), cloner.getStrategy(Point.class));
+		for (int i = 0; i < 20; i++)
+		{
+			actual = cloner.clone(expected);
+			assertNotSame(expected, actual);
+			assertEquals(3, actual.x);
+			// serialization copies the label and is rejected
+			assertSame(expected.label, actual.label);
+		}
+		assertTrue(cloner.getStrategy(Point.class).isPresent());
+		assertFalse(cloner.getAverageNanos(Point.class).containsKey(CloneStrategy.SERIALIZATION));
+		assertTrue(cloner.getAverageNanos(Point.class).containsKey(CloneStrategy.REFLECTION));
+		assertSame("text", cloner.clone("text"));
+	}
+
+	/**
+	 * Test method for {@link AdaptiveCloner#clone(Object)} with a clone method that gives its own
+	 * result
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCloneWithCloneMethod()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		AdaptiveCloner cloner;
+		Counter expected;
+		Counter actual;
+
+		cloner = new AdaptiveCloner(1);
+		expected = new Counter();
+		for (int i = 0; i < 10; i++)
+		{
+			actual = cloner.clone(expected);
+			assertEquals(expected.count + 1, actual.count);
+		}
+		assertEquals(Optional.of(CloneStrategy.CLONEABLE), cloner.getStrategy(Counter.class));
+	}
+
+	/**
+	 * Test method for {@link AdaptiveCloner#clone(Object)} with a list and a map of mutable
+	 * elements, which the serialization copies
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCloneCollections()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		AdaptiveCloner cloner;
+		ArrayList<StringBuilder> list;
+		HashMap<String, StringBuilder> map;
+		ArrayList<StringBuilder> actualList;
+		HashMap<String, StringBuilder> actualMap;
+
+		cloner = new AdaptiveCloner(2);
+		list = new ArrayList<>(List.of(new StringBuilder("a"), new StringBuilder("b")));
+		map = new HashMap<>(Map.of("a", new StringBuilder("a")));
+		for (int i = 0; i < 20; i++)
+		{
+			actualList = cloner.clone(list);
+			assertNotSame(list, actualList);
+			assertSame(list.get(1), actualList.get(1));
+			actualMap = cloner.clone(map);
+			assertNotSame(map, actualMap);
+			assertSame(map.get("a"), actualMap.get("a"));
+		}
+		assertFalse(
+			cloner.getAverageNanos(ArrayList.class).containsKey(CloneStrategy.SERIALIZATION));
+		assertFalse(
+			cloner.getAverageNanos(HashMap.class).containsKey(CloneStrategy.SERIALIZATION));
+	}
+
+	/**
+	 * Test method for {@link AdaptiveCloner#override(Class, CloneStrategy)} and
+	 * {@link AdaptiveCloner#reset(Class)}
+	 */
+	@Test
+	public void testOverride()
+	{
+		AdaptiveCloner cloner;
+
+		cloner = new AdaptiveCloner(4);
+		cloner.override(Point.class, CloneStrategy.GENERATED);
+		assertEquals(Optional.of(CloneStrategy.GENERATED), cloner.getStrategy(Point.class));
+		cloner.reset(Point.class);
+		assertEquals(Optional.empty(), cloner.getStrategy(Point.class));
+		assertThrows(IllegalArgumentException.class, () -> new AdaptiveCloner(0));
+	}
+
+	/**
+	 * A serializable class that is cloned with reflection or a generated cloner
+	 */
+	static class Point implements Serializable
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		int x;
+
+		StringBuilder label;
+
+	}
+
+	/**
+	 * A class with a clone method that increments its counter in the clone
+	 */
+	static class Counter implements Cloneable
+	{
+
+		int count;
+
+		@Override
+		protected Counter clone() throws CloneNotSupportedException
+		{
+			final Counter clone = (Counter)super.clone();
+			clone.count++;
+			return clone;
+		}
+
+	}
+
+}
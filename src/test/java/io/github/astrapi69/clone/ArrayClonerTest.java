@@ -0,0 +1,127 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ArrayCloner}
+ */
+public class ArrayClonerTest
+{
+
+	/**
+	 * Test method for {@link ArrayCloner#copy(Object, boolean)} with all primitive types
+	 */
+	@Test
+	public void testCopyPrimitiveArrays()
+	{
+		assertArrayEquals(new int[] { 1, 2 }, (int[])ArrayCloner.copy(new int[] { 1, 2 }, false));
+		assertArrayEquals(new long[] { 1L, 2L },
+			(long[])ArrayCloner.copy(new long[] { 1L, 2L }, false));
+		assertArrayEquals(new double[] { 1.5d },
+			(double[])ArrayCloner.copy(new double[] { 1.5d }, false));
+		assertArrayEquals(new float[] { 1.5f },
+			(float[])ArrayCloner.copy(new float[] { 1.5f }, false));
+		assertArrayEquals(new byte[] { 1, 2 },
+			(byte[])ArrayCloner.copy(new byte[] { 1, 2 }, false));
+		assertArrayEquals(new short[] { 1, 2 },
+			(short[])ArrayCloner.copy(new short[] { 1, 2 }, false));
+		assertArrayEquals(new char[] { 'a', 'b' },
+			(char[])ArrayCloner.copy(new char[] { 'a', 'b' }, false));
+		assertArrayEquals(new boolean[] { true, false },
+			(boolean[])ArrayCloner.copy(new boolean[] { true, false }, false));
+	}
+
+	/**
+	 * Test method for {@link ArrayCloner#copy(Object, boolean)} with a huge array that is copied
+	 * in parallel chunks
+	 */
+	@Test
+	public void testCopyInParallel()
+	{
+		double[] expected;
+		double[] actual;
+
+		expected = new double[ArrayCloner.PARALLEL_THRESHOLD + ArrayCloner.CHUNK_SIZE / 2];
+		Arrays.setAll(expected, i -> i * 0.5d);
+		actual = (double[])ArrayCloner.copy(expected, true);
+		assertNotSame(expected, actual);
+		assertArrayEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link ArrayCloner#copyAllDimensions(Object, boolean)}
+	 */
+	@Test
+	public void testCopyAllDimensions()
+	{
+		int[][] expected;
+		int[][] actual;
+		String[][] names;
+		String[][] actualNames;
+
+		expected = new int[][] { { 1, 2 }, null, { 3 } };
+		actual = (int[][])ArrayCloner.copyAllDimensions(expected, false);
+		assertNotSame(expected, actual);
+		assertNotSame(expected[0], actual[0]);
+		assertArrayEquals(expected, actual);
+
+		names = new String[][] { { "foo", "bar" } };
+		actualNames = CloneObjectExtensions.cloneArray(names, false);
+		assertNotSame(names[0], actualNames[0]);
+		assertSame(names[0][0], actualNames[0][0]);
+	}
+
+	/**
+	 * Test method for {@link ArrayCloner#copyAllDimensions(Object, boolean)} with rows that are
+	 * shared
+	 */
+	@Test
+	public void testCopyAllDimensionsSharedRows()
+	{
+		int[] row;
+		int[][][] expected;
+		int[][][] actual;
+
+		row = new int[] { 1, 2 };
+		expected = new int[][][] { { row, row }, { row } };
+		expected = new int[][][] { expected[0], expected[0], expected[1] };
+		actual = (int[][][])ArrayCloner.copyAllDimensions(expected, false);
+		assertNotSame(expected[0], actual[0]);
+		assertSame(actual[0], actual[1]);
+		assertNotSame(row, actual[0][0]);
+		assertSame(actual[0][0], actual[0][1]);
+		assertSame(actual[0][0], actual[2][0]);
+		assertArrayEquals(expected, actual);
+	}
+
+}
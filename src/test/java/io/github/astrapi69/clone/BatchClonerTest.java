@@ -0,0 +1,149 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link BatchCloner}
+ */
+public class BatchClonerTest
+{
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#cloneAll(java.util.Collection)} and
+	 * {@link CloneObjectExtensions#cloneAll(Object[])}
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCloneAll()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Item shared;
+		Item[] source;
+		List<Item> actualList;
+		Item[] actualArray;
+
+		shared = new Item("shared", null);
+		source = new Item[] { new Item("first", shared), null, new Item("second", shared) };
+
+		actualList = CloneObjectExtensions.cloneAll(Arrays.asList(source));
+		assertEquals(3, actualList.size());
+		assertNotSame(source[0], actualList.get(0));
+		assertEquals("first", actualList.get(0).name);
+		assertNull(actualList.get(1));
+		assertSame(shared, actualList.get(2).parent);
+
+		actualArray = CloneObjectExtensions.cloneAll(source);
+		assertSame(Item[].class, actualArray.getClass());
+		assertNotSame(source[2], actualArray[2]);
+		assertEquals("second", actualArray[2].name);
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#deepCloneAll(java.util.Collection, boolean)}
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDeepCloneAll()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Item shared;
+		List<Item> source;
+		List<Item> actual;
+
+		shared = new Item("shared", null);
+		source = Arrays.asList(new Item("first", shared), new Item("second", shared));
+
+		actual = CloneObjectExtensions.deepCloneAll(source, true);
+		assertNotSame(shared, actual.get(0).parent);
+		assertSame(actual.get(0).parent, actual.get(1).parent);
+
+		actual = CloneObjectExtensions.deepCloneAll(source, false);
+		assertNotSame(shared, actual.get(0).parent);
+		assertNotSame(actual.get(0).parent, actual.get(1).parent);
+		assertEquals("shared", actual.get(1).parent.name);
+	}
+
+	/**
+	 * Test method for {@link CloneQuietlyExtensions#cloneStream(Stream)}
+	 */
+	@Test
+	public void testCloneStream()
+	{
+		List<Item> source;
+		List<Item> actual;
+
+		source = Arrays.asList(new Item("first", null), new Item("second", null));
+		actual = CloneQuietlyExtensions.cloneStream(source.stream()).collect(Collectors.toList());
+		assertEquals(2, actual.size());
+		assertNotSame(source.get(0), actual.get(0));
+		assertEquals("second", actual.get(1).name);
+	}
+
+	static class Item
+	{
+		String name;
+		Item parent;
+
+		Item()
+		{
+		}
+
+		Item(final String name, final Item parent)
+		{
+			this.name = name;
+			this.parent = parent;
+		}
+	}
+
+}
@@ -0,0 +1,160 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link CloneBackends}
+ */
+public class CloneBackendsTest
+{
+
+	/**
+	 * Test method for {@link CloneBackends#getBackends()}
+	 */
+	@Test
+	public void testGetBackends()
+	{
+		List<CloneBackend> actual;
+
+		actual = CloneBackends.getBackends();
+		assertEquals(3, actual.size());
+		assertTrue(actual.stream().anyMatch(CloneableCloneBackend.class::isInstance));
+		assertTrue(actual.stream().anyMatch(ReflectionCloneBackend.class::isInstance));
+		assertTrue(actual.stream().anyMatch(RitsCloneBackend.class::isInstance));
+	}
+
+	/**
+	 * Test method for {@link CloneBackends#select(Class, List)}
+	 */
+	@Test
+	public void testSelect()
+	{
+		CloneBackend cheap;
+		List<CloneBackend> backends;
+
+		backends = new ArrayList<>(CloneBackends.getBackends());
+		assertTrue(CloneBackends.select(Point.class, backends) instanceof ReflectionCloneBackend);
+		assertTrue(
+			CloneBackends.select(Counter.class, backends) instanceof CloneableCloneBackend);
+		assertTrue(CloneBackends.select(int[].class, backends) instanceof CloneableCloneBackend);
+		assertNull(CloneBackends.select(Runnable.class, backends));
+
+		cheap = new PointBackend();
+		backends.add(cheap);
+		assertSame(cheap, CloneBackends.select(Point.class, backends));
+		assertTrue(
+			CloneBackends.select(Counter.class, backends) instanceof CloneableCloneBackend);
+	}
+
+	/**
+	 * Test method for {@link ClonePlan#getBackend()}
+	 *
+	 * @throws Exception
+	 *             Thrown if the clone fails
+	 */
+	@Test
+	public void testGetBackend() throws Exception
+	{
+		Point source;
+		Point actual;
+
+		assertNull(ClonePlan.of(Point.class).getBackend());
+		assertNull(ClonePlan.of(Counter.class).getBackend());
+
+		source = new Point(1, 2);
+		actual = (Point)new RitsCloneBackend().clone(source);
+		assertEquals(1, actual.x);
+		assertEquals(2, actual.y);
+		actual = (Point)new ReflectionCloneBackend().clone(source);
+		assertEquals(2, actual.y);
+		assertEquals(3, ((Counter)new CloneableCloneBackend().clone(new Counter(3))).count);
+	}
+
+	static class Point
+	{
+		int x;
+		int y;
+
+		Point(final int x, final int y)
+		{
+			this.x = x;
+			this.y = y;
+		}
+	}
+
+	static class Counter implements Cloneable
+	{
+		int count;
+
+		Counter(final int count)
+		{
+			this.count = count;
+		}
+
+		@Override
+		public Counter clone() throws CloneNotSupportedException
+		{
+			return (Counter)super.clone();
+		}
+	}
+
+	static class PointBackend implements CloneBackend
+	{
+		@Override
+		public String getName()
+		{
+			return "point";
+		}
+
+		@Override
+		public boolean supports(final Class<?> type)
+		{
+			return type == Point.class;
+		}
+
+		@Override
+		public int getCost(final Class<?> type)
+		{
+			return 1;
+		}
+
+		@Override
+		public Object clone(final Object source)
+		{
+			return new Point(((Point)source).x, ((Point)source).y);
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the enum {@link CloneFailure}
+ */
+public class CloneFailureTest
+{
+
+	/**
+	 * Test method for {@link CloneFailure#throwCloneException(Class)}
+	 */
+	@Test
+	public void testThrowCloneException()
+	{
+		NoSuchMethodException noSuchMethod;
+		IllegalAccessException illegalAccess;
+
+		noSuchMethod = assertThrows(NoSuchMethodException.class,
+			() -> CloneFailure.NO_DECLARED_CLONE.throwCloneException(Uncloneable.class));
+		assertEquals(Uncloneable.class.getName() + ".clone()", noSuchMethod.getMessage());
+		assertEquals(0, noSuchMethod.getStackTrace().length);
+
+		illegalAccess = assertThrows(IllegalAccessException.class,
+			() -> CloneFailure.INACCESSIBLE_CLONE.throwCloneException(Uncloneable.class));
+		assertEquals(0, illegalAccess.getStackTrace().length);
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#cloneCloneable(Object)} with a class that does
+	 * not declare its own clone method
+	 */
+	@Test
+	public void testCloneCloneableFailsFast()
+	{
+		NoSuchMethodException actual;
+
+		actual = assertThrows(NoSuchMethodException.class,
+			() -> CloneObjectExtensions.cloneCloneable(new Uncloneable()));
+		assertEquals(0, actual.getStackTrace().length);
+		actual = assertThrows(NoSuchMethodException.class,
+			() -> CloneObjectExtensions.cloneObject(new Uncloneable()));
+		assertEquals(Uncloneable.class.getName() + ".clone()", actual.getMessage());
+	}
+
+	static class Uncloneable extends Base
+	{
+	}
+
+	static class Base implements Cloneable
+	{
+		@Override
+		protected Object clone() throws CloneNotSupportedException
+		{
+			return super.clone();
+		}
+	}
+
+}
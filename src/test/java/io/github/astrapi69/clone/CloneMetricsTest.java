@@ -0,0 +1,244 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link CloneMetrics} and {@link CloneMetricsRegistry}
+ */
+public class CloneMetricsTest
+{
+
+	/**
+	 * Test method for {@link CloneMetrics#setSink(CloneMetricsSink)} and
+	 * {@link CloneMetrics#isEnabled()}
+	 */
+	@Test
+	public void testSetSink()
+	{
+		CloneMetricsRegistry registry;
+
+		registry = new CloneMetricsRegistry();
+		CloneMetrics.setSink(registry);
+		try
+		{
+			assertSame(registry, CloneMetrics.getSink());
+			assertTrue(CloneMetrics.isEnabled());
+		}
+		finally
+		{
+			CloneMetrics.setSink(null);
+		}
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#cloneObject(Object)} with a sink
+	 */
+	@Test
+	public void testCloneObject() throws Exception
+	{
+		CloneClassMetrics actual;
+		List<String> list;
+		CloneMetricsRegistry registry;
+
+		registry = new CloneMetricsRegistry();
+		CloneMetrics.setSink(registry);
+		try
+		{
+			list = new ArrayList<>(Arrays.asList("a", "b"));
+			assertEquals(list, CloneObjectExtensions.clone(list));
+			assertEquals(list, CloneObjectExtensions.clone(list));
+			assertSame("a", CloneObjectExtensions.clone("a"));
+
+			actual = registry.getMetrics(ArrayList.class);
+			assertNotNull(actual);
+			assertEquals(2, actual.getCloneCount());
+			assertEquals(2, actual.getStrategyCount(CloneStrategy.COLLECTION));
+			assertEquals(0, actual.getFailureCount());
+			assertEquals(2, actual.getClonedObjectCount());
+			assertEquals(2, Arrays.stream(actual.getLatencyHistogram()).sum());
+			assertTrue(0 < actual.getLatencyPercentileNanos(99));
+
+			actual = registry.getMetrics(String.class);
+			assertEquals(1, actual.getStrategyCount(null));
+		}
+		finally
+		{
+			CloneMetrics.setSink(null);
+		}
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#clone(Object, CloneStrategy)} with a strategy
+	 * that cannot be applied
+	 */
+	@Test
+	public void testCloneWithFallback() throws Exception
+	{
+		CloneClassMetrics actual;
+		CloneMetricsRegistry registry;
+
+		registry = new CloneMetricsRegistry();
+		CloneMetrics.setSink(registry);
+		try
+		{
+			assertNotNull(CloneObjectExtensions.clone(new Node(), CloneStrategy.CLONEABLE));
+
+			actual = registry.getMetrics(Node.class);
+			assertEquals(1, actual.getFallbackCount());
+			assertEquals(1, actual.getFailureCount());
+			assertEquals(1, actual.getCloneCount());
+			assertEquals(1, actual.getStrategyCount(CloneStrategy.REFLECTION));
+		}
+		finally
+		{
+			CloneMetrics.setSink(null);
+		}
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#cloneCloneable(Object)} and
+	 * {@link CloneObjectExtensions#cloneObjectWithReflection(Object)} with a sink
+	 */
+	@Test
+	public void testCloneCloneableAndWithReflection() throws Exception
+	{
+		CloneClassMetrics actual;
+		CloneMetricsRegistry registry;
+
+		registry = new CloneMetricsRegistry();
+		CloneMetrics.setSink(registry);
+		try
+		{
+			// Node has no clone method
+			assertThrows(NoSuchMethodException.class,
+				() -> CloneObjectExtensions.cloneCloneable(new Node()));
+			assertTrue(CloneObjectExtensions.cloneObjectWithReflection(new Node()).isPresent());
+
+			actual = registry.getMetrics(Node.class);
+			assertEquals(1, actual.getFailureCount());
+			assertEquals(1, actual.getCloneCount());
+			assertEquals(1, actual.getStrategyCount(CloneStrategy.REFLECTION));
+
+			assertNotNull(CloneObjectExtensions.cloneCloneable(new int[] { 1 }));
+			assertEquals(1,
+				registry.getMetrics(int[].class).getStrategyCount(CloneStrategy.ARRAY));
+		}
+		finally
+		{
+			CloneMetrics.setSink(null);
+		}
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#deepClone(Object)} with a sink
+	 */
+	@Test
+	public void testDeepClone() throws Exception
+	{
+		CloneClassMetrics actual;
+		Node node;
+		CloneMetricsRegistry registry;
+
+		registry = new CloneMetricsRegistry();
+		CloneMetrics.setSink(registry);
+		try
+		{
+			node = new Node();
+			node.next = new Node();
+			node.next.next = node;
+			assertNotNull(CloneObjectExtensions.deepClone(node));
+
+			actual = registry.getMetrics(Node.class);
+			assertEquals(1, actual.getCloneCount());
+			assertEquals(2, actual.getMaxGraphSize());
+			assertEquals(1, actual.getStrategyCount(null));
+		}
+		finally
+		{
+			CloneMetrics.setSink(null);
+		}
+	}
+
+	/**
+	 * Test method for {@link CloneMetricsRegistry#clear()}
+	 */
+	@Test
+	public void testClear() throws Exception
+	{
+		CloneMetricsRegistry registry;
+
+		registry = new CloneMetricsRegistry();
+		CloneMetrics.setSink(registry);
+		try
+		{
+			CloneObjectExtensions.clone(new Node());
+			assertFalse(registry.getAllMetrics().isEmpty());
+
+			registry.clear();
+			assertNull(registry.getMetrics(Node.class));
+		}
+		finally
+		{
+			CloneMetrics.setSink(null);
+		}
+	}
+
+	/**
+	 * Test method for {@link CloneClassMetrics#getLatencyPercentileNanos(double)}
+	 */
+	@Test
+	public void testGetLatencyPercentileNanos()
+	{
+		CloneClassMetrics metrics;
+
+		metrics = new CloneClassMetrics(Node.class);
+		assertEquals(0, metrics.getLatencyPercentileNanos(50));
+		metrics.recordClone(CloneStrategy.REFLECTION, 100, -1, 1);
+		metrics.recordClone(CloneStrategy.REFLECTION, 1000, -1, 1);
+		assertEquals(128, metrics.getLatencyPercentileNanos(50));
+		assertEquals(1024, metrics.getLatencyPercentileNanos(100));
+		assertEquals(0, metrics.getAllocatedBytes());
+	}
+
+	static class Node
+	{
+		Node next;
+	}
+
+}
@@ -0,0 +1,193 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ClonePlan}
+ */
+public class ClonePlanTest
+{
+
+	/**
+	 * Test method for {@link ClonePlan#of(Class)}
+	 */
+	@Test
+	public void testOf()
+	{
+		ClonePlan expected;
+		ClonePlan actual;
+
+		expected = ClonePlan.of(Child.class);
+		actual = ClonePlan.of(Child.class);
+		assertSame(expected, actual);
+		assertSame(Child.class, actual.getType());
+	}
+
+	/**
+	 * Test method for {@link ClonePlan#getStrategy()}
+	 */
+	@Test
+	public void testGetStrategy()
+	{
+		assertEquals(CloneStrategy.ARRAY, ClonePlan.of(int[].class).getStrategy());
+		assertEquals(CloneStrategy.CLONEABLE, ClonePlan.of(Date.class).getStrategy());
+		assertEquals(CloneStrategy.COLLECTION, ClonePlan.of(ArrayList.class).getStrategy());
+		assertEquals(CloneStrategy.REFLECTION, ClonePlan.of(Child.class).getStrategy());
+	}
+
+	/**
+	 * Test method for {@link ClonePlan#getFields()}
+	 */
+	@Test
+	public void testGetFields()
+	{
+		List<String> expected;
+		List<String> actual;
+
+		expected = Arrays.asList("name", "parentName");
+		actual = Arrays.stream(ClonePlan.of(Child.class).getFields()).map(Field::getName)
+			.collect(Collectors.toList());
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link ClonePlan#getConstructor()}, {@link ClonePlan#getInstantiator()} and
+	 * {@link ClonePlan#isReflectionSupported()}
+	 */
+	@Test
+	public void testGetConstructor()
+	{
+		ClonePlan plan;
+
+		plan = ClonePlan.of(Child.class);
+		assertNotNull(plan.getConstructor());
+		assertTrue(plan.isReflectionSupported());
+
+		plan = ClonePlan.of(NoDefaultConstructor.class);
+		assertNull(plan.getConstructor());
+		assertNotNull(plan.getInstantiator());
+		assertTrue(plan.isReflectionSupported());
+
+		plan = ClonePlan.of(Abstract.class);
+		assertNull(plan.getInstantiator());
+		assertFalse(plan.isReflectionSupported());
+	}
+
+	/**
+	 * Test method for {@link ClonePlan#getCloneMethod()}
+	 */
+	@Test
+	public void testGetCloneMethod()
+	{
+		assertNotNull(ClonePlan.of(ArrayList.class).getCloneMethod());
+		assertNull(ClonePlan.of(Child.class).getCloneMethod());
+	}
+
+	/**
+	 * Test method for {@link ClonePlan#getCloneableFailure()}
+	 */
+	@Test
+	public void testGetCloneableFailure()
+	{
+		assertNull(ClonePlan.of(ArrayList.class).getCloneableFailure());
+		assertEquals(CloneFailure.NO_DECLARED_CLONE,
+			ClonePlan.of(InheritedClone.class).getCloneableFailure());
+	}
+
+	/**
+	 * Test method for {@link ClonePlan#getReflectionFailure()} and
+	 * {@link ClonePlan#recordReflectionFailure(CloneFailure)}
+	 */
+	@Test
+	public void testGetReflectionFailure()
+	{
+		ClonePlan plan;
+
+		assertNull(ClonePlan.of(Child.class).getReflectionFailure());
+		assertEquals(CloneFailure.NOT_INSTANTIABLE,
+			ClonePlan.of(Abstract.class).getReflectionFailure());
+
+		plan = ClonePlan.of(NotInstantiable.class);
+		assertTrue(plan.isReflectionSupported());
+		plan.recordReflectionFailure(CloneFailure.NOT_INSTANTIABLE);
+		assertEquals(CloneFailure.NOT_INSTANTIABLE, plan.getReflectionFailure());
+		assertFalse(plan.isReflectionSupported());
+		assertFalse(plan.isDeepCloneSupported());
+	}
+
+	static class Parent
+	{
+		static final String CONSTANT = "constant";
+
+		String parentName;
+	}
+
+	static class Child extends Parent
+	{
+		String name;
+	}
+
+	static class InheritedClone extends ArrayList<String>
+	{
+		private static final long serialVersionUID = 1L;
+	}
+
+	static class NotInstantiable
+	{
+		String name;
+	}
+
+	abstract static class Abstract
+	{
+		String name;
+	}
+
+	static class NoDefaultConstructor
+	{
+		final String name;
+
+		NoDefaultConstructor(final String name)
+		{
+			this.name = name;
+		}
+	}
+
+}
@@ -0,0 +1,254 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ClonePolicy}
+ */
+public class ClonePolicyTest
+{
+
+	/**
+	 * Test method for {@link ClonePolicy#policyOf(java.lang.reflect.Field)}
+	 *
+	 * @throws Exception
+	 *             Thrown if a field is not found
+	 */
+	@Test
+	public void testPolicyOf() throws Exception
+	{
+		ClonePolicy policy;
+
+		policy = ClonePolicy.getDefault();
+		assertEquals(FieldPolicy.IGNORE, policy.policyOf(Document.class.getDeclaredField("cache")));
+		assertEquals(FieldPolicy.SHARE, policy.policyOf(Document.class.getDeclaredField("parent")));
+		assertEquals(FieldPolicy.SHALLOW,
+			policy.policyOf(Document.class.getDeclaredField("lines")));
+		assertEquals(FieldPolicy.COPY, policy.policyOf(Document.class.getDeclaredField("hash")));
+
+		policy = ClonePolicy.builder().skipTransient(true)
+			.typePolicy(CharSequence.class, FieldPolicy.SHARE)
+			.fieldPolicy(Document.class, "parent", FieldPolicy.COPY).build();
+		assertEquals(FieldPolicy.IGNORE, policy.policyOf(Document.class.getDeclaredField("hash")));
+		assertEquals(FieldPolicy.SHARE, policy.policyOf(Document.class.getDeclaredField("title")));
+		// an override of the field wins over the annotation
+		assertEquals(FieldPolicy.COPY, policy.policyOf(Document.class.getDeclaredField("parent")));
+
+		assertThrows(IllegalArgumentException.class,
+			() -> ClonePolicy.builder().fieldPolicy(Document.class, "missing", FieldPolicy.SHARE));
+		assertThrows(IllegalArgumentException.class, () -> ClonePolicy.builder().maxDepth(-1));
+	}
+
+	/**
+	 * Test method for {@link ClonePlan#getFields()} with the ignored fields
+	 */
+	@Test
+	public void testGetFields()
+	{
+		List<String> actual;
+
+		actual = Arrays.stream(ClonePlan.of(Document.class).getFields()).map(f -> f.getName())
+			.toList();
+		assertTrue(actual.contains("hash"));
+		assertTrue(!actual.contains("cache"));
+
+		actual = Arrays
+			.stream(ClonePolicy.builder().skipTransient(true).build().planOf(Document.class)
+				.getFields())
+			.map(f -> f.getName()).toList();
+		assertTrue(!actual.contains("hash"));
+		assertNotSame(ClonePlan.of(Document.class),
+			ClonePolicy.builder().build().planOf(Document.class));
+		assertSame(ClonePlan.of(Document.class), ClonePolicy.getDefault().planOf(Document.class));
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#clone(Object)} and
+	 * {@link CloneObjectExtensions#deepClone(Object)} with the annotated fields
+	 *
+	 * @throws Exception
+	 *             Thrown if the clone fails
+	 */
+	@Test
+	public void testAnnotations() throws Exception
+	{
+		Document source;
+		Document actual;
+
+		source = newDocument();
+		actual = CloneObjectExtensions.clone(source);
+		assertEquals("title", actual.title);
+		// the ignored field keeps the value of the new instance
+		assertNotSame(source.cache, actual.cache);
+		assertTrue(actual.cache.isEmpty());
+
+		actual = CloneObjectExtensions.deepClone(source);
+		assertSame(source.parent, actual.parent);
+		assertNotSame(source.lines, actual.lines);
+		assertEquals(source.lines, actual.lines);
+		assertSame(source.lines.get(0), actual.lines.get(0));
+		assertTrue(actual.cache.isEmpty());
+		assertEquals(42, actual.hash);
+	}
+
+	/**
+	 * Test method for {@link Cloner#clone(Object)} with a {@link ClonePolicy}
+	 *
+	 * @throws Exception
+	 *             Thrown if the clone fails
+	 */
+	@Test
+	public void testClonerWithPolicy() throws Exception
+	{
+		Cloner cloner;
+		Document source;
+		Document actual;
+
+		cloner = Cloner.builder().deep(true).policy(ClonePolicy.builder().skipTransient(true)
+			.typePolicy(Document.class, FieldPolicy.COPY).build()).build();
+		source = newDocument();
+		actual = cloner.clone(source);
+		assertEquals(0, actual.hash);
+		// the annotation wins over the override of the type
+		assertSame(source.parent, actual.parent);
+
+		cloner = Cloner.builder().policy(ClonePolicy.builder()
+			.fieldPolicy(Document.class, "cache", FieldPolicy.COPY).build()).build();
+		actual = cloner.clone(source);
+		assertSame(source.cache, actual.cache);
+		assertSame(cloner.getPolicy(), cloner.getPolicy());
+	}
+
+	/**
+	 * Test method for {@link ClonePolicy#getMaxDepth()} in a deep clone
+	 *
+	 * @throws Exception
+	 *             Thrown if the clone fails
+	 */
+	@Test
+	public void testMaxDepth() throws Exception
+	{
+		Node source;
+		Node actual;
+		Cloner cloner;
+
+		source = new Node(new Node(new Node(null)));
+		source.values.add(new Node(null));
+
+		cloner = Cloner.builder().deep(true).policy(ClonePolicy.builder().maxDepth(1).build())
+			.build();
+		actual = cloner.clone(source);
+		assertNotSame(source, actual);
+		assertNotSame(source.next, actual.next);
+		assertSame(source.next.next, actual.next.next);
+		assertNotSame(source.values, actual.values);
+		assertSame(source.values.get(0), actual.values.get(0));
+
+		cloner = Cloner.builder().deep(true).policy(ClonePolicy.builder().maxDepth(0).build())
+			.build();
+		actual = cloner.clone(source);
+		assertNotSame(source, actual);
+		assertSame(source.next, actual.next);
+		assertSame(source.values, actual.values);
+
+		actual = Cloner.builder().deep(true).build().clone(source);
+		assertNotSame(source.next.next, actual.next.next);
+		assertNull(actual.next.next.next);
+	}
+
+	/**
+	 * Test method for {@link Prototype#newInstance()} with the annotated fields
+	 *
+	 * @throws Exception
+	 *             Thrown if the copy fails
+	 */
+	@Test
+	public void testPrototype() throws Exception
+	{
+		Document source;
+		Document actual;
+
+		source = newDocument();
+		actual = Prototype.of(source).newInstance();
+		assertSame(source.parent, actual.parent);
+		assertNotSame(source.lines, actual.lines);
+		assertSame(source.lines.get(0), actual.lines.get(0));
+		assertTrue(actual.cache.isEmpty());
+	}
+
+	private static Document newDocument()
+	{
+		Document document;
+
+		document = new Document();
+		document.title = "title";
+		document.parent = new Node(null);
+		document.lines = new ArrayList<>(List.of(new StringBuilder("line")));
+		document.cache.add("cached");
+		document.hash = 42;
+		return document;
+	}
+
+	static class Document
+	{
+		String title;
+		@CloneShare
+		Node parent;
+		@CloneShallow
+		List<StringBuilder> lines;
+		@CloneIgnore
+		List<String> cache = new ArrayList<>();
+		transient int hash;
+	}
+
+	static class Node
+	{
+		Node next;
+		List<Node> values = new ArrayList<>();
+
+		Node()
+		{
+		}
+
+		Node(final Node next)
+		{
+			this.next = next;
+		}
+	}
+
+}
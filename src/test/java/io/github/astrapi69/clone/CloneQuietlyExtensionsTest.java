@@ -26,6 +26,12 @@ package io.github.astrapi69.clone;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.meanbean.test.BeanTester;
@@ -113,6 +119,25 @@ public class CloneQuietlyExtensionsTest
 
 	}
 
+	/**
+	 * Test method for {@link CloneQuietlyExtensions#deepClone(Object)}
+	 */
+	@Test
+	public void testDeepClone()
+	{
+		List<Date> expected;
+		List<Date> actual;
+
+		expected = new ArrayList<>();
+		expected.add(CreateDateExtensions.newDate(2009, 3, 26, 10, 37, 4));
+		actual = CloneQuietlyExtensions.deepClone(expected);
+		assertEquals(expected, actual);
+		assertNotSame(expected, actual);
+		assertNotSame(expected.get(0), actual.get(0));
+
+		assertNull(CloneQuietlyExtensions.deepClone(null));
+	}
+
 	/**
 	 * Test method for {@link CloneQuietlyExtensions#cloneObject(Object)}
 	 */
@@ -0,0 +1,229 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ClonerClassGenerator}
+ */
+public class ClonerClassGeneratorTest
+{
+
+	/**
+	 * Test method for {@link ClonerClassGenerator#generate(ClonePlan)}
+	 */
+	@Test
+	public void testGenerate()
+	{
+		assertNotNull(ClonerClassGenerator.generate(ClonePlan.of(Bean.class)));
+		assertNull(ClonerClassGenerator.generate(ClonePlan.of(FinalBean.class)));
+		assertNull(ClonerClassGenerator.generate(ClonePlan.of(int[].class)));
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#clone(Object, CloneStrategy)} with the strategy
+	 * {@link CloneStrategy#GENERATED} that have to give the same result as the reflective path
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCloneWithGeneratedStrategy()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Bean source;
+		Bean expected;
+		Bean actual;
+
+		source = new Bean();
+		source.id = 7L;
+		source.setParentName("parent");
+		source.name = "name";
+		source.ratio = 0.5d;
+		source.active = true;
+		source.tags.add("tag");
+
+		expected = CloneObjectExtensions.cloneObjectWithReflection(source).orElse(null);
+		actual = CloneObjectExtensions.clone(source, CloneStrategy.GENERATED);
+		assertNotSame(source, actual);
+		assertEquals(expected, actual);
+		assertEquals(source, actual);
+		assertNotSame(source.tags, actual.tags);
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#clone(Object, CloneStrategy)} with the strategy
+	 * {@link CloneStrategy#GENERATED} that clones the objects behind the reference fields and
+	 * keeps their shared references and cycles
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCloneWithGeneratedStrategyNested()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Node source;
+		Node child;
+		Node actual;
+
+		child = new Node();
+		child.name = "child";
+		source = new Node();
+		source.name = "root";
+		source.values = new int[] { 1, 2 };
+		source.child = child;
+		source.children.add(child);
+		child.parent = source;
+
+		assertNotNull(ClonerClassGenerator.generate(ClonePlan.of(Node.class)));
+		actual = CloneObjectExtensions.clone(source, CloneStrategy.GENERATED);
+		assertNotSame(source, actual);
+		assertSame(source.name, actual.name);
+		assertNotSame(source.values, actual.values);
+		assertArrayEquals(source.values, actual.values);
+		assertNotSame(child, actual.child);
+		assertEquals("child", actual.child.name);
+		assertNotSame(source.children, actual.children);
+		assertSame(actual.child, actual.children.get(0));
+		assertSame(actual, actual.child.parent);
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#clone(Object, CloneStrategy)} with the strategy
+	 * {@link CloneStrategy#GENERATED} that falls back if no cloner class can be generated
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCloneWithGeneratedStrategyFallback()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		FinalBean source;
+		Optional<FinalBean> expected;
+		FinalBean actual;
+
+		source = new FinalBean();
+		expected = CloneObjectExtensions.cloneObjectWithReflection(source);
+		actual = CloneObjectExtensions.clone(source, CloneStrategy.GENERATED);
+		assertEquals(expected.get().value, actual.value);
+		assertNull(CloneObjectExtensions.clone(null, CloneStrategy.GENERATED));
+	}
+
+	static class Parent
+	{
+		private String parentName;
+
+		String getParentName()
+		{
+			return parentName;
+		}
+
+		void setParentName(final String parentName)
+		{
+			this.parentName = parentName;
+		}
+	}
+
+	static class Bean extends Parent
+	{
+		private long id;
+		private String name;
+		private double ratio;
+		private boolean active;
+		private List<String> tags = new ArrayList<>();
+
+		private Bean()
+		{
+		}
+
+		@Override
+		public boolean equals(final Object o)
+		{
+			if (!(o instanceof Bean))
+			{
+				return false;
+			}
+			final Bean other = (Bean)o;
+			return id == other.id && Objects.equals(name, other.name) && ratio == other.ratio
+				&& active == other.active && Objects.equals(tags, other.tags)
+				&& Objects.equals(getParentName(), other.getParentName());
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(id, name);
+		}
+	}
+
+	static class Node
+	{
+		private String name;
+		private int[] values;
+		private Node parent;
+		private Node child;
+		private List<Node> children = new ArrayList<>();
+	}
+
+	static class FinalBean
+	{
+		private final String value = "value";
+	}
+
+}
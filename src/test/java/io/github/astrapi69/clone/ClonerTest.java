@@ -0,0 +1,206 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link Cloner}
+ */
+public class ClonerTest
+{
+
+	/**
+	 * Test method for {@link Cloner#getDefault()}
+	 */
+	@Test
+	public void testGetDefault()
+	{
+		Cloner actual;
+
+		actual = Cloner.getDefault();
+		assertSame(actual, Cloner.getDefault());
+		assertFalse(actual.isDeep());
+		assertTrue(actual.getStrategies().isEmpty());
+		assertSame(ImmutableTypeRegistry.getDefault(), actual.getImmutableTypeRegistry());
+		assertNull(actual.getMetricsSink());
+	}
+
+	/**
+	 * Test method for {@link Cloner#clone(Object)} in the shallow and the deep mode
+	 *
+	 * @throws Exception
+	 *             Thrown if the clone fails
+	 */
+	@Test
+	public void testClone() throws Exception
+	{
+		Cloner shallow;
+		Cloner deep;
+		Node source;
+		Node actual;
+
+		source = new Node("root", new Node("child", null));
+		shallow = Cloner.builder().build();
+		deep = Cloner.builder().deep(true).build();
+
+		actual = shallow.clone(source);
+		assertNotSame(source, actual);
+		assertSame(source.next, actual.next);
+
+		actual = deep.clone(source);
+		assertNotSame(source, actual);
+		assertNotSame(source.next, actual.next);
+		assertEquals("child", actual.next.name);
+		assertNull(deep.clone(null));
+	}
+
+	/**
+	 * Test method for {@link Cloner#shallowClone(Object)} with configured strategies
+	 *
+	 * @throws Exception
+	 *             Thrown if the clone fails
+	 */
+	@Test
+	public void testStrategies() throws Exception
+	{
+		Cloner cloner;
+		CloneMetricsRegistry registry;
+		Node actual;
+
+		registry = new CloneMetricsRegistry();
+		cloner = Cloner.builder().strategies(CloneStrategy.CLONEABLE, CloneStrategy.REFLECTION)
+			.metricsSink(registry).build();
+		assertEquals(List.of(CloneStrategy.CLONEABLE, CloneStrategy.REFLECTION),
+			cloner.getStrategies());
+		assertSame(registry, cloner.getMetricsSink());
+
+		actual = cloner.shallowClone(new Node("root", null));
+		assertEquals("root", actual.name);
+		// the cloneable strategy cannot be applied to the class and is skipped without a fallback
+		assertEquals(1, registry.getMetrics(Node.class).getStrategyCount(CloneStrategy.REFLECTION));
+		assertEquals(0, registry.getMetrics(Node.class).getFallbackCount());
+		// the sink of the cloner is not the global sink
+		assertNull(CloneMetrics.getSink());
+
+		assertThrows(NullPointerException.class,
+			() -> Cloner.builder().strategies(CloneStrategy.REFLECTION, null));
+	}
+
+	/**
+	 * Test method for {@link Cloner#deepClone(Object)} with an own {@link ImmutableTypeRegistry}
+	 *
+	 * @throws Exception
+	 *             Thrown if the clone fails
+	 */
+	@Test
+	public void testImmutableTypeRegistry() throws Exception
+	{
+		Cloner cloner;
+		Node source;
+		List<Node> holder;
+		Node actual;
+
+		cloner = Cloner.builder()
+			.immutableTypeRegistry(new ImmutableTypeRegistry().register(Node.class)).build();
+		source = new Node("root", null);
+		holder = new ArrayList<>(List.of(source));
+
+		assertSame(source, cloner.shallowClone(source));
+		actual = cloner.deepClone(holder).get(0);
+		assertSame(source, actual);
+		// the default cloner clones the node
+		assertNotSame(source, CloneObjectExtensions.deepClone(holder).get(0));
+	}
+
+	/**
+	 * Test method for {@link Cloner#deepClone(Object)} from many threads
+	 *
+	 * @throws Exception
+	 *             Thrown if the clone fails
+	 */
+	@Test
+	public void testConcurrentClone() throws Exception
+	{
+		Cloner cloner;
+		ExecutorService executor;
+		List<Future<Node>> futures;
+		Node source;
+
+		cloner = Cloner.builder().deep(true).build();
+		source = new Node("root", new Node("child", null));
+		executor = Executors.newFixedThreadPool(8);
+		try
+		{
+			futures = new ArrayList<>();
+			for (int i = 0; i < 64; i++)
+			{
+				futures.add(executor.submit(() -> cloner.clone(source)));
+			}
+			for (Future<Node> future : futures)
+			{
+				assertNotNull(future.get());
+				assertEquals("child", future.get().next.name);
+				assertNotSame(source.next, future.get().next);
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	static class Node
+	{
+		String name;
+		Node next;
+
+		Node()
+		{
+		}
+
+		Node(final String name, final Node next)
+		{
+			this.name = name;
+			this.next = next;
+		}
+	}
+
+}
@@ -0,0 +1,294 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link CollectionCloner}
+ */
+public class CollectionClonerTest
+{
+
+	/**
+	 * Test method for {@link CollectionCloner#kindOf(Class)}
+	 */
+	@Test
+	public void testKindOf()
+	{
+		assertEquals(CollectionCloner.Kind.ARRAY_LIST, CollectionCloner.kindOf(ArrayList.class));
+		assertEquals(CollectionCloner.Kind.IMMUTABLE_LIST,
+			CollectionCloner.kindOf(List.of(1, 2).getClass()));
+		assertEquals(CollectionCloner.Kind.IMMUTABLE_MAP,
+			CollectionCloner.kindOf(Map.of().getClass()));
+		assertEquals(CollectionCloner.Kind.UNMODIFIABLE_SET,
+			CollectionCloner.kindOf(Collections.unmodifiableSet(Set.of()).getClass()));
+		assertEquals(CollectionCloner.Kind.ENUM_SET, CollectionCloner
+			.kindOf(java.util.EnumSet.noneOf(CloneStrategy.class).getClass()));
+		// subclasses can have additional state and are not supported
+		assertNull(CollectionCloner.kindOf(new ArrayList<String>()
+		{
+			private static final long serialVersionUID = 1L;
+		}.getClass()));
+		assertEquals(CloneStrategy.COLLECTION, ClonePlan.of(LinkedHashMap.class).getStrategy());
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#cloneObject(Object)} with collections and maps
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCopy()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Object actual;
+		List<Integer> immutableList;
+		TreeSet<String> treeSet;
+		Map<String, Integer> linkedHashMap;
+		List<String> arraysList;
+		List<String> unmodifiableList;
+		List<String> backingList;
+
+		immutableList = List.of(1, 2, 3);
+		actual = CloneObjectExtensions.cloneObject(immutableList);
+		assertSame(immutableList, actual);
+
+		treeSet = new TreeSet<>(Comparator.reverseOrder());
+		treeSet.addAll(Arrays.asList("a", "c", "b"));
+		actual = CloneObjectExtensions.cloneObject(treeSet);
+		assertNotSame(treeSet, actual);
+		assertSame(treeSet.comparator(), ((TreeSet<String>)actual).comparator());
+		assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>((TreeSet<String>)actual));
+
+		linkedHashMap = new LinkedHashMap<>();
+		linkedHashMap.put("z", 1);
+		linkedHashMap.put("a", 2);
+		actual = CloneObjectExtensions.cloneObject(linkedHashMap);
+		assertNotSame(linkedHashMap, actual);
+		assertEquals(LinkedHashMap.class, actual.getClass());
+		assertEquals(new ArrayList<>(linkedHashMap.keySet()),
+			new ArrayList<>(((Map<String, Integer>)actual).keySet()));
+
+		arraysList = Arrays.asList("a", "b");
+		actual = CloneObjectExtensions.cloneObject(arraysList);
+		assertNotSame(arraysList, actual);
+		assertEquals(arraysList.getClass(), actual.getClass());
+		assertEquals(arraysList, actual);
+
+		backingList = new ArrayList<>(Arrays.asList("a", "b"));
+		unmodifiableList = Collections.unmodifiableList(backingList);
+		actual = CloneObjectExtensions.cloneObject(unmodifiableList);
+		backingList.add("c");
+		assertEquals(Arrays.asList("a", "b"), actual);
+		assertThrows(UnsupportedOperationException.class,
+			() -> ((List<String>)CloneObjectExtensions.cloneObject(unmodifiableList)).add("d"));
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#cloneObject(Object)} and
+	 * {@link CloneObjectExtensions#deepClone(Object)} with an unmodifiable view of a set
+	 *
+	 * @throws Exception
+	 *             Thrown if the clone process fails
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCopyUnmodifiableCollection() throws Exception
+	{
+		Collection<String> source;
+
+		source = Collections.unmodifiableCollection(new HashSet<>(Set.of("a", "b")));
+		assertEquals(CollectionCloner.Kind.UNMODIFIABLE_COLLECTION,
+			CollectionCloner.kindOf(source.getClass()));
+		for (Object clone : Arrays.asList(CloneObjectExtensions.cloneObject(source),
+			CloneObjectExtensions.deepClone(source)))
+		{
+			final Collection<String> actual = (Collection<String>)clone;
+			assertNotSame(source, actual);
+			assertEquals(source.getClass(), actual.getClass());
+			assertFalse(actual instanceof List);
+			assertEquals(Set.of("a", "b"), new HashSet<>(actual));
+			assertThrows(UnsupportedOperationException.class, () -> actual.add("c"));
+		}
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#cloneObject(Object)},
+	 * {@link CloneObjectExtensions#deepClone(Object)} and {@link Prototype#newInstance()} with an
+	 * access ordered linked hash map
+	 *
+	 * @throws Exception
+	 *             Thrown if the clone process fails
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCopyAccessOrderedMap() throws Exception
+	{
+		LinkedHashMap<String, Integer> source;
+		List<String> expected;
+		Map<String, Integer> actual;
+
+		source = new LinkedHashMap<>(16, 0.75f, true);
+		source.put("a", 1);
+		source.put("b", 2);
+		source.put("c", 3);
+		source.get("a");
+		expected = List.of("b", "c", "a");
+		assertTrue(CollectionCloner.isAccessOrdered(source));
+		assertFalse(CollectionCloner.isAccessOrdered(new LinkedHashMap<>(source)));
+
+		for (Object clone : Arrays.asList(CloneObjectExtensions.cloneObject(source),
+			CloneObjectExtensions.deepClone(source), Prototype.of(source).newInstance()))
+		{
+			actual = (Map<String, Integer>)clone;
+			assertNotSame(source, actual);
+			assertEquals(expected, new ArrayList<>(actual.keySet()));
+			actual.get("b");
+			assertEquals(List.of("c", "a", "b"), new ArrayList<>(actual.keySet()));
+		}
+		assertEquals(expected, new ArrayList<>(source.keySet()));
+		assertThrows(IllegalArgumentException.class, () -> Snapshot.of(source));
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#deepClone(Object)} with collections and maps
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDeepClone()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Item item;
+		List<Item> immutableList;
+		List<Item> actualList;
+		Map<String, Integer> immutableMap;
+		TreeMap<Item, String> treeMap;
+		TreeMap<Item, String> actualTreeMap;
+		PriorityQueue<Item> queue;
+		PriorityQueue<Item> actualQueue;
+		List<Item> arraysList;
+		List<Item> actualArraysList;
+
+		immutableMap = Map.of("a", 1, "b", 2);
+		assertSame(immutableMap, CloneObjectExtensions.deepClone(immutableMap));
+
+		item = new Item(1);
+		immutableList = List.of(item, item);
+		actualList = CloneObjectExtensions.deepClone(immutableList);
+		assertNotSame(immutableList, actualList);
+		assertNotSame(item, actualList.get(0));
+		assertSame(actualList.get(0), actualList.get(1));
+		assertEquals(1, actualList.get(0).value);
+		assertThrows(UnsupportedOperationException.class, () -> actualList.add(item));
+
+		treeMap = new TreeMap<>(Comparator.comparingInt((Item value) -> value.value).reversed());
+		treeMap.put(new Item(1), "one");
+		treeMap.put(new Item(2), "two");
+		actualTreeMap = CloneObjectExtensions.deepClone(treeMap);
+		assertSame(treeMap.comparator(), actualTreeMap.comparator());
+		assertEquals(2, actualTreeMap.firstKey().value);
+		assertNotSame(treeMap.firstKey(), actualTreeMap.firstKey());
+		assertEquals("two", actualTreeMap.get(actualTreeMap.firstKey()));
+
+		queue = new PriorityQueue<>(Comparator.comparingInt((Item value) -> value.value));
+		queue.add(new Item(3));
+		queue.add(new Item(1));
+		queue.add(new Item(2));
+		actualQueue = CloneObjectExtensions.deepClone(queue);
+		assertEquals(1, actualQueue.poll().value);
+		assertEquals(2, actualQueue.poll().value);
+		assertEquals(3, actualQueue.poll().value);
+
+		arraysList = Arrays.asList(new Item(5), null);
+		actualArraysList = CloneObjectExtensions.deepClone(arraysList);
+		assertEquals(arraysList.getClass(), actualArraysList.getClass());
+		assertNotSame(arraysList.get(0), actualArraysList.get(0));
+		assertEquals(5, actualArraysList.get(0).value);
+		assertNull(actualArraysList.get(1));
+		assertTrue(new HashMap<>(Map.of("a", 1)).equals(
+			CloneObjectExtensions.deepClone(new HashMap<>(Map.of("a", 1)))));
+	}
+
+	/**
+	 * A mutable item for the deep clone tests
+	 */
+	static class Item
+	{
+
+		int value;
+
+		Item()
+		{
+		}
+
+		Item(final int value)
+		{
+			this.value = value;
+		}
+
+	}
+
+}
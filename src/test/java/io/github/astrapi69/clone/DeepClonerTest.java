@@ -0,0 +1,384 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link DeepCloner}
+ */
+public class DeepClonerTest
+{
+
+	/**
+	 * Test method for {@link DeepCloner#deepClone(Object)}
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDeepClone()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Node source;
+		Node actual;
+
+		source = new Node("root", 1);
+		source.children.add(new Node("child", 2));
+		source.values = new int[] { 1, 2, 3 };
+		source.attributes.put("key", new Node("value", 3));
+
+		actual = (Node)new DeepCloner().deepClone(source);
+		assertNotSame(source, actual);
+		assertSame(source.name, actual.name);
+		assertEquals(source.weight, actual.weight);
+		assertNotSame(source.children, actual.children);
+		assertNotSame(source.children.get(0), actual.children.get(0));
+		assertEquals("child", actual.children.get(0).name);
+		assertNotSame(source.values, actual.values);
+		assertArrayEquals(source.values, actual.values);
+		assertNotSame(source.attributes.get("key"), actual.attributes.get("key"));
+		assertEquals("value", actual.attributes.get("key").name);
+		assertNull(new DeepCloner().deepClone(null));
+	}
+
+	/**
+	 * Test method for {@link DeepCloner#deepClone(Object)} with shared references and cycles
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDeepCloneWithSharedReferencesAndCycles()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Node source;
+		Node shared;
+		Node actual;
+
+		source = new Node("root", 1);
+		shared = new Node("shared", 2);
+		shared.parent = source;
+		source.children.add(shared);
+		source.children.add(shared);
+		source.parent = source;
+
+		actual = CloneObjectExtensions.deepClone(source);
+		assertSame(actual, actual.parent);
+		assertSame(actual.children.get(0), actual.children.get(1));
+		assertSame(actual, actual.children.get(0).parent);
+		assertNotSame(shared, actual.children.get(0));
+	}
+
+	/**
+	 * Test method for {@link DeepCloner#deepClone(Object)} with a linked list that is too deep for
+	 * a recursive traversal
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDeepCloneDeepStructure()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Node source;
+		Node current;
+		Node actual;
+		int depth;
+
+		source = new Node("0", 0);
+		current = source;
+		for (int i = 1; i < 200_000; i++)
+		{
+			current.parent = new Node(String.valueOf(i), i);
+			current = current.parent;
+		}
+
+		actual = CloneObjectExtensions.deepClone(source);
+		depth = 0;
+		for (Node node = actual, original = source; node != null; node = node.parent,
+			original = original.parent)
+		{
+			assertNotSame(original, node);
+			assertEquals(original.weight, node.weight);
+			depth++;
+		}
+		assertEquals(200_000, depth);
+	}
+
+	/**
+	 * Test method for {@link DeepCloner#deepClone(Object)} with a set of mutable elements whose
+	 * hash codes depend on their fields
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDeepCloneHashedElements()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Set<Key> source;
+		Set<Key> actual;
+
+		source = new HashSet<>();
+		source.add(new Key("foo"));
+		source.add(new Key("bar"));
+
+		actual = CloneObjectExtensions.deepClone(source);
+		assertEquals(source, actual);
+		assertTrue(actual.contains(new Key("foo")));
+		assertNotSame(source.iterator().next(), actual.iterator().next());
+	}
+
+	/**
+	 * Test method for {@link DeepCloner#deepClone(Object)} with a set that contains another set,
+	 * for both orders of the fields that refer to the outer and the inner set
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDeepCloneNestedSets()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		NestedSets source;
+		NestedSets actual;
+		Set<Object> outer;
+		Set<Object> inner;
+
+		inner = new HashSet<>(List.of("foo", "bar"));
+		outer = new HashSet<>();
+		outer.add(inner);
+
+		source = new NestedSets(outer, inner);
+		actual = CloneObjectExtensions.deepClone(source);
+		assertNotSame(source.first, actual.first);
+		assertEquals(source.first, actual.first);
+		assertTrue(actual.first.contains(actual.second));
+
+		source = new NestedSets(inner, outer);
+		actual = CloneObjectExtensions.deepClone(source);
+		assertNotSame(source.second, actual.second);
+		assertEquals(source.second, actual.second);
+		assertTrue(actual.second.contains(actual.first));
+	}
+
+	/**
+	 * Test method for {@link DeepCloner#deepCopyInto(Object, Object)}
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDeepCopyInto()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Node source;
+		Node target;
+		Node targetParent;
+		int[] targetValues;
+		List<Node> targetChildren;
+		Node actual;
+
+		source = new Node("root", 1.5);
+		source.parent = new Node("parent", 2.5);
+		source.values = new int[] { 1, 2, 3 };
+		source.children.add(new Node("child", 3.5));
+		source.children.get(0).parent = source;
+
+		target = new Node("old", 0);
+		targetParent = new Node("oldParent", 0);
+		targetValues = new int[3];
+		target.parent = targetParent;
+		target.values = targetValues;
+		targetChildren = target.children;
+
+		actual = CloneObjectExtensions.deepCopyInto(source, target);
+		assertSame(target, actual);
+		assertEquals("root", actual.name);
+		assertEquals(1.5, actual.weight);
+		assertSame(targetParent, actual.parent);
+		assertEquals("parent", actual.parent.name);
+		assertSame(targetValues, actual.values);
+		assertArrayEquals(source.values, actual.values);
+		assertSame(targetChildren, actual.children);
+		assertEquals(1, actual.children.size());
+		assertNotSame(source.children.get(0), actual.children.get(0));
+		assertSame(actual, actual.children.get(0).parent);
+
+		source.values = new int[] { 4 };
+		actual = CloneObjectExtensions.deepCopyInto(source, target);
+		assertNotSame(targetValues, actual.values);
+		assertNotSame(source.values, actual.values);
+		assertArrayEquals(source.values, actual.values);
+	}
+
+	/**
+	 * Test method for {@link DeepCloner#deepCopyInto(Object, Object)} with a target that shares
+	 * one object in two places
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDeepCopyIntoSharedTarget()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Node[] source;
+		Node[] target;
+		Node shared;
+
+		source = new Node[] { new Node("a", 1), new Node("b", 2) };
+		shared = new Node();
+		target = new Node[] { shared, shared };
+
+		CloneObjectExtensions.deepCopyInto(source, target);
+		assertSame(shared, target[0]);
+		assertEquals("a", target[0].name);
+		assertNotSame(shared, target[1]);
+		assertEquals("b", target[1].name);
+	}
+
+	static class Node
+	{
+		String name;
+		double weight;
+		Node parent;
+		int[] values;
+		List<Node> children = new ArrayList<>();
+		Map<String, Node> attributes = new HashMap<>();
+
+		Node()
+		{
+		}
+
+		Node(final String name, final double weight)
+		{
+			this.name = name;
+			this.weight = weight;
+		}
+	}
+
+	static class NestedSets
+	{
+		Set<Object> first;
+		Set<Object> second;
+
+		NestedSets()
+		{
+		}
+
+		NestedSets(final Set<Object> first, final Set<Object> second)
+		{
+			this.first = first;
+			this.second = second;
+		}
+	}
+
+	static class Key
+	{
+		String value;
+
+		Key()
+		{
+		}
+
+		Key(final String value)
+		{
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(final Object o)
+		{
+			return o instanceof Key && Objects.equals(value, ((Key)o).value);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hashCode(value);
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link FieldCopier}
+ */
+public class FieldCopierTest
+{
+
+	/**
+	 * Test method for {@link FieldCopier#copy(Object, Object)}
+	 *
+	 * @throws IllegalAccessException
+	 *             is thrown if a field could not be unreflected
+	 */
+	@Test
+	public void testCopy() throws IllegalAccessException
+	{
+		Primitives source;
+		Primitives target;
+		FieldCopier fieldCopier;
+
+		source = new Primitives();
+		source.flag = true;
+		source.b = 1;
+		source.c = 'c';
+		source.s = 2;
+		source.i = 3;
+		source.l = 4L;
+		source.f = 5.5f;
+		source.d = 6.6d;
+		source.name = "name";
+		target = new Primitives();
+
+		fieldCopier = FieldCopier.of(ClonePlan.of(Primitives.class).getFields());
+		fieldCopier.copy(source, target);
+
+		assertEquals(true, target.flag);
+		assertEquals(1, target.b);
+		assertEquals('c', target.c);
+		assertEquals(2, target.s);
+		assertEquals(3, target.i);
+		assertEquals(4L, target.l);
+		assertEquals(5.5f, target.f);
+		assertEquals(6.6d, target.d);
+		assertSame(source.name, target.name);
+	}
+
+	/**
+	 * Test method for {@link FieldCopier#copy(Object, Object)} with final fields
+	 *
+	 * @throws IllegalAccessException
+	 *             is thrown if a field could not be unreflected
+	 */
+	@Test
+	public void testCopyFinalFields() throws IllegalAccessException
+	{
+		FinalFields source;
+		FinalFields target;
+		FieldCopier fieldCopier;
+
+		source = new FinalFields(42, "foo");
+		target = new FinalFields(0, null);
+
+		fieldCopier = FieldCopier.of(ClonePlan.of(FinalFields.class).getFields());
+		assertNotNull(fieldCopier);
+		fieldCopier.copy(source, target);
+
+		assertEquals(42, target.id);
+		assertEquals("foo", target.name);
+	}
+
+	static class Primitives
+	{
+		boolean flag;
+		byte b;
+		char c;
+		short s;
+		int i;
+		long l;
+		float f;
+		double d;
+		String name;
+	}
+
+	static class FinalFields
+	{
+		final int id;
+		final String name;
+
+		FinalFields(final int id, final String name)
+		{
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link IdentityTable}
+ */
+public class IdentityTableTest
+{
+
+	/**
+	 * Test method for {@link IdentityTable#put(Object, Object)} and
+	 * {@link IdentityTable#get(Object)}
+	 */
+	@Test
+	public void testPutAndGet()
+	{
+		IdentityTable identityTable;
+		String key;
+		String equalKey;
+		Object value;
+
+		identityTable = new IdentityTable();
+		key = new String("key");
+		equalKey = new String("key");
+		value = new Object();
+
+		assertNull(identityTable.put(key, value));
+		assertSame(value, identityTable.get(key));
+		assertNull(identityTable.get(equalKey));
+		assertSame(value, identityTable.put(key, "other"));
+		assertEquals("other", identityTable.get(key));
+		assertEquals(1, identityTable.size());
+	}
+
+	/**
+	 * Test method for {@link IdentityTable} that grows
+	 */
+	@Test
+	public void testResize()
+	{
+		IdentityTable identityTable;
+		Object[] keys;
+
+		identityTable = new IdentityTable(2);
+		keys = new Object[10_000];
+		for (int i = 0; i < keys.length; i++)
+		{
+			keys[i] = new Object();
+			identityTable.put(keys[i], i);
+		}
+		assertEquals(keys.length, identityTable.size());
+		for (int i = 0; i < keys.length; i++)
+		{
+			assertEquals(i, identityTable.get(keys[i]));
+		}
+	}
+
+	/**
+	 * Test method for {@link IdentityTable#clear()}
+	 */
+	@Test
+	public void testClear()
+	{
+		IdentityTable identityTable;
+		Object key;
+
+		identityTable = new IdentityTable();
+		key = new Object();
+		identityTable.put(key, key);
+		identityTable.clear();
+		assertEquals(0, identityTable.size());
+		assertNull(identityTable.get(key));
+	}
+
+}
@@ -0,0 +1,160 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ImmutableTypeRegistry}
+ */
+public class ImmutableTypeRegistryTest
+{
+
+	/**
+	 * Test method for {@link ImmutableTypeRegistry#isImmutable(Class)} with the built-in types
+	 */
+	@Test
+	public void testIsImmutableBuiltInTypes()
+	{
+		ImmutableTypeRegistry registry;
+
+		registry = new ImmutableTypeRegistry();
+		assertTrue(registry.isImmutable(String.class));
+		assertTrue(registry.isImmutable(Integer.class));
+		assertTrue(registry.isImmutable(BigDecimal.class));
+		assertTrue(registry.isImmutable(UUID.class));
+		assertTrue(registry.isImmutable(LocalDate.class));
+		assertTrue(registry.isImmutable(ZoneId.of("Europe/Berlin").getClass()));
+		assertTrue(registry.isImmutable(Color.class));
+		assertFalse(registry.isImmutable(Date.class));
+		assertFalse(registry.isImmutable(Object.class));
+		assertFalse(registry.isImmutable(int[].class));
+	}
+
+	/**
+	 * Test method for {@link ImmutableTypeRegistry#isImmutable(Class)} with records and effectively
+	 * immutable classes
+	 */
+	@Test
+	public void testIsImmutableDetected()
+	{
+		ImmutableTypeRegistry registry;
+
+		registry = new ImmutableTypeRegistry();
+		assertTrue(registry.isImmutable(Point.class));
+		assertTrue(registry.isImmutable(Money.class));
+		assertTrue(registry.isImmutable(Chain.class));
+		assertFalse(registry.isImmutable(Path.class));
+		assertFalse(registry.isImmutable(Counter.class));
+	}
+
+	/**
+	 * Test method for {@link ImmutableTypeRegistry#register(Class)}
+	 */
+	@Test
+	public void testRegister()
+	{
+		ImmutableTypeRegistry registry;
+
+		registry = new ImmutableTypeRegistry();
+		assertSame(registry, registry.register(Counter.class));
+		assertTrue(registry.isImmutable(Counter.class));
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#cloneObject(Object)} with immutable objects
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCloneImmutable()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		String text;
+		Point point;
+
+		text = "Gr\u00fc\u00dfe";
+		assertSame(text, CloneObjectExtensions.cloneObject(text));
+		point = new Point(1, 2, "origin");
+		assertSame(point, CloneObjectExtensions.deepClone(point));
+	}
+
+	enum Color
+	{
+		RED
+		{
+			@Override
+			public String toString()
+			{
+				return "red";
+			}
+		}
+	}
+
+	record Point(int x, int y, String name)
+	{
+	}
+
+	record Path(List<Point> points)
+	{
+	}
+
+	static final class Money
+	{
+		private final BigDecimal amount = BigDecimal.ONE;
+		private final Color color = Color.RED;
+	}
+
+	static final class Chain
+	{
+		private final String name = "chain";
+		private final Chain next = null;
+	}
+
+	static final class Counter
+	{
+		private int count;
+	}
+
+}
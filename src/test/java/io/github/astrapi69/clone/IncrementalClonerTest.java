@@ -0,0 +1,215 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link IncrementalCloner}
+ */
+public class IncrementalClonerTest
+{
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#syncClone(Object, Object)} without changes
+	 *
+	 * @throws Exception
+	 *             Thrown if the sync fails
+	 */
+	@Test
+	public void testSyncUnchanged() throws Exception
+	{
+		Config source;
+		Config clone;
+		SyncSummary actual;
+
+		source = newConfig();
+		clone = CloneObjectExtensions.deepClone(source);
+
+		actual = CloneObjectExtensions.syncClone(source, clone);
+		assertFalse(actual.isChanged());
+		assertEquals(0, actual.getReplacedSubgraphCount());
+		assertTrue(actual.getChangedClasses().isEmpty());
+		assertEquals(6, actual.getComparedObjectCount());
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#syncClone(Object, Object)} with changed fields,
+	 * list elements and map entries
+	 *
+	 * @throws Exception
+	 *             Thrown if the sync fails
+	 */
+	@Test
+	public void testSyncChanged() throws Exception
+	{
+		Config source;
+		Config clone;
+		Entry cloneEntry;
+		List<Entry> cloneEntries;
+		SyncSummary actual;
+
+		source = newConfig();
+		clone = CloneObjectExtensions.deepClone(source);
+		cloneEntry = clone.entries.get(0);
+		cloneEntries = clone.entries;
+
+		source.version = 2;
+		source.entries.get(0).value = "changed";
+		source.entries.add(new Entry("c", "3"));
+		source.limits.remove("min");
+		source.limits.put("max", 20);
+		source.tags.add("new");
+
+		actual = CloneObjectExtensions.syncClone(source, clone);
+		assertTrue(actual.isChanged());
+		assertEquals(6, actual.getChangedValueCount());
+		assertEquals(1, actual.getReplacedSubgraphCount());
+		assertTrue(actual.getChangedClasses().contains(Entry.class));
+		assertTrue(actual.getChangedClasses().contains(Config.class));
+
+		assertEquals(2, clone.version);
+		assertSame(cloneEntries, clone.entries);
+		assertSame(cloneEntry, clone.entries.get(0));
+		assertEquals("changed", cloneEntry.value);
+		assertEquals(3, clone.entries.size());
+		assertNotSame(source.entries.get(2), clone.entries.get(2));
+		assertEquals("c", clone.entries.get(2).key);
+		assertEquals(source.limits, clone.limits);
+		assertEquals(source.tags, clone.tags);
+		assertSame(clone, clone.self);
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#syncClone(Object, Object)} with a clone that
+	 * shares a mutable object with the source
+	 *
+	 * @throws Exception
+	 *             Thrown if the sync fails
+	 */
+	@Test
+	public void testSyncSharedObject() throws Exception
+	{
+		Config source;
+		Config clone;
+		SyncSummary actual;
+
+		source = newConfig();
+		clone = CloneObjectExtensions.copyInto(source, new Config());
+
+		actual = CloneObjectExtensions.syncClone(source, clone);
+		assertEquals(3, actual.getReplacedSubgraphCount());
+		assertNotSame(source.entries, clone.entries);
+		assertEquals(source.entries.size(), clone.entries.size());
+		assertSame(clone, clone.self);
+
+		assertThrows(IllegalArgumentException.class,
+			() -> CloneObjectExtensions.syncClone(source, source));
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#syncClone(Object, Object)} into empty sets with
+	 * a set that contains another set, for both orders of the fields that refer to the outer and
+	 * the inner set
+	 *
+	 * @throws Exception
+	 *             Thrown if the sync fails
+	 */
+	@Test
+	public void testSyncNestedSets() throws Exception
+	{
+		DeepClonerTest.NestedSets source;
+		DeepClonerTest.NestedSets clone;
+		Set<Object> outer;
+		Set<Object> inner;
+
+		inner = new HashSet<>(List.of("foo", "bar"));
+		outer = new HashSet<>();
+		outer.add(inner);
+
+		source = new DeepClonerTest.NestedSets(outer, inner);
+		clone = new DeepClonerTest.NestedSets(new HashSet<>(), new HashSet<>());
+		CloneObjectExtensions.syncClone(source, clone);
+		assertEquals(source.first, clone.first);
+		assertTrue(clone.first.contains(clone.second));
+
+		source = new DeepClonerTest.NestedSets(inner, outer);
+		clone = new DeepClonerTest.NestedSets(new HashSet<>(), new HashSet<>());
+		CloneObjectExtensions.syncClone(source, clone);
+		assertEquals(source.second, clone.second);
+		assertTrue(clone.second.contains(clone.first));
+	}
+
+	private static Config newConfig()
+	{
+		Config config;
+
+		config = new Config();
+		config.version = 1;
+		config.self = config;
+		config.entries.add(new Entry("a", "1"));
+		config.entries.add(new Entry("b", "2"));
+		config.limits.put("min", 1);
+		config.limits.put("max", 10);
+		config.tags.add("x");
+		return config;
+	}
+
+	static class Config
+	{
+		int version;
+		Config self;
+		List<Entry> entries = new ArrayList<>();
+		Map<String, Integer> limits = new HashMap<>();
+		Set<String> tags = new HashSet<>();
+	}
+
+	static class Entry
+	{
+		String key;
+		String value;
+
+		Entry(final String key, final String value)
+		{
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+}
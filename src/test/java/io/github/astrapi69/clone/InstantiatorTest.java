@@ -0,0 +1,121 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link Instantiator}
+ */
+public class InstantiatorTest
+{
+
+	/**
+	 * Test method for {@link Instantiator#newInstance()}
+	 */
+	@Test
+	public void testNewInstance() throws Exception
+	{
+		Instantiator instantiator;
+		Object actual;
+
+		instantiator = Instantiator.of(Counted.class, null);
+		assertNotNull(instantiator);
+		assertTrue(instantiator.isConstructorless());
+		Counted.instances = 0;
+		actual = instantiator.newInstance();
+		assertSame(Counted.class, actual.getClass());
+		assertEquals(0, Counted.instances);
+		assertNull(((Counted)actual).values);
+	}
+
+	/**
+	 * Test method for {@link Instantiator#of(Class, java.lang.reflect.Constructor)} with classes
+	 * that cannot be instantiated
+	 */
+	@Test
+	public void testOf()
+	{
+		assertNull(Instantiator.of(Runnable.class, null));
+		assertNull(Instantiator.of(TimeUnit.class, null));
+		assertNull(Instantiator.of(Point.class, null));
+		assertNull(Instantiator.of(int[].class, null));
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#cloneObjectWithReflection(Object)} and
+	 * {@link CloneObjectExtensions#deepClone(Object)} with a class without a no-arg constructor
+	 */
+	@Test
+	public void testCloneWithoutNoArgConstructor() throws Exception
+	{
+		Counted expected;
+		Counted actual;
+
+		expected = new Counted("a");
+		Counted.instances = 0;
+		actual = CloneObjectExtensions.cloneObjectWithReflection(expected).orElse(null);
+		assertNotNull(actual);
+		assertNotSame(expected, actual);
+		assertSame(expected.values, actual.values);
+		assertEquals(0, Counted.instances);
+
+		actual = CloneObjectExtensions.deepClone(expected);
+		assertNotSame(expected.values, actual.values);
+		assertEquals(expected.values, actual.values);
+		assertFalse(actual.values.isEmpty());
+		assertEquals(0, Counted.instances);
+	}
+
+	static class Counted
+	{
+		static int instances;
+
+		final List<String> values = new ArrayList<>();
+
+		Counted(final String value)
+		{
+			instances++;
+			values.add(value);
+		}
+	}
+
+	record Point(int x, int y)
+	{
+	}
+
+}
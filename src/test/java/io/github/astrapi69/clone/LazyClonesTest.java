@@ -0,0 +1,188 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the lazy clones of the class {@link CloneObjectExtensions}
+ */
+public class LazyClonesTest
+{
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#lazyClone(List)}
+	 */
+	@Test
+	public void testLazyCloneList()
+	{
+		List<String> source;
+		List<String> actual;
+		Iterator<String> iterator;
+
+		source = new ArrayList<>(Arrays.asList("a", "b", "c"));
+		actual = CloneObjectExtensions.lazyClone(source);
+		assertEquals(source, actual);
+		assertEquals("b", actual.get(1));
+
+		actual.add("d");
+		assertEquals(Arrays.asList("a", "b", "c"), source);
+		assertEquals(Arrays.asList("a", "b", "c", "d"), actual);
+
+		actual = CloneObjectExtensions.lazyClone(source);
+		iterator = actual.iterator();
+		while (iterator.hasNext())
+		{
+			if (!"b".equals(iterator.next()))
+			{
+				iterator.remove();
+			}
+		}
+		assertEquals(Arrays.asList("a", "b", "c"), source);
+		assertEquals(Arrays.asList("b"), actual);
+
+		source = List.of("a");
+		assertSame(source, CloneObjectExtensions.lazyClone(source));
+		assertNull(CloneObjectExtensions.lazyClone((List<String>)null));
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#lazyClone(Set)}
+	 */
+	@Test
+	public void testLazyCloneSet()
+	{
+		Set<String> source;
+		Set<String> actual;
+
+		source = new LinkedHashSet<>(Arrays.asList("a", "b"));
+		actual = CloneObjectExtensions.lazyClone(source);
+		assertTrue(actual.contains("a"));
+		actual.removeIf("a"::equals);
+		assertEquals(Set.of("a", "b"), source);
+		assertEquals(Set.of("b"), actual);
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#lazyClone(Map)}
+	 */
+	@Test
+	public void testLazyCloneMap()
+	{
+		Map<String, Integer> source;
+		Map<String, Integer> actual;
+
+		source = new HashMap<>(Map.of("a", 1, "b", 2));
+		actual = CloneObjectExtensions.lazyClone(source);
+		assertEquals(source, actual);
+		assertEquals(Integer.valueOf(1), actual.get("a"));
+
+		actual.entrySet().iterator().next().setValue(7);
+		assertEquals(Map.of("a", 1, "b", 2), source);
+		assertTrue(actual.containsValue(7));
+
+		actual = CloneObjectExtensions.lazyClone(source);
+		actual.keySet().remove("a");
+		assertTrue(source.containsKey("a"));
+		assertFalse(actual.containsKey("a"));
+		actual.merge("b", 1, Integer::sum);
+		assertEquals(Integer.valueOf(2), source.get("b"));
+		assertEquals(Integer.valueOf(3), actual.get("b"));
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#lazyClone(Object, Class)}
+	 */
+	@Test
+	public void testLazyCloneInterface()
+	{
+		Counter source;
+		Counter actual;
+
+		source = new SimpleCounter();
+		source.increment();
+		actual = CloneObjectExtensions.lazyClone(source, Counter.class);
+		assertEquals(1, actual.getCount());
+		assertTrue(actual.equals(actual));
+
+		actual.increment();
+		assertEquals(1, source.getCount());
+		assertEquals(2, actual.getCount());
+
+		assertThrows(IllegalArgumentException.class,
+			() -> CloneObjectExtensions.lazyClone(new SimpleCounter(), SimpleCounter.class));
+	}
+
+	/**
+	 * A counter interface for the lazy clone tests
+	 */
+	public interface Counter
+	{
+
+		int getCount();
+
+		void increment();
+
+	}
+
+	/**
+	 * A counter that is cloned with reflection
+	 */
+	public static class SimpleCounter implements Counter
+	{
+
+		private int count;
+
+		@Override
+		public int getCount()
+		{
+			return count;
+		}
+
+		@Override
+		public void increment()
+		{
+			count++;
+		}
+
+	}
+
+}
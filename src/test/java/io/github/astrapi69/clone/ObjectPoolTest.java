@@ -0,0 +1,160 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ObjectPool}
+ */
+public class ObjectPoolTest
+{
+
+	/**
+	 * Test method for {@link ObjectPool#acquire()} and {@link ObjectPool#release(Object)}
+	 */
+	@Test
+	public void testAcquire()
+	{
+		ObjectPool<Bean> pool;
+		Bean expected;
+		Bean actual;
+
+		pool = new ObjectPool<>(Bean::new, 1);
+		expected = pool.acquire();
+		pool.release(expected);
+		pool.release(new Bean());
+		assertEquals(1, pool.size());
+
+		actual = pool.acquire();
+		assertSame(expected, actual);
+		assertEquals(0, pool.size());
+		assertNotSame(expected, pool.acquire());
+
+		assertThrows(IllegalArgumentException.class, () -> new ObjectPool<>(Bean::new, -1));
+	}
+
+	/**
+	 * Test method for {@link ObjectPool#acquireCopy(Object)} and
+	 * {@link CloneObjectExtensions#copyInto(Object, Object)}
+	 */
+	@Test
+	public void testAcquireCopy()
+	{
+		ObjectPool<Bean> pool;
+		Bean source;
+		Bean scratch;
+		Bean actual;
+
+		pool = new ObjectPool<>(Bean::new, 4);
+		scratch = new Bean();
+		pool.release(scratch);
+		source = new Bean();
+		source.symbol = "ACME";
+		source.price = 12.5;
+		source.sizes = new long[] { 1, 2 };
+
+		actual = pool.acquireCopy(source);
+		assertSame(scratch, actual);
+		assertEquals("ACME", actual.symbol);
+		assertEquals(12.5, actual.price);
+		assertSame(source.sizes, actual.sizes);
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#copyInto(Object, Object)} with arrays,
+	 * collections and invalid arguments
+	 */
+	@Test
+	public void testCopyInto()
+	{
+		List<String> target;
+		int[] array;
+
+		target = new ArrayList<>(Arrays.asList("x"));
+		assertSame(target, CloneObjectExtensions.copyInto(new ArrayList<>(Arrays.asList("a", "b")),
+			target));
+		assertEquals(Arrays.asList("a", "b"), target);
+
+		array = new int[2];
+		CloneObjectExtensions.copyInto(new int[] { 1, 2 }, array);
+		assertEquals(2, array[1]);
+
+		assertThrows(IllegalArgumentException.class,
+			() -> CloneObjectExtensions.copyInto(new int[1], new int[2]));
+		assertThrows(IllegalArgumentException.class,
+			() -> CloneObjectExtensions.copyInto("a", "b"));
+		assertThrows(IllegalArgumentException.class,
+			() -> CloneObjectExtensions.copyInto(List.of("a"), List.of("b")));
+		assertThrows(IllegalArgumentException.class,
+			() -> CloneObjectExtensions.copyInto(new Bean(), null));
+	}
+
+	/**
+	 * Test method for {@link ObjectPool#acquireDeepCopy(Object)}
+	 *
+	 * @throws Exception
+	 *             Thrown if the deep copy fails
+	 */
+	@Test
+	public void testAcquireDeepCopy() throws Exception
+	{
+		ObjectPool<Bean> pool;
+		Bean source;
+		Bean scratch;
+		long[] sizes;
+		Bean actual;
+
+		pool = new ObjectPool<>(Bean::new, 4);
+		scratch = new Bean();
+		sizes = new long[2];
+		scratch.sizes = sizes;
+		pool.release(scratch);
+		source = new Bean();
+		source.sizes = new long[] { 3, 4 };
+
+		actual = pool.acquireDeepCopy(source);
+		assertSame(scratch, actual);
+		assertSame(sizes, actual.sizes);
+		assertEquals(4, actual.sizes[1]);
+	}
+
+	static class Bean
+	{
+		String symbol;
+		double price;
+		long[] sizes;
+	}
+
+}
@@ -0,0 +1,192 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ParallelDeepCloner}
+ */
+public class ParallelDeepClonerTest
+{
+
+	/**
+	 * Test method for {@link ParallelDeepCloner#deepClone(Object)}
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDeepClone()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Map<Integer, Value> source;
+		Map<Integer, Value> actual;
+		Value shared;
+		Set<Value> values;
+
+		shared = new Value("shared");
+		source = new HashMap<>();
+		for (int i = 0; i < 10_000; i++)
+		{
+			final Value value = new Value("value" + i);
+			value.shared = shared;
+			value.children.add(new Value("child" + i));
+			source.put(i, value);
+		}
+
+		actual = CloneObjectExtensions.parallelDeepClone(source, new ForkJoinPool(4), 64);
+		assertEquals(source.size(), actual.size());
+		values = new HashSet<>();
+		for (int i = 0; i < 10_000; i++)
+		{
+			final Value value = actual.get(i);
+			assertNotSame(source.get(i), value);
+			assertEquals("value" + i, value.name);
+			assertEquals("child" + i, value.children.get(0).name);
+			assertNotSame(source.get(i).children.get(0), value.children.get(0));
+			values.add(value.shared);
+		}
+		assertEquals(1, values.size());
+		assertNotSame(shared, values.iterator().next());
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#parallelDeepClone(Object)} with cycles and
+	 * arrays
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDeepCloneWithCycles()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Value[] source;
+		Value[] actual;
+		Value root;
+
+		root = new Value("root");
+		source = new Value[20_000];
+		for (int i = 0; i < source.length; i++)
+		{
+			source[i] = new Value("value" + i);
+			source[i].shared = root;
+			root.children.add(source[i]);
+		}
+
+		actual = (Value[])new ParallelDeepCloner(ForkJoinPool.commonPool(), 100)
+			.deepClone(source);
+		assertEquals(source.length, actual.length);
+		for (int i = 0; i < actual.length; i++)
+		{
+			assertSame(actual[i], actual[i].shared.children.get(i));
+			assertSame(actual[0].shared, actual[i].shared);
+		}
+		assertTrue(actual[0].shared != root);
+		assertNull(CloneObjectExtensions.parallelDeepClone(null));
+	}
+
+	/**
+	 * Test method for {@link ParallelDeepCloner#deepClone(Object)} with a set that contains another
+	 * set, for both orders of the fields that refer to the outer and the inner set
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDeepCloneNestedSets()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		DeepClonerTest.NestedSets source;
+		DeepClonerTest.NestedSets actual;
+		Set<Object> outer;
+		Set<Object> inner;
+
+		inner = new HashSet<>(List.of("foo", "bar"));
+		outer = new HashSet<>();
+		outer.add(inner);
+
+		source = new DeepClonerTest.NestedSets(outer, inner);
+		actual = CloneObjectExtensions.parallelDeepClone(source);
+		assertEquals(source.first, actual.first);
+		assertTrue(actual.first.contains(actual.second));
+
+		source = new DeepClonerTest.NestedSets(inner, outer);
+		actual = CloneObjectExtensions.parallelDeepClone(source);
+		assertEquals(source.second, actual.second);
+		assertTrue(actual.second.contains(actual.first));
+	}
+
+	static class Value
+	{
+		String name;
+		Value shared;
+		List<Value> children = new ArrayList<>();
+
+		Value()
+		{
+		}
+
+		Value(final String name)
+		{
+			this.name = name;
+		}
+	}
+
+}
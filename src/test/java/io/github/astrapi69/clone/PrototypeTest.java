@@ -0,0 +1,280 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link Prototype} and {@link CopyProgram}
+ */
+public class PrototypeTest
+{
+
+	private static Order newOrder()
+	{
+		Order order;
+		Item item;
+
+		order = new Order();
+		order.id = 7;
+		order.prices = new double[] { 1.5, 2.5 };
+		item = new Item("pen", 3);
+		order.items = new ArrayList<>(List.of(item, new Item("ink", 1)));
+		order.byName = new HashMap<>(Map.of("pen", item));
+		order.tags = new TreeSet<>(Comparator.reverseOrder());
+		order.tags.addAll(List.of("a", "b"));
+		order.units = EnumSet.of(TimeUnit.SECONDS);
+		order.line = new Line(item, "first");
+		order.matrix = new int[][] { { 1, 2 }, { 3 } };
+		order.parent = order;
+		return order;
+	}
+
+	/**
+	 * Test method for {@link Prototype#newInstance()}
+	 *
+	 * @throws Exception
+	 *             Thrown if the copy fails
+	 */
+	@Test
+	public void testNewInstance() throws Exception
+	{
+		Order template;
+		Prototype<Order> prototype;
+		Order actual;
+
+		template = newOrder();
+		prototype = CloneObjectExtensions.prototype(template);
+		actual = prototype.newInstance();
+		assertNotSame(template, actual);
+		assertEquals(7, actual.id);
+		assertArrayEquals(template.prices, actual.prices);
+		assertNotSame(template.prices, actual.prices);
+		assertNotSame(template.items, actual.items);
+		assertEquals(template.items, actual.items);
+		assertNotSame(template.items.get(0), actual.items.get(0));
+		// shared references and cycles are kept
+		assertSame(actual.items.get(0), actual.byName.get("pen"));
+		assertSame(actual.items.get(0), actual.line.item());
+		assertSame(actual, actual.parent);
+		assertEquals(List.of("b", "a"), new ArrayList<>(actual.tags));
+		assertEquals(EnumSet.of(TimeUnit.SECONDS), actual.units);
+		assertNotSame(template.units, actual.units);
+		assertNotSame(template.line, actual.line);
+		assertSame(template.line.label(), actual.line.label());
+		assertArrayEquals(template.matrix[0], actual.matrix[0]);
+		assertNotSame(template.matrix[1], actual.matrix[1]);
+		// every copy is a new graph
+		assertNotSame(actual.items, prototype.newInstance().items);
+		assertSame(prototype.getTemplate(), template);
+	}
+
+	/**
+	 * Test method for {@link Prototype#newInstance()} with templates that are null, immutable or
+	 * collections
+	 *
+	 * @throws Exception
+	 *             Thrown if the copy fails
+	 */
+	@Test
+	public void testNewInstanceOfSimpleTemplates() throws Exception
+	{
+		List<Item> list;
+		List<Item> actual;
+
+		assertNull(Prototype.of(null).newInstance());
+		assertSame("text", Prototype.of("text").newInstance());
+
+		list = Collections.unmodifiableList(new ArrayList<>(List.of(new Item("a", 1))));
+		actual = Prototype.of(list).newInstance();
+		assertNotSame(list, actual);
+		assertEquals(list, actual);
+		assertNotSame(list.get(0), actual.get(0));
+	}
+
+	/**
+	 * Test method for {@link Prototype#isStale()} and {@link Prototype#recompile()}
+	 *
+	 * @throws Exception
+	 *             Thrown if the copy fails
+	 */
+	@Test
+	public void testIsStale() throws Exception
+	{
+		Order template;
+		Prototype<Order> prototype;
+
+		template = newOrder();
+		prototype = Prototype.of(template);
+		assertFalse(prototype.isStale());
+
+		template.id = 8;
+		assertTrue(prototype.isStale());
+		// the copies keep the compiled state
+		assertEquals(7, prototype.newInstance().id);
+		prototype = prototype.recompile();
+		assertFalse(prototype.isStale());
+		assertEquals(8, prototype.newInstance().id);
+
+		template.prices[1] = 3.5;
+		assertTrue(prototype.isStale());
+		prototype = prototype.recompile();
+
+		template.items.get(1).count = 2;
+		assertTrue(prototype.isStale());
+		prototype = prototype.recompile();
+
+		template.items.add(new Item("pad", 1));
+		assertTrue(prototype.isStale());
+		prototype = prototype.recompile();
+		assertEquals(3, prototype.newInstance().items.size());
+
+		template.byName.put("pen", new Item("pen", 3));
+		assertTrue(prototype.isStale());
+		prototype = prototype.recompile();
+
+		template.parent = null;
+		assertTrue(prototype.isStale());
+		prototype = prototype.recompile();
+		assertNull(prototype.newInstance().parent);
+
+		// an equal immutable value is no change
+		template.name = new String("order");
+		prototype = prototype.recompile();
+		template.name = new String("order");
+		assertFalse(prototype.isStale());
+	}
+
+	/**
+	 * Test method for {@link Prototype#newInstance()} with a set that contains another set, for
+	 * both orders of the fields that refer to the outer and the inner set
+	 *
+	 * @throws Exception
+	 *             Thrown if the copy fails
+	 */
+	@Test
+	public void testNewInstanceOfNestedSets() throws Exception
+	{
+		DeepClonerTest.NestedSets template;
+		DeepClonerTest.NestedSets actual;
+		Set<Object> outer;
+		Set<Object> inner;
+
+		inner = new HashSet<>(List.of("foo", "bar"));
+		outer = new HashSet<>();
+		outer.add(inner);
+
+		template = new DeepClonerTest.NestedSets(outer, inner);
+		actual = Prototype.of(template).newInstance();
+		assertEquals(template.first, actual.first);
+		assertTrue(actual.first.contains(actual.second));
+
+		template = new DeepClonerTest.NestedSets(inner, outer);
+		actual = Prototype.of(template).newInstance();
+		assertEquals(template.second, actual.second);
+		assertTrue(actual.second.contains(actual.first));
+	}
+
+	/**
+	 * Test method for {@link Prototype#getSlotCount()}
+	 *
+	 * @throws Exception
+	 *             Thrown if the compilation fails
+	 */
+	@Test
+	public void testGetSlotCount() throws Exception
+	{
+		Item item;
+
+		item = new Item("a", 1);
+		assertEquals(1, Prototype.of(item).getSlotCount());
+		// the list, the target behind it and the shared item
+		assertEquals(3, Prototype.of(new ArrayList<>(List.of(item, item))).getSlotCount());
+	}
+
+	static class Order
+	{
+		int id;
+		String name;
+		double[] prices;
+		List<Item> items;
+		Map<String, Item> byName;
+		TreeSet<String> tags;
+		EnumSet<TimeUnit> units;
+		Line line;
+		int[][] matrix;
+		Order parent;
+	}
+
+	static class Item
+	{
+		String name;
+		int count;
+
+		Item(final String name, final int count)
+		{
+			this.name = name;
+			this.count = count;
+		}
+
+		@Override
+		public boolean equals(final Object object)
+		{
+			return object instanceof Item && ((Item)object).name.equals(name)
+				&& ((Item)object).count == count;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return name.hashCode() * 31 + count;
+		}
+	}
+
+	record Line(Item item, String label)
+	{
+	}
+
+}
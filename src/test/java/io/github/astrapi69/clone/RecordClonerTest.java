@@ -0,0 +1,183 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link RecordCloner} and {@link PermittedTypes}
+ */
+public class RecordClonerTest
+{
+
+	/**
+	 * Test method for {@link ClonePlan#getRecordCloner()}
+	 */
+	@Test
+	public void testGetRecordCloner()
+	{
+		ClonePlan plan;
+
+		plan = ClonePlan.of(Tagged.class);
+		assertEquals(CloneStrategy.RECORD, plan.getStrategy());
+		assertNotNull(plan.getRecordCloner());
+		assertNull(ClonePlan.of(Holder.class).getRecordCloner());
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#clone(Object)} with records
+	 *
+	 * @throws Exception
+	 *             Thrown if the clone fails
+	 */
+	@Test
+	public void testClone() throws Exception
+	{
+		Tagged source;
+		Tagged actual;
+		Expression expression;
+
+		source = new Tagged("a", new ArrayList<>(List.of("x")));
+		actual = CloneObjectExtensions.clone(source);
+		assertNotSame(source, actual);
+		assertEquals(source, actual);
+		assertSame(source.tags(), actual.tags());
+
+		// records with immutable components over a sealed type are shared
+		expression = new Sum(new Constant(1), new Sum(new Constant(2), new Constant(3)));
+		assertTrue(ImmutableTypeRegistry.getDefault().isImmutable(Sum.class));
+		assertTrue(ImmutableTypeRegistry.getDefault().isImmutableDeclaredType(Expression.class));
+		assertSame(expression, CloneObjectExtensions.clone(expression));
+		assertSame(expression, CloneObjectExtensions.deepClone(expression));
+
+		assertEquals(new Positive(1),
+			CloneObjectExtensions.clone(new Positive(1), CloneStrategy.RECORD));
+		// the compact canonical constructor validates the components
+		assertThrows(InvocationTargetException.class,
+			() -> ClonePlan.of(Positive.class).getRecordCloner().newInstance(new Object[] { -1 }));
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#deepClone(Object)} with records
+	 *
+	 * @throws Exception
+	 *             Thrown if the clone fails
+	 */
+	@Test
+	public void testDeepClone() throws Exception
+	{
+		Holder source;
+		Holder actual;
+		Node leaf;
+
+		source = new Holder();
+		leaf = new Node("leaf", new Tagged("b", new ArrayList<>(List.of("y"))), null);
+		source.node = new Node("root", new Tagged("a", new ArrayList<>(List.of("x"))), leaf);
+		source.shared = leaf;
+		source.owner = new Owned(source, new ArrayList<>(List.of(1, 2)));
+
+		actual = CloneObjectExtensions.deepClone(source);
+		assertNotSame(source, actual);
+		assertNotSame(source.node, actual.node);
+		assertEquals(source.node, actual.node);
+		assertNotSame(source.node.tag().tags(), actual.node.tag().tags());
+		assertSame(actual.shared, actual.node.next());
+		// a cycle over a mutable object is kept
+		assertSame(actual, actual.owner.holder());
+		assertEquals(List.of(1, 2), actual.owner.values());
+		assertNotSame(source.owner.values(), actual.owner.values());
+	}
+
+	/**
+	 * Test method for {@link PermittedTypes#of(Class)}
+	 */
+	@Test
+	public void testPermittedTypes()
+	{
+		PermittedTypes actual;
+
+		actual = PermittedTypes.of(Expression.class);
+		assertNotNull(actual);
+		assertEquals(2, actual.size());
+		assertSame(ClonePlan.of(Sum.class), actual.planOf(Sum.class));
+		assertSame(ClonePlan.of(String.class), actual.planOf(String.class));
+		assertNull(PermittedTypes.of(Runnable.class));
+	}
+
+	sealed interface Expression permits Constant, Sum
+	{
+	}
+
+	record Constant(int value) implements Expression
+	{
+	}
+
+	record Sum(Expression left, Expression right) implements Expression
+	{
+	}
+
+	record Tagged(String name, List<String> tags)
+	{
+	}
+
+	record Node(String name, Tagged tag, Node next)
+	{
+	}
+
+	record Owned(Holder holder, List<Integer> values)
+	{
+	}
+
+	record Positive(int value)
+	{
+		Positive
+		{
+			if (value < 0)
+			{
+				throw new IllegalArgumentException("negative: " + value);
+			}
+		}
+	}
+
+	static class Holder
+	{
+		Node node;
+		Node shared;
+		Owned owner;
+	}
+
+}
@@ -0,0 +1,259 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link Snapshot}
+ */
+public class SnapshotTest
+{
+
+	/**
+	 * Test method for {@link Snapshot#of(Object)} and {@link Snapshot#restore()}
+	 *
+	 * @throws Exception
+	 *             Thrown if the restore fails
+	 */
+	@Test
+	public void testRestore() throws Exception
+	{
+		Document source;
+		Snapshot snapshot;
+		Document actual;
+
+		source = newDocument();
+		snapshot = Snapshot.of(source);
+
+		actual = (Document)snapshot.restore();
+		assertNotSame(source, actual);
+		assertEquals(source.id, actual.id);
+		assertEquals(source.title, actual.title);
+		assertEquals(source.unit, actual.unit);
+		assertEquals(source.amount, actual.amount);
+		assertEquals(source.created, actual.created);
+		assertArrayEquals(source.values, actual.values);
+		assertArrayEquals(source.flags, actual.flags);
+		assertSame(actual, actual.self);
+		assertEquals(2, actual.sections.size());
+		assertNotSame(source.sections.get(0), actual.sections.get(0));
+		assertEquals("intro", actual.sections.get(0).name);
+		assertSame(actual, actual.sections.get(0).owner);
+		assertSame(actual.sections.get(1), actual.index.get("body"));
+		assertEquals(Set.of("a", "b"), actual.tags);
+		assertEquals(new TreeSet<>(List.of(3, 1, 2)), actual.sorted);
+		assertSame(actual.sections.get(0), actual.related[0]);
+		assertNull(actual.related[1]);
+
+		// every restore gives a new graph
+		assertNotSame(actual, snapshot.restore());
+		assertNull(Snapshot.of(null).restore());
+		assertEquals("text", Snapshot.of("text").restore());
+	}
+
+	/**
+	 * Test method for {@link Snapshot#writeTo(Path)} and {@link Snapshot#read(Path)}
+	 *
+	 * @throws Exception
+	 *             Thrown if the file cannot be written or the restore fails
+	 */
+	@Test
+	public void testReadMappedFile() throws Exception
+	{
+		Path file;
+		Snapshot snapshot;
+		Snapshot mapped;
+		Document actual;
+
+		file = Files.createTempFile("snapshot", ".bin");
+		try
+		{
+			snapshot = Snapshot.of(newDocument());
+			snapshot.writeTo(file);
+			mapped = Snapshot.read(file);
+			assertEquals(snapshot.size(), mapped.size());
+			assertEquals(Files.size(file), mapped.size());
+
+			actual = (Document)mapped.restore();
+			assertEquals("report", actual.title);
+			assertArrayEquals(new long[] { 1L, 2L, 3L }, actual.values);
+			assertSame(actual, actual.sections.get(1).owner);
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Test method for {@link Snapshot#wrap(ByteBuffer)}
+	 *
+	 * @throws Exception
+	 *             Thrown if the restore fails
+	 */
+	@Test
+	public void testWrap() throws Exception
+	{
+		Snapshot snapshot;
+		ByteBuffer buffer;
+		List<?> actual;
+
+		snapshot = Snapshot.of(new ArrayList<>(List.of(1, 2L, 'c')));
+		buffer = ByteBuffer.allocate(snapshot.size());
+		buffer.put(snapshot.asByteBuffer());
+		buffer.flip();
+
+		actual = (List<?>)Snapshot.wrap(buffer).restore();
+		assertEquals(List.of(1, 2L, 'c'), actual);
+
+		assertThrows(IllegalArgumentException.class,
+			() -> Snapshot.wrap(ByteBuffer.allocate(32)));
+	}
+
+	/**
+	 * Test method for {@link Snapshot#restore()} with a set that contains another set, for both
+	 * orders of the fields that refer to the outer and the inner set
+	 *
+	 * @throws Exception
+	 *             Thrown if the restore fails
+	 */
+	@Test
+	public void testRestoreNestedSets() throws Exception
+	{
+		DeepClonerTest.NestedSets source;
+		DeepClonerTest.NestedSets actual;
+		Set<Object> outer;
+		Set<Object> inner;
+
+		inner = new HashSet<>(List.of("foo", "bar"));
+		outer = new HashSet<>();
+		outer.add(inner);
+
+		source = new DeepClonerTest.NestedSets(outer, inner);
+		actual = (DeepClonerTest.NestedSets)Snapshot.of(source).restore();
+		assertEquals(source.first, actual.first);
+		assertTrue(actual.first.contains(actual.second));
+
+		source = new DeepClonerTest.NestedSets(inner, outer);
+		actual = (DeepClonerTest.NestedSets)Snapshot.of(source).restore();
+		assertEquals(source.second, actual.second);
+		assertTrue(actual.second.contains(actual.first));
+	}
+
+	/**
+	 * Test method for {@link Snapshot#of(Object)} with an object that cannot be written
+	 */
+	@Test
+	public void testUnsupported()
+	{
+		Set<String> reversed;
+
+		reversed = new TreeSet<>((left, right) -> right.compareTo(left));
+		reversed.add("a");
+
+		assertThrows(IllegalArgumentException.class, () -> Snapshot.of(List.of(reversed)));
+	}
+
+	private static Document newDocument()
+	{
+		Document document;
+		Section intro;
+		Section body;
+
+		document = new Document();
+		document.id = 42L;
+		document.title = "report";
+		document.unit = TimeUnit.SECONDS;
+		document.amount = new BigDecimal("12.50");
+		document.created = LocalDate.of(2022, 1, 31);
+		document.values = new long[] { 1L, 2L, 3L };
+		document.flags = new boolean[] { true, false };
+		document.self = document;
+		intro = new Section("intro", document);
+		body = new Section("body", document);
+		document.sections.add(intro);
+		document.sections.add(body);
+		document.index.put("intro", intro);
+		document.index.put("body", body);
+		document.tags.add("a");
+		document.tags.add("b");
+		document.sorted.addAll(List.of(3, 1, 2));
+		document.related = new Section[] { intro, null };
+		return document;
+	}
+
+	static class Document
+	{
+		long id;
+		String title;
+		TimeUnit unit;
+		BigDecimal amount;
+		LocalDate created;
+		long[] values;
+		boolean[] flags;
+		Document self;
+		List<Section> sections = new ArrayList<>();
+		Map<String, Section> index = new HashMap<>();
+		Set<String> tags = new HashSet<>();
+		TreeSet<Integer> sorted = new TreeSet<>();
+		Section[] related;
+	}
+
+	static class Section
+	{
+		String name;
+		Document owner;
+
+		Section(final String name, final Document owner)
+		{
+			this.name = name;
+			this.owner = owner;
+		}
+	}
+
+}
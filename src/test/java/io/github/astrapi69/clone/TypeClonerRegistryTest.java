@@ -0,0 +1,104 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link TypeClonerRegistry}
+ */
+public class TypeClonerRegistryTest
+{
+
+	/**
+	 * Test method for {@link TypeClonerRegistry#find(Class)}
+	 */
+	@Test
+	public void testFind()
+	{
+		assertNotNull(TypeClonerRegistry.find(Annotated.class));
+		assertEquals(Annotated.class, TypeClonerRegistry.find(Annotated.class).getType());
+		assertNull(TypeClonerRegistry.find(String.class));
+	}
+
+	/**
+	 * Test method for {@link CloneObjectExtensions#clone(Object)} with a generated cloner
+	 *
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testClone()
+		throws NoSuchMethodException, IllegalAccessException, InvocationTargetException
+	{
+		Annotated expected;
+		Annotated actual;
+
+		expected = new Annotated();
+		expected.name = "foo";
+		expected.setCount(3);
+		actual = CloneObjectExtensions.clone(expected);
+		assertNotSame(expected, actual);
+		assertEquals("foo", actual.name);
+		assertEquals(3, actual.getCount());
+	}
+
+	/**
+	 * A class with a cloner that is generated by the annotation processor
+	 */
+	@GenerateCloner
+	static class Annotated
+	{
+
+		String name;
+
+		private int count;
+
+		public int getCount()
+		{
+			return count;
+		}
+
+		public void setCount(final int count)
+		{
+			this.count = count;
+		}
+
+	}
+
+}
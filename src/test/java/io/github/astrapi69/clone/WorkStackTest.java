@@ -0,0 +1,84 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.clone;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link WorkStack}
+ */
+public class WorkStackTest
+{
+
+	/**
+	 * Test method for {@link WorkStack#push(Object, Object, ClonePlan)} and {@link WorkStack#pop()}
+	 */
+	@Test
+	public void testPushAndPop()
+	{
+		WorkStack workStack;
+		Object[] sources;
+
+		workStack = new WorkStack();
+		assertTrue(workStack.isEmpty());
+		sources = new Object[100];
+		for (int i = 0; i < sources.length; i++)
+		{
+			sources[i] = new Object();
+			workStack.push(sources[i], i, ClonePlan.of(Object.class));
+		}
+		assertFalse(workStack.isEmpty());
+		for (int i = sources.length - 1; 0 <= i; i--)
+		{
+			assertTrue(workStack.pop());
+			assertSame(sources[i], workStack.getSource());
+			assertSame(i, workStack.getClone());
+			assertSame(ClonePlan.of(Object.class), workStack.getPlan());
+		}
+		assertFalse(workStack.pop());
+		assertNull(workStack.getSource());
+	}
+
+	/**
+	 * Test method for {@link WorkStack#clear()}
+	 */
+	@Test
+	public void testClear()
+	{
+		WorkStack workStack;
+
+		workStack = new WorkStack();
+		workStack.push(new Object(), new Object(), null);
+		workStack.clear();
+		assertTrue(workStack.isEmpty());
+		assertFalse(workStack.pop());
+	}
+
+}